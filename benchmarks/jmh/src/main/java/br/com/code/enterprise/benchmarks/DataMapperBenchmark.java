@@ -0,0 +1,69 @@
+package br.com.code.enterprise.benchmarks;
+
+import br.com.code.enterprise.repository.DataMapper;
+import br.com.code.enterprise.specification.model.Entity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de listas pelos mapeadores gerados (sequencial e com caminho paralelo) comparada a um stream com
+ * {@code map(...).toList()}, a forma usada antes da geração.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DataMapperBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int size;
+
+    @Param({"UNIFORM"})
+    public EntityData.Distribution distribution;
+
+    private final DataMapper<Entity, EntityDto> generated = new EntityDtoMapperImpl();
+    private final DataMapper<Entity, EntityDto> sequential = new SequentialEntityDtoMapperImpl();
+    private List<Entity> entities;
+    private List<EntityDto> dtos;
+
+    @Setup
+    public void setup() {
+        entities = Arrays.asList(EntityData.generateWithIds(size, distribution));
+        dtos = sequential.toDtoList(entities);
+    }
+
+    @Benchmark
+    public List<EntityDto> toDtoList() {
+        return generated.toDtoList(entities);
+    }
+
+    @Benchmark
+    public List<EntityDto> toDtoListSequential() {
+        return sequential.toDtoList(entities);
+    }
+
+    @Benchmark
+    public List<EntityDto> toDtoListStream() {
+        return entities.stream().map(sequential::toDto).toList();
+    }
+
+    @Benchmark
+    public List<Entity> toEntityList() {
+        return generated.toEntityList(dtos);
+    }
+}
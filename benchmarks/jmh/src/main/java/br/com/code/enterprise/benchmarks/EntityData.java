@@ -0,0 +1,71 @@
+package br.com.code.enterprise.benchmarks;
+
+import br.com.code.enterprise.specification.model.Entity;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador determinístico de entidades para os benchmarks: a mesma semente produz sempre os mesmos dados.
+ */
+public final class EntityData {
+
+    public static final long SEED = 20_240_601L;
+    public static final long REFERENCE_MILLIS = 1_700_000_000_000L;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final String[] PREFIXES = {"Alpha", "Beta", "Gamma", "Delta", "Epsilon", "Zeta", "Eta", "Theta"};
+
+    /**
+     * {@code UNIFORM}: preços, datas e prefixos de nome distribuídos uniformemente. {@code SKEWED}: cerca de 80% das
+     * entidades concentradas em 20% dos preços, datas e prefixos, como em catálogos reais.
+     */
+    public enum Distribution {
+        UNIFORM,
+        SKEWED
+    }
+
+    private EntityData() {
+    }
+
+    /**
+     * Entidades sem id, para serem salvas em um repositório.
+     */
+    public static Entity[] generate(int size, Distribution distribution) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        Entity[] entities = new Entity[size];
+        for (int i = 0; i < size; i++) {
+            double position = sample(random, distribution);
+            entities[i] = Entity.builder()
+                    .name(PREFIXES[(int) (sample(random, distribution) * PREFIXES.length)] + " " + i)
+                    .description("Description " + i)
+                    .active(random.nextInt(3) != 0)
+                    .created(new Date(REFERENCE_MILLIS - (long) (position * 365) * DAY_MILLIS))
+                    .price(BigDecimal.valueOf((long) (sample(random, distribution) * 100_000), 2))
+                    .build();
+        }
+        return entities;
+    }
+
+    /**
+     * Entidades com ids sequenciais a partir de 1, para avaliação direta de especificações.
+     */
+    public static Entity[] generateWithIds(int size, Distribution distribution) {
+        Entity[] entities = generate(size, distribution);
+        for (int i = 0; i < size; i++) {
+            entities[i].setId(i + 1L);
+        }
+        return entities;
+    }
+
+    /**
+     * Valor em {@code [0, 1)}.
+     */
+    private static double sample(SplittableRandom random, Distribution distribution) {
+        double value = random.nextDouble();
+        if (distribution == Distribution.UNIFORM) {
+            return value;
+        }
+        return random.nextInt(5) == 0 ? 0.2 + value * 0.8 : value * 0.2;
+    }
+}
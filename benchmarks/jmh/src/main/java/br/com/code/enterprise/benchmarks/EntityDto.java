@@ -0,0 +1,7 @@
+package br.com.code.enterprise.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public record EntityDto(Long id, String name, String description, boolean active, Date created, BigDecimal price) {
+}
@@ -0,0 +1,9 @@
+package br.com.code.enterprise.benchmarks;
+
+import br.com.code.enterprise.repository.DataMapper;
+import br.com.code.enterprise.repository.mapper.GenerateMapper;
+import br.com.code.enterprise.specification.model.Entity;
+
+@GenerateMapper
+public interface EntityDtoMapper extends DataMapper<Entity, EntityDto> {
+}
@@ -0,0 +1,99 @@
+package br.com.code.enterprise.benchmarks;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameStartsWithSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.columnar.ColumnarEntityRepository;
+import br.com.code.enterprise.specification.repository.indexed.IndexedEntityRepository;
+import br.com.code.enterprise.specification.repository.mvcc.MvccEntityRepository;
+import br.com.code.enterprise.specification.repository.offheap.OffHeapEntityRepository;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code findById} e {@code findAll} nas implementações em memória.
+ * <p>
+ * A consulta seletiva retorna cerca de 1% das entidades e a abrangente cerca de metade. Por padrão a matriz usa 10 mil
+ * e 100 mil entidades com 2 GB de heap. Execuções com 1 e 10 milhões são opcionais e exigem mais heap, informado na
+ * linha de comando, por exemplo {@code -p size=1000000,10000000 -jvmArgsAppend -Xmx12g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RepositoryBenchmark {
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"stub", "indexed", "columnar", "offheap", "mvcc"})
+    public String implementation;
+
+    @Param({"UNIFORM", "SKEWED"})
+    public EntityData.Distribution distribution;
+
+    private Repository<Entity, Long> repository;
+    private Specification<Entity> selective;
+    private Specification<Entity> broad;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        repository = switch (implementation) {
+            case "stub" -> new EntityStubRepository();
+            case "indexed" -> new IndexedEntityRepository();
+            case "columnar" -> new ColumnarEntityRepository();
+            case "offheap" -> new OffHeapEntityRepository();
+            case "mvcc" -> new MvccEntityRepository();
+            default -> throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        };
+        repository.saveAll(Arrays.asList(EntityData.generate(size, distribution)));
+
+        selective = new PriceBetweenSpecification<Entity>(100.0, 110.0).and(new ActiveSpecification<>());
+        broad = new NameStartsWithSpecification<Entity>("A").not().and(new ActiveSpecification<>());
+    }
+
+    /**
+     * Sequência de ids própria de cada thread, reproduzível entre execuções.
+     */
+    @State(Scope.Thread)
+    public static class Ids {
+        private final SplittableRandom random = new SplittableRandom(EntityData.SEED);
+    }
+
+    @Benchmark
+    public Optional<Entity> findById(Ids ids) {
+        return repository.findById(Entity.class, 1 + ids.random.nextLong(size));
+    }
+
+    @Benchmark
+    public List<Entity> findAllSelective() {
+        return repository.findAll(selective);
+    }
+
+    @Benchmark
+    public List<Entity> findAllBroad() {
+        return repository.findAll(broad);
+    }
+}
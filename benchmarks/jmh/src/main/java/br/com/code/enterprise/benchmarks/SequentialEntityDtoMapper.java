@@ -0,0 +1,12 @@
+package br.com.code.enterprise.benchmarks;
+
+import br.com.code.enterprise.repository.DataMapper;
+import br.com.code.enterprise.repository.mapper.GenerateMapper;
+import br.com.code.enterprise.specification.model.Entity;
+
+/**
+ * Mesmo mapeamento de {@link EntityDtoMapper}, sem o caminho paralelo.
+ */
+@GenerateMapper(parallelThreshold = 0)
+public interface SequentialEntityDtoMapper extends DataMapper<Entity, EntityDto> {
+}
@@ -0,0 +1,144 @@
+package br.com.code.enterprise.benchmarks;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.AllOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.AnyOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedAfterDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameContainsSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameStartsWithSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de avaliar especificações sobre um array de entidades: um predicado simples, árvores AND/OR binárias
+ * profundas e as formas achatadas {@code AllOf}/{@code AnyOf}, fixa e adaptativa, com os mesmos predicados.
+ * <p>
+ * Na árvore AND e no {@code AllOf} os predicados são quase sempre verdadeiros, e na árvore OR e no {@code AnyOf}
+ * quase sempre falsos, de modo que todos os níveis são de fato avaliados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationBenchmark {
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"UNIFORM", "SKEWED"})
+    public EntityData.Distribution distribution;
+
+    @Param({"4", "16"})
+    public int depth;
+
+    private Entity[] entities;
+    private Specification<Entity> leaf;
+    private Specification<Entity> andTree;
+    private Specification<Entity> orTree;
+    private Specification<Entity> allOf;
+    private Specification<Entity> adaptiveAllOf;
+    private Specification<Entity> anyOf;
+
+    @Setup
+    public void setup() {
+        entities = EntityData.generateWithIds(size, distribution);
+        leaf = new PriceGreaterThanSpecification<>(500.0);
+
+        List<Specification<Entity>> mostlyTrue = predicates(true);
+        List<Specification<Entity>> mostlyFalse = predicates(false);
+        andTree = mostlyTrue.get(0);
+        orTree = mostlyFalse.get(0);
+        for (int i = 1; i < depth; i++) {
+            andTree = andTree.and(mostlyTrue.get(i));
+            orTree = orTree.or(mostlyFalse.get(i));
+        }
+        allOf = new AllOfSpecification<>(mostlyTrue);
+        adaptiveAllOf = new AllOfSpecification<>(mostlyTrue).adaptive();
+        anyOf = new AnyOfSpecification<>(mostlyFalse);
+    }
+
+    @Benchmark
+    public int leaf() {
+        return count(leaf);
+    }
+
+    @Benchmark
+    public int andTree() {
+        return count(andTree);
+    }
+
+    @Benchmark
+    public int orTree() {
+        return count(orTree);
+    }
+
+    @Benchmark
+    public int allOf() {
+        return count(allOf);
+    }
+
+    @Benchmark
+    public int adaptiveAllOf() {
+        return count(adaptiveAllOf);
+    }
+
+    @Benchmark
+    public int anyOf() {
+        return count(anyOf);
+    }
+
+    private int count(Specification<Entity> specification) {
+        int matches = 0;
+        for (Entity entity : entities) {
+            if (specification.isSatisfiedBy(entity)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * {@code depth} predicados de tipos alternados; {@code satisfied} escolhe limites que aceitam ou rejeitam quase
+     * todas as entidades.
+     */
+    private List<Specification<Entity>> predicates(boolean satisfied) {
+        List<Specification<Entity>> predicates = new ArrayList<>(depth);
+        for (int i = 0; i < depth; i++) {
+            predicates.add(switch (i % 4) {
+                case 0 -> satisfied
+                        ? new PriceBetweenSpecification<>(0.0, 1_000.0 + i)
+                        : new PriceBetweenSpecification<>(2_000.0 + i, 3_000.0);
+                case 1 -> satisfied
+                        ? new CreatedAfterDateSpecification<>(new Date(0))
+                        : new CreatedAfterDateSpecification<>(new Date(EntityData.REFERENCE_MILLIS + i));
+                case 2 -> satisfied
+                        ? new NameContainsSpecification<>(" ")
+                        : new NameStartsWithSpecification<>("Omega" + i);
+                default -> satisfied
+                        ? new PriceGreaterThanSpecification<Entity>(-1.0 - i)
+                        : new ActiveSpecification<Entity>().and(new PriceGreaterThanSpecification<>(5_000.0 + i));
+            });
+        }
+        return predicates;
+    }
+}
@@ -1,7 +1,12 @@
 package br.com.code.enterprise.repository;
 
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.repository.support.ParallelQuery;
+import br.com.code.enterprise.repository.support.ParallelScanner;
 import br.com.code.enterprise.specification.Specification;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,10 +19,49 @@ public interface Repository<T, ID> {
 
     List<T> findAll(Specification<T> specification);
 
+    /**
+     * Varre as entidades em paralelo no pool configurado em {@code query}, sobre um instantâneo obtido por
+     * {@link #findAll()}.
+     */
+    default List<T> findAll(Specification<T> specification, ParallelQuery query) {
+        return ParallelScanner.findAll(findAll(), specification, query);
+    }
+
     T save(T entity);
 
     void delete(T entity);
 
     void deleteById(ID id);
+
+    default BatchResult<T> saveAll(Collection<T> entities) {
+        long start = System.nanoTime();
+        List<T> saved = new ArrayList<>(entities.size());
+        entities.forEach(entity -> saved.add(save(entity)));
+        return BatchResult.since(start, saved);
+    }
+
+    /**
+     * Remove as entidades com os ids informados; ids inexistentes são ignorados.
+     *
+     * @return o lote com as entidades efetivamente removidas
+     */
+    default BatchResult<T> deleteAllById(Collection<ID> ids) {
+        long start = System.nanoTime();
+        List<T> removed = new ArrayList<>();
+        for (ID id : ids) {
+            findById(id).ifPresent(entity -> {
+                deleteById(id);
+                removed.add(entity);
+            });
+        }
+        return BatchResult.since(start, removed);
+    }
+
+    default BatchResult<T> deleteAll(Specification<T> specification) {
+        long start = System.nanoTime();
+        List<T> removed = findAll(specification);
+        removed.forEach(this::delete);
+        return BatchResult.since(start, removed);
+    }
 }
 
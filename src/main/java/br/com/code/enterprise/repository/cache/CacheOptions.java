@@ -0,0 +1,36 @@
+package br.com.code.enterprise.repository.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Configuração do {@link CachingRepository}.
+ * <p>
+ * {@code maximumSize} limita o número de entidades mantidas em cache. Com {@code writeBehind}, escritas são
+ * enfileiradas e enviadas ao repositório em lotes: a cada {@code writeBehindDelay}, quando a fila alcança
+ * {@code writeBehindBatchSize} ou antes de qualquer consulta. Uma queda do processo perde as escritas ainda na fila.
+ */
+@Getter
+@Builder
+public class CacheOptions {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    @Builder.Default
+    private final int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    @Builder.Default
+    private final boolean writeBehind = false;
+
+    @Builder.Default
+    private final Duration writeBehindDelay = Duration.ofMillis(100);
+
+    @Builder.Default
+    private final int writeBehindBatchSize = 256;
+
+    public static CacheOptions defaults() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.code.enterprise.repository.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Instantâneo das estatísticas de um {@link CachingRepository}. Uma carga é uma busca no repositório após um miss;
+ * misses concorrentes pelo mesmo id compartilham uma única carga.
+ */
+@Getter
+@AllArgsConstructor
+public class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long loadCount;
+    private final long loadFailureCount;
+    private final long totalLoadTimeNanos;
+    private final long pendingWrites;
+    private final long writeFailureCount;
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    public double getHitRate() {
+        long requests = getRequestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Tempo médio de uma carga, com ou sem sucesso.
+     */
+    public Duration getAverageLoadPenalty() {
+        long loads = loadCount + loadFailureCount;
+        return Duration.ofNanos(loads == 0 ? 0 : totalLoadTimeNanos / loads);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats: " + hitCount + " hits, " + missCount + " misses, " + evictionCount + " evictions, "
+                + loadCount + " loads (" + getAverageLoadPenalty().toNanos() / 1_000 + " us avg), "
+                + pendingWrites + " pending writes";
+    }
+}
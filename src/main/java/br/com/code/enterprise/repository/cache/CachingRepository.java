@@ -0,0 +1,499 @@
+package br.com.code.enterprise.repository.cache;
+
+import br.com.code.enterprise.repository.Repository;
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.repository.support.ParallelQuery;
+import br.com.code.enterprise.specification.Specification;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Decorador de {@link Repository} que atende {@link #findById(Object)} a partir de um cache limitado.
+ * <p>
+ * A leitura de um valor em cache não toma trava: o registro do acesso na política é feito com {@code tryLock} e
+ * descartado sob contenção, o que só afeta a precisão da frequência estimada. O despejo segue a política
+ * W-TinyLFU ({@link TinyLfuPolicy}), que preserva o conjunto quente diante de varreduras de ids acessados uma única
+ * vez. Misses concorrentes pelo mesmo id compartilham uma única busca no repositório; ids inexistentes não são
+ * guardados.
+ * <p>
+ * Sem write-behind, escritas vão direto ao repositório e atualizam ou invalidam a entrada em cache. Com
+ * write-behind (ver {@link CacheOptions}), {@code save} e {@code delete} são enfileirados e enviados em lotes, por
+ * {@link Repository#saveAll(Collection)} e {@link Repository#deleteAllById(Collection)}, na ordem em que foram
+ * feitos; {@link #findById(Object)} enxerga as escritas pendentes e as consultas por especificação esvaziam a fila
+ * antes de executar. Entidades novas só recebem id quando o lote é gravado; se o repositório atribuir a uma
+ * entidade um id diferente do que ela tinha ao ser salva, o id anterior deixa de ser servido pelo cache.
+ */
+public class CachingRepository<T, ID> implements Repository<T, ID>, AutoCloseable {
+
+    private final Repository<T, ID> delegate;
+    private final Function<T, ID> idOf;
+    private final boolean writeBehind;
+    private final int writeBehindBatchSize;
+
+    private final Map<ID, T> data = new ConcurrentHashMap<>();
+    private final Map<ID, CompletableFuture<Optional<T>>> loading = new ConcurrentHashMap<>();
+    private final TinyLfuPolicy<ID> policy;
+    private final ReentrantLock policyLock = new ReentrantLock();
+
+    private final Deque<PendingWrite<T, ID>> queue = new ArrayDeque<>();
+    private final Map<ID, PendingWrite<T, ID>> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadTimeNanos = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+
+    public CachingRepository(Repository<T, ID> delegate, Function<T, ID> idOf) {
+        this(delegate, idOf, CacheOptions.defaults());
+    }
+
+    public CachingRepository(Repository<T, ID> delegate, Function<T, ID> idOf, CacheOptions options) {
+        if (options.getMaximumSize() < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + options.getMaximumSize());
+        }
+        this.delegate = delegate;
+        this.idOf = idOf;
+        this.policy = new TinyLfuPolicy<>(options.getMaximumSize());
+        this.writeBehind = options.isWriteBehind();
+        this.writeBehindBatchSize = Math.max(1, options.getWriteBehindBatchSize());
+
+        if (writeBehind) {
+            long delay = options.getWriteBehindDelay().toNanos();
+            if (delay <= 0) {
+                throw new IllegalArgumentException("writeBehindDelay must be positive: " + options.getWriteBehindDelay());
+            }
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "cache-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, delay, delay, TimeUnit.NANOSECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        PendingWrite<T, ID> write = pending.get(id);
+        if (write != null) {
+            return Optional.ofNullable(write.entity());
+        }
+
+        T cached = data.get(id);
+        if (cached != null) {
+            hits.increment();
+            if (policyLock.tryLock()) {
+                try {
+                    policy.recordAccess(id);
+                } finally {
+                    policyLock.unlock();
+                }
+            }
+            return Optional.of(cached);
+        }
+
+        misses.increment();
+        CompletableFuture<Optional<T>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<T>> inFlight = loading.putIfAbsent(id, mine);
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        T raced = data.get(id);
+        if (raced != null) {
+            loading.remove(id, mine);
+            mine.complete(Optional.of(raced));
+            return Optional.of(raced);
+        }
+        return load(id, mine);
+    }
+
+    /**
+     * Busca o id no repositório e publica o resultado para os misses que aguardam a mesma carga. O valor só entra
+     * no cache se a carga não foi invalidada por uma escrita enquanto estava em andamento, e entra antes de a carga
+     * deixar {@code loading}: um miss que chega depois disso encontra o valor ao conferir o cache novamente.
+     */
+    private Optional<T> load(ID id, CompletableFuture<Optional<T>> mine) {
+        long start = System.nanoTime();
+        Optional<T> loaded;
+        try {
+            loaded = delegate.findById(id);
+        } catch (RuntimeException e) {
+            loadTimeNanos.add(System.nanoTime() - start);
+            loadFailures.increment();
+            loading.remove(id, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        loadTimeNanos.add(System.nanoTime() - start);
+        loads.increment();
+
+        policyLock.lock();
+        try {
+            if (loading.get(id) == mine && loaded.isPresent()) {
+                insert(id, loaded.get());
+            }
+            loading.remove(id, mine);
+        } finally {
+            policyLock.unlock();
+        }
+        mine.complete(loaded);
+        return loaded;
+    }
+
+    /**
+     * Deve ser chamado com {@code policyLock}.
+     */
+    private void insert(ID id, T entity) {
+        if (data.put(id, entity) != null) {
+            return;
+        }
+        ID evicted = policy.recordInsert(id);
+        if (evicted != null) {
+            data.remove(evicted);
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Substitui a entrada em cache, se houver, e descarta uma carga em andamento para o id.
+     */
+    private void refresh(ID id, T entity) {
+        policyLock.lock();
+        try {
+            loading.remove(id);
+            data.replace(id, entity);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void invalidate(ID id) {
+        policyLock.lock();
+        try {
+            loading.remove(id);
+            if (data.remove(id) != null) {
+                policy.remove(id);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    @Override
+    public List<T> findAll() {
+        flush();
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<T> findOne(Specification<T> specification) {
+        flush();
+        return delegate.findOne(specification);
+    }
+
+    @Override
+    public List<T> findAll(Specification<T> specification) {
+        flush();
+        return delegate.findAll(specification);
+    }
+
+    @Override
+    public List<T> findAll(Specification<T> specification, ParallelQuery query) {
+        flush();
+        return delegate.findAll(specification, query);
+    }
+
+    @Override
+    public T save(T entity) {
+        if (!writeBehind) {
+            ID before = idOf.apply(entity);
+            T saved = delegate.save(entity);
+            saved(before, saved);
+            return saved;
+        }
+        enqueue(List.of(save(idOf.apply(entity), entity)));
+        return entity;
+    }
+
+    @Override
+    public BatchResult<T> saveAll(Collection<T> entities) {
+        long start = System.nanoTime();
+        if (!writeBehind) {
+            List<ID> before = new ArrayList<>(entities.size());
+            entities.forEach(entity -> before.add(idOf.apply(entity)));
+            BatchResult<T> result = delegate.saveAll(entities);
+            saved(before, result.getEntities());
+            return result;
+        }
+        List<PendingWrite<T, ID>> writes = new ArrayList<>(entities.size());
+        entities.forEach(entity -> writes.add(save(idOf.apply(entity), entity)));
+        enqueue(writes);
+        return BatchResult.since(start, new ArrayList<>(entities));
+    }
+
+    /**
+     * Com write-behind, uma entidade ainda sem id tem seu save pendente descartado; se o lote que a contém já está
+     * sendo gravado, a remoção aguarda a gravação e usa o id atribuído.
+     */
+    @Override
+    public void delete(T entity) {
+        if (!writeBehind) {
+            delegate.delete(entity);
+            ID id = idOf.apply(entity);
+            if (id != null) {
+                invalidate(id);
+            }
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            ID id = idOf.apply(entity);
+            if (id != null) {
+                deleteById(id);
+                return;
+            }
+            synchronized (queue) {
+                queue.removeIf(write -> write.entity() == entity);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        if (!writeBehind) {
+            delegate.deleteById(id);
+            invalidate(id);
+            return;
+        }
+        PendingWrite<T, ID> write = new PendingWrite<>(id, null);
+        pending.put(id, write);
+        invalidate(id);
+        enqueue(List.of(write));
+    }
+
+    @Override
+    public BatchResult<T> deleteAllById(Collection<ID> ids) {
+        flush();
+        BatchResult<T> result = delegate.deleteAllById(ids);
+        ids.forEach(this::invalidate);
+        return result;
+    }
+
+    @Override
+    public BatchResult<T> deleteAll(Specification<T> specification) {
+        flush();
+        BatchResult<T> result = delegate.deleteAll(specification);
+        for (T removed : result.getEntities()) {
+            ID id = idOf.apply(removed);
+            if (id != null) {
+                invalidate(id);
+            }
+        }
+        return result;
+    }
+
+    private PendingWrite<T, ID> save(ID id, T entity) {
+        PendingWrite<T, ID> write = new PendingWrite<>(id, entity);
+        if (id != null) {
+            pending.put(id, write);
+            refresh(id, entity);
+        }
+        return write;
+    }
+
+    private void enqueue(List<PendingWrite<T, ID>> writes) {
+        int size;
+        synchronized (queue) {
+            queue.addAll(writes);
+            size = queue.size();
+        }
+        if (size >= writeBehindBatchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // repositório fechado: as escritas aguardam um flush explícito
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Envia as escritas pendentes ao repositório, agrupando saves e removes consecutivos em um lote cada. Se um lote
+     * falha, ele e os seguintes voltam para o início da fila e a exceção é propagada. Sem write-behind, não faz nada.
+     */
+    public void flush() {
+        if (!writeBehind) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<PendingWrite<T, ID>> batch;
+            synchronized (queue) {
+                if (queue.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(queue);
+                queue.clear();
+            }
+
+            int done = 0;
+            try {
+                while (done < batch.size()) {
+                    int end = done + 1;
+                    while (end < batch.size() && batch.get(end).isSave() == batch.get(done).isSave()) {
+                        end++;
+                    }
+                    List<PendingWrite<T, ID>> run = batch.subList(done, end);
+                    if (run.get(0).isSave()) {
+                        writeSaves(run);
+                    } else {
+                        writeDeletes(run);
+                    }
+                    done = end;
+                }
+            } catch (RuntimeException e) {
+                writeFailures.increment();
+                synchronized (queue) {
+                    for (int i = batch.size() - 1; i >= done; i--) {
+                        queue.addFirst(batch.get(i));
+                    }
+                }
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void writeSaves(List<PendingWrite<T, ID>> run) {
+        List<T> entities = new ArrayList<>(run.size());
+        List<ID> before = new ArrayList<>(run.size());
+        run.forEach(write -> {
+            entities.add(write.entity());
+            before.add(write.id());
+        });
+        BatchResult<T> result = delegate.saveAll(entities);
+        settle(run);
+        saved(before, result.getEntities());
+    }
+
+    /**
+     * O lote devolvido segue a ordem das entidades enviadas; se o tamanho não confere, os ids anteriores são todos
+     * descartados.
+     */
+    private void saved(List<ID> before, List<T> saved) {
+        boolean aligned = before.size() == saved.size();
+        if (!aligned) {
+            before.stream().filter(Objects::nonNull).forEach(this::invalidate);
+        }
+        for (int i = 0; i < saved.size(); i++) {
+            saved(aligned ? before.get(i) : null, saved.get(i));
+        }
+    }
+
+    /**
+     * Atualiza o cache após um save. Se o repositório atribuiu um id diferente do que a entidade tinha, a entrada
+     * do id anterior é descartada: ela guardaria a instância alterada no lugar, que agora pertence ao novo id.
+     */
+    private void saved(ID before, T saved) {
+        ID id = idOf.apply(saved);
+        if (before != null && !before.equals(id)) {
+            invalidate(before);
+        }
+        if (id != null) {
+            refresh(id, saved);
+        }
+    }
+
+    private void writeDeletes(List<PendingWrite<T, ID>> run) {
+        List<ID> ids = new ArrayList<>(run.size());
+        run.forEach(write -> ids.add(write.id()));
+        delegate.deleteAllById(ids);
+        settle(run);
+    }
+
+    /**
+     * Retira do índice de pendências as escritas gravadas que não foram substituídas por uma escrita mais nova.
+     */
+    private void settle(List<PendingWrite<T, ID>> run) {
+        for (PendingWrite<T, ID> write : run) {
+            if (write.id() != null) {
+                pending.remove(write.id(), write);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // contabilizada em writeFailureCount; as escritas voltaram para a fila e serão reenviadas no próximo ciclo
+        }
+    }
+
+    public CacheStats stats() {
+        int pendingWrites;
+        synchronized (queue) {
+            pendingWrites = queue.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), loads.sum(), loadFailures.sum(),
+                loadTimeNanos.sum(), pendingWrites, writeFailures.sum());
+    }
+
+    public int estimatedSize() {
+        return data.size();
+    }
+
+    /**
+     * Grava as escritas pendentes e encerra o agendador do write-behind.
+     */
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flush();
+        }
+    }
+
+    /**
+     * Escrita enfileirada: um save quando {@code entity} está presente, senão um remove de {@code id}.
+     */
+    private record PendingWrite<T, ID>(ID id, T entity) {
+        boolean isSave() {
+            return entity != null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.code.enterprise.repository.cache;
+
+/**
+ * Estimador de frequência de acesso (count-min sketch) com contadores de 4 bits, usado pela admissão TinyLFU.
+ * <p>
+ * Cada {@code long} da tabela guarda 16 contadores; uma chave incrementa quatro deles, em posições derivadas de
+ * sementes distintas, e sua frequência estimada é o menor dos quatro. Depois de {@code 10 * capacidade}
+ * incrementos todos os contadores são divididos por dois, de modo que o histórico envelhece e chaves que deixaram de
+ * ser populares perdem a preferência na admissão.
+ */
+final class FrequencySketch<K> {
+
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+            0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_FREQUENCY = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int length = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 26)) - 1) << 1;
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * Math.max(1, maximumSize));
+    }
+
+    int frequency(K key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int shift = counterOf(hash, i) << 2;
+            frequency = Math.min(frequency, (int) ((table[indexOf(hash, i)] >>> shift) & 0xFL));
+        }
+        return frequency;
+    }
+
+    void increment(K key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(indexOf(hash, i), counterOf(hash, i));
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int shift = counter << 2;
+        long mask = 0xFL << shift;
+        if ((table[index] & mask) == mask) {
+            return false;
+        }
+        table[index] += 1L << shift;
+        return true;
+    }
+
+    /**
+     * Divide todos os contadores por dois.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static int counterOf(int hash, int i) {
+        return (hash >>> (i << 3)) & 0xF;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
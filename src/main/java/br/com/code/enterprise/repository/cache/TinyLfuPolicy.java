@@ -0,0 +1,89 @@
+package br.com.code.enterprise.repository.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Política de despejo W-TinyLFU.
+ * <p>
+ * Novas chaves entram em uma janela LRU pequena (1% da capacidade), que absorve rajadas de acessos recentes. Quem
+ * sai da janela disputa a entrada na área principal com a vítima da área, e só é admitido se o
+ * {@link FrequencySketch} estimar uma frequência maior: chaves acessadas uma única vez não expulsam o conjunto
+ * quente. A área principal é um SLRU: a admissão vai para o segmento de experiência e um novo acesso promove a
+ * chave ao segmento protegido (80% da área), cujo excesso volta para a experiência.
+ * <p>
+ * Não é thread-safe; o {@link CachingRepository} a protege com uma trava.
+ */
+final class TinyLfuPolicy<K> {
+
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final int protectedCapacity;
+    private final Map<K, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, Boolean> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, Boolean> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch<K> sketch;
+
+    TinyLfuPolicy(int maximumSize) {
+        this.windowCapacity = Math.max(1, maximumSize / 100);
+        this.mainCapacity = maximumSize - windowCapacity;
+        this.protectedCapacity = (int) (mainCapacity * 0.8);
+        this.sketch = new FrequencySketch<>(maximumSize);
+    }
+
+    void recordAccess(K key) {
+        sketch.increment(key);
+        if (window.get(key) != null || protectedSegment.get(key) != null) {
+            return;
+        }
+        if (probation.remove(key) != null) {
+            protectedSegment.put(key, Boolean.TRUE);
+            if (protectedSegment.size() > protectedCapacity) {
+                K demoted = eldest(protectedSegment);
+                protectedSegment.remove(demoted);
+                probation.put(demoted, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Registra uma chave nova.
+     *
+     * @return a chave que deve ser despejada do cache (possivelmente a própria candidata) ou {@code null}
+     */
+    K recordInsert(K key) {
+        sketch.increment(key);
+        window.put(key, Boolean.TRUE);
+        if (window.size() <= windowCapacity) {
+            return null;
+        }
+
+        K candidate = eldest(window);
+        window.remove(candidate);
+        if (probation.size() + protectedSegment.size() < mainCapacity) {
+            probation.put(candidate, Boolean.TRUE);
+            return null;
+        }
+        if (mainCapacity == 0) {
+            return candidate;
+        }
+
+        K victim = probation.isEmpty() ? eldest(protectedSegment) : eldest(probation);
+        if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+            remove(victim);
+            probation.put(candidate, Boolean.TRUE);
+            return victim;
+        }
+        return candidate;
+    }
+
+    void remove(K key) {
+        if (window.remove(key) == null && probation.remove(key) == null) {
+            protectedSegment.remove(key);
+        }
+    }
+
+    private static <K> K eldest(Map<K, Boolean> segment) {
+        return segment.keySet().iterator().next();
+    }
+}
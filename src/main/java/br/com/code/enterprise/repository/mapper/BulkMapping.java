@@ -0,0 +1,87 @@
+package br.com.code.enterprise.repository.mapper;
+
+import br.com.code.enterprise.repository.support.ParallelQuery;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Suporte às conversões em lote dos mapeadores gerados.
+ * <p>
+ * O resultado é montado em um array do tamanho exato da entrada e exposto sem cópia como lista somente leitura. No
+ * caminho paralelo, cada parte de pelo menos {@link ParallelQuery#getChunkSize()} elementos grava diretamente em sua
+ * faixa do array, no pool compartilhado de {@link ParallelQuery}, de modo que a ordem da entrada é preservada sem
+ * concatenação.
+ */
+public final class BulkMapping {
+
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    private BulkMapping() {
+    }
+
+    /**
+     * Lista somente leitura sobre o array preenchido, sem cópia.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> wrap(Object[] values) {
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    public static <S, T> List<T> parallel(List<S> source, Function<? super S, ? extends T> mapper) {
+        return parallel(source, mapper, ParallelQuery.defaults());
+    }
+
+    /**
+     * @throws IllegalArgumentException se {@code chunkSize} for menor que 1, o que impediria a divisão de terminar
+     */
+    public static <S, T> List<T> parallel(List<S> source, Function<? super S, ? extends T> mapper, ParallelQuery query) {
+        if (query.getChunkSize() < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + query.getChunkSize());
+        }
+        Object[] input = source instanceof RandomAccess ? null : source.toArray();
+        Object[] output = new Object[source.size()];
+        query.getPool().invoke(new MapTask<>(source, input, output, mapper, query.getChunkSize(), 0, output.length));
+        return wrap(output);
+    }
+
+    private static final class MapTask<S, T> extends RecursiveAction {
+        private final List<S> source;
+        private final Object[] input;
+        private final Object[] output;
+        private final Function<? super S, ? extends T> mapper;
+        private final int chunkSize;
+        private final int from;
+        private final int to;
+
+        private MapTask(List<S> source, Object[] input, Object[] output, Function<? super S, ? extends T> mapper,
+                        int chunkSize, int from, int to) {
+            this.source = source;
+            this.input = input;
+            this.output = output;
+            this.mapper = mapper;
+            this.chunkSize = chunkSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                for (int i = from; i < to; i++) {
+                    output[i] = mapper.apply(input == null ? source.get(i) : (S) input[i]);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new MapTask<>(source, input, output, mapper, chunkSize, from, middle),
+                    new MapTask<>(source, input, output, mapper, chunkSize, middle, to));
+        }
+    }
+}
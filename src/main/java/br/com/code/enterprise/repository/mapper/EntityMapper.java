@@ -30,15 +30,21 @@ public class EntityMapper implements DataMapper<Entity, Object> { // This class
 
     @Override
     public List<Object> toDtoList(List<Entity> entities) {
-        return entities.stream()
-                .map(this::toDto)
-                .toList();
+        Object[] result = new Object[entities.size()];
+        int i = 0;
+        for (Entity entity : entities) {
+            result[i++] = toDto(entity);
+        }
+        return BulkMapping.wrap(result);
     }
 
     @Override
     public List<Entity> toEntityList(List<Object> objects) {
-        return objects.stream()
-                .map(this::toEntity)
-                .toList();
+        Object[] result = new Object[objects.size()];
+        int i = 0;
+        for (Object o : objects) {
+            result[i++] = toEntity(o);
+        }
+        return BulkMapping.wrap(result);
     }
 }
@@ -0,0 +1,26 @@
+package br.com.code.enterprise.repository.mapper;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca uma interface ou classe abstrata que estende {@link br.com.code.enterprise.repository.DataMapper} para que o
+ * {@link br.com.code.enterprise.repository.mapper.processor.DataMapperProcessor} gere, em tempo de compilação, a
+ * implementação {@code <Nome>Impl} no mesmo pacote.
+ * <p>
+ * As propriedades são associadas pelo nome: getters, {@code isX()} booleanos, acessores de record e campos públicos
+ * na origem; setters, campos públicos ou o construtor canônico de um record no destino. A cópia é feita campo a campo,
+ * sem reflexão. Métodos já implementados pelo tipo anotado são preservados.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateMapper {
+
+    /**
+     * Tamanho a partir do qual {@code toDtoList} e {@code toEntityList} convertem em paralelo; zero ou negativo
+     * desativa o caminho paralelo.
+     */
+    int parallelThreshold() default BulkMapping.DEFAULT_PARALLEL_THRESHOLD;
+}
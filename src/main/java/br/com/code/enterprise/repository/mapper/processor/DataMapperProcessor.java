@@ -0,0 +1,364 @@
+package br.com.code.enterprise.repository.mapper.processor;
+
+import br.com.code.enterprise.repository.mapper.GenerateMapper;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Processador de anotações que gera implementações de {@code DataMapper} para os tipos marcados com
+ * {@link GenerateMapper}.
+ * <p>
+ * Cada conversão gerada é uma sequência de chamadas diretas a getters e setters (ou ao construtor canônico de um
+ * record), verificadas pelo compilador; propriedades com o mesmo nome e tipos incompatíveis são erros de compilação e
+ * propriedades do destino sem origem geram avisos. As conversões em lote preenchem um array do tamanho da entrada e,
+ * a partir de {@link GenerateMapper#parallelThreshold()}, delegam a {@code BulkMapping.parallel}.
+ * <p>
+ * Para usar, registre o processador na compilação que contém os mapeadores, por exemplo em
+ * {@code annotationProcessors} do {@code maven-compiler-plugin}.
+ */
+@SupportedAnnotationTypes("br.com.code.enterprise.repository.mapper.GenerateMapper")
+public class DataMapperProcessor extends AbstractProcessor {
+
+    private static final String DATA_MAPPER = "br.com.code.enterprise.repository.DataMapper";
+    private static final String BULK_MAPPING = "br.com.code.enterprise.repository.mapper.BulkMapping";
+    private static final Set<String> MAPPER_METHODS = Set.of("toDto", "toEntity", "toDtoList", "toEntityList");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (Element element : round.getElementsAnnotatedWith(GenerateMapper.class)) {
+            try {
+                generate(element);
+            } catch (MappingException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Could not write mapper implementation: " + e.getMessage(), element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(Element element) throws IOException {
+        if (!(element.getKind() == ElementKind.INTERFACE
+              || element.getKind() == ElementKind.CLASS && element.getModifiers().contains(Modifier.ABSTRACT))) {
+            throw new MappingException("@GenerateMapper must annotate an interface or abstract class", element);
+        }
+
+        TypeElement mapper = (TypeElement) element;
+        if (!mapper.getTypeParameters().isEmpty()) {
+            throw new MappingException("@GenerateMapper does not support generic mapper types", mapper);
+        }
+
+        DeclaredType dataMapper = findDataMapper(mapper.asType());
+        if (dataMapper == null) {
+            throw new MappingException("@GenerateMapper type must extend " + DATA_MAPPER, mapper);
+        }
+
+        TypeMirror entity = dataMapper.getTypeArguments().get(0);
+        TypeMirror dto = dataMapper.getTypeArguments().get(1);
+        for (TypeMirror type : List.of(entity, dto)) {
+            if (type.getKind() != TypeKind.DECLARED) {
+                throw new MappingException("Mapped types must be classes or records: " + type, mapper);
+            }
+        }
+
+        Set<String> implemented = implementedMethods(mapper);
+        String packageName = processingEnv.getElementUtils().getPackageOf(mapper).getQualifiedName().toString();
+        String simpleName = implementationName(mapper);
+        int threshold = mapper.getAnnotation(GenerateMapper.class).parallelThreshold();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(simpleName)
+                .append(mapper.getKind() == ElementKind.INTERFACE ? " implements " : " extends ")
+                .append(mapper.getQualifiedName()).append(" {\n");
+
+        if (!implemented.contains("toDto")) {
+            source.append(convert("toDto", (DeclaredType) entity, (DeclaredType) dto, mapper));
+        }
+        if (!implemented.contains("toEntity")) {
+            source.append(convert("toEntity", (DeclaredType) dto, (DeclaredType) entity, mapper));
+        }
+        if (!implemented.contains("toDtoList")) {
+            source.append(convertList("toDtoList", "toDto", entity, dto, threshold));
+        }
+        if (!implemented.contains("toEntityList")) {
+            source.append(convertList("toEntityList", "toEntity", dto, entity, threshold));
+        }
+        source.append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, mapper).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private String convert(String method, DeclaredType from, DeclaredType to, TypeElement mapper) {
+        Map<String, Property> readable = readable(from);
+        TypeElement target = (TypeElement) to.asElement();
+        StringBuilder body = new StringBuilder()
+                .append("\n    @Override\n")
+                .append("    public ").append(to).append(' ').append(method).append('(').append(from).append(" source) {\n")
+                .append("        if (source == null) {\n")
+                .append("            return null;\n")
+                .append("        }\n\n");
+
+        if (target.getKind() == ElementKind.RECORD) {
+            List<String> arguments = new ArrayList<>();
+            for (RecordComponentElement component : target.getRecordComponents()) {
+                TypeMirror type = ((ExecutableType) types().asMemberOf(to, component.getAccessor())).getReturnType();
+                arguments.add(valueFor(component.getSimpleName().toString(), type, readable, from, to, mapper));
+            }
+            body.append("        return new ").append(to).append('(').append(String.join(", ", arguments)).append(");\n");
+        } else {
+            if (target.getModifiers().contains(Modifier.ABSTRACT) || !hasPublicNoArgConstructor(target)) {
+                throw new MappingException(to + " needs a public no-arg constructor or must be a record", mapper);
+            }
+
+            body.append("        ").append(to).append(" result = new ").append(to).append("();\n");
+            writable(to).forEach((name, property) -> {
+                String value = valueFor(name, property.type, readable, from, to, mapper);
+                if (value != null) {
+                    body.append("        result.").append(property.access.replace("$", value)).append(";\n");
+                }
+            });
+            body.append("        return result;\n");
+        }
+        return body.append("    }\n").toString();
+    }
+
+    /**
+     * Expressão que lê a propriedade de origem; para records, um valor padrão quando não há origem.
+     */
+    private String valueFor(String name, TypeMirror type, Map<String, Property> readable, DeclaredType from,
+                            DeclaredType to, TypeElement mapper) {
+        Property property = readable.get(name);
+        if (property == null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Unmapped target property '" + name + "' in " + to + ": no matching property in " + from, mapper);
+            return ((TypeElement) to.asElement()).getKind() == ElementKind.RECORD ? defaultValue(type) : null;
+        }
+        if (!types().isAssignable(property.type, type)) {
+            throw new MappingException("Property '" + name + "' of " + from + " has type " + property.type
+                                       + ", which is not assignable to " + type + " in " + to, mapper);
+        }
+        return "source." + property.access;
+    }
+
+    private String convertList(String method, String element, TypeMirror from, TypeMirror to, int threshold) {
+        StringBuilder body = new StringBuilder()
+                .append("\n    @Override\n")
+                .append("    public java.util.List<").append(to).append("> ").append(method)
+                .append("(java.util.List<").append(from).append("> sources) {\n")
+                .append("        if (sources == null) {\n")
+                .append("            return null;\n")
+                .append("        }\n");
+        if (threshold > 0) {
+            body.append("        if (sources.size() >= ").append(threshold).append(") {\n")
+                    .append("            return ").append(BULK_MAPPING).append(".parallel(sources, this::")
+                    .append(element).append(");\n")
+                    .append("        }\n");
+        }
+        return body.append('\n')
+                .append("        Object[] result = new Object[sources.size()];\n")
+                .append("        int i = 0;\n")
+                .append("        for (").append(from).append(" source : sources) {\n")
+                .append("            result[i++] = ").append(element).append("(source);\n")
+                .append("        }\n")
+                .append("        return ").append(BULK_MAPPING).append(".wrap(result);\n")
+                .append("    }\n")
+                .toString();
+    }
+
+    /**
+     * Propriedades legíveis por nome: acessores de record, getters, {@code isX()} booleanos e campos públicos.
+     */
+    private Map<String, Property> readable(DeclaredType type) {
+        Map<String, Property> properties = new LinkedHashMap<>();
+        TypeElement element = (TypeElement) type.asElement();
+        if (element.getKind() == ElementKind.RECORD) {
+            for (RecordComponentElement component : element.getRecordComponents()) {
+                ExecutableElement accessor = component.getAccessor();
+                properties.put(component.getSimpleName().toString(), new Property(accessor.getSimpleName() + "()",
+                        ((ExecutableType) types().asMemberOf(type, accessor)).getReturnType()));
+            }
+        }
+
+        for (Element member : processingEnv.getElementUtils().getAllMembers(element)) {
+            if (!isPublicInstanceMember(member)) {
+                continue;
+            }
+
+            String name = member.getSimpleName().toString();
+            if (member.getKind() == ElementKind.METHOD && ((ExecutableElement) member).getParameters().isEmpty()) {
+                TypeMirror returnType = ((ExecutableType) types().asMemberOf(type, member)).getReturnType();
+                if (name.startsWith("get") && name.length() > 3 && returnType.getKind() != TypeKind.VOID
+                    && !name.equals("getClass")) {
+                    properties.putIfAbsent(decapitalize(name.substring(3)), new Property(name + "()", returnType));
+                } else if (name.startsWith("is") && name.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN) {
+                    properties.putIfAbsent(decapitalize(name.substring(2)), new Property(name + "()", returnType));
+                }
+            } else if (member.getKind() == ElementKind.FIELD) {
+                properties.putIfAbsent(name, new Property(name, types().asMemberOf(type, member)));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Propriedades graváveis por nome: setters e campos públicos não finais. Em {@link Property#access}, {@code $}
+     * marca a posição do valor.
+     */
+    private Map<String, Property> writable(DeclaredType type) {
+        Map<String, Property> properties = new LinkedHashMap<>();
+        for (Element member : processingEnv.getElementUtils().getAllMembers((TypeElement) type.asElement())) {
+            if (!isPublicInstanceMember(member)) {
+                continue;
+            }
+
+            String name = member.getSimpleName().toString();
+            if (member.getKind() == ElementKind.METHOD && name.startsWith("set") && name.length() > 3
+                && ((ExecutableElement) member).getParameters().size() == 1) {
+                TypeMirror parameter = ((ExecutableType) types().asMemberOf(type, member)).getParameterTypes().get(0);
+                properties.putIfAbsent(decapitalize(name.substring(3)), new Property(name + "($)", parameter));
+            } else if (member.getKind() == ElementKind.FIELD && !member.getModifiers().contains(Modifier.FINAL)) {
+                properties.putIfAbsent(name, new Property(name + " = $", types().asMemberOf(type, member)));
+            }
+        }
+        return properties;
+    }
+
+    private DeclaredType findDataMapper(TypeMirror type) {
+        for (TypeMirror supertype : types().directSupertypes(type)) {
+            if (supertype.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+
+            DeclaredType declared = (DeclaredType) supertype;
+            if (((TypeElement) declared.asElement()).getQualifiedName().contentEquals(DATA_MAPPER)) {
+                return declared;
+            }
+            DeclaredType found = findDataMapper(declared);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Métodos de {@code DataMapper} que o tipo anotado já implementa. Qualquer outro método abstrato impede a
+     * geração.
+     */
+    private Set<String> implementedMethods(TypeElement mapper) {
+        Set<String> implemented = new HashSet<>();
+        for (Element member : processingEnv.getElementUtils().getAllMembers(mapper)) {
+            if (member.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+
+            String name = member.getSimpleName().toString();
+            boolean mapperMethod = MAPPER_METHODS.contains(name) && ((ExecutableElement) member).getParameters().size() == 1;
+            if (!member.getModifiers().contains(Modifier.ABSTRACT)) {
+                if (mapperMethod) {
+                    implemented.add(name);
+                }
+            } else if (!mapperMethod) {
+                throw new MappingException("Cannot generate abstract method " + name + " of " + mapper, member);
+            }
+        }
+        return implemented;
+    }
+
+    private static boolean hasPublicNoArgConstructor(TypeElement type) {
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.CONSTRUCTOR && member.getModifiers().contains(Modifier.PUBLIC)
+                && ((ExecutableElement) member).getParameters().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPublicInstanceMember(Element member) {
+        return member.getModifiers().contains(Modifier.PUBLIC) && !member.getModifiers().contains(Modifier.STATIC);
+    }
+
+    /**
+     * Nome da implementação; tipos aninhados incluem os nomes dos tipos externos, separados por {@code _}.
+     */
+    private static String implementationName(TypeElement mapper) {
+        StringBuilder name = new StringBuilder(mapper.getSimpleName());
+        for (Element outer = mapper.getEnclosingElement(); outer instanceof TypeElement;
+             outer = outer.getEnclosingElement()) {
+            name.insert(0, outer.getSimpleName() + "_");
+        }
+        return name.append("Impl").toString();
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "false";
+            case CHAR -> "'\\0'";
+            case BYTE, SHORT, INT, LONG, FLOAT, DOUBLE -> "(" + type + ") 0";
+            default -> "null";
+        };
+    }
+
+    /**
+     * Segue a convenção de JavaBeans: {@code URL} permanece {@code URL}, {@code Name} vira {@code name}.
+     */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private Types types() {
+        return processingEnv.getTypeUtils();
+    }
+
+    private record Property(String access, TypeMirror type) {
+    }
+
+    private static final class MappingException extends RuntimeException {
+        private final transient Element element;
+
+        private MappingException(String message, Element element) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
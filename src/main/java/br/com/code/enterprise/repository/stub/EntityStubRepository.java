@@ -1,62 +1,97 @@
 package br.com.code.enterprise.repository.stub;
 
 import br.com.code.enterprise.repository.Repository;
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.repository.support.ParallelQuery;
+import br.com.code.enterprise.repository.support.ParallelScanner;
 import br.com.code.enterprise.specification.Specification;
 import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.store.PrimaryKeyStore;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class EntityStubRepository implements Repository<Entity, Long> {
 
-    private final List<Entity> list;
+    private final PrimaryKeyStore<Entity> store;
 
     public EntityStubRepository() {
-        this.list = new ArrayList<>();
+        this.store = new PrimaryKeyStore<>();
     }
 
     @Override
     public Entity save(Entity entity) {
-        entity.setId((long) (list.size() + 1));
-        list.add(entity);
+        entity.setId(store.nextId());
+        store.put(entity.getId(), entity);
         return entity;
     }
 
     @Override
     public List<Entity> findAll(Specification<Entity> specification) {
-        return list.stream()
+        return store.stream()
                 .filter(specification::isSatisfiedBy)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification, ParallelQuery query) {
+        return ParallelScanner.findAll(store.values(), specification, query);
+    }
+
     @Override
     public Optional<Entity> findById(Long aLong) {
-        return list.stream()
-                .filter(entity -> entity.getId().equals(aLong))
-                .findFirst();
+        return Optional.ofNullable(store.get(aLong));
     }
 
     @Override
     public List<Entity> findAll() {
-        return new ArrayList<>(list);
+        return new ArrayList<>(store.values());
     }
 
     @Override
     public Optional<Entity> findOne(Specification<Entity> specification) {
-        return list.stream()
+        return store.stream()
                 .filter(specification::isSatisfiedBy)
                 .findFirst();
     }
 
     @Override
     public void delete(Entity entity) {
-        list.removeIf(e -> e.getId().equals(entity.getId()));
+        store.remove(entity.getId());
     }
 
     @Override
     public void deleteById(Long aLong) {
-        list.removeIf(entity -> entity.getId().equals(aLong));
+        store.remove(aLong);
+    }
+
+    /**
+     * Reserva o bloco de ids do lote com uma única operação na sequência.
+     */
+    @Override
+    public BatchResult<Entity> saveAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        long id = store.reserveIds(entities.size());
+        for (Entity entity : entities) {
+            entity.setId(id++);
+            store.put(entity.getId(), entity);
+        }
+        return BatchResult.since(start, new ArrayList<>(entities));
+    }
+
+    @Override
+    public BatchResult<Entity> deleteAllById(Collection<Long> ids) {
+        long start = System.nanoTime();
+        List<Entity> removed = new ArrayList<>();
+        for (Long id : ids) {
+            Entity entity = store.remove(id);
+            if (entity != null) {
+                removed.add(entity);
+            }
+        }
+        return BatchResult.since(start, removed);
     }
 }
@@ -0,0 +1,39 @@
+package br.com.code.enterprise.repository.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resultado de uma escrita em lote: as entidades afetadas (salvas, atualizadas ou removidas), na ordem em que foram
+ * processadas, e o tempo gasto pelo lote inteiro, incluindo a espera pela trava e a manutenção dos índices.
+ */
+@Getter
+@AllArgsConstructor
+public class BatchResult<T> {
+
+    private final List<T> entities;
+    private final long elapsedNanos;
+
+    /**
+     * Fecha o lote iniciado em {@code startNanos}, um valor de {@link System#nanoTime()}.
+     */
+    public static <T> BatchResult<T> since(long startNanos, List<T> entities) {
+        return new BatchResult<>(List.copyOf(entities), System.nanoTime() - startNanos);
+    }
+
+    public int getCount() {
+        return entities.size();
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult: " + entities.size() + " entities in " + getElapsed().toMillis() + " ms";
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.code.enterprise.repository.support;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuração de uma consulta paralela.
+ * <p>
+ * {@code pool} é o {@link ForkJoinPool} usado na varredura (por padrão um pool dedicado, nunca o
+ * {@link ForkJoinPool#commonPool()}); abaixo de {@code threshold} entidades a varredura é sequencial; {@code ordered}
+ * define se o resultado preserva a ordem do repositório ou segue a ordem de conclusão das partes; {@code chunkSize}
+ * é o tamanho mínimo de cada parte.
+ */
+@Getter
+public class ParallelQuery {
+
+    public static final int DEFAULT_THRESHOLD = 10_000;
+    public static final int DEFAULT_CHUNK_SIZE = 2_048;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final boolean ordered;
+    private final int chunkSize;
+
+    /**
+     * Parâmetros omitidos no builder assumem os valores padrão.
+     *
+     * @throws IllegalArgumentException se {@code threshold} for negativo ou {@code chunkSize} menor que 1
+     */
+    @Builder
+    private ParallelQuery(ForkJoinPool pool, Integer threshold, Boolean ordered, Integer chunkSize) {
+        this.pool = pool != null ? pool : SharedPool.INSTANCE;
+        this.threshold = threshold != null ? threshold : DEFAULT_THRESHOLD;
+        this.ordered = ordered == null || ordered;
+        this.chunkSize = chunkSize != null ? chunkSize : DEFAULT_CHUNK_SIZE;
+        if (this.threshold < 0) {
+            throw new IllegalArgumentException("threshold must not be negative: " + this.threshold);
+        }
+        if (this.chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + this.chunkSize);
+        }
+    }
+
+    public static ParallelQuery defaults() {
+        return builder().build();
+    }
+
+    private static final class SharedPool {
+        private static final ForkJoinPool INSTANCE = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,189 @@
+package br.com.code.enterprise.repository.support;
+
+import br.com.code.enterprise.specification.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Varredura fork/join de um instantâneo de entidades.
+ * <p>
+ * O instantâneo é dividido recursivamente em partes de pelo menos {@link ParallelQuery#getChunkSize()} elementos.
+ * No modo ordenado cada parte grava seu resultado em uma posição fixa e as partes são concatenadas na ordem original;
+ * no modo não ordenado os resultados são concatenados na ordem em que as partes terminam. Nas agregações, cada parte
+ * acumula um resultado parcial e os parciais são combinados ao final.
+ */
+public final class ParallelScanner {
+
+    private ParallelScanner() {
+    }
+
+    public static <T> List<T> findAll(Collection<T> snapshot, Specification<T> specification, ParallelQuery query) {
+        @SuppressWarnings("unchecked")
+        T[] items = (T[]) snapshot.toArray();
+        return findAll(items, specification, query);
+    }
+
+    public static <T> List<T> findAll(T[] items, Specification<T> specification, ParallelQuery query) {
+        if (items.length == 0) {
+            return new ArrayList<>();
+        }
+        if (items.length < query.getThreshold()) {
+            return scan(items, 0, items.length, specification);
+        }
+
+        int parallelism = query.getPool().getParallelism();
+        int chunkSize = Math.max(query.getChunkSize(), ceilDiv(items.length, parallelism * 4));
+        int chunks = ceilDiv(items.length, chunkSize);
+
+        List<T> result = new ArrayList<>();
+        if (query.isOrdered()) {
+            List<List<T>> parts = new ArrayList<>(chunks);
+            for (int i = 0; i < chunks; i++) {
+                parts.add(null);
+            }
+            query.getPool().invoke(new ScanTask<>(items, specification, chunkSize, 0, chunks, parts::set));
+            parts.forEach(result::addAll);
+        } else {
+            Queue<List<T>> parts = new ConcurrentLinkedQueue<>();
+            query.getPool().invoke(new ScanTask<>(items, specification, chunkSize, 0, chunks,
+                    (index, part) -> parts.add(part)));
+            parts.forEach(result::addAll);
+        }
+        return result;
+    }
+
+    /**
+     * Agrega os elementos que satisfazem a especificação, acumulando um parcial por parte. A ordem dos parciais é
+     * preservada no combinador, de modo que coletores sensíveis à ordem produzem o mesmo resultado sequencial.
+     */
+    public static <T, A, R> R aggregate(T[] items, Specification<T> specification, Collector<? super T, A, R> collector,
+                                        ParallelQuery query) {
+        A result;
+        if (items.length == 0 || items.length < query.getThreshold()) {
+            result = accumulate(items, 0, items.length, specification, collector);
+        } else {
+            int parallelism = query.getPool().getParallelism();
+            int chunkSize = Math.max(query.getChunkSize(), ceilDiv(items.length, parallelism * 4));
+            result = query.getPool().invoke(new AggregateTask<>(items, specification, collector, chunkSize, 0,
+                    ceilDiv(items.length, chunkSize)));
+        }
+        return collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+                ? uncheckedCast(result) : collector.finisher().apply(result);
+    }
+
+    private static <T, A> A accumulate(T[] items, int from, int to, Specification<T> specification,
+                                       Collector<? super T, A, ?> collector) {
+        A container = collector.supplier().get();
+        BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        for (int i = from; i < to; i++) {
+            if (specification.isSatisfiedBy(items[i])) {
+                accumulator.accept(container, items[i]);
+            }
+        }
+        return container;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R uncheckedCast(Object value) {
+        return (R) value;
+    }
+
+    private static <T> List<T> scan(T[] items, int from, int to, Specification<T> specification) {
+        List<T> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (specification.isSatisfiedBy(items[i])) {
+                result.add(items[i]);
+            }
+        }
+        return result;
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+    private interface PartSink<T> {
+        void accept(int index, List<T> part);
+    }
+
+    private static final class ScanTask<T> extends RecursiveAction {
+        private final T[] items;
+        private final Specification<T> specification;
+        private final int chunkSize;
+        private final int fromChunk;
+        private final int toChunk;
+        private final PartSink<T> sink;
+
+        private ScanTask(T[] items, Specification<T> specification, int chunkSize, int fromChunk, int toChunk,
+                         PartSink<T> sink) {
+            this.items = items;
+            this.specification = specification;
+            this.chunkSize = chunkSize;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.sink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk <= fromChunk) {
+                return;
+            }
+            if (toChunk - fromChunk == 1) {
+                int from = fromChunk * chunkSize;
+                int to = Math.min(from + chunkSize, items.length);
+                sink.accept(fromChunk, scan(items, from, to, specification));
+                return;
+            }
+
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(new ScanTask<>(items, specification, chunkSize, fromChunk, middle, sink),
+                    new ScanTask<>(items, specification, chunkSize, middle, toChunk, sink));
+        }
+    }
+
+    private static final class AggregateTask<T, A> extends RecursiveTask<A> {
+        private final T[] items;
+        private final Specification<T> specification;
+        private final Collector<? super T, A, ?> collector;
+        private final int chunkSize;
+        private final int fromChunk;
+        private final int toChunk;
+
+        private AggregateTask(T[] items, Specification<T> specification, Collector<? super T, A, ?> collector,
+                              int chunkSize, int fromChunk, int toChunk) {
+            this.items = items;
+            this.specification = specification;
+            this.collector = collector;
+            this.chunkSize = chunkSize;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected A compute() {
+            if (toChunk <= fromChunk) {
+                return collector.supplier().get();
+            }
+            if (toChunk - fromChunk == 1) {
+                int from = fromChunk * chunkSize;
+                return accumulate(items, from, Math.min(from + chunkSize, items.length), specification, collector);
+            }
+
+            int middle = (fromChunk + toChunk) >>> 1;
+            AggregateTask<T, A> left = new AggregateTask<>(items, specification, collector, chunkSize, fromChunk, middle);
+            AggregateTask<T, A> right = new AggregateTask<>(items, specification, collector, chunkSize, middle, toChunk);
+            right.fork();
+            A partial = left.compute();
+            return collector.combiner().apply(partial, right.join());
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package br.com.code.enterprise.specification.internal;
 
 import br.com.code.enterprise.specification.Specification;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
+@Getter
+@EqualsAndHashCode
 public class AndSpecification<T> implements Specification<T> {
 
     private final Specification<T> left;
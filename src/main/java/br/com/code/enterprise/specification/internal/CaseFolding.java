@@ -0,0 +1,32 @@
+package br.com.code.enterprise.specification.internal;
+
+/**
+ * Normalização de caixa compatível com {@link String#equalsIgnoreCase(String)}: cada code point {@code c} é mapeado
+ * para {@code toLowerCase(toUpperCase(c))}, de modo que {@code a.equalsIgnoreCase(b)} equivale a
+ * {@code fold(a).equals(fold(b))}. Permite usar nomes normalizados como chave de hash.
+ */
+public final class CaseFolding {
+
+    private CaseFolding() {
+    }
+
+    public static String fold(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        StringBuilder folded = null;
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            int mapped = Character.toLowerCase(Character.toUpperCase(codePoint));
+            if (mapped != codePoint && folded == null) {
+                folded = new StringBuilder(value.length()).append(value, 0, i);
+            }
+            if (folded != null) {
+                folded.appendCodePoint(mapped);
+            }
+            i += Character.charCount(codePoint);
+        }
+        return folded == null ? value : folded.toString();
+    }
+}
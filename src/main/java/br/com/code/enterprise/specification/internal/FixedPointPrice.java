@@ -0,0 +1,119 @@
+package br.com.code.enterprise.specification.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Representação de preços em ponto fixo: um preço {@code p} é armazenado como o inteiro {@code p * 10^SCALE}.
+ * <p>
+ * Somente valores exatos nessa escala e estritamente entre {@link Long#MIN_VALUE} e {@link Long#MAX_VALUE} são
+ * representáveis; os extremos ficam reservados para que limites de consulta fora do intervalo possam ser saturados
+ * sem alterar o resultado das comparações.
+ */
+public final class FixedPointPrice {
+
+    public static final int SCALE = 4;
+
+    /**
+     * Valor devolvido por {@link #unitsOf(BigDecimal)} para preços nulos ou não representáveis. Nunca coincide com
+     * um preço representável.
+     */
+    public static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    private static final BigDecimal MIN_UNITS = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal MAX_UNITS = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private FixedPointPrice() {
+    }
+
+    public static boolean isRepresentable(BigDecimal price) {
+        return unitsOf(price) != NOT_REPRESENTABLE;
+    }
+
+    /**
+     * @throws ArithmeticException se o preço não for representável
+     */
+    public static long toUnits(BigDecimal price) {
+        long units = unitsOf(price);
+        if (units == NOT_REPRESENTABLE) {
+            throw new ArithmeticException("Price not representable in fixed point: " + price);
+        }
+        return units;
+    }
+
+    /**
+     * Converte o preço para unidades sem lançar exceção.
+     *
+     * @return as unidades ou {@link #NOT_REPRESENTABLE}
+     */
+    public static long unitsOf(BigDecimal price) {
+        if (price == null) {
+            return NOT_REPRESENTABLE;
+        }
+
+        BigDecimal exact = price;
+        if (exact.scale() > SCALE) {
+            exact = exact.stripTrailingZeros();
+            if (exact.scale() > SCALE) {
+                return NOT_REPRESENTABLE;
+            }
+        }
+
+        BigInteger unscaled = exact.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue();
+        if (unscaled.bitLength() > 63) {
+            return NOT_REPRESENTABLE;
+        }
+
+        long units = unscaled.longValue();
+        return units == Long.MIN_VALUE || units == Long.MAX_VALUE ? NOT_REPRESENTABLE : units;
+    }
+
+    public static BigDecimal fromUnits(long units) {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    /**
+     * Maior quantidade de unidades menor ou igual ao limite: {@code p > limite} equivale a
+     * {@code unidades(p) > floorUnits(limite)} e {@code p <= limite} a {@code unidades(p) <= floorUnits(limite)}.
+     */
+    public static long floorUnits(BigDecimal bound) {
+        return saturate(bound.movePointRight(SCALE).setScale(0, RoundingMode.FLOOR));
+    }
+
+    /**
+     * Menor quantidade de unidades maior ou igual ao limite: {@code p < limite} equivale a
+     * {@code unidades(p) < ceilUnits(limite)} e {@code p >= limite} a {@code unidades(p) >= ceilUnits(limite)}.
+     */
+    public static long ceilUnits(BigDecimal bound) {
+        return saturate(bound.movePointRight(SCALE).setScale(0, RoundingMode.CEILING));
+    }
+
+    /**
+     * Menor quantidade de unidades estritamente maior que o limite: {@code p > limite} equivale a
+     * {@code unidades(p) >= aboveUnits(limite)}.
+     */
+    public static long aboveUnits(BigDecimal bound) {
+        long floor = floorUnits(bound);
+        return floor == Long.MAX_VALUE ? Long.MAX_VALUE : floor + 1;
+    }
+
+    /**
+     * Maior quantidade de unidades estritamente menor que o limite: {@code p < limite} equivale a
+     * {@code unidades(p) <= belowUnits(limite)}.
+     */
+    public static long belowUnits(BigDecimal bound) {
+        long ceil = ceilUnits(bound);
+        return ceil == Long.MIN_VALUE ? Long.MIN_VALUE : ceil - 1;
+    }
+
+    private static long saturate(BigDecimal units) {
+        if (units.compareTo(MIN_UNITS) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        if (units.compareTo(MAX_UNITS) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        return units.longValueExact();
+    }
+}
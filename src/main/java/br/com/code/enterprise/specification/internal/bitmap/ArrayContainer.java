@@ -0,0 +1,187 @@
+package br.com.code.enterprise.specification.internal.bitmap;
+
+import java.util.Arrays;
+
+/**
+ * Contêiner esparso: valores ordenados em um {@code char[]}.
+ */
+final class ArrayContainer extends Container {
+
+    static final int MAX_SIZE = 4096;
+
+    private char[] values;
+    private int cardinality;
+
+    ArrayContainer() {
+        this(new char[4], 0);
+    }
+
+    ArrayContainer(char[] values, int cardinality) {
+        this.values = values;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    Container add(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            return this;
+        }
+        if (cardinality == MAX_SIZE) {
+            return toBitmap().add(value);
+        }
+
+        int insertion = -index - 1;
+        if (cardinality == values.length) {
+            values = Arrays.copyOf(values, Math.min(MAX_SIZE, values.length * 2));
+        }
+        System.arraycopy(values, insertion, values, insertion + 1, cardinality - insertion);
+        values[insertion] = value;
+        cardinality++;
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if (index >= 0) {
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+        }
+        return this;
+    }
+
+    @Override
+    Container addRange(int from, int to) {
+        int low = lowerBound(from);
+        int high = lowerBound(to + 1);
+        int updated = low + (to - from + 1) + (cardinality - high);
+        if (updated > MAX_SIZE) {
+            return toBitmap().addRange(from, to);
+        }
+
+        char[] merged = new char[Math.max(updated, 4)];
+        System.arraycopy(values, 0, merged, 0, low);
+        for (int value = from; value <= to; value++) {
+            merged[low + value - from] = (char) value;
+        }
+        System.arraycopy(values, high, merged, low + to - from + 1, cardinality - high);
+        values = merged;
+        cardinality = updated;
+        return this;
+    }
+
+    @Override
+    Container and(Container other) {
+        char[] result = new char[Math.min(cardinality, other.cardinality())];
+        int size = 0;
+        for (int i = 0; i < cardinality; i++) {
+            if (other.contains(values[i])) {
+                result[size++] = values[i];
+            }
+        }
+        return new ArrayContainer(result, size);
+    }
+
+    @Override
+    Container or(Container other) {
+        if (other instanceof BitmapContainer) {
+            return other.or(this);
+        }
+
+        ArrayContainer array = (ArrayContainer) other;
+        char[] result = new char[cardinality + array.cardinality];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < cardinality && j < array.cardinality) {
+            char a = values[i];
+            char b = array.values[j];
+            if (a < b) {
+                result[size++] = a;
+                i++;
+            } else if (a > b) {
+                result[size++] = b;
+                j++;
+            } else {
+                result[size++] = a;
+                i++;
+                j++;
+            }
+        }
+        while (i < cardinality) {
+            result[size++] = values[i++];
+        }
+        while (j < array.cardinality) {
+            result[size++] = array.values[j++];
+        }
+
+        ArrayContainer merged = new ArrayContainer(result, size);
+        return size > MAX_SIZE ? merged.toBitmap() : merged;
+    }
+
+    @Override
+    Container andNot(Container other) {
+        char[] result = new char[cardinality];
+        int size = 0;
+        for (int i = 0; i < cardinality; i++) {
+            if (!other.contains(values[i])) {
+                result[size++] = values[i];
+            }
+        }
+        return new ArrayContainer(result, size);
+    }
+
+    @Override
+    Container range(int from, int to) {
+        int low = lowerBound(from);
+        int high = lowerBound(to + 1);
+        return new ArrayContainer(Arrays.copyOfRange(values, low, Math.max(high, low)), Math.max(high - low, 0));
+    }
+
+    @Override
+    int nextValue(int from) {
+        int index = lowerBound(from);
+        return index < cardinality ? values[index] : -1;
+    }
+
+    @Override
+    Container copy() {
+        return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 4)), cardinality);
+    }
+
+    BitmapContainer toBitmap() {
+        BitmapContainer bitmap = new BitmapContainer();
+        for (int i = 0; i < cardinality; i++) {
+            bitmap.add(values[i]);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Índice do primeiro valor maior ou igual a {@code value}.
+     */
+    private int lowerBound(int value) {
+        int low = 0;
+        int high = cardinality;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
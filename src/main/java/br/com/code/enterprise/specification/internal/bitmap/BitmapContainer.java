@@ -0,0 +1,179 @@
+package br.com.code.enterprise.specification.internal.bitmap;
+
+/**
+ * Contêiner denso: um bit por valor possível, em 1024 palavras de 64 bits.
+ */
+final class BitmapContainer extends Container {
+
+    private static final int WORDS = 1024;
+
+    private final long[] words;
+    private int cardinality;
+
+    BitmapContainer() {
+        this(new long[WORDS], 0);
+    }
+
+    private BitmapContainer(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    Container add(char value) {
+        long mask = 1L << value;
+        if ((words[value >>> 6] & mask) == 0) {
+            words[value >>> 6] |= mask;
+            cardinality++;
+        }
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        long mask = 1L << value;
+        if ((words[value >>> 6] & mask) != 0) {
+            words[value >>> 6] &= ~mask;
+            cardinality--;
+        }
+        return cardinality <= ArrayContainer.MAX_SIZE ? toArray() : this;
+    }
+
+    @Override
+    Container addRange(int from, int to) {
+        for (int word = from >>> 6; word <= to >>> 6; word++) {
+            long mask = rangeMask(word, from, to);
+            cardinality += Long.bitCount(mask & ~words[word]);
+            words[word] |= mask;
+        }
+        return this;
+    }
+
+    @Override
+    Container and(Container other) {
+        if (other instanceof ArrayContainer) {
+            return other.and(this);
+        }
+
+        BitmapContainer bitmap = (BitmapContainer) other;
+        long[] result = new long[WORDS];
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & bitmap.words[i];
+            count += Long.bitCount(result[i]);
+        }
+        return normalize(new BitmapContainer(result, count));
+    }
+
+    @Override
+    Container or(Container other) {
+        BitmapContainer result = (BitmapContainer) copy();
+        if (other instanceof BitmapContainer bitmap) {
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                result.words[i] |= bitmap.words[i];
+                count += Long.bitCount(result.words[i]);
+            }
+            result.cardinality = count;
+        } else {
+            for (int value = other.nextValue(0); value >= 0; value = other.nextValue(value + 1)) {
+                result.add((char) value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    Container andNot(Container other) {
+        long[] result = words.clone();
+        if (other instanceof BitmapContainer bitmap) {
+            for (int i = 0; i < WORDS; i++) {
+                result[i] &= ~bitmap.words[i];
+            }
+        } else {
+            for (int value = other.nextValue(0); value >= 0; value = other.nextValue(value + 1)) {
+                result[value >>> 6] &= ~(1L << value);
+            }
+        }
+
+        int count = 0;
+        for (long word : result) {
+            count += Long.bitCount(word);
+        }
+        return normalize(new BitmapContainer(result, count));
+    }
+
+    @Override
+    Container range(int from, int to) {
+        long[] result = new long[WORDS];
+        int count = 0;
+        for (int word = from >>> 6; word <= to >>> 6; word++) {
+            result[word] = words[word] & rangeMask(word, from, to);
+            count += Long.bitCount(result[word]);
+        }
+        return normalize(new BitmapContainer(result, count));
+    }
+
+    @Override
+    int nextValue(int from) {
+        if (from >= WORDS * 64) {
+            return -1;
+        }
+
+        int word = from >>> 6;
+        long bits = words[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word == WORDS) {
+                return -1;
+            }
+            bits = words[word];
+        }
+        return word * 64 + Long.numberOfTrailingZeros(bits);
+    }
+
+    @Override
+    Container copy() {
+        return new BitmapContainer(words.clone(), cardinality);
+    }
+
+    ArrayContainer toArray() {
+        char[] values = new char[Math.max(cardinality, 4)];
+        int size = 0;
+        for (int i = 0; i < WORDS; i++) {
+            long bits = words[i];
+            while (bits != 0) {
+                values[size++] = (char) (i * 64 + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return new ArrayContainer(values, size);
+    }
+
+    private static Container normalize(BitmapContainer bitmap) {
+        return bitmap.cardinality <= ArrayContainer.MAX_SIZE ? bitmap.toArray() : bitmap;
+    }
+
+    /**
+     * Bits da palavra {@code word} que pertencem a {@code [from, to]}.
+     */
+    private static long rangeMask(int word, int from, int to) {
+        long mask = -1L;
+        if (word == from >>> 6) {
+            mask &= -1L << from;
+        }
+        if (word == to >>> 6) {
+            mask &= -1L >>> (63 - (to & 63));
+        }
+        return mask;
+    }
+}
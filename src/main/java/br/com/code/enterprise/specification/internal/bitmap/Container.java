@@ -0,0 +1,66 @@
+package br.com.code.enterprise.specification.internal.bitmap;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Bloco de até 65536 valores de 16 bits que compartilham os 48 bits superiores em um {@link LongBitmap}.
+ * <p>
+ * Operações que alteram a cardinalidade podem devolver um contêiner de outro tipo: {@link ArrayContainer} até
+ * {@link ArrayContainer#MAX_SIZE} valores e {@link BitmapContainer} acima disso.
+ */
+abstract class Container {
+
+    abstract int cardinality();
+
+    abstract boolean contains(char value);
+
+    abstract Container add(char value);
+
+    abstract Container remove(char value);
+
+    /**
+     * Adiciona os valores em {@code [from, to]}, ambos entre 0 e 65535.
+     */
+    abstract Container addRange(int from, int to);
+
+    abstract Container and(Container other);
+
+    abstract Container or(Container other);
+
+    abstract Container andNot(Container other);
+
+    /**
+     * Novo contêiner com os valores em {@code [from, to]}.
+     */
+    abstract Container range(int from, int to);
+
+    /**
+     * Menor valor maior ou igual a {@code from}, ou {@code -1}.
+     */
+    abstract int nextValue(int from);
+
+    abstract Container copy();
+
+    void forEach(long high, LongConsumer consumer) {
+        for (int value = nextValue(0); value >= 0; value = nextValue(value + 1)) {
+            consumer.accept(high << 16 | value);
+        }
+    }
+
+    boolean contentEquals(Container other) {
+        if (cardinality() != other.cardinality()) {
+            return false;
+        }
+
+        int value = nextValue(0);
+        int otherValue = other.nextValue(0);
+        while (value >= 0) {
+            if (value != otherValue) {
+                return false;
+            }
+            value = nextValue(value + 1);
+            otherValue = other.nextValue(otherValue + 1);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,388 @@
+package br.com.code.enterprise.specification.internal.bitmap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Conjunto compactado de {@code long} no estilo Roaring.
+ * <p>
+ * Os valores são agrupados pelos 48 bits superiores; cada grupo guarda os 16 bits inferiores em um contêiner de
+ * array ordenado (até 4096 valores) ou em um mapa de bits de 8 KiB (acima disso). Ids densos custam pouco mais de um
+ * bit por valor, pertinência e interseções não alocam objetos por elemento e a iteração é sempre em ordem crescente
+ * (com sinal). A classe não é thread-safe.
+ */
+public final class LongBitmap {
+
+    private long[] keys;
+    private Container[] containers;
+    private int size;
+
+    public LongBitmap() {
+        this(new long[4], new Container[4], 0);
+    }
+
+    private LongBitmap(long[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    public static LongBitmap of(long... values) {
+        LongBitmap bitmap = new LongBitmap();
+        for (long value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Valores {@code null} são ignorados.
+     */
+    public static LongBitmap of(Collection<Long> values) {
+        LongBitmap bitmap = new LongBitmap();
+        for (Long value : values) {
+            if (value != null) {
+                bitmap.add(value);
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * @return {@code true} se o valor não estava presente
+     */
+    public boolean add(long value) {
+        long key = value >> 16;
+        int index = indexOf(key);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, key, new ArrayContainer());
+        }
+
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add((char) value);
+        return containers[index].cardinality() > before;
+    }
+
+    /**
+     * @return {@code true} se o valor estava presente
+     */
+    public boolean remove(long value) {
+        int index = indexOf(value >> 16);
+        if (index < 0) {
+            return false;
+        }
+
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.remove((char) value);
+        int after = containers[index].cardinality();
+        if (after == 0) {
+            delete(index);
+        }
+        return after < before;
+    }
+
+    public boolean contains(long value) {
+        int index = indexOf(value >> 16);
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * Adiciona todos os valores em {@code [from, to]}; não faz nada se {@code from > to}.
+     */
+    public void addRange(long from, long to) {
+        if (from > to) {
+            return;
+        }
+
+        long first = from >> 16;
+        long last = to >> 16;
+        for (long key = first; ; key++) {
+            int low = key == first ? (char) from : 0;
+            int high = key == last ? (char) to : 0xFFFF;
+            int index = indexOf(key);
+            if (index < 0) {
+                index = -index - 1;
+                insert(index, key, new ArrayContainer());
+            }
+            containers[index] = containers[index].addRange(low, high);
+            if (key == last) {
+                break;
+            }
+        }
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public LongBitmap copy() {
+        Container[] copied = new Container[Math.max(size, 4)];
+        for (int i = 0; i < size; i++) {
+            copied[i] = containers[i].copy();
+        }
+        return new LongBitmap(Arrays.copyOf(keys, copied.length), copied, size);
+    }
+
+    /**
+     * Mantém apenas os valores também presentes em {@code other}.
+     */
+    public LongBitmap and(LongBitmap other) {
+        return assign(and(this, other));
+    }
+
+    /**
+     * Adiciona os valores de {@code other}.
+     */
+    public LongBitmap or(LongBitmap other) {
+        return assign(or(this, other));
+    }
+
+    /**
+     * Remove os valores presentes em {@code other}.
+     */
+    public LongBitmap andNot(LongBitmap other) {
+        return assign(andNot(this, other));
+    }
+
+    public static LongBitmap and(LongBitmap left, LongBitmap right) {
+        LongBitmap result = new LongBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            if (left.keys[i] < right.keys[j]) {
+                i++;
+            } else if (left.keys[i] > right.keys[j]) {
+                j++;
+            } else {
+                result.append(left.keys[i], left.containers[i].and(right.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public static LongBitmap or(LongBitmap left, LongBitmap right) {
+        LongBitmap result = new LongBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < left.size || j < right.size) {
+            if (j == right.size || (i < left.size && left.keys[i] < right.keys[j])) {
+                result.append(left.keys[i], left.containers[i++].copy());
+            } else if (i == left.size || left.keys[i] > right.keys[j]) {
+                result.append(right.keys[j], right.containers[j++].copy());
+            } else {
+                result.append(left.keys[i], left.containers[i++].or(right.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    public static LongBitmap andNot(LongBitmap left, LongBitmap right) {
+        LongBitmap result = new LongBitmap();
+        int j = 0;
+        for (int i = 0; i < left.size; i++) {
+            while (j < right.size && right.keys[j] < left.keys[i]) {
+                j++;
+            }
+            if (j < right.size && right.keys[j] == left.keys[i]) {
+                result.append(left.keys[i], left.containers[i].andNot(right.containers[j]));
+            } else {
+                result.append(left.keys[i], left.containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Novo bitmap com os valores em {@code [from, to]}.
+     */
+    public LongBitmap range(long from, long to) {
+        LongBitmap result = new LongBitmap();
+        if (from > to) {
+            return result;
+        }
+
+        long first = from >> 16;
+        long last = to >> 16;
+        int start = indexOf(first);
+        for (int i = start < 0 ? -start - 1 : start; i < size && keys[i] <= last; i++) {
+            int low = keys[i] == first ? (char) from : 0;
+            int high = keys[i] == last ? (char) to : 0xFFFF;
+            result.append(keys[i], low == 0 && high == 0xFFFF ? containers[i].copy() : containers[i].range(low, high));
+        }
+        return result;
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return new BitmapIterator(0, 0);
+    }
+
+    /**
+     * Iterador sobre os valores maiores que {@code after}, em ordem crescente.
+     */
+    public PrimitiveIterator.OfLong iteratorAfter(long after) {
+        if (after == Long.MAX_VALUE) {
+            return new BitmapIterator(size, 0);
+        }
+
+        long next = after + 1;
+        int index = indexOf(next >> 16);
+        return index >= 0 ? new BitmapIterator(index, (char) next) : new BitmapIterator(-index - 1, 0);
+    }
+
+    public LongStream stream() {
+        return StreamSupport.longStream(Spliterators.spliterator(iterator(), cardinality(),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    public void forEach(LongConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i], consumer);
+        }
+    }
+
+    public long[] toArray() {
+        long[] values = new long[Math.toIntExact(cardinality())];
+        int[] position = {0};
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LongBitmap other) || size != other.size) {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != other.keys[i] || !containers[i].contentEquals(other.containers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = {1};
+        forEach(value -> hash[0] = 31 * hash[0] + Long.hashCode(value));
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("LongBitmap[");
+        PrimitiveIterator.OfLong values = iterator();
+        for (int shown = 0; values.hasNext(); shown++) {
+            if (shown == 16) {
+                builder.append(", ... (").append(cardinality()).append(" values)");
+                break;
+            }
+            builder.append(shown == 0 ? "" : ", ").append(values.nextLong());
+        }
+        return builder.append(']').toString();
+    }
+
+    private int indexOf(long key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(int index, long key, Container container) {
+        ensureCapacity();
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void delete(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    /**
+     * Acrescenta um contêiner com chave maior que todas as existentes, descartando-o se estiver vazio.
+     */
+    private void append(long key, Container container) {
+        if (container.cardinality() == 0) {
+            return;
+        }
+        ensureCapacity();
+        keys[size] = key;
+        containers[size++] = container;
+    }
+
+    private void ensureCapacity() {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+    }
+
+    private LongBitmap assign(LongBitmap result) {
+        keys = result.keys;
+        containers = result.containers;
+        size = result.size;
+        return this;
+    }
+
+    private final class BitmapIterator implements PrimitiveIterator.OfLong {
+        private int index;
+        private int next;
+
+        private BitmapIterator(int index, int from) {
+            this.index = index;
+            this.next = -1;
+            advance(from);
+        }
+
+        private void advance(int from) {
+            for (; index < size; index++, from = 0) {
+                next = containers[index].nextValue(from);
+                if (next >= 0) {
+                    return;
+                }
+            }
+            next = -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public long nextLong() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            long value = keys[index] << 16 | next;
+            advance(next + 1);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.code.enterprise.specification.internal.compiler;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.AbstractSpecification;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.function.Predicate;
+
+/**
+ * Especificação produzida pelo {@link SpecificationCompiler}: avalia um predicado achatado equivalente à árvore
+ * original, sem alocação por candidato.
+ */
+@EqualsAndHashCode(callSuper = false)
+public final class CompiledSpecification<T> extends AbstractSpecification<T> implements Predicate<T> {
+
+    @Getter
+    private final Specification<T> source;
+    @EqualsAndHashCode.Exclude
+    private final Predicate<T> predicate;
+
+    CompiledSpecification(Specification<T> source, Predicate<T> predicate) {
+        this.source = source;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public boolean isSatisfiedBy(T candidate) {
+        return predicate.test(candidate);
+    }
+
+    @Override
+    public boolean test(T candidate) {
+        return predicate.test(candidate);
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledSpecification: " + predicate;
+    }
+}
@@ -0,0 +1,234 @@
+package br.com.code.enterprise.specification.internal.compiler;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.interfaces.HasActive;
+import br.com.code.enterprise.specification.internal.interfaces.HasCreationDate;
+import br.com.code.enterprise.specification.internal.interfaces.HasId;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.function.Predicate;
+
+/**
+ * Nós do predicado compilado. Conjunções e disjunções n-árias são avaliadas sobre arrays, sem iteradores nem
+ * streams; as variantes binárias evitam o laço no caso mais comum.
+ */
+final class Predicates {
+
+    private Predicates() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Predicate<T> constant(boolean value) {
+        return (Predicate<T>) (value ? Constant.TRUE : Constant.FALSE);
+    }
+
+    static boolean isConstant(Predicate<?> predicate, boolean value) {
+        return predicate == (value ? Constant.TRUE : Constant.FALSE);
+    }
+
+    enum Constant implements Predicate<Object> {
+        TRUE(true), FALSE(false);
+
+        private final boolean value;
+
+        Constant(boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean test(Object candidate) {
+            return value;
+        }
+    }
+
+    static final class All<T> implements Predicate<T> {
+        private final Predicate<? super T>[] parts;
+
+        All(Predicate<? super T>[] parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public boolean test(T candidate) {
+            for (Predicate<? super T> part : parts) {
+                if (!part.test(candidate)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "all" + Arrays.toString(parts);
+        }
+    }
+
+    static final class Any<T> implements Predicate<T> {
+        private final Predicate<? super T>[] parts;
+
+        Any(Predicate<? super T>[] parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public boolean test(T candidate) {
+            for (Predicate<? super T> part : parts) {
+                if (part.test(candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "any" + Arrays.toString(parts);
+        }
+    }
+
+    static final class Both<T> implements Predicate<T> {
+        private final Predicate<? super T> left;
+        private final Predicate<? super T> right;
+
+        Both(Predicate<? super T> left, Predicate<? super T> right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean test(T candidate) {
+            return left.test(candidate) && right.test(candidate);
+        }
+
+        @Override
+        public String toString() {
+            return "all[" + left + ", " + right + "]";
+        }
+    }
+
+    static final class Either<T> implements Predicate<T> {
+        private final Predicate<? super T> left;
+        private final Predicate<? super T> right;
+
+        Either(Predicate<? super T> left, Predicate<? super T> right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean test(T candidate) {
+            return left.test(candidate) || right.test(candidate);
+        }
+
+        @Override
+        public String toString() {
+            return "any[" + left + ", " + right + "]";
+        }
+    }
+
+    static final class Negation<T> implements Predicate<T> {
+        private final Predicate<? super T> inner;
+
+        Negation(Predicate<? super T> inner) {
+            this.inner = inner;
+        }
+
+        @Override
+        public boolean test(T candidate) {
+            return !inner.test(candidate);
+        }
+
+        @Override
+        public String toString() {
+            return "not(" + inner + ")";
+        }
+    }
+
+    /**
+     * Folha que delega à especificação original quando não há forma especializada.
+     */
+    static final class Leaf<T> implements Predicate<T> {
+        private final Specification<T> spec;
+
+        Leaf(Specification<T> spec) {
+            this.spec = spec;
+        }
+
+        @Override
+        public boolean test(T candidate) {
+            return spec.isSatisfiedBy(candidate);
+        }
+
+        @Override
+        public String toString() {
+            return spec.getClass().getSimpleName();
+        }
+    }
+
+    static final class IdRange<T> implements Predicate<T> {
+        private final long min;
+        private final long max;
+
+        IdRange(long min, long max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public boolean test(T candidate) {
+            Long id = ((HasId) candidate).getId();
+            return id != null && id >= min && id <= max;
+        }
+
+        @Override
+        public String toString() {
+            return "id[" + min + ".." + max + "]";
+        }
+    }
+
+    static final class CreatedRange<T> implements Predicate<T> {
+        private final long min;
+        private final long max;
+
+        CreatedRange(long min, long max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public boolean test(T candidate) {
+            Date created = ((HasCreationDate) candidate).getCreated();
+            if (created == null) {
+                return false;
+            }
+
+            long millis = created.getTime();
+            return millis >= min && millis <= max;
+        }
+
+        @Override
+        public String toString() {
+            return "created[" + min + ".." + max + "]";
+        }
+    }
+
+    static final class ActiveIs<T> implements Predicate<T> {
+        private final boolean active;
+
+        ActiveIs(boolean active) {
+            this.active = active;
+        }
+
+        @Override
+        public boolean test(T candidate) {
+            return ((HasActive) candidate).isActive() == active;
+        }
+
+        @Override
+        public String toString() {
+            return "active=" + active;
+        }
+    }
+}
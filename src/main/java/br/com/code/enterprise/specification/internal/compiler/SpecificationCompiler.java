@@ -0,0 +1,209 @@
+package br.com.code.enterprise.specification.internal.compiler;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.AndSpecification;
+import br.com.code.enterprise.specification.internal.NotSpecification;
+import br.com.code.enterprise.specification.internal.OrSpecification;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.AllOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.AnyOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedAfterDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBeforeDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBetweenDatesSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdRangeSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdSpecification;
+import br.com.code.enterprise.specification.internal.specs.InactiveSpecification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Compila uma árvore de especificações em um único predicado achatado.
+ * <p>
+ * Conjunções e disjunções aninhadas ({@link AndSpecification}, {@link OrSpecification}, {@link AllOfSpecification}
+ * e {@link AnyOfSpecification}) viram nós n-ários sobre arrays, negações duplas são eliminadas e as folhas de id,
+ * data de criação e status são substituídas por comparações sobre valores primitivos pré-calculados. A compilação
+ * é feita uma única vez; a avaliação resultante não aloca objetos por candidato. Compostos adaptativos são
+ * mantidos como folhas para preservar a reordenação em tempo de execução.
+ */
+public final class SpecificationCompiler {
+
+    private SpecificationCompiler() {
+    }
+
+    public static <T> CompiledSpecification<T> compile(Specification<T> specification) {
+        if (specification instanceof CompiledSpecification<T> compiled) {
+            return compiled;
+        }
+
+        return new CompiledSpecification<>(specification, compileNode(specification));
+    }
+
+    private static <T> Predicate<T> compileNode(Specification<T> spec) {
+        if (spec instanceof CompiledSpecification<T> compiled) {
+            return compiled;
+        }
+        if (spec instanceof AndSpecification<T> || spec instanceof AllOfSpecification<T> allOf && !allOf.isAdaptive()) {
+            return conjunction(List.of(spec));
+        }
+        if (spec instanceof OrSpecification<T> || spec instanceof AnyOfSpecification<T> anyOf && !anyOf.isAdaptive()) {
+            return disjunction(List.of(spec));
+        }
+        if (spec instanceof NotSpecification<T> not) {
+            return negation(not.getSpec());
+        }
+        return leaf(spec);
+    }
+
+    private static <T> Predicate<T> conjunction(Collection<Specification<T>> specs) {
+        List<Predicate<? super T>> parts = new ArrayList<>();
+        for (Specification<T> spec : specs) {
+            if (!collectConjunction(spec, parts)) {
+                return Predicates.constant(false);
+            }
+        }
+
+        return switch (parts.size()) {
+            case 0 -> Predicates.constant(true);
+            case 1 -> narrow(parts.get(0));
+            case 2 -> new Predicates.Both<>(parts.get(0), parts.get(1));
+            default -> new Predicates.All<>(toArray(parts));
+        };
+    }
+
+    /**
+     * @return {@code false} se a conjunção for trivialmente falsa
+     */
+    private static <T> boolean collectConjunction(Specification<T> spec, List<Predicate<? super T>> parts) {
+        if (spec instanceof AndSpecification<T> and) {
+            return collectConjunction(and.getLeft(), parts) && collectConjunction(and.getRight(), parts);
+        }
+        if (spec instanceof AllOfSpecification<T> allOf && !allOf.isAdaptive()) {
+            for (Specification<T> child : allOf.getSpecifications()) {
+                if (!collectConjunction(child, parts)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Predicate<T> compiled = compileNode(spec);
+        if (Predicates.isConstant(compiled, false)) {
+            return false;
+        }
+        if (!Predicates.isConstant(compiled, true)) {
+            parts.add(compiled);
+        }
+        return true;
+    }
+
+    private static <T> Predicate<T> disjunction(Collection<Specification<T>> specs) {
+        List<Predicate<? super T>> parts = new ArrayList<>();
+        for (Specification<T> spec : specs) {
+            if (!collectDisjunction(spec, parts)) {
+                return Predicates.constant(true);
+            }
+        }
+
+        return switch (parts.size()) {
+            case 0 -> Predicates.constant(false);
+            case 1 -> narrow(parts.get(0));
+            case 2 -> new Predicates.Either<>(parts.get(0), parts.get(1));
+            default -> new Predicates.Any<>(toArray(parts));
+        };
+    }
+
+    /**
+     * @return {@code false} se a disjunção for trivialmente verdadeira
+     */
+    private static <T> boolean collectDisjunction(Specification<T> spec, List<Predicate<? super T>> parts) {
+        if (spec instanceof OrSpecification<T> or) {
+            return collectDisjunction(or.getLeft(), parts) && collectDisjunction(or.getRight(), parts);
+        }
+        if (spec instanceof AnyOfSpecification<T> anyOf && !anyOf.isAdaptive()) {
+            for (Specification<T> child : anyOf.getSpecifications()) {
+                if (!collectDisjunction(child, parts)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Predicate<T> compiled = compileNode(spec);
+        if (Predicates.isConstant(compiled, true)) {
+            return false;
+        }
+        if (!Predicates.isConstant(compiled, false)) {
+            parts.add(compiled);
+        }
+        return true;
+    }
+
+    private static <T> Predicate<T> negation(Specification<T> inner) {
+        if (inner instanceof NotSpecification<T> not) {
+            return compileNode(not.getSpec());
+        }
+        if (inner instanceof ActiveSpecification<?>) {
+            return new Predicates.ActiveIs<>(false);
+        }
+        if (inner instanceof InactiveSpecification<?>) {
+            return new Predicates.ActiveIs<>(true);
+        }
+
+        Predicate<T> compiled = compileNode(inner);
+        if (Predicates.isConstant(compiled, true)) {
+            return Predicates.constant(false);
+        }
+        if (Predicates.isConstant(compiled, false)) {
+            return Predicates.constant(true);
+        }
+        return new Predicates.Negation<>(compiled);
+    }
+
+    private static <T> Predicate<T> leaf(Specification<T> spec) {
+        if (spec instanceof ConstantSpecification<?> s) {
+            return Predicates.constant(s.isValue());
+        }
+        if (spec instanceof ActiveSpecification<?>) {
+            return new Predicates.ActiveIs<>(true);
+        }
+        if (spec instanceof InactiveSpecification<?>) {
+            return new Predicates.ActiveIs<>(false);
+        }
+        if (spec instanceof IdSpecification<?> s) {
+            return s.getId() == null ? Predicates.constant(false) : new Predicates.IdRange<>(s.getId(), s.getId());
+        }
+        if (spec instanceof IdRangeSpecification<?> s && s.getMinId() != null && s.getMaxId() != null) {
+            return new Predicates.IdRange<>(s.getMinId(), s.getMaxId());
+        }
+        if (spec instanceof CreatedBetweenDatesSpecification<?> s && s.getStartDate() != null && s.getEndDate() != null) {
+            return new Predicates.CreatedRange<>(s.getStartDate().getTime(), s.getEndDate().getTime());
+        }
+        if (spec instanceof CreatedAfterDateSpecification<?> s && s.getDate() != null) {
+            long millis = s.getDate().getTime();
+            return millis == Long.MAX_VALUE
+                    ? Predicates.constant(false)
+                    : new Predicates.CreatedRange<>(millis + 1, Long.MAX_VALUE);
+        }
+        if (spec instanceof CreatedBeforeDateSpecification<?> s && s.getDate() != null) {
+            long millis = s.getDate().getTime();
+            return millis == Long.MIN_VALUE
+                    ? Predicates.constant(false)
+                    : new Predicates.CreatedRange<>(Long.MIN_VALUE, millis - 1);
+        }
+        return new Predicates.Leaf<>(spec);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Predicate<T> narrow(Predicate<? super T> predicate) {
+        return (Predicate<T>) predicate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Predicate<? super T>[] toArray(List<Predicate<? super T>> parts) {
+        return parts.toArray(new Predicate[0]);
+    }
+}
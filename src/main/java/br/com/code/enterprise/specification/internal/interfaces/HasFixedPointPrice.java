@@ -0,0 +1,15 @@
+package br.com.code.enterprise.specification.internal.interfaces;
+
+import br.com.code.enterprise.specification.internal.FixedPointPrice;
+
+/**
+ * Entidades que expõem o preço também em ponto fixo. As especificações de preço usam esse valor para comparar com
+ * {@code long}, sem {@code BigDecimal}, quando o preço é representável.
+ */
+public interface HasFixedPointPrice extends HasPrice {
+
+    /**
+     * @return o preço em unidades de {@link FixedPointPrice} ou {@link FixedPointPrice#NOT_REPRESENTABLE}
+     */
+    long getPriceUnits();
+}
@@ -0,0 +1,383 @@
+package br.com.code.enterprise.specification.internal.optimizer;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.AndSpecification;
+import br.com.code.enterprise.specification.internal.NotSpecification;
+import br.com.code.enterprise.specification.internal.OrSpecification;
+import br.com.code.enterprise.specification.internal.bitmap.LongBitmap;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.AllOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.AnyOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedAfterDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBeforeDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBetweenDatesSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdInCollectionSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdRangeSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdSpecification;
+import br.com.code.enterprise.specification.internal.specs.InactiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceLessThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceRangeSpecification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reescreve uma árvore de especificações em uma forma equivalente e mais barata de avaliar.
+ * <p>
+ * A negação é empurrada até as folhas (dupla negação e De Morgan), conjunções e disjunções aninhadas viram um único
+ * {@link AllOfSpecification} ou {@link AnyOfSpecification}, folhas repetidas são descartadas pela igualdade
+ * estrutural e contradições ({@code x AND NOT x}, {@code active AND inactive}) e tautologias viram
+ * {@link ConstantSpecification}. Em conjunções, os limites de preço, data de criação e id são combinados em uma
+ * única folha de intervalo, ou em uma constante falsa quando o intervalo fica vazio.
+ * <p>
+ * Negações de folhas que leem campos anuláveis não são convertidas em folhas de intervalo, pois
+ * {@code NOT price > x} também é satisfeita por preços nulos. Compostos adaptativos e especificações desconhecidas
+ * são mantidos como folhas. A ordem relativa dos termos é preservada.
+ */
+public final class SpecificationOptimizer {
+
+    private SpecificationOptimizer() {
+    }
+
+    public static <T> Specification<T> optimize(Specification<T> specification) {
+        return normalize(specification, false);
+    }
+
+    private static <T> Specification<T> normalize(Specification<T> spec, boolean negated) {
+        if (spec instanceof NotSpecification<T> not) {
+            return normalize(not.getSpec(), !negated);
+        }
+        if (spec instanceof AndSpecification<T> and) {
+            return combine(List.of(and.getLeft(), and.getRight()), !negated, negated);
+        }
+        if (spec instanceof AllOfSpecification<T> allOf && !allOf.isAdaptive()) {
+            return combine(allOf.getSpecifications(), !negated, negated);
+        }
+        if (spec instanceof OrSpecification<T> or) {
+            return combine(List.of(or.getLeft(), or.getRight()), negated, negated);
+        }
+        if (spec instanceof AnyOfSpecification<T> anyOf && !anyOf.isAdaptive()) {
+            return combine(anyOf.getSpecifications(), negated, negated);
+        }
+
+        Specification<T> leaf = fold(spec);
+        return negated ? negate(leaf) : leaf;
+    }
+
+    /**
+     * Normaliza os filhos (negados quando {@code negateChildren}) e os combina em uma conjunção ou disjunção.
+     */
+    private static <T> Specification<T> combine(Collection<Specification<T>> children, boolean conjunction,
+                                                boolean negateChildren) {
+        // O elemento neutro da conjunção é verdadeiro e o absorvente é falso; na disjunção é o contrário.
+        boolean identity = conjunction;
+        Set<Specification<T>> terms = new LinkedHashSet<>();
+
+        for (Specification<T> child : children) {
+            Specification<T> normalized = normalize(child, negateChildren);
+            for (Specification<T> term : flatten(normalized, conjunction)) {
+                if (term instanceof ConstantSpecification<T> constant) {
+                    if (constant.isValue() != identity) {
+                        return constant;
+                    }
+                    continue;
+                }
+                if (terms.contains(negate(term))) {
+                    return new ConstantSpecification<>(!identity);
+                }
+                terms.add(term);
+            }
+        }
+
+        List<Specification<T>> result = conjunction ? mergeRanges(terms) : new ArrayList<>(terms);
+        if (result == null) {
+            return ConstantSpecification.alwaysFalse();
+        }
+
+        return switch (result.size()) {
+            case 0 -> new ConstantSpecification<>(identity);
+            case 1 -> result.get(0);
+            default -> conjunction ? new AllOfSpecification<>(result) : new AnyOfSpecification<>(result);
+        };
+    }
+
+    /**
+     * Termos de um nó já normalizado, abrindo compostos do mesmo tipo da combinação.
+     */
+    private static <T> Collection<Specification<T>> flatten(Specification<T> spec, boolean conjunction) {
+        if (conjunction && spec instanceof AllOfSpecification<T> allOf && !allOf.isAdaptive()) {
+            return allOf.getSpecifications();
+        }
+        if (!conjunction && spec instanceof AnyOfSpecification<T> anyOf && !anyOf.isAdaptive()) {
+            return anyOf.getSpecifications();
+        }
+        return List.of(spec);
+    }
+
+    /**
+     * Dobra folhas que são constantes por construção.
+     */
+    private static <T> Specification<T> fold(Specification<T> spec) {
+        if (spec instanceof IdSpecification<?> s && s.getId() == null) {
+            return ConstantSpecification.alwaysFalse();
+        }
+        if (spec instanceof IdInCollectionSpecification<?> s && s.isEmpty()) {
+            return ConstantSpecification.alwaysFalse();
+        }
+        return spec;
+    }
+
+    private static <T> Specification<T> negate(Specification<T> spec) {
+        if (spec instanceof NotSpecification<T> not) {
+            return not.getSpec();
+        }
+        if (spec instanceof ConstantSpecification<T> constant) {
+            return new ConstantSpecification<>(!constant.isValue());
+        }
+        if (spec instanceof ActiveSpecification<?>) {
+            return narrow(new InactiveSpecification<>());
+        }
+        if (spec instanceof InactiveSpecification<?>) {
+            return narrow(new ActiveSpecification<>());
+        }
+        return new NotSpecification<>(spec);
+    }
+
+    /**
+     * Substitui as folhas de intervalo de um mesmo campo por uma só, na posição da primeira delas.
+     *
+     * @return os termos resultantes ou {@code null} se algum intervalo ficar vazio
+     */
+    private static <T> List<Specification<T>> mergeRanges(Collection<Specification<T>> terms) {
+        PriceBounds price = new PriceBounds();
+        DateBounds created = new DateBounds();
+        IdBounds id = new IdBounds();
+        List<Specification<T>> result = new ArrayList<>();
+
+        for (Specification<T> term : terms) {
+            RangeBounds bounds = price.accept(term) ? price
+                    : created.accept(term) ? created
+                    : id.accept(term) ? id
+                    : null;
+            if (bounds == null) {
+                result.add(term);
+            } else if (bounds.terms == 1) {
+                result.add(null);
+                bounds.position = result.size() - 1;
+                bounds.original = term;
+            }
+        }
+
+        for (RangeBounds bounds : List.of(price, created, id)) {
+            if (bounds.terms == 0) {
+                continue;
+            }
+            Specification<?> merged = bounds.terms == 1 ? bounds.original : bounds.toSpecification();
+            if (merged == null) {
+                return null;
+            }
+            result.set(bounds.position, narrow(merged));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Specification<T> narrow(Specification<?> spec) {
+        return (Specification<T>) spec;
+    }
+
+    private abstract static class RangeBounds {
+        private int terms;
+        private int position;
+        private Specification<?> original;
+
+        /**
+         * @return {@code true} se o termo foi absorvido por este intervalo
+         */
+        final boolean accept(Specification<?> spec) {
+            if (!tighten(spec)) {
+                return false;
+            }
+            terms++;
+            return true;
+        }
+
+        abstract boolean tighten(Specification<?> spec);
+
+        /**
+         * @return a folha equivalente ao intervalo acumulado ou {@code null} se ele for vazio
+         */
+        abstract Specification<?> toSpecification();
+    }
+
+    private static final class PriceBounds extends RangeBounds {
+        private BigDecimal min;
+        private boolean minInclusive;
+        private BigDecimal max;
+        private boolean maxInclusive;
+
+        @Override
+        boolean tighten(Specification<?> spec) {
+            if (spec instanceof PriceBetweenSpecification<?> s && s.getMinPrice() != null && s.getMaxPrice() != null) {
+                lower(s.getMinPrice(), true);
+                upper(s.getMaxPrice(), true);
+            } else if (spec instanceof PriceGreaterThanSpecification<?> s && s.getPrice() != null) {
+                lower(s.getPrice(), false);
+            } else if (spec instanceof PriceLessThanSpecification<?> s && s.getPrice() != null) {
+                upper(s.getPrice(), false);
+            } else if (spec instanceof PriceRangeSpecification<?> s) {
+                if (s.getMinPrice() != null) {
+                    lower(s.getMinPrice(), s.isMinInclusive());
+                }
+                if (s.getMaxPrice() != null) {
+                    upper(s.getMaxPrice(), s.isMaxInclusive());
+                }
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        private void lower(BigDecimal value, boolean inclusive) {
+            int cmp = min == null ? 1 : value.compareTo(min);
+            if (cmp > 0) {
+                min = value;
+                minInclusive = inclusive;
+            } else if (cmp == 0) {
+                minInclusive &= inclusive;
+            }
+        }
+
+        private void upper(BigDecimal value, boolean inclusive) {
+            int cmp = max == null ? -1 : value.compareTo(max);
+            if (cmp < 0) {
+                max = value;
+                maxInclusive = inclusive;
+            } else if (cmp == 0) {
+                maxInclusive &= inclusive;
+            }
+        }
+
+        @Override
+        Specification<?> toSpecification() {
+            if (min != null && max != null) {
+                int cmp = min.compareTo(max);
+                if (cmp > 0 || cmp == 0 && !(minInclusive && maxInclusive)) {
+                    return null;
+                }
+                if (minInclusive && maxInclusive) {
+                    return new PriceBetweenSpecification<>(min, max);
+                }
+            } else if (min != null && !minInclusive) {
+                return new PriceGreaterThanSpecification<>(min);
+            } else if (max != null && !maxInclusive) {
+                return new PriceLessThanSpecification<>(max);
+            }
+            return new PriceRangeSpecification<>(min, minInclusive, max, maxInclusive);
+        }
+    }
+
+    /**
+     * Limites inclusivos em milissegundos; as comparações de {@link Date} têm precisão de milissegundo, então
+     * {@code after(d)} equivale a {@code >= d + 1}.
+     */
+    private static final class DateBounds extends RangeBounds {
+        private boolean empty;
+        private boolean hasMin;
+        private boolean hasMax;
+        private long min = Long.MIN_VALUE;
+        private long max = Long.MAX_VALUE;
+
+        @Override
+        boolean tighten(Specification<?> spec) {
+            if (spec instanceof CreatedBetweenDatesSpecification<?> s && s.getStartDate() != null && s.getEndDate() != null) {
+                lower(s.getStartDate().getTime());
+                upper(s.getEndDate().getTime());
+            } else if (spec instanceof CreatedAfterDateSpecification<?> s && s.getDate() != null) {
+                long millis = s.getDate().getTime();
+                empty |= millis == Long.MAX_VALUE;
+                lower(millis == Long.MAX_VALUE ? millis : millis + 1);
+            } else if (spec instanceof CreatedBeforeDateSpecification<?> s && s.getDate() != null) {
+                long millis = s.getDate().getTime();
+                empty |= millis == Long.MIN_VALUE;
+                upper(millis == Long.MIN_VALUE ? millis : millis - 1);
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        private void lower(long millis) {
+            hasMin = true;
+            min = Math.max(min, millis);
+        }
+
+        private void upper(long millis) {
+            hasMax = true;
+            max = Math.min(max, millis);
+        }
+
+        @Override
+        Specification<?> toSpecification() {
+            if (empty || min > max) {
+                return null;
+            }
+            if (hasMin && hasMax) {
+                return new CreatedBetweenDatesSpecification<>(new Date(min), new Date(max));
+            }
+            return hasMin
+                    ? new CreatedAfterDateSpecification<>(new Date(min - 1))
+                    : new CreatedBeforeDateSpecification<>(new Date(max + 1));
+        }
+    }
+
+    private static final class IdBounds extends RangeBounds {
+        private Long exact;
+        private boolean conflicting;
+        private LongBitmap allowed;
+        private boolean ranged;
+        private long min = Long.MIN_VALUE;
+        private long max = Long.MAX_VALUE;
+
+        @Override
+        boolean tighten(Specification<?> spec) {
+            if (spec instanceof IdSpecification<?> s && s.getId() != null) {
+                conflicting |= exact != null && !exact.equals(s.getId());
+                exact = s.getId();
+            } else if (spec instanceof IdRangeSpecification<?> s && s.getMinId() != null && s.getMaxId() != null) {
+                ranged = true;
+                min = Math.max(min, s.getMinId());
+                max = Math.min(max, s.getMaxId());
+            } else if (spec instanceof IdInCollectionSpecification<?> s) {
+                allowed = allowed == null ? s.copyAllowedIds() : s.and(allowed);
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        Specification<?> toSpecification() {
+            if (conflicting || min > max) {
+                return null;
+            }
+            if (exact != null) {
+                boolean inRange = exact >= min && exact <= max;
+                return inRange && (allowed == null || allowed.contains(exact)) ? new IdSpecification<>(exact) : null;
+            }
+            if (allowed != null) {
+                LongBitmap ids = ranged ? allowed.range(min, max) : allowed;
+                return ids.isEmpty() ? null : new IdInCollectionSpecification<>(ids);
+            }
+            return new IdRangeSpecification<>(min, max);
+        }
+    }
+}
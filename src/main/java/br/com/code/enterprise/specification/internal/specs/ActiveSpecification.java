@@ -2,7 +2,9 @@ package br.com.code.enterprise.specification.internal.specs;
 
 import br.com.code.enterprise.specification.internal.AbstractSpecification;
 import br.com.code.enterprise.specification.internal.interfaces.HasActive;
+import lombok.EqualsAndHashCode;
 
+@EqualsAndHashCode(callSuper = false)
 public class ActiveSpecification<T extends HasActive> extends AbstractSpecification<T> {
 
     @Override
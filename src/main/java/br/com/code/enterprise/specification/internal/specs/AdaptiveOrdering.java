@@ -0,0 +1,206 @@
+package br.com.code.enterprise.specification.internal.specs;
+
+import br.com.code.enterprise.specification.Specification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ordenação adaptativa dos filhos de uma especificação composta.
+ * <p>
+ * Uma fração das avaliações (1 a cada {@code sampleRate}) é amostrada: todos os filhos são avaliados, sem curto
+ * circuito, registrando taxa de aprovação e custo em nanossegundos. A cada {@code reorderInterval} amostras os filhos
+ * são reordenados para maximizar o curto circuito: no modo {@link Mode#ALL} primeiro os que mais rejeitam por
+ * nanossegundo ({@code custo / (1 - aprovação)}), no modo {@link Mode#ANY} primeiro os que mais aprovam por
+ * nanossegundo ({@code custo / aprovação}).
+ * <p>
+ * Depois de cada reordenação as contagens são reduzidas à metade: o peso de uma amostra cai exponencialmente a cada
+ * intervalo, de modo que a ordem acompanha mudanças na distribuição dos dados em vez de ficar presa ao histórico.
+ */
+public class AdaptiveOrdering<T> {
+
+    public static final int DEFAULT_SAMPLE_RATE = 64;
+    public static final int DEFAULT_REORDER_INTERVAL = 256;
+
+    private static final double MIN_PROBABILITY = 1e-6;
+
+    public enum Mode {
+        ALL, ANY
+    }
+
+    private final Mode mode;
+    private final List<Specification<T>> specifications;
+    private final LongAdder[] evaluations;
+    private final LongAdder[] passes;
+    private final LongAdder[] nanos;
+    private final int sampleRate;
+    private final int reorderInterval;
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong reorders = new AtomicLong();
+
+    private volatile int[] order;
+
+    public AdaptiveOrdering(Mode mode, Collection<Specification<T>> specifications, int sampleRate, int reorderInterval) {
+        if (sampleRate < 1 || reorderInterval < 1) {
+            throw new IllegalArgumentException("sampleRate and reorderInterval must be positive");
+        }
+
+        this.mode = mode;
+        this.specifications = List.copyOf(specifications);
+        this.sampleRate = sampleRate;
+        this.reorderInterval = reorderInterval;
+        this.evaluations = counters(this.specifications.size());
+        this.passes = counters(this.specifications.size());
+        this.nanos = counters(this.specifications.size());
+
+        int[] initial = new int[this.specifications.size()];
+        Arrays.setAll(initial, i -> i);
+        this.order = initial;
+    }
+
+    public boolean isSatisfiedBy(T candidate) {
+        if (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            return sample(candidate);
+        }
+
+        int[] current = order;
+        if (mode == Mode.ALL) {
+            for (int index : current) {
+                if (!specifications.get(index).isSatisfiedBy(candidate)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        for (int index : current) {
+            if (specifications.get(index).isSatisfiedBy(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recalcula a ordem dos filhos a partir das estatísticas coletadas até agora e reduz as contagens à metade.
+     */
+    public synchronized void reorder() {
+        double[] ranks = new double[specifications.size()];
+        for (int i = 0; i < specifications.size(); i++) {
+            ranks[i] = rank(i);
+            decay(evaluations[i]);
+            decay(passes[i]);
+            decay(nanos[i]);
+        }
+
+        Integer[] sorted = new Integer[specifications.size()];
+        Arrays.setAll(sorted, i -> order[i]);
+        Arrays.sort(sorted, Comparator.comparingDouble(index -> ranks[index]));
+
+        int[] updated = Arrays.stream(sorted).mapToInt(Integer::intValue).toArray();
+        if (!Arrays.equals(updated, order)) {
+            order = updated;
+            reorders.incrementAndGet();
+        }
+    }
+
+    /**
+     * Estatísticas de cada filho na ordem de avaliação atual; as quantidades de avaliações já estão reduzidas pelas
+     * reordenações anteriores.
+     */
+    public List<Statistics> getStatistics() {
+        int[] current = order;
+        List<Statistics> statistics = new ArrayList<>(current.length);
+        for (int position = 0; position < current.length; position++) {
+            int index = current[position];
+            long count = evaluations[index].sum();
+            statistics.add(new Statistics(specifications.get(index), position, count,
+                    count == 0 ? 0 : (double) passes[index].sum() / count,
+                    count == 0 ? 0 : (double) nanos[index].sum() / count));
+        }
+        return statistics;
+    }
+
+    public long getSampleCount() {
+        return samples.get();
+    }
+
+    public long getReorderCount() {
+        return reorders.get();
+    }
+
+    private boolean sample(T candidate) {
+        boolean all = true;
+        boolean any = false;
+
+        for (int i = 0; i < specifications.size(); i++) {
+            long start = System.nanoTime();
+            boolean passed = specifications.get(i).isSatisfiedBy(candidate);
+            nanos[i].add(System.nanoTime() - start);
+            evaluations[i].increment();
+
+            if (passed) {
+                passes[i].increment();
+                any = true;
+            } else {
+                all = false;
+            }
+        }
+
+        if (samples.incrementAndGet() % reorderInterval == 0) {
+            reorder();
+        }
+        return mode == Mode.ALL ? all : any;
+    }
+
+    private double rank(int index) {
+        long count = evaluations[index].sum();
+        if (count == 0) {
+            return Double.MAX_VALUE;
+        }
+
+        double passRate = (double) passes[index].sum() / count;
+        double cost = Math.max((double) nanos[index].sum() / count, 1.0);
+        double probability = mode == Mode.ALL ? 1.0 - passRate : passRate;
+        return cost / Math.max(probability, MIN_PROBABILITY);
+    }
+
+    /**
+     * Subtrai metade do acumulado; incrementos concorrentes são preservados.
+     */
+    private static void decay(LongAdder counter) {
+        counter.add(-(counter.sum() / 2));
+    }
+
+    private static LongAdder[] counters(int size) {
+        LongAdder[] counters = new LongAdder[size];
+        Arrays.setAll(counters, i -> new LongAdder());
+        return counters;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Statistics {
+        private final Specification<?> specification;
+        private final int position;
+        private final long evaluations;
+        private final double passRate;
+        private final double averageNanos;
+
+        @Override
+        public String toString() {
+            return position + ": " + specification.getClass().getSimpleName()
+                   + " (evaluations=" + evaluations
+                   + ", passRate=" + String.format("%.3f", passRate)
+                   + ", avgNanos=" + String.format("%.1f", averageNanos) + ")";
+        }
+    }
+}
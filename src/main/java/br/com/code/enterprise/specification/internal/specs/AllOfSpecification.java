@@ -2,6 +2,8 @@ package br.com.code.enterprise.specification.internal.specs;
 
 import br.com.code.enterprise.specification.Specification;
 import br.com.code.enterprise.specification.internal.AbstractSpecification;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -11,22 +13,56 @@ import java.util.Collection;
  * especificações. Uma entidade satisfaz esta especificação se satisfizer TODAS
  * as especificações contidas.
  */
+@Getter
+@EqualsAndHashCode(callSuper = false)
 public class AllOfSpecification<T> extends AbstractSpecification<T> {
 
     private final Collection<Specification<T>> specifications;
+    @EqualsAndHashCode.Exclude
+    private final AdaptiveOrdering<T> adaptiveOrdering;
 
     @SafeVarargs
     public AllOfSpecification(Specification<T>... specifications) {
-        this.specifications = Arrays.asList(specifications);
+        this(Arrays.asList(specifications));
     }
 
     public AllOfSpecification(Collection<Specification<T>> specifications) {
+        this(specifications, null);
+    }
+
+    private AllOfSpecification(Collection<Specification<T>> specifications, AdaptiveOrdering<T> adaptiveOrdering) {
         this.specifications = specifications;
+        this.adaptiveOrdering = adaptiveOrdering;
+    }
+
+    /**
+     * Cria uma versão adaptativa desta especificação, que reordena os filhos em tempo de execução colocando
+     * primeiro os que mais rejeitam por nanossegundo. As estatísticas ficam disponíveis em {@link #getAdaptiveOrdering()}.
+     */
+    public AllOfSpecification<T> adaptive() {
+        return adaptive(AdaptiveOrdering.DEFAULT_SAMPLE_RATE, AdaptiveOrdering.DEFAULT_REORDER_INTERVAL);
+    }
+
+    public AllOfSpecification<T> adaptive(int sampleRate, int reorderInterval) {
+        return new AllOfSpecification<>(specifications,
+                new AdaptiveOrdering<>(AdaptiveOrdering.Mode.ALL, specifications, sampleRate, reorderInterval));
+    }
+
+    public boolean isAdaptive() {
+        return adaptiveOrdering != null;
     }
 
     @Override
     public boolean isSatisfiedBy(T candidate) {
-        return specifications.stream()
-                .allMatch(spec -> spec.isSatisfiedBy(candidate));
+        if (adaptiveOrdering != null) {
+            return adaptiveOrdering.isSatisfiedBy(candidate);
+        }
+
+        for (Specification<T> spec : specifications) {
+            if (!spec.isSatisfiedBy(candidate)) {
+                return false;
+            }
+        }
+        return true;
     }
 }
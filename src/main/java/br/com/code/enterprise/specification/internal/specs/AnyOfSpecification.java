@@ -2,27 +2,63 @@ package br.com.code.enterprise.specification.internal.specs;
 
 import br.com.code.enterprise.specification.Specification;
 import br.com.code.enterprise.specification.internal.AbstractSpecification;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
 import java.util.Arrays;
 import java.util.Collection;
 
 
+@Getter
+@EqualsAndHashCode(callSuper = false)
 public class AnyOfSpecification<T> extends AbstractSpecification<T> {
 
     private final Collection<Specification<T>> specifications;
+    @EqualsAndHashCode.Exclude
+    private final AdaptiveOrdering<T> adaptiveOrdering;
 
     @SafeVarargs
     public AnyOfSpecification(Specification<T>... specifications) {
-        this.specifications = Arrays.asList(specifications);
+        this(Arrays.asList(specifications));
     }
 
     public AnyOfSpecification(Collection<Specification<T>> specifications) {
+        this(specifications, null);
+    }
+
+    private AnyOfSpecification(Collection<Specification<T>> specifications, AdaptiveOrdering<T> adaptiveOrdering) {
         this.specifications = specifications;
+        this.adaptiveOrdering = adaptiveOrdering;
+    }
+
+    /**
+     * Cria uma versão adaptativa desta especificação, que reordena os filhos em tempo de execução colocando
+     * primeiro os que mais aprovam por nanossegundo. As estatísticas ficam disponíveis em {@link #getAdaptiveOrdering()}.
+     */
+    public AnyOfSpecification<T> adaptive() {
+        return adaptive(AdaptiveOrdering.DEFAULT_SAMPLE_RATE, AdaptiveOrdering.DEFAULT_REORDER_INTERVAL);
+    }
+
+    public AnyOfSpecification<T> adaptive(int sampleRate, int reorderInterval) {
+        return new AnyOfSpecification<>(specifications,
+                new AdaptiveOrdering<>(AdaptiveOrdering.Mode.ANY, specifications, sampleRate, reorderInterval));
+    }
+
+    public boolean isAdaptive() {
+        return adaptiveOrdering != null;
     }
 
     @Override
     public boolean isSatisfiedBy(T candidate) {
-        return specifications.stream()
-                .anyMatch(spec -> spec.isSatisfiedBy(candidate));
+        if (adaptiveOrdering != null) {
+            return adaptiveOrdering.isSatisfiedBy(candidate);
+        }
+
+        for (Specification<T> spec : specifications) {
+            if (spec.isSatisfiedBy(candidate)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
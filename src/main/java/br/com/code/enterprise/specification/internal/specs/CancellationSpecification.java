@@ -0,0 +1,57 @@
+package br.com.code.enterprise.specification.internal.specs;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.AbstractSpecification;
+import br.com.code.enterprise.specification.internal.AndSpecification;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Verificação de cancelamento satisfeita por toda entidade, que lança {@link CancellationException} quando o sinal
+ * estiver ligado e assim interrompe a varredura que a avalia.
+ * <p>
+ * É combinada por {@link #guard(Specification, BooleanSupplier)} antes da especificação consultada. Planejadores a
+ * mantêm apenas quando ainda resta uma passagem sobre as entidades, de modo que consultas respondidas só com
+ * índices ou colunas não a avaliam, e o cache de consultas usa como chave a especificação sem ela
+ * ({@link #unwrap(Specification)}). A igualdade é por identidade: cada sinal é de uma única chamada.
+ */
+public class CancellationSpecification<T> extends AbstractSpecification<T> {
+
+    private final BooleanSupplier cancelled;
+
+    public CancellationSpecification(BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Conjunção que avalia a verificação antes da especificação, para toda entidade examinada.
+     */
+    public static <T> Specification<T> guard(Specification<T> specification, BooleanSupplier cancelled) {
+        return new AndSpecification<>(new CancellationSpecification<>(cancelled), specification);
+    }
+
+    /**
+     * @return a especificação protegida por {@link #guard(Specification, BooleanSupplier)} ou a própria
+     * especificação, se ela não tiver sido protegida
+     */
+    public static <T> Specification<T> unwrap(Specification<T> specification) {
+        if (specification instanceof AndSpecification<T> and && and.getLeft() instanceof CancellationSpecification<?>) {
+            return and.getRight();
+        }
+        return specification;
+    }
+
+    @Override
+    public boolean isSatisfiedBy(T candidate) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("Repository call cancelled");
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "CancellationSpecification";
+    }
+}
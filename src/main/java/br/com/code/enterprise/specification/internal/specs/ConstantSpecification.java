@@ -0,0 +1,38 @@
+package br.com.code.enterprise.specification.internal.specs;
+
+import br.com.code.enterprise.specification.internal.AbstractSpecification;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Especificação satisfeita por todas as entidades ou por nenhuma. Resultado do dobramento de constantes feito pelo
+ * otimizador, por exemplo em contradições como {@code active AND inactive}.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = false)
+public class ConstantSpecification<T> extends AbstractSpecification<T> {
+
+    private final boolean value;
+
+    public ConstantSpecification(boolean value) {
+        this.value = value;
+    }
+
+    public static <T> ConstantSpecification<T> alwaysTrue() {
+        return new ConstantSpecification<>(true);
+    }
+
+    public static <T> ConstantSpecification<T> alwaysFalse() {
+        return new ConstantSpecification<>(false);
+    }
+
+    @Override
+    public boolean isSatisfiedBy(T candidate) {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "ConstantSpecification: " + value;
+    }
+}
@@ -2,12 +2,16 @@ package br.com.code.enterprise.specification.internal.specs;
 
 import br.com.code.enterprise.specification.internal.AbstractSpecification;
 import br.com.code.enterprise.specification.internal.interfaces.HasCreationDate;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
 import java.util.Date;
 
 /**
  * Especificação que verifica se uma entidade foi criada antes de uma determinada data.
  */
+@Getter
+@EqualsAndHashCode(callSuper = false)
 public class CreatedBeforeDateSpecification<T extends HasCreationDate> extends AbstractSpecification<T> {
 
     private final Date date;
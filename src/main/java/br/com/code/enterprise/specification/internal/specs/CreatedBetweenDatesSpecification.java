@@ -2,12 +2,16 @@ package br.com.code.enterprise.specification.internal.specs;
 
 import br.com.code.enterprise.specification.internal.AbstractSpecification;
 import br.com.code.enterprise.specification.internal.interfaces.HasCreationDate;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
 import java.util.Date;
 
 /**
  * Especificação que verifica se uma entidade foi criada dentro de um intervalo de datas.
  */
+@Getter
+@EqualsAndHashCode(callSuper = false)
 public class CreatedBetweenDatesSpecification<T extends HasCreationDate> extends AbstractSpecification<T> {
 
     private final Date startDate;
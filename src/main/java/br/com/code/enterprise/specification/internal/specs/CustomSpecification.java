@@ -1,9 +1,13 @@
 package br.com.code.enterprise.specification.internal.specs;
 
 import br.com.code.enterprise.specification.internal.AbstractSpecification;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
 import java.util.function.Predicate;
 
+@Getter
+@EqualsAndHashCode(callSuper = false)
 public class CustomSpecification<T> extends AbstractSpecification<T> {
 
     private final Predicate<T> predicate;
@@ -1,22 +1,66 @@
 package br.com.code.enterprise.specification.internal.specs;
 
 import br.com.code.enterprise.specification.internal.AbstractSpecification;
+import br.com.code.enterprise.specification.internal.bitmap.LongBitmap;
 import br.com.code.enterprise.specification.internal.interfaces.HasId;
+import lombok.EqualsAndHashCode;
 
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.function.LongConsumer;
 
+/**
+ * Os ids permitidos são guardados em um {@link LongBitmap}, sem um objeto por id; ids {@code null} são ignorados.
+ * O bitmap nunca é exposto, pois participa da igualdade usada como chave de cache: as operações abaixo apenas o
+ * leem ou devolvem bitmaps novos.
+ */
+@EqualsAndHashCode(callSuper = false)
 public class IdInCollectionSpecification<T extends HasId> extends AbstractSpecification<T> {
 
-    private final Set<Long> allowedIds;
+    private final LongBitmap allowedIds;
 
     public IdInCollectionSpecification(Collection<Long> allowedIds) {
-        this.allowedIds = new HashSet<>(allowedIds);
+        this.allowedIds = LongBitmap.of(allowedIds);
+    }
+
+    public IdInCollectionSpecification(LongBitmap allowedIds) {
+        this.allowedIds = allowedIds.copy();
     }
 
     @Override
     public boolean isSatisfiedBy(T candidate) {
         return candidate.getId() != null && allowedIds.contains(candidate.getId());
     }
+
+    public boolean contains(long id) {
+        return allowedIds.contains(id);
+    }
+
+    /**
+     * Percorre os ids permitidos em ordem crescente.
+     */
+    public void forEach(LongConsumer consumer) {
+        allowedIds.forEach(consumer);
+    }
+
+    public long cardinality() {
+        return allowedIds.cardinality();
+    }
+
+    public boolean isEmpty() {
+        return allowedIds.isEmpty();
+    }
+
+    /**
+     * @return um bitmap novo com os ids permitidos também presentes em {@code other}
+     */
+    public LongBitmap and(LongBitmap other) {
+        return LongBitmap.and(allowedIds, other);
+    }
+
+    /**
+     * @return uma cópia dos ids permitidos, livre para ser alterada
+     */
+    public LongBitmap copyAllowedIds() {
+        return allowedIds.copy();
+    }
 }
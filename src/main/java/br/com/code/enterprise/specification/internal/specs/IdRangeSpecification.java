@@ -2,7 +2,11 @@ package br.com.code.enterprise.specification.internal.specs;
 
 import br.com.code.enterprise.specification.internal.AbstractSpecification;
 import br.com.code.enterprise.specification.internal.interfaces.HasId;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
+@Getter
+@EqualsAndHashCode(callSuper = false)
 public class IdRangeSpecification<T extends HasId> extends AbstractSpecification<T> {
 
     private final Long minId;
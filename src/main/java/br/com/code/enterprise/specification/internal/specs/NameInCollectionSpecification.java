@@ -1,16 +1,27 @@
 package br.com.code.enterprise.specification.internal.specs;
 
 import br.com.code.enterprise.specification.internal.AbstractSpecification;
+import br.com.code.enterprise.specification.internal.CaseFolding;
 import br.com.code.enterprise.specification.internal.interfaces.HasName;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+@Getter
+@EqualsAndHashCode(callSuper = false)
 public class NameInCollectionSpecification<T extends HasName> extends AbstractSpecification<T> {
 
     private final Set<String> allowedNames;
     private final boolean ignoreCase;
+    /**
+     * Nomes normalizados por {@link CaseFolding}, usados quando {@code ignoreCase} é verdadeiro.
+     */
+    @EqualsAndHashCode.Exclude
+    private final Set<String> foldedNames;
 
     public NameInCollectionSpecification(Collection<String> allowedNames) {
         this(allowedNames, false);
@@ -19,6 +30,9 @@ public class NameInCollectionSpecification<T extends HasName> extends AbstractSp
     public NameInCollectionSpecification(Collection<String> allowedNames, boolean ignoreCase) {
         this.allowedNames = new HashSet<>(allowedNames);
         this.ignoreCase = ignoreCase;
+        this.foldedNames = ignoreCase
+                ? this.allowedNames.stream().map(CaseFolding::fold).collect(Collectors.toSet())
+                : this.allowedNames;
     }
 
     @Override
@@ -28,8 +42,7 @@ public class NameInCollectionSpecification<T extends HasName> extends AbstractSp
         }
 
         if (ignoreCase) {
-            return allowedNames.stream()
-                    .anyMatch(name -> name.equalsIgnoreCase(candidate.getName()));
+            return foldedNames.contains(CaseFolding.fold(candidate.getName()));
         } else {
             return allowedNames.contains(candidate.getName());
         }
@@ -2,9 +2,12 @@ package br.com.code.enterprise.specification.internal.specs;
 
 import br.com.code.enterprise.specification.internal.AbstractSpecification;
 import br.com.code.enterprise.specification.internal.interfaces.HasName;
+import lombok.Getter;
 
+import java.util.Objects;
 import java.util.regex.Pattern;
 
+@Getter
 public class NameMatchesRegexSpecification<T extends HasName> extends AbstractSpecification<T> {
 
     private final Pattern pattern;
@@ -18,4 +21,23 @@ public class NameMatchesRegexSpecification<T extends HasName> extends AbstractSp
         return candidate.getName() != null
                && pattern.matcher(candidate.getName()).matches();
     }
+
+    /**
+     * {@link Pattern} não implementa igualdade; duas especificações são iguais quando a expressão e as flags são.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NameMatchesRegexSpecification<?> other)) {
+            return false;
+        }
+        return pattern.pattern().equals(other.pattern.pattern()) && pattern.flags() == other.pattern.flags();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pattern.pattern(), pattern.flags());
+    }
 }
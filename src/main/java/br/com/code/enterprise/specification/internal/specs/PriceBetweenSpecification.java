@@ -1,30 +1,49 @@
 package br.com.code.enterprise.specification.internal.specs;
 
 import br.com.code.enterprise.specification.internal.AbstractSpecification;
+import br.com.code.enterprise.specification.internal.FixedPointPrice;
+import br.com.code.enterprise.specification.internal.interfaces.HasFixedPointPrice;
 import br.com.code.enterprise.specification.internal.interfaces.HasPrice;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
 import java.math.BigDecimal;
 
 /**
  * Especificação que verifica se o preço de uma entidade está dentro de um intervalo específico.
  */
+@Getter
+@EqualsAndHashCode(callSuper = false)
 public class PriceBetweenSpecification<T extends HasPrice> extends AbstractSpecification<T> {
 
     private final BigDecimal minPrice;
     private final BigDecimal maxPrice;
+    /**
+     * Limites inclusivos em unidades de {@link FixedPointPrice}, calculados uma única vez.
+     */
+    private final long minUnits;
+    private final long maxUnits;
 
     public PriceBetweenSpecification(BigDecimal minPrice, BigDecimal maxPrice) {
         this.minPrice = minPrice;
         this.maxPrice = maxPrice;
+        this.minUnits = minPrice == null ? Long.MIN_VALUE : FixedPointPrice.ceilUnits(minPrice);
+        this.maxUnits = maxPrice == null ? Long.MAX_VALUE : FixedPointPrice.floorUnits(maxPrice);
     }
 
     public PriceBetweenSpecification(double minPrice, double maxPrice) {
-        this.minPrice = BigDecimal.valueOf(minPrice);
-        this.maxPrice = BigDecimal.valueOf(maxPrice);
+        this(BigDecimal.valueOf(minPrice), BigDecimal.valueOf(maxPrice));
     }
 
     @Override
     public boolean isSatisfiedBy(T candidate) {
+        if (candidate instanceof HasFixedPointPrice fixed) {
+            long units = fixed.getPriceUnits();
+            if (units != FixedPointPrice.NOT_REPRESENTABLE) {
+                return units >= minUnits && units <= maxUnits;
+            }
+        }
+
         return candidate.getPrice() != null
                && candidate.getPrice().compareTo(minPrice) >= 0
                && candidate.getPrice().compareTo(maxPrice) <= 0;
@@ -1,27 +1,45 @@
 package br.com.code.enterprise.specification.internal.specs;
 
 import br.com.code.enterprise.specification.internal.AbstractSpecification;
+import br.com.code.enterprise.specification.internal.FixedPointPrice;
+import br.com.code.enterprise.specification.internal.interfaces.HasFixedPointPrice;
 import br.com.code.enterprise.specification.internal.interfaces.HasPrice;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
 import java.math.BigDecimal;
 
 /**
  * Especificação que verifica se o preço de uma entidade é maior que um valor específico.
  */
+@Getter
+@EqualsAndHashCode(callSuper = false)
 public class PriceGreaterThanSpecification<T extends HasPrice> extends AbstractSpecification<T> {
 
     private final BigDecimal price;
+    /**
+     * Menor preço que satisfaz a especificação, em unidades de {@link FixedPointPrice}.
+     */
+    private final long minUnits;
 
     public PriceGreaterThanSpecification(BigDecimal price) {
         this.price = price;
+        this.minUnits = price == null ? Long.MIN_VALUE : FixedPointPrice.aboveUnits(price);
     }
 
     public PriceGreaterThanSpecification(double price) {
-        this.price = BigDecimal.valueOf(price);
+        this(BigDecimal.valueOf(price));
     }
 
     @Override
     public boolean isSatisfiedBy(T candidate) {
+        if (candidate instanceof HasFixedPointPrice fixed) {
+            long units = fixed.getPriceUnits();
+            if (units != FixedPointPrice.NOT_REPRESENTABLE) {
+                return units >= minUnits;
+            }
+        }
+
         return candidate.getPrice() != null && candidate.getPrice().compareTo(price) > 0;
     }
 }
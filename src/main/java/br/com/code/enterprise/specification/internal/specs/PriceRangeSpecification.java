@@ -0,0 +1,67 @@
+package br.com.code.enterprise.specification.internal.specs;
+
+import br.com.code.enterprise.specification.internal.AbstractSpecification;
+import br.com.code.enterprise.specification.internal.FixedPointPrice;
+import br.com.code.enterprise.specification.internal.interfaces.HasFixedPointPrice;
+import br.com.code.enterprise.specification.internal.interfaces.HasPrice;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Especificação de intervalo de preço com a inclusão de cada limite informada separadamente; um limite {@code null}
+ * é considerado aberto. Generaliza {@link PriceBetweenSpecification}, {@link PriceGreaterThanSpecification} e
+ * {@link PriceLessThanSpecification}, e é o que o otimizador produz ao combinar limites com inclusões diferentes.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = false)
+public class PriceRangeSpecification<T extends HasPrice> extends AbstractSpecification<T> {
+
+    private final BigDecimal minPrice;
+    private final boolean minInclusive;
+    private final BigDecimal maxPrice;
+    private final boolean maxInclusive;
+    /**
+     * Limites inclusivos em unidades de {@link FixedPointPrice}, calculados uma única vez.
+     */
+    private final long minUnits;
+    private final long maxUnits;
+
+    public PriceRangeSpecification(BigDecimal minPrice, boolean minInclusive, BigDecimal maxPrice, boolean maxInclusive) {
+        this.minPrice = minPrice;
+        this.minInclusive = minInclusive;
+        this.maxPrice = maxPrice;
+        this.maxInclusive = maxInclusive;
+        this.minUnits = minPrice == null ? Long.MIN_VALUE
+                : minInclusive ? FixedPointPrice.ceilUnits(minPrice) : FixedPointPrice.aboveUnits(minPrice);
+        this.maxUnits = maxPrice == null ? Long.MAX_VALUE
+                : maxInclusive ? FixedPointPrice.floorUnits(maxPrice) : FixedPointPrice.belowUnits(maxPrice);
+    }
+
+    @Override
+    public boolean isSatisfiedBy(T candidate) {
+        if (candidate instanceof HasFixedPointPrice fixed) {
+            long units = fixed.getPriceUnits();
+            if (units != FixedPointPrice.NOT_REPRESENTABLE) {
+                return units >= minUnits && units <= maxUnits;
+            }
+        }
+
+        BigDecimal price = candidate.getPrice();
+        if (price == null) {
+            return false;
+        }
+        if (minPrice != null) {
+            int cmp = price.compareTo(minPrice);
+            if (cmp < 0 || cmp == 0 && !minInclusive) {
+                return false;
+            }
+        }
+        if (maxPrice != null) {
+            int cmp = price.compareTo(maxPrice);
+            return cmp < 0 || cmp == 0 && maxInclusive;
+        }
+        return true;
+    }
+}
@@ -1,11 +1,13 @@
 package br.com.code.enterprise.specification.model;
 
 import br.com.code.enterprise.specification.internal.interfaces.HasActive;
+import br.com.code.enterprise.specification.internal.FixedPointPrice;
 import br.com.code.enterprise.specification.internal.interfaces.HasCreationDate;
+import br.com.code.enterprise.specification.internal.interfaces.HasFixedPointPrice;
 import br.com.code.enterprise.specification.internal.interfaces.HasId;
 import br.com.code.enterprise.specification.internal.interfaces.HasName;
 import br.com.code.enterprise.specification.internal.interfaces.HasPrice;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -17,9 +19,7 @@ import java.util.Date;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
-@Builder
-public class Entity implements HasActive, HasId, HasName, HasPrice, HasCreationDate {
+public class Entity implements HasActive, HasId, HasName, HasPrice, HasFixedPointPrice, HasCreationDate {
 
     private Long id;
     private String name;
@@ -28,10 +28,37 @@ public class Entity implements HasActive, HasId, HasName, HasPrice, HasCreationD
     private Date created;
     private BigDecimal price;
 
+    /**
+     * Conversão do preço atual para ponto fixo, refeita somente quando a referência de {@code price} muda.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient PriceUnits priceUnits;
+
+    @Builder
+    public Entity(Long id, String name, String description, boolean active, Date created, BigDecimal price) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.active = active;
+        this.created = created;
+        this.price = price;
+    }
+
     public Entity(String name) {
         this.name = name;
     }
 
+    @Override
+    public long getPriceUnits() {
+        PriceUnits cached = priceUnits;
+        if (cached == null || cached.price != price) {
+            cached = new PriceUnits(price, FixedPointPrice.unitsOf(price));
+            priceUnits = cached;
+        }
+        return cached.units;
+    }
+
     @Override
     public String toString() {
         return "Id: " + id +
@@ -41,4 +68,7 @@ public class Entity implements HasActive, HasId, HasName, HasPrice, HasCreationD
                ", Created: " + created +
                ", Price: " + price;
     }
+
+    private record PriceUnits(BigDecimal price, long units) {
+    }
 }
@@ -0,0 +1,63 @@
+package br.com.code.enterprise.specification.repository;
+
+import br.com.code.enterprise.specification.model.Entity;
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * Ordenações de {@link Entity} que correspondem a índices ordenados dos repositórios: um repositório que mantém
+ * o índice da chave pode percorrê-lo diretamente em vez de avaliar um heap sobre todos os candidatos.
+ * <p>
+ * As ordens são totais: entidades sem a chave (preço ou data nulos) vêm ao final em qualquer direção, e empates
+ * são desfeitos pelo id crescente. Isso permite usá-las na paginação por chave de
+ * {@link Repository#findPage(br.com.code.enterprise.specification.Specification, Comparator, Object, int)}.
+ */
+@Getter
+public enum EntityOrder implements Comparator<Entity> {
+
+    ID_ASC(Key.ID, false),
+    ID_DESC(Key.ID, true),
+    PRICE_ASC(Key.PRICE, false),
+    PRICE_DESC(Key.PRICE, true),
+    CREATED_ASC(Key.CREATED, false),
+    CREATED_DESC(Key.CREATED, true);
+
+    public enum Key {
+        ID, PRICE, CREATED
+    }
+
+    private final Key key;
+    private final boolean descending;
+
+    EntityOrder(Key key, boolean descending) {
+        this.key = key;
+        this.descending = descending;
+    }
+
+    @Override
+    public int compare(Entity left, Entity right) {
+        int byId = Long.compare(left.getId(), right.getId());
+        if (key == Key.ID) {
+            return descending ? -byId : byId;
+        }
+
+        int byKey = key == Key.PRICE
+                ? compareKeys(left.getPrice(), right.getPrice())
+                : compareKeys(millis(left.getCreated()), millis(right.getCreated()));
+        return byKey != 0 ? byKey : byId;
+    }
+
+    private <K extends Comparable<? super K>> int compareKeys(K left, K right) {
+        if (left == null || right == null) {
+            return left == right ? 0 : left == null ? 1 : -1;
+        }
+        int cmp = left.compareTo(right);
+        return descending ? -cmp : cmp;
+    }
+
+    private static Long millis(Date date) {
+        return date == null ? null : date.getTime();
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.code.enterprise.specification.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma consulta paginada por chave ({@code keyset}): contém no máximo {@code limit} entidades com chave
+ * maior que a chave informada, e a chave a partir da qual a próxima página deve ser pedida.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T, ID> {
+
+    private final List<T> content;
+    private final ID nextKey;
+    private final boolean hasNext;
+
+    /**
+     * Monta a página consumindo no máximo {@code limit + 1} elementos de um iterador já ordenado pela chave.
+     */
+    public static <T, ID> KeysetPage<T, ID> of(Iterator<T> ordered, int limit, Function<T, ID> key) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+
+        List<T> content = new ArrayList<>(Math.min(limit, 1024));
+        while (content.size() < limit && ordered.hasNext()) {
+            content.add(ordered.next());
+        }
+
+        boolean hasNext = ordered.hasNext();
+        ID nextKey = content.isEmpty() ? null : key.apply(content.get(content.size() - 1));
+        return new KeysetPage<>(content, nextKey, hasNext);
+    }
+}
@@ -1,9 +1,18 @@
 package br.com.code.enterprise.specification.repository;
 
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.repository.support.ParallelQuery;
 import br.com.code.enterprise.specification.Specification;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
 
 public interface Repository<T, ID> {
 
@@ -15,7 +24,126 @@ public interface Repository<T, ID> {
 
     Optional<T> findOne(Specification<T> specification);
 
+    /**
+     * Consulta paralela. A implementação padrão é sequencial; repositórios em memória a sobrescrevem para varrer
+     * as entidades no pool configurado em {@code query}.
+     */
+    default List<T> findAll(Specification<T> specification, ParallelQuery query) {
+        return findAll(specification);
+    }
+
+    /**
+     * Stream preguiçoso das entidades que satisfazem a especificação, na ordem do repositório.
+     */
+    Stream<T> stream(Specification<T> specification);
+
+    default Iterator<T> iterator(Specification<T> specification) {
+        return stream(specification).iterator();
+    }
+
+    default long count(Specification<T> specification) {
+        return stream(specification).count();
+    }
+
+    default boolean exists(Specification<T> specification) {
+        return findOne(specification).isPresent();
+    }
+
+    /**
+     * Paginação por chave: até {@code limit} entidades que satisfazem a especificação com id maior que
+     * {@code afterId} ({@code null} para a primeira página), em ordem de id.
+     */
+    KeysetPage<T, ID> findPage(Specification<T> specification, ID afterId, int limit);
+
+    /**
+     * As até {@code limit} primeiras entidades que satisfazem a especificação segundo {@code comparator}. A
+     * implementação padrão mantém um heap de {@code limit} elementos durante a varredura, em O(n log k);
+     * repositórios com índices ordenados percorrem o índice diretamente quando o comparador é um
+     * {@link EntityOrder}.
+     */
+    default List<T> findAll(Specification<T> specification, Comparator<? super T> comparator, int limit) {
+        return TopK.select(iterator(specification), comparator, limit);
+    }
+
+    /**
+     * Paginação por chave em uma ordem arbitrária: até {@code limit} entidades posteriores a {@code after}
+     * ({@code null} para a primeira página) segundo {@code comparator}, que deve ser total (sem empates entre
+     * entidades distintas) para que nenhuma entidade seja repetida ou pulada entre páginas. A chave da próxima
+     * página é a última entidade devolvida.
+     */
+    default KeysetPage<T, T> findPage(Specification<T> specification, Comparator<? super T> comparator, T after,
+                                      int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+
+        Iterator<T> candidates = after == null ? iterator(specification)
+                : stream(specification).filter(entity -> comparator.compare(entity, after) > 0).iterator();
+        int max = limit == Integer.MAX_VALUE ? limit : limit + 1;
+        return KeysetPage.of(TopK.select(candidates, comparator, max).iterator(), limit, Function.identity());
+    }
+
+    /**
+     * Agrega as entidades que satisfazem a especificação em uma única passagem, sem materializar a lista do
+     * resultado. Repositórios com colunas ou índices reconhecem os coletores de
+     * {@link br.com.code.enterprise.specification.repository.aggregate.EntityStatistics} e calculam o resultado
+     * sem percorrer as entidades.
+     */
+    default <R> R aggregate(Specification<T> specification, Collector<? super T, ?, R> collector) {
+        return stream(specification).collect(collector);
+    }
+
+    /**
+     * Agregação paralela: cada parte acumula seu resultado parcial e as partes são combinadas ao final pelo
+     * combinador do coletor. A implementação padrão é sequencial.
+     */
+    default <R> R aggregate(Specification<T> specification, Collector<? super T, ?, R> collector, ParallelQuery query) {
+        return aggregate(specification, collector);
+    }
+
     void delete(T entity);
 
     T update(T entity);
+
+    /**
+     * Salva as entidades em um único lote. A implementação padrão chama {@link #save(Object)} para cada uma;
+     * repositórios com trava ou índices a sobrescrevem para adquirir a trava uma vez e manter os índices em bloco.
+     */
+    default BatchResult<T> saveAll(Collection<T> entities) {
+        long start = System.nanoTime();
+        List<T> saved = new ArrayList<>(entities.size());
+        entities.forEach(entity -> saved.add(save(entity)));
+        return BatchResult.since(start, saved);
+    }
+
+    /**
+     * Atualiza as entidades em um único lote. A implementação padrão não é atômica: uma entidade inexistente
+     * interrompe o lote depois das anteriores já atualizadas. As implementações em memória validam o lote inteiro
+     * antes de alterar qualquer entidade.
+     */
+    default BatchResult<T> updateAll(Collection<T> entities) {
+        long start = System.nanoTime();
+        List<T> updated = new ArrayList<>(entities.size());
+        entities.forEach(entity -> updated.add(update(entity)));
+        return BatchResult.since(start, updated);
+    }
+
+    /**
+     * Remove as entidades com os ids informados; ids inexistentes são ignorados.
+     *
+     * @return o lote com as entidades efetivamente removidas
+     */
+    BatchResult<T> deleteAllById(Collection<ID> ids);
+
+    /**
+     * Remove as entidades que satisfazem a especificação.
+     *
+     * @return o lote com as entidades removidas
+     */
+    default BatchResult<T> deleteAll(Specification<T> specification) {
+        long start = System.nanoTime();
+        List<T> removed = findAll(specification);
+        removed.forEach(this::delete);
+        return BatchResult.since(start, removed);
+    }
 }
@@ -0,0 +1,62 @@
+package br.com.code.enterprise.specification.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Seleção dos {@code k} primeiros elementos segundo um comparador, com um heap limitado a {@code k} elementos.
+ * <p>
+ * O heap guarda o pior elemento retido no topo: cada elemento da origem é comparado com ele e só entra no lugar
+ * dele quando é melhor. O custo é O(n log k) em tempo e O(k) em memória, em vez de materializar e ordenar as
+ * {@code n} entidades.
+ */
+public final class TopK {
+
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private TopK() {
+    }
+
+    /**
+     * @return os até {@code limit} menores elementos de {@code source} segundo {@code comparator}, em ordem
+     */
+    public static <T> List<T> select(Iterator<? extends T> source, Comparator<? super T> comparator, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+
+        Comparator<? super T> reversed = comparator.reversed();
+        PriorityQueue<T> heap = new PriorityQueue<>(Math.min(limit, MAX_INITIAL_CAPACITY), reversed);
+        while (source.hasNext()) {
+            T element = source.next();
+            if (heap.size() < limit) {
+                heap.add(element);
+            } else if (comparator.compare(element, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(element);
+            }
+        }
+
+        List<T> result = new ArrayList<>(heap);
+        result.sort(comparator);
+        return result;
+    }
+
+    /**
+     * Consome no máximo {@code limit} elementos de um iterador que já está na ordem desejada.
+     */
+    public static <T> List<T> first(Iterator<? extends T> ordered, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+
+        List<T> result = new ArrayList<>(Math.min(limit, MAX_INITIAL_CAPACITY));
+        while (result.size() < limit && ordered.hasNext()) {
+            result.add(ordered.next());
+        }
+        return result;
+    }
+}
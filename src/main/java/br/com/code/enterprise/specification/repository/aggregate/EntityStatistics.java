@@ -0,0 +1,238 @@
+package br.com.code.enterprise.specification.repository.aggregate;
+
+import br.com.code.enterprise.specification.internal.FixedPointPrice;
+import br.com.code.enterprise.specification.internal.interfaces.HasActive;
+import br.com.code.enterprise.specification.internal.interfaces.HasCreationDate;
+import br.com.code.enterprise.specification.internal.interfaces.HasFixedPointPrice;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Date;
+import java.util.Map;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Estatísticas de um conjunto de entidades: quantidade, soma, mínimo, máximo e média do preço e intervalo das datas
+ * de criação. Entidades sem preço ou sem data entram apenas na quantidade.
+ * <p>
+ * É um acumulador mutável e combinável, no estilo de {@link java.util.DoubleSummaryStatistics}: partes calculadas
+ * em paralelo são unidas por {@link #combine(EntityStatistics)}. Preços representáveis em ponto fixo são somados e
+ * comparados como {@code long}, sem alocar um {@code BigDecimal} por entidade; somente preços não representáveis e
+ * somas que estouram {@code long} usam a aritmética exata.
+ */
+public class EntityStatistics {
+
+    private static final Collector<?, ?, ?> STATISTICS = new StatisticsCollector<>(StatisticsCollector.Grouping.NONE,
+            Collector.of(EntityStatistics::new,
+                    (EntityStatistics statistics, HasFixedPointPrice entity) -> statistics.accept(entity),
+                    EntityStatistics::combine, Collector.Characteristics.IDENTITY_FINISH,
+                    Collector.Characteristics.UNORDERED));
+
+    private static final Collector<?, ?, ?> BY_ACTIVE = new StatisticsCollector<>(
+            StatisticsCollector.Grouping.BY_ACTIVE,
+            Collectors.partitioningBy((HasActive entity) -> entity.isActive(), statistics()));
+
+    private long count;
+    private long priceCount;
+    private long unitsSum;
+    private BigDecimal exactSum;
+    private long minUnits = Long.MAX_VALUE;
+    private long maxUnits = Long.MIN_VALUE;
+    private BigDecimal minExact;
+    private BigDecimal maxExact;
+    private long minCreated = Long.MAX_VALUE;
+    private long maxCreated = Long.MIN_VALUE;
+
+    /**
+     * Coletor das estatísticas. Os repositórios o reconhecem como {@link StatisticsCollector} para calcular o
+     * resultado sobre colunas ou resumos de índice, sem percorrer as entidades.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends HasFixedPointPrice & HasCreationDate> Collector<T, ?, EntityStatistics> statistics() {
+        return (Collector<T, ?, EntityStatistics>) STATISTICS;
+    }
+
+    /**
+     * Coletor das estatísticas agrupadas pelo status: {@code true} para as ativas e {@code false} para as inativas.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends HasFixedPointPrice & HasCreationDate & HasActive>
+    Collector<T, ?, Map<Boolean, EntityStatistics>> byActive() {
+        return (Collector<T, ?, Map<Boolean, EntityStatistics>>) BY_ACTIVE;
+    }
+
+    /**
+     * Estatísticas já resumidas, por exemplo a partir dos índices de um repositório; valores ausentes são
+     * {@code null}. Os preços representáveis passam ao ponto fixo, de modo que o resultado tem a mesma escala do
+     * calculado entidade a entidade.
+     */
+    public static EntityStatistics of(long count, long priceCount, BigDecimal priceSum, BigDecimal priceMin,
+                                      BigDecimal priceMax, Date createdMin, Date createdMax) {
+        EntityStatistics statistics = new EntityStatistics();
+        statistics.count = count;
+        statistics.priceCount = priceCount;
+        if (priceCount > 0) {
+            long sumUnits = FixedPointPrice.unitsOf(priceSum);
+            if (sumUnits != FixedPointPrice.NOT_REPRESENTABLE) {
+                statistics.unitsSum = sumUnits;
+            } else {
+                statistics.exactSum = priceSum;
+            }
+            statistics.acceptExtreme(priceMin);
+            statistics.acceptExtreme(priceMax);
+        }
+        if (createdMin != null) {
+            statistics.minCreated = createdMin.getTime();
+            statistics.maxCreated = createdMax.getTime();
+        }
+        return statistics;
+    }
+
+    public void accept(HasFixedPointPrice entity) {
+        count++;
+        long units = entity.getPriceUnits();
+        BigDecimal price = units == FixedPointPrice.NOT_REPRESENTABLE ? entity.getPrice() : null;
+        if (units != FixedPointPrice.NOT_REPRESENTABLE || price != null) {
+            acceptPrice(units, price);
+        }
+        if (entity instanceof HasCreationDate dated && dated.getCreated() != null) {
+            acceptCreated(dated.getCreated().getTime());
+        }
+    }
+
+    /**
+     * Acumula uma linha de um armazenamento colunar sem materializar a entidade.
+     *
+     * @param priceUnits   o preço em ponto fixo ou {@link FixedPointPrice#NOT_REPRESENTABLE}
+     * @param inexactPrice o preço exato, consultado apenas quando {@code priceUnits} não é representável
+     */
+    public void acceptRow(boolean hasPrice, long priceUnits, BigDecimal inexactPrice, boolean hasCreated,
+                          long createdMillis) {
+        count++;
+        if (hasPrice) {
+            acceptPrice(priceUnits, inexactPrice);
+        }
+        if (hasCreated) {
+            acceptCreated(createdMillis);
+        }
+    }
+
+    public EntityStatistics combine(EntityStatistics other) {
+        count += other.count;
+        priceCount += other.priceCount;
+        addUnits(other.unitsSum);
+        if (other.exactSum != null) {
+            addExact(other.exactSum);
+        }
+        minUnits = Math.min(minUnits, other.minUnits);
+        maxUnits = Math.max(maxUnits, other.maxUnits);
+        if (other.minExact != null) {
+            minExact = minExact == null || other.minExact.compareTo(minExact) < 0 ? other.minExact : minExact;
+            maxExact = maxExact == null || other.maxExact.compareTo(maxExact) > 0 ? other.maxExact : maxExact;
+        }
+        minCreated = Math.min(minCreated, other.minCreated);
+        maxCreated = Math.max(maxCreated, other.maxCreated);
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return a quantidade de entidades com preço
+     */
+    public long getPriceCount() {
+        return priceCount;
+    }
+
+    /**
+     * @return a soma dos preços ou zero quando nenhuma entidade tem preço
+     */
+    public BigDecimal getPriceSum() {
+        BigDecimal sum = FixedPointPrice.fromUnits(unitsSum);
+        return exactSum == null ? sum : sum.add(exactSum);
+    }
+
+    /**
+     * @return a média dos preços, com a precisão de {@link MathContext#DECIMAL64}, ou {@code null} sem preços
+     */
+    public BigDecimal getPriceAverage() {
+        return priceCount == 0 ? null : getPriceSum().divide(BigDecimal.valueOf(priceCount), MathContext.DECIMAL64);
+    }
+
+    public BigDecimal getPriceMin() {
+        BigDecimal fixed = minUnits == Long.MAX_VALUE ? null : FixedPointPrice.fromUnits(minUnits);
+        return minExact == null || fixed != null && fixed.compareTo(minExact) <= 0 ? fixed : minExact;
+    }
+
+    public BigDecimal getPriceMax() {
+        BigDecimal fixed = maxUnits == Long.MIN_VALUE ? null : FixedPointPrice.fromUnits(maxUnits);
+        return maxExact == null || fixed != null && fixed.compareTo(maxExact) >= 0 ? fixed : maxExact;
+    }
+
+    public Date getCreatedMin() {
+        return minCreated == Long.MAX_VALUE ? null : new Date(minCreated);
+    }
+
+    public Date getCreatedMax() {
+        return maxCreated == Long.MIN_VALUE ? null : new Date(maxCreated);
+    }
+
+    private void acceptPrice(long units, BigDecimal price) {
+        priceCount++;
+        if (units != FixedPointPrice.NOT_REPRESENTABLE) {
+            addUnits(units);
+            minUnits = Math.min(minUnits, units);
+            maxUnits = Math.max(maxUnits, units);
+            return;
+        }
+
+        addExact(price);
+        minExact = minExact == null || price.compareTo(minExact) < 0 ? price : minExact;
+        maxExact = maxExact == null || price.compareTo(maxExact) > 0 ? price : maxExact;
+    }
+
+    /**
+     * Considera o preço nos extremos, sem contá-lo nem somá-lo.
+     */
+    private void acceptExtreme(BigDecimal price) {
+        long units = FixedPointPrice.unitsOf(price);
+        if (units != FixedPointPrice.NOT_REPRESENTABLE) {
+            minUnits = Math.min(minUnits, units);
+            maxUnits = Math.max(maxUnits, units);
+        } else if (price != null) {
+            minExact = minExact == null || price.compareTo(minExact) < 0 ? price : minExact;
+            maxExact = maxExact == null || price.compareTo(maxExact) > 0 ? price : maxExact;
+        }
+    }
+
+    private void acceptCreated(long millis) {
+        minCreated = Math.min(minCreated, millis);
+        maxCreated = Math.max(maxCreated, millis);
+    }
+
+    /**
+     * Soma em {@code long}; em caso de estouro, o acumulado é transferido para a soma exata.
+     */
+    private void addUnits(long units) {
+        long sum = unitsSum + units;
+        if (((unitsSum ^ sum) & (units ^ sum)) < 0) {
+            addExact(FixedPointPrice.fromUnits(unitsSum));
+            sum = units;
+        }
+        unitsSum = sum;
+    }
+
+    private void addExact(BigDecimal value) {
+        exactSum = exactSum == null ? value : exactSum.add(value);
+    }
+
+    @Override
+    public String toString() {
+        return "EntityStatistics{count=" + count + ", priceCount=" + priceCount + ", priceSum=" + getPriceSum()
+               + ", priceMin=" + getPriceMin() + ", priceMax=" + getPriceMax() + ", priceAverage=" + getPriceAverage()
+               + ", createdMin=" + getCreatedMin() + ", createdMax=" + getCreatedMax() + "}";
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.code.enterprise.specification.repository.aggregate;
+
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Coletor de {@link EntityStatistics} reconhecido pelo tipo. Repositórios com colunas ou índices identificam
+ * instâncias desta classe e calculam o resultado sem percorrer as entidades; os demais apenas usam o coletor
+ * equivalente ao qual ela delega.
+ */
+public final class StatisticsCollector<T, A, R> implements Collector<T, A, R> {
+
+    /**
+     * Formato do resultado: {@link EntityStatistics} ou um mapa do status para {@link EntityStatistics}.
+     */
+    public enum Grouping {
+        NONE, BY_ACTIVE
+    }
+
+    private final Grouping grouping;
+    private final Collector<T, A, R> delegate;
+
+    StatisticsCollector(Grouping grouping, Collector<T, A, R> delegate) {
+        this.grouping = grouping;
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return o agrupamento do coletor ou {@code null} se ele não for um {@code StatisticsCollector}
+     */
+    public static Grouping groupingOf(Collector<?, ?, ?> collector) {
+        return collector instanceof StatisticsCollector<?, ?, ?> statistics ? statistics.grouping : null;
+    }
+
+    public Grouping getGrouping() {
+        return grouping;
+    }
+
+    @Override
+    public Supplier<A> supplier() {
+        return delegate.supplier();
+    }
+
+    @Override
+    public BiConsumer<A, T> accumulator() {
+        return delegate.accumulator();
+    }
+
+    @Override
+    public BinaryOperator<A> combiner() {
+        return delegate.combiner();
+    }
+
+    @Override
+    public Function<A, R> finisher() {
+        return delegate.finisher();
+    }
+
+    @Override
+    public Set<Characteristics> characteristics() {
+        return delegate.characteristics();
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.code.enterprise.specification.repository.async;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executores padrão do {@link AsyncRepository}.
+ * <p>
+ * Em JVMs com threads virtuais ({@code Executors.newVirtualThreadPerTaskExecutor()}, Java 21+) cada chamada ganha
+ * sua própria thread virtual, e uma chamada bloqueada não ocupa uma thread de plataforma. O projeto compila para
+ * Java 17, então o método é localizado por reflexão; sem ele, o padrão é um pool limitado de threads daemon com
+ * fila limitada, que rejeita chamadas em excesso em vez de acumulá-las sem limite.
+ */
+final class AsyncExecutors {
+
+    static final int DEFAULT_QUEUE_CAPACITY = 1_024;
+
+    private AsyncExecutors() {
+    }
+
+    static ExecutorService newDefaultExecutor() {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        return virtual != null ? virtual : newBoundedExecutor(Runtime.getRuntime().availableProcessors() * 4,
+                DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @return um executor com uma thread virtual por tarefa ou {@code null} se a JVM não oferecer threads virtuais
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    static ExecutorService newBoundedExecutor(int threads, int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "async-repository-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
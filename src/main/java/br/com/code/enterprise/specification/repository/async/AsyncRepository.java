@@ -0,0 +1,207 @@
+package br.com.code.enterprise.specification.repository.async;
+
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.specs.CancellationSpecification;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+import br.com.code.enterprise.specification.repository.Repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Fachada assíncrona sobre um {@link Repository} bloqueante: cada chamada é executada no executor e devolve um
+ * {@link CompletableFuture}, de modo que várias consultas de uma mesma requisição podem ser disparadas em paralelo
+ * sem prender a thread chamadora.
+ * <p>
+ * Por padrão o executor usa threads virtuais quando a JVM as oferece e, caso contrário, um pool limitado (ver
+ * {@link AsyncExecutors}). {@link #withTimeout(Duration)} devolve uma visão em que toda chamada expira após o prazo.
+ * <p>
+ * Expiração e {@link CompletableFuture#cancel(boolean)} completam o future imediatamente. Toda operação que recebe
+ * uma especificação também interrompe a varredura em andamento: a especificação é combinada com uma
+ * {@link CancellationSpecification}, avaliada antes dela a cada entidade examinada, satisfaça ela a especificação ou
+ * não. Consultas respondidas só com índices ou colunas não examinam entidades e terminam sem avaliá-la; o cache de
+ * consultas a ignora na chave. Operações por id e escritas de entidades informadas terminam em segundo plano, pois
+ * não têm varredura a interromper.
+ */
+public class AsyncRepository<T, ID> implements AutoCloseable {
+
+    private final Repository<T, ID> delegate;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final Duration timeout;
+
+    /**
+     * Usa o executor padrão, encerrado por {@link #close()}.
+     */
+    public AsyncRepository(Repository<T, ID> delegate) {
+        this(delegate, AsyncExecutors.newDefaultExecutor(), true, null);
+    }
+
+    /**
+     * Usa o executor informado, que continua sob responsabilidade de quem o criou.
+     */
+    public AsyncRepository(Repository<T, ID> delegate, ExecutorService executor) {
+        this(delegate, executor, false, null);
+    }
+
+    private AsyncRepository(Repository<T, ID> delegate, ExecutorService executor, boolean ownsExecutor,
+                            Duration timeout) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Visão que compartilha repositório e executor, em que cada chamada falha com
+     * {@link java.util.concurrent.TimeoutException} se não terminar dentro de {@code timeout}.
+     */
+    public AsyncRepository<T, ID> withTimeout(Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive: " + timeout);
+        }
+        return new AsyncRepository<>(delegate, executor, false, timeout);
+    }
+
+    public CompletableFuture<T> save(T entity) {
+        return submit(cancellation -> delegate.save(entity));
+    }
+
+    public CompletableFuture<Optional<T>> findById(Class<T> entityType, ID id) {
+        return submit(cancellation -> delegate.findById(entityType, id));
+    }
+
+    public CompletableFuture<List<T>> findAll(Specification<T> specification) {
+        return submit(cancellation -> delegate.findAll(cancellation.guard(specification)));
+    }
+
+    public CompletableFuture<List<T>> findAll(Specification<T> specification, Comparator<? super T> comparator,
+                                              int limit) {
+        return submit(cancellation -> delegate.findAll(cancellation.guard(specification), comparator, limit));
+    }
+
+    public CompletableFuture<Optional<T>> findOne(Specification<T> specification) {
+        return submit(cancellation -> delegate.findOne(cancellation.guard(specification)));
+    }
+
+    public CompletableFuture<Long> count(Specification<T> specification) {
+        return submit(cancellation -> delegate.count(cancellation.guard(specification)));
+    }
+
+    public CompletableFuture<Boolean> exists(Specification<T> specification) {
+        return submit(cancellation -> delegate.exists(cancellation.guard(specification)));
+    }
+
+    public CompletableFuture<KeysetPage<T, ID>> findPage(Specification<T> specification, ID afterId, int limit) {
+        return submit(cancellation -> delegate.findPage(cancellation.guard(specification), afterId, limit));
+    }
+
+    public <R> CompletableFuture<R> aggregate(Specification<T> specification, Collector<? super T, ?, R> collector) {
+        return submit(cancellation -> delegate.aggregate(cancellation.guard(specification), collector));
+    }
+
+    /**
+     * Publica as entidades que satisfazem a especificação com contrapressão: a varredura só avança conforme a
+     * demanda do assinante e para quando ele cancela a assinatura. Em uma visão de {@link #withTimeout(Duration)},
+     * a assinatura que não terminar dentro do prazo é encerrada com
+     * {@link java.util.concurrent.TimeoutException} em {@code onError}.
+     */
+    public Flow.Publisher<T> publish(Specification<T> specification) {
+        return new StreamPublisher<>(
+                cancelled -> delegate.stream(CancellationSpecification.guard(specification, cancelled)),
+                executor, timeout);
+    }
+
+    public CompletableFuture<Void> delete(T entity) {
+        return submit(cancellation -> {
+            delegate.delete(entity);
+            return null;
+        });
+    }
+
+    public CompletableFuture<T> update(T entity) {
+        return submit(cancellation -> delegate.update(entity));
+    }
+
+    public CompletableFuture<BatchResult<T>> saveAll(Collection<T> entities) {
+        return submit(cancellation -> delegate.saveAll(entities));
+    }
+
+    public CompletableFuture<BatchResult<T>> updateAll(Collection<T> entities) {
+        return submit(cancellation -> delegate.updateAll(entities));
+    }
+
+    public CompletableFuture<BatchResult<T>> deleteAllById(Collection<ID> ids) {
+        return submit(cancellation -> delegate.deleteAllById(ids));
+    }
+
+    public CompletableFuture<BatchResult<T>> deleteAll(Specification<T> specification) {
+        return submit(cancellation -> delegate.deleteAll(cancellation.guard(specification)));
+    }
+
+    /**
+     * Encerra o executor padrão; tarefas já submetidas terminam normalmente. Não tem efeito sobre um executor
+     * informado no construtor nem sobre visões criadas por {@link #withTimeout(Duration)}.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private <R> CompletableFuture<R> submit(Function<Cancellation, R> task) {
+        Cancellation cancellation = new Cancellation();
+        CompletableFuture<R> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                cancellation.cancel();
+            }
+        });
+        if (timeout != null) {
+            future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(task.apply(cancellation));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Sinal de cancelamento de uma chamada, ligado quando o future é cancelado, expira ou falha.
+     */
+    private static final class Cancellation {
+        private volatile boolean cancelled;
+
+        private void cancel() {
+            cancelled = true;
+        }
+
+        private <T> Specification<T> guard(Specification<T> specification) {
+            return CancellationSpecification.guard(specification, () -> cancelled);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package br.com.code.enterprise.specification.repository.async;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * {@link Flow.Publisher} sobre o stream preguiçoso de um repositório, com contrapressão.
+ * <p>
+ * Cada assinatura abre seu próprio stream no executor, na primeira demanda, e só avança o iterador enquanto houver
+ * demanda: a varredura acompanha o ritmo do assinante e para assim que ele cancela. Os sinais são emitidos por uma
+ * única tarefa de drenagem por vez, como exige a especificação de Reactive Streams. A fonte recebe o sinal de
+ * cancelamento da assinatura, para que a varredura pare mesmo em um trecho sem entidades a emitir.
+ * <p>
+ * Com {@code timeout}, a assinatura que não terminar dentro do prazo tem a varredura interrompida pelo mesmo sinal e
+ * é encerrada com {@link TimeoutException} em {@code onError}.
+ */
+final class StreamPublisher<T> implements Flow.Publisher<T> {
+
+    private final Function<BooleanSupplier, Stream<T>> source;
+    private final Executor executor;
+    private final Duration timeout;
+
+    /**
+     * @param timeout prazo de cada assinatura, contado a partir de {@code onSubscribe}, ou {@code null} para nenhum
+     */
+    StreamPublisher(Function<BooleanSupplier, Stream<T>> source, Executor executor, Duration timeout) {
+        this.source = source;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        StreamSubscription subscription = new StreamSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (timeout != null) {
+            subscription.expireAfter(timeout);
+        }
+    }
+
+    private final class StreamSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final CompletableFuture<Void> deadline = new CompletableFuture<>();
+        private volatile boolean cancelled;
+        private volatile boolean expired;
+        private volatile Throwable invalidRequest;
+        private Stream<T> stream;
+        private Iterator<T> iterator;
+        private boolean done;
+
+        private StreamSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("request must be positive: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        /**
+         * Completar {@code deadline} ao terminar descarta o temporizador de {@link CompletableFuture#orTimeout}.
+         */
+        private void expireAfter(Duration timeout) {
+            deadline.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    expired = true;
+                    schedule();
+                }
+            });
+        }
+
+        private boolean isStopped() {
+            return cancelled || expired;
+        }
+
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    emit();
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            if (cancelled) {
+                finish();
+                return;
+            }
+            if (invalidRequest != null) {
+                finish();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+            if (expired) {
+                fail(null);
+                return;
+            }
+
+            try {
+                if (iterator == null) {
+                    stream = source.apply(this::isStopped);
+                    iterator = stream.iterator();
+                }
+
+                long requested = demand.get();
+                long emitted = 0;
+                while (emitted != requested && !isStopped()) {
+                    if (!iterator.hasNext()) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(iterator.next());
+                    emitted++;
+                }
+                if (!isStopped() && !iterator.hasNext()) {
+                    finish();
+                    subscriber.onComplete();
+                    return;
+                }
+                if (requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+                if (cancelled) {
+                    finish();
+                } else if (expired) {
+                    fail(null);
+                }
+            } catch (RuntimeException e) {
+                if (cancelled) {
+                    finish();
+                } else {
+                    fail(e);
+                }
+            }
+        }
+
+        /**
+         * Encerra com {@code error} ou, se o prazo tiver expirado, com {@link TimeoutException}.
+         */
+        private void fail(RuntimeException error) {
+            finish();
+            subscriber.onError(expired ? new TimeoutException("subscription timed out after " + timeout) : error);
+        }
+
+        private void finish() {
+            done = true;
+            deadline.complete(null);
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package br.com.code.enterprise.specification.repository.cache;
+
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.repository.support.ParallelQuery;
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.specs.CancellationSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+import br.com.code.enterprise.specification.repository.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Decorador que guarda em um LRU limitado os ids resultantes de {@code findAll(spec)}, usando a igualdade estrutural
+ * das especificações como chave.
+ * <p>
+ * A invalidação é precisa: cada escrita compara, para cada consulta em cache, se a entidade pertencia ao resultado e
+ * se passa a pertencer; só as consultas cujo resultado mudou são descartadas. Em atualizações, consultas que não leem
+ * nenhum dos campos alterados nem chegam a ser avaliadas. As entidades são resolvidas por id a cada acerto, de modo
+ * que o resultado sempre reflete a instância armazenada no repositório decorado. Para detectar os campos alterados,
+ * cada escrita guarda apenas os valores dos campos lidos pelas consultas em cache naquele momento.
+ * <p>
+ * Resultados paralelos não ordenados ficam em entradas próprias, separadas das consultas que preservam a ordem do
+ * repositório.
+ * <p>
+ * Especificações usadas como chave não devem ser alteradas depois da consulta (por exemplo, a coleção passada a
+ * {@code AllOfSpecification}). {@code CustomSpecification} só é reconhecida como igual quando reutiliza a mesma
+ * instância do predicado.
+ */
+public class CachingSpecificationRepository implements Repository<Entity, Long> {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Repository<Entity, Long> delegate;
+    private final Map<QueryKey, CachedResult> results;
+    private final Map<Long, EntityField.Snapshot> snapshots = new HashMap<>();
+    private final Lock writeLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private long generation;
+
+    public CachingSpecificationRepository(Repository<Entity, Long> delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    public CachingSpecificationRepository(Repository<Entity, Long> delegate, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+
+        this.delegate = delegate;
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QueryKey, CachedResult> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public Entity save(Entity entity) {
+        writeLock.lock();
+        try {
+            Entity saved = delegate.save(entity);
+            invalidate(List.of(new Write(saved.getId(), saved, EnumSet.allOf(EntityField.class))));
+            remember(saved, capturedFields());
+            return saved;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Entity> findById(Class<Entity> entityType, Long id) {
+        return delegate.findById(entityType, id);
+    }
+
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification) {
+        return lookup(new QueryKey(specification, true), () -> delegate.findAll(specification));
+    }
+
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification, ParallelQuery query) {
+        return lookup(new QueryKey(specification, query.isOrdered()), () -> delegate.findAll(specification, query));
+    }
+
+    @Override
+    public Optional<Entity> findOne(Specification<Entity> specification) {
+        return delegate.findOne(specification);
+    }
+
+    @Override
+    public Stream<Entity> stream(Specification<Entity> specification) {
+        return delegate.stream(specification);
+    }
+
+    @Override
+    public long count(Specification<Entity> specification) {
+        CachedResult cached = cached(specification);
+        return cached != null ? cached.ids.length : delegate.count(specification);
+    }
+
+    @Override
+    public boolean exists(Specification<Entity> specification) {
+        CachedResult cached = cached(specification);
+        return cached != null ? cached.ids.length > 0 : delegate.exists(specification);
+    }
+
+    @Override
+    public KeysetPage<Entity, Long> findPage(Specification<Entity> specification, Long afterId, int limit) {
+        return delegate.findPage(specification, afterId, limit);
+    }
+
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification, Comparator<? super Entity> comparator,
+                                int limit) {
+        return delegate.findAll(specification, comparator, limit);
+    }
+
+    @Override
+    public <R> R aggregate(Specification<Entity> specification, Collector<? super Entity, ?, R> collector) {
+        return delegate.aggregate(specification, collector);
+    }
+
+    @Override
+    public <R> R aggregate(Specification<Entity> specification, Collector<? super Entity, ?, R> collector,
+                           ParallelQuery query) {
+        return delegate.aggregate(specification, collector, query);
+    }
+
+    @Override
+    public KeysetPage<Entity, Entity> findPage(Specification<Entity> specification,
+                                               Comparator<? super Entity> comparator, Entity after, int limit) {
+        return delegate.findPage(specification, comparator, after, limit);
+    }
+
+    @Override
+    public void delete(Entity entity) {
+        writeLock.lock();
+        try {
+            delegate.delete(entity);
+            invalidate(List.of(new Write(entity.getId(), null, EnumSet.allOf(EntityField.class))));
+            snapshots.remove(entity.getId());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Entity update(Entity entity) {
+        writeLock.lock();
+        try {
+            EntityField.Snapshot before = snapshots.get(entity.getId());
+            Entity updated = delegate.update(entity);
+            invalidate(List.of(new Write(updated.getId(), updated,
+                    before == null ? EnumSet.allOf(EntityField.class) : before.changedIn(updated))));
+            remember(updated, capturedFields());
+            return updated;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Os lotes são repassados ao repositório decorado e invalidam o cache em uma única passada sobre as consultas.
+     */
+    @Override
+    public BatchResult<Entity> saveAll(Collection<Entity> entities) {
+        writeLock.lock();
+        try {
+            BatchResult<Entity> result = delegate.saveAll(entities);
+            List<Write> writes = new ArrayList<>(result.getCount());
+            for (Entity saved : result.getEntities()) {
+                writes.add(new Write(saved.getId(), saved, EnumSet.allOf(EntityField.class)));
+            }
+            invalidate(writes);
+            Set<EntityField> fields = capturedFields();
+            result.getEntities().forEach(saved -> remember(saved, fields));
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult<Entity> updateAll(Collection<Entity> entities) {
+        writeLock.lock();
+        try {
+            List<EntityField.Snapshot> before = new ArrayList<>(entities.size());
+            entities.forEach(entity -> before.add(snapshots.get(entity.getId())));
+
+            BatchResult<Entity> result = delegate.updateAll(entities);
+            List<Write> writes = new ArrayList<>(result.getCount());
+            for (int i = 0; i < result.getCount(); i++) {
+                Entity updated = result.getEntities().get(i);
+                EntityField.Snapshot snapshot = before.get(i);
+                writes.add(new Write(updated.getId(), updated,
+                        snapshot == null ? EnumSet.allOf(EntityField.class) : snapshot.changedIn(updated)));
+            }
+            invalidate(writes);
+            Set<EntityField> fields = capturedFields();
+            result.getEntities().forEach(updated -> remember(updated, fields));
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult<Entity> deleteAllById(Collection<Long> ids) {
+        writeLock.lock();
+        try {
+            return removed(delegate.deleteAllById(ids));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult<Entity> deleteAll(Specification<Entity> specification) {
+        writeLock.lock();
+        try {
+            return removed(delegate.deleteAll(specification));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void clear() {
+        synchronized (results) {
+            results.clear();
+            generation++;
+        }
+    }
+
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Quantidade de consultas descartadas por escritas.
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    private List<Entity> lookup(QueryKey key, Supplier<List<Entity>> query) {
+        CachedResult cached;
+        long observed;
+        synchronized (results) {
+            cached = results.get(key);
+            observed = generation;
+        }
+
+        if (cached != null) {
+            List<Entity> resolved = resolve(cached);
+            if (resolved != null) {
+                hits.increment();
+                return resolved;
+            }
+        }
+
+        misses.increment();
+        List<Entity> result = query.get();
+        CachedResult computed = new CachedResult(result, FieldDependencies.of(key.specification()));
+
+        // Uma escrita concluída durante a consulta pode ter invalidado um resultado que ainda não estava no cache.
+        synchronized (results) {
+            if (generation == observed) {
+                results.put(key, computed);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Resultado em cache da especificação, ordenado ou não; basta para contagens e existência.
+     */
+    private CachedResult cached(Specification<Entity> specification) {
+        synchronized (results) {
+            CachedResult ordered = results.get(new QueryKey(specification, true));
+            return ordered != null ? ordered : results.get(new QueryKey(specification, false));
+        }
+    }
+
+    /**
+     * Campos lidos por alguma consulta em cache, exceto o id, que não muda em atualizações.
+     */
+    private Set<EntityField> capturedFields() {
+        Set<EntityField> fields = EnumSet.noneOf(EntityField.class);
+        synchronized (results) {
+            results.values().forEach(cached -> fields.addAll(cached.dependencies));
+        }
+        fields.remove(EntityField.ID);
+        return fields;
+    }
+
+    private void remember(Entity entity, Set<EntityField> fields) {
+        if (fields.isEmpty()) {
+            snapshots.remove(entity.getId());
+        } else {
+            snapshots.put(entity.getId(), new EntityField.Snapshot(entity, fields));
+        }
+    }
+
+    /**
+     * @return as entidades na ordem do resultado original ou {@code null} se alguma não existir mais
+     */
+    private List<Entity> resolve(CachedResult cached) {
+        List<Entity> entities = new ArrayList<>(cached.ids.length);
+        for (long id : cached.ids) {
+            Optional<Entity> entity = delegate.findById(Entity.class, id);
+            if (entity.isEmpty()) {
+                return null;
+            }
+            entities.add(entity.get());
+        }
+        return entities;
+    }
+
+    private BatchResult<Entity> removed(BatchResult<Entity> result) {
+        List<Write> writes = new ArrayList<>(result.getCount());
+        for (Entity entity : result.getEntities()) {
+            writes.add(new Write(entity.getId(), null, EnumSet.allOf(EntityField.class)));
+            snapshots.remove(entity.getId());
+        }
+        invalidate(writes);
+        return result;
+    }
+
+    /**
+     * Descarta as consultas cujo resultado muda com alguma das escritas.
+     */
+    private void invalidate(List<Write> writes) {
+        synchronized (results) {
+            Iterator<Map.Entry<QueryKey, CachedResult>> entries = results.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<QueryKey, CachedResult> entry = entries.next();
+                for (Write write : writes) {
+                    if (changesResult(entry.getKey().specification(), entry.getValue(), write)) {
+                        entries.remove();
+                        invalidations.increment();
+                        break;
+                    }
+                }
+            }
+            generation++;
+        }
+    }
+
+    private static boolean changesResult(Specification<Entity> specification, CachedResult cached, Write write) {
+        boolean member = cached.contains(write.id);
+
+        boolean matches;
+        if (write.current == null) {
+            matches = false;
+        } else if (!cached.dependsOnAny(write.changed)) {
+            matches = member;
+        } else {
+            matches = specification.isSatisfiedBy(write.current);
+        }
+        return member != matches;
+    }
+
+    /**
+     * Escrita da entidade {@code current} ({@code null} na remoção) que alterou os campos {@code changed}.
+     */
+    private record Write(Long id, Entity current, Set<EntityField> changed) {
+    }
+
+    /**
+     * Chave do cache: a especificação e se o resultado preserva a ordem do repositório. A verificação de cancelamento
+     * de uma chamada assíncrona é descartada, para que ela compartilhe a entrada da mesma consulta síncrona.
+     */
+    private record QueryKey(Specification<Entity> specification, boolean ordered) {
+        private QueryKey {
+            specification = CancellationSpecification.unwrap(specification);
+        }
+    }
+
+    private static final class CachedResult {
+        private final long[] ids;
+        private final long[] sortedIds;
+        private final Set<EntityField> dependencies;
+
+        private CachedResult(List<Entity> entities, Set<EntityField> dependencies) {
+            this.ids = entities.stream().mapToLong(Entity::getId).toArray();
+            this.sortedIds = ids.clone();
+            Arrays.sort(sortedIds);
+            this.dependencies = dependencies;
+        }
+
+        private boolean contains(Long id) {
+            return id != null && Arrays.binarySearch(sortedIds, id) >= 0;
+        }
+
+        private boolean dependsOnAny(Set<EntityField> fields) {
+            for (EntityField field : fields) {
+                if (dependencies.contains(field)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
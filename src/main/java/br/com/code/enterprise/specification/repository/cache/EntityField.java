@@ -0,0 +1,70 @@
+package br.com.code.enterprise.specification.repository.cache;
+
+import br.com.code.enterprise.specification.model.Entity;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Campos de {@link Entity} dos quais o resultado de uma especificação pode depender.
+ */
+public enum EntityField {
+    ID, NAME, DESCRIPTION, PRICE, CREATED, ACTIVE;
+
+    /**
+     * Valor do campo na entidade, na forma usada para comparação ({@code created} em milissegundos).
+     */
+    Object valueOf(Entity entity) {
+        return switch (this) {
+            case ID -> entity.getId();
+            case NAME -> entity.getName();
+            case DESCRIPTION -> entity.getDescription();
+            case PRICE -> entity.getPrice();
+            case CREATED -> entity.getCreated() == null ? null : entity.getCreated().getTime();
+            case ACTIVE -> entity.isActive();
+        };
+    }
+
+    private boolean same(Object before, Object after) {
+        if (this == PRICE && before != null && after != null) {
+            return ((BigDecimal) before).compareTo((BigDecimal) after) == 0;
+        }
+        return Objects.equals(before, after);
+    }
+
+    /**
+     * Valores de alguns campos de uma entidade capturados no momento da escrita, usados para descobrir quais campos
+     * uma atualização alterou mesmo quando a instância foi modificada antes da chamada a {@code update}. Só os campos
+     * lidos por alguma consulta em cache são capturados; os demais são sempre considerados alterados. O id nunca
+     * muda em uma atualização e não é capturado.
+     */
+    static final class Snapshot {
+        private final Set<EntityField> fields;
+        private final Object[] values;
+
+        /**
+         * @param fields campos a capturar; o conjunto é compartilhado e não deve ser alterado depois
+         */
+        Snapshot(Entity entity, Set<EntityField> fields) {
+            this.fields = fields;
+            this.values = new Object[fields.size()];
+            int i = 0;
+            for (EntityField field : fields) {
+                values[i++] = field.valueOf(entity);
+            }
+        }
+
+        Set<EntityField> changedIn(Entity entity) {
+            Set<EntityField> changed = EnumSet.complementOf(EnumSet.of(ID));
+            int i = 0;
+            for (EntityField field : fields) {
+                if (field.same(values[i++], field.valueOf(entity))) {
+                    changed.remove(field);
+                }
+            }
+            return changed;
+        }
+    }
+}
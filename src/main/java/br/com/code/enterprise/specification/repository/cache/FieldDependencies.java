@@ -0,0 +1,95 @@
+package br.com.code.enterprise.specification.repository.cache;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.AndSpecification;
+import br.com.code.enterprise.specification.internal.NotSpecification;
+import br.com.code.enterprise.specification.internal.OrSpecification;
+import br.com.code.enterprise.specification.internal.compiler.CompiledSpecification;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.AllOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.AnyOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedAfterDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBeforeDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBetweenDatesSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdInCollectionSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdRangeSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdSpecification;
+import br.com.code.enterprise.specification.internal.specs.InactiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameContainsSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameEndsWithSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameEqualsSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameIgnoreCaseSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameInCollectionSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameLengthSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameMatchesRegexSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameStartsWithSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceLessThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceRangeSpecification;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Calcula os campos lidos por uma árvore de especificações. Especificações desconhecidas, como
+ * {@code CustomSpecification}, dependem de todos os campos. Constantes dependem só do id, para que inserções e
+ * remoções ainda sejam avaliadas.
+ */
+final class FieldDependencies {
+
+    private FieldDependencies() {
+    }
+
+    static Set<EntityField> of(Specification<?> spec) {
+        Set<EntityField> fields = EnumSet.noneOf(EntityField.class);
+        collect(spec, fields);
+        return fields;
+    }
+
+    private static void collect(Specification<?> spec, Set<EntityField> fields) {
+        if (spec instanceof AndSpecification<?> and) {
+            collect(and.getLeft(), fields);
+            collect(and.getRight(), fields);
+        } else if (spec instanceof OrSpecification<?> or) {
+            collect(or.getLeft(), fields);
+            collect(or.getRight(), fields);
+        } else if (spec instanceof NotSpecification<?> not) {
+            collect(not.getSpec(), fields);
+        } else if (spec instanceof AllOfSpecification<?> allOf) {
+            allOf.getSpecifications().forEach(child -> collect(child, fields));
+        } else if (spec instanceof AnyOfSpecification<?> anyOf) {
+            anyOf.getSpecifications().forEach(child -> collect(child, fields));
+        } else if (spec instanceof CompiledSpecification<?> compiled) {
+            collect(compiled.getSource(), fields);
+        } else if (spec instanceof ConstantSpecification<?>
+                   || spec instanceof IdSpecification<?>
+                   || spec instanceof IdInCollectionSpecification<?>
+                   || spec instanceof IdRangeSpecification<?>) {
+            fields.add(EntityField.ID);
+        } else if (spec instanceof NameEqualsSpecification<?>
+                   || spec instanceof NameIgnoreCaseSpecification<?>
+                   || spec instanceof NameInCollectionSpecification<?>
+                   || spec instanceof NameContainsSpecification<?>
+                   || spec instanceof NameStartsWithSpecification<?>
+                   || spec instanceof NameEndsWithSpecification<?>
+                   || spec instanceof NameLengthSpecification<?>
+                   || spec instanceof NameMatchesRegexSpecification<?>) {
+            fields.add(EntityField.NAME);
+        } else if (spec instanceof PriceBetweenSpecification<?>
+                   || spec instanceof PriceGreaterThanSpecification<?>
+                   || spec instanceof PriceLessThanSpecification<?>
+                   || spec instanceof PriceRangeSpecification<?>) {
+            fields.add(EntityField.PRICE);
+        } else if (spec instanceof CreatedBetweenDatesSpecification<?>
+                   || spec instanceof CreatedAfterDateSpecification<?>
+                   || spec instanceof CreatedBeforeDateSpecification<?>) {
+            fields.add(EntityField.CREATED);
+        } else if (spec instanceof ActiveSpecification<?> || spec instanceof InactiveSpecification<?>) {
+            fields.add(EntityField.ACTIVE);
+        } else {
+            fields.addAll(EnumSet.allOf(EntityField.class));
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package br.com.code.enterprise.specification.repository.columnar;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.AndSpecification;
+import br.com.code.enterprise.specification.internal.NotSpecification;
+import br.com.code.enterprise.specification.internal.OrSpecification;
+import br.com.code.enterprise.specification.internal.compiler.CompiledSpecification;
+import br.com.code.enterprise.specification.internal.compiler.SpecificationCompiler;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.AllOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.AnyOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.CancellationSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedAfterDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBeforeDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBetweenDatesSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdInCollectionSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdRangeSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdSpecification;
+import br.com.code.enterprise.specification.internal.specs.InactiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameContainsSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameEndsWithSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameEqualsSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameIgnoreCaseSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameInCollectionSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameLengthSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameMatchesRegexSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameStartsWithSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceLessThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceRangeSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Avalia especificações diretamente sobre as colunas, produzindo um {@link BitSet} de linhas.
+ * <p>
+ * Conjunções, disjunções e negações combinam bitsets; folhas de id, preço, data e status são comparadas contra os
+ * arrays primitivos; folhas de nome são avaliadas uma única vez por entrada do dicionário. Qualquer outra
+ * especificação é avaliada linha a linha sobre a entidade materializada; dentro de uma conjunção, somente sobre as
+ * linhas que restam depois dos termos avaliados nas colunas. Uma {@link CancellationSpecification} é avaliada
+ * apenas nessa passagem linha a linha, antes dos demais termos, e ignorada quando as colunas bastam.
+ */
+class ColumnEvaluator {
+
+    private final EntityColumns columns;
+
+    ColumnEvaluator(EntityColumns columns) {
+        this.columns = columns;
+    }
+
+    BitSet evaluate(Specification<Entity> spec) {
+        BitSet result = evaluateColumns(spec);
+        return result != null ? result : scan(List.of(spec), columns.live);
+    }
+
+    /**
+     * Avalia a especificação sobre as colunas; {@code null} quando ela só pode ser avaliada linha a linha.
+     */
+    private BitSet evaluateColumns(Specification<Entity> spec) {
+        if (spec instanceof AndSpecification<Entity> || spec instanceof AllOfSpecification<Entity>) {
+            return all(spec);
+        }
+        if (spec instanceof OrSpecification<Entity> or) {
+            return any(Arrays.asList(or.getLeft(), or.getRight()));
+        }
+        if (spec instanceof AnyOfSpecification<Entity> anyOf) {
+            return any(anyOf.getSpecifications());
+        }
+        if (spec instanceof NotSpecification<Entity> not) {
+            BitSet result = (BitSet) columns.live.clone();
+            result.andNot(evaluate(not.getSpec()));
+            return result;
+        }
+        if (spec instanceof ConstantSpecification<?> s) {
+            return s.isValue() ? (BitSet) columns.live.clone() : new BitSet();
+        }
+        if (spec instanceof CancellationSpecification<?>) {
+            return (BitSet) columns.live.clone();
+        }
+        if (spec instanceof ActiveSpecification<?>) {
+            BitSet result = (BitSet) columns.live.clone();
+            result.and(columns.active);
+            return result;
+        }
+        if (spec instanceof InactiveSpecification<?>) {
+            BitSet result = (BitSet) columns.live.clone();
+            result.andNot(columns.active);
+            return result;
+        }
+        if (spec instanceof IdSpecification<?> s) {
+            BitSet result = new BitSet();
+            int row = columns.rowOf(s.getId());
+            if (row >= 0) {
+                result.set(row);
+            }
+            return result;
+        }
+        if (spec instanceof IdRangeSpecification<?> s && s.getMinId() != null && s.getMaxId() != null) {
+            int[] range = columns.rowRange(s.getMinId(), s.getMaxId());
+            BitSet result = new BitSet();
+            result.set(range[0], range[1]);
+            result.and(columns.live);
+            return result;
+        }
+        if (spec instanceof IdInCollectionSpecification<?> s) {
+            BitSet result = new BitSet();
+            s.forEach(id -> {
+                int row = columns.rowOf(id);
+                if (row >= 0) {
+                    result.set(row);
+                }
+            });
+            return result;
+        }
+        if (spec instanceof PriceBetweenSpecification<?> s) {
+            return price(spec, s.getMinUnits(), s.getMaxUnits());
+        }
+        if (spec instanceof PriceGreaterThanSpecification<?> s) {
+            return price(spec, s.getMinUnits(), Long.MAX_VALUE);
+        }
+        if (spec instanceof PriceLessThanSpecification<?> s) {
+            return price(spec, Long.MIN_VALUE, s.getMaxUnits());
+        }
+        if (spec instanceof PriceRangeSpecification<?> s) {
+            return price(spec, s.getMinUnits(), s.getMaxUnits());
+        }
+        if (spec instanceof CreatedBetweenDatesSpecification<?> s && s.getStartDate() != null && s.getEndDate() != null) {
+            return created(s.getStartDate().getTime(), s.getEndDate().getTime());
+        }
+        if (spec instanceof CreatedAfterDateSpecification<?> s && s.getDate() != null) {
+            long millis = s.getDate().getTime();
+            return millis == Long.MAX_VALUE ? new BitSet() : created(millis + 1, Long.MAX_VALUE);
+        }
+        if (spec instanceof CreatedBeforeDateSpecification<?> s && s.getDate() != null) {
+            long millis = s.getDate().getTime();
+            return millis == Long.MIN_VALUE ? new BitSet() : created(Long.MIN_VALUE, millis - 1);
+        }
+        if (isNameOnly(spec)) {
+            return name(spec);
+        }
+        return null;
+    }
+
+    /**
+     * Conjunção: os termos avaliáveis sobre as colunas restringem as linhas primeiro; os demais são avaliados
+     * depois, em uma única passada linha a linha sobre as linhas restantes, na ordem em que aparecem.
+     */
+    private BitSet all(Specification<Entity> conjunction) {
+        List<Specification<Entity>> terms = new ArrayList<>();
+        flatten(conjunction, terms);
+
+        BitSet result = (BitSet) columns.live.clone();
+        List<Specification<Entity>> guards = new ArrayList<>();
+        List<Specification<Entity>> deferred = new ArrayList<>();
+        for (Specification<Entity> term : terms) {
+            if (result.isEmpty()) {
+                return result;
+            }
+            if (term instanceof CancellationSpecification<Entity>) {
+                guards.add(term);
+                continue;
+            }
+            BitSet part = evaluateColumns(term);
+            if (part == null) {
+                deferred.add(term);
+            } else {
+                result.and(part);
+            }
+        }
+        if (deferred.isEmpty() || result.isEmpty()) {
+            return result;
+        }
+        deferred.addAll(0, guards);
+        return scan(deferred, result);
+    }
+
+    private static void flatten(Specification<Entity> spec, List<Specification<Entity>> terms) {
+        if (spec instanceof AndSpecification<Entity> and) {
+            flatten(and.getLeft(), terms);
+            flatten(and.getRight(), terms);
+        } else if (spec instanceof AllOfSpecification<Entity> allOf) {
+            allOf.getSpecifications().forEach(term -> flatten(term, terms));
+        } else {
+            terms.add(spec);
+        }
+    }
+
+    private BitSet any(Collection<Specification<Entity>> specs) {
+        BitSet result = new BitSet();
+        for (Specification<Entity> spec : specs) {
+            result.or(evaluate(spec));
+        }
+        return result;
+    }
+
+    /**
+     * Linhas com preço exato em {@code [min, max]} em unidades de ponto fixo, mais as linhas com preço não
+     * representável que satisfazem a especificação.
+     */
+    private BitSet price(Specification<Entity> spec, long min, long max) {
+        BitSet result = inexactPrices(spec);
+        if (min > max) {
+            return result;
+        }
+
+        long[] prices = columns.prices;
+        BitSet hasPrice = columns.hasPrice;
+        BitSet inexact = columns.inexactPrice;
+        for (int row = columns.live.nextSetBit(0); row >= 0; row = columns.live.nextSetBit(row + 1)) {
+            long units = prices[row];
+            if (units >= min && units <= max && hasPrice.get(row) && !inexact.get(row)) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    private BitSet inexactPrices(Specification<Entity> spec) {
+        BitSet result = new BitSet();
+        columns.inexactPrices.forEach((row, price) -> {
+            if (columns.live.get(row) && spec.isSatisfiedBy(Entity.builder().price(price).build())) {
+                result.set(row);
+            }
+        });
+        return result;
+    }
+
+    private BitSet created(long min, long max) {
+        BitSet result = new BitSet();
+        long[] created = columns.created;
+        BitSet hasCreated = columns.hasCreated;
+        for (int row = columns.live.nextSetBit(0); row >= 0; row = columns.live.nextSetBit(row + 1)) {
+            long millis = created[row];
+            if (millis >= min && millis <= max && hasCreated.get(row)) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Avalia a especificação uma vez por nome distinto e depois seleciona as linhas cujos códigos casaram.
+     */
+    private BitSet name(Specification<Entity> spec) {
+        BitSet matchingCodes = new BitSet();
+        StringDictionary dictionary = columns.nameDictionary;
+        for (int code = 0; code < dictionary.size(); code++) {
+            if (spec.isSatisfiedBy(new Entity(dictionary.decode(code)))) {
+                matchingCodes.set(code);
+            }
+        }
+
+        BitSet result = new BitSet();
+        if (matchingCodes.isEmpty()) {
+            return result;
+        }
+
+        int[] names = columns.names;
+        for (int row = columns.live.nextSetBit(0); row >= 0; row = columns.live.nextSetBit(row + 1)) {
+            int code = names[row];
+            if (code != StringDictionary.NULL_CODE && matchingCodes.get(code)) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Linhas de {@code rows} cuja entidade materializada satisfaz todas as especificações, avaliadas na ordem pela
+     * conjunção compilada por {@link SpecificationCompiler}.
+     */
+    private BitSet scan(List<Specification<Entity>> specs, BitSet rows) {
+        CompiledSpecification<Entity> predicate = SpecificationCompiler.compile(
+                specs.size() == 1 ? specs.get(0) : new AllOfSpecification<>(specs));
+        BitSet result = new BitSet();
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            if (predicate.test(columns.materialize(row))) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isNameOnly(Specification<Entity> spec) {
+        return spec instanceof NameEqualsSpecification<?>
+               || spec instanceof NameContainsSpecification<?>
+               || spec instanceof NameStartsWithSpecification<?>
+               || spec instanceof NameEndsWithSpecification<?>
+               || spec instanceof NameIgnoreCaseSpecification<?>
+               || spec instanceof NameInCollectionSpecification<?>
+               || spec instanceof NameLengthSpecification<?>
+               || spec instanceof NameMatchesRegexSpecification<?>;
+    }
+}
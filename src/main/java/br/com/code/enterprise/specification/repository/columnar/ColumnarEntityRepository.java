@@ -0,0 +1,336 @@
+package br.com.code.enterprise.specification.repository.columnar;
+
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.aggregate.EntityStatistics;
+import br.com.code.enterprise.specification.repository.aggregate.StatisticsCollector;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Repositório que armazena as entidades em colunas primitivas: ids e datas de criação como {@code long[]}, preços em
+ * ponto fixo, status em bitset e nomes codificados por dicionário.
+ * <p>
+ * As especificações de id, preço, data, status e nome são avaliadas diretamente sobre as colunas e combinadas como
+ * bitsets; as entidades só são materializadas para o resultado final. Por isso as instâncias devolvidas são cópias:
+ * alterações só são persistidas por {@link #update(Entity)}.
+ */
+public class ColumnarEntityRepository implements Repository<Entity, Long> {
+
+    private static final int MIN_ROWS_TO_COMPACT = 64;
+
+    private final EntityColumns columns = new EntityColumns();
+    private final ColumnEvaluator evaluator = new ColumnEvaluator(columns);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long sequence;
+
+    @Override
+    public Entity save(Entity entity) {
+        lock.writeLock().lock();
+        try {
+            entity.setId(++sequence);
+            columns.append(entity);
+            return entity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Entity> findById(Class<Entity> entityType, Long aLong) {
+        lock.readLock().lock();
+        try {
+            int row = columns.rowOf(aLong);
+            return row < 0 ? Optional.empty() : Optional.of(columns.materialize(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification) {
+        lock.readLock().lock();
+        try {
+            BitSet rows = evaluator.evaluate(specification);
+            List<Entity> result = new ArrayList<>(rows.cardinality());
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                result.add(columns.materialize(row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Entity> findOne(Specification<Entity> specification) {
+        lock.readLock().lock();
+        try {
+            int row = evaluator.evaluate(specification).nextSetBit(0);
+            return row < 0 ? Optional.empty() : Optional.of(columns.materialize(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Os ids que satisfazem a especificação são capturados sob a trava de leitura; cada entidade é materializada
+     * somente quando consumida pelo stream.
+     */
+    @Override
+    public Stream<Entity> stream(Specification<Entity> specification) {
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = evaluator.evaluate(specification).stream().mapToLong(row -> columns.ids[row]).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return LongStream.of(ids)
+                .mapToObj(id -> findById(Entity.class, id))
+                .flatMap(Optional::stream);
+    }
+
+    @Override
+    public long count(Specification<Entity> specification) {
+        return rows(specification).cardinality();
+    }
+
+    @Override
+    public boolean exists(Specification<Entity> specification) {
+        return !rows(specification).isEmpty();
+    }
+
+    @Override
+    public KeysetPage<Entity, Long> findPage(Specification<Entity> specification, Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet rows = evaluator.evaluate(specification);
+            int start = afterId == null || afterId == Long.MAX_VALUE
+                    ? (afterId == null ? 0 : columns.size)
+                    : columns.rowRange(afterId + 1, Long.MAX_VALUE)[0];
+            return KeysetPage.of(materializing(rows, start), limit, Entity::getId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Os coletores de {@link EntityStatistics} são calculados diretamente sobre as colunas de preço, data e status,
+     * sem materializar entidades; os demais coletores recebem as entidades materializadas uma a uma, sem a lista do
+     * resultado.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R aggregate(Specification<Entity> specification, Collector<? super Entity, ?, R> collector) {
+        lock.readLock().lock();
+        try {
+            BitSet rows = evaluator.evaluate(specification);
+            StatisticsCollector.Grouping grouping = StatisticsCollector.groupingOf(collector);
+            if (grouping == StatisticsCollector.Grouping.NONE) {
+                EntityStatistics statistics = new EntityStatistics();
+                for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                    columns.accumulate(row, statistics);
+                }
+                return (R) statistics;
+            }
+            if (grouping == StatisticsCollector.Grouping.BY_ACTIVE) {
+                EntityStatistics active = new EntityStatistics();
+                EntityStatistics inactive = new EntityStatistics();
+                for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                    columns.accumulate(row, columns.active.get(row) ? active : inactive);
+                }
+                return (R) Map.of(true, active, false, inactive);
+            }
+            return accumulate(rows, collector);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(Entity entity) {
+        lock.writeLock().lock();
+        try {
+            int row = columns.rowOf(entity.getId());
+            if (row >= 0) {
+                columns.remove(row);
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Entity update(Entity entity) {
+        lock.writeLock().lock();
+        try {
+            int row = columns.rowOf(entity.getId());
+            if (row < 0) {
+                throw new IllegalArgumentException("Entity not found for update: " + entity);
+            }
+
+            columns.write(row, entity);
+            return entity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Anexa o lote sob uma única trava de escrita, crescendo as colunas uma só vez.
+     */
+    @Override
+    public BatchResult<Entity> saveAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            columns.ensureCapacity(columns.size + entities.size());
+            for (Entity entity : entities) {
+                entity.setId(++sequence);
+                columns.append(entity);
+            }
+            return BatchResult.since(start, new ArrayList<>(entities));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * O lote inteiro é validado antes de qualquer alteração: se uma entidade não existir, nenhuma é atualizada.
+     */
+    @Override
+    public BatchResult<Entity> updateAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            int[] rows = new int[entities.size()];
+            int i = 0;
+            for (Entity entity : entities) {
+                rows[i] = columns.rowOf(entity.getId());
+                if (rows[i++] < 0) {
+                    throw new IllegalArgumentException("Entity not found for update: " + entity);
+                }
+            }
+
+            i = 0;
+            for (Entity entity : entities) {
+                columns.write(rows[i++], entity);
+            }
+            return BatchResult.since(start, new ArrayList<>(entities));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Desmarca as linhas do lote e compacta as colunas no máximo uma vez, ao final.
+     */
+    @Override
+    public BatchResult<Entity> deleteAllById(Collection<Long> ids) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            BitSet rows = new BitSet();
+            for (Long id : ids) {
+                int row = columns.rowOf(id);
+                if (row >= 0) {
+                    rows.set(row);
+                }
+            }
+            return BatchResult.since(start, removeRows(rows));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public BatchResult<Entity> deleteAll(Specification<Entity> specification) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            return BatchResult.since(start, removeRows(evaluator.evaluate(specification)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Avalia a especificação sobre as colunas e devolve o bitset de linhas que a satisfazem, sem materializar
+     * entidades. As posições só valem até a próxima compactação e não saem do repositório.
+     */
+    private BitSet rows(Specification<Entity> specification) {
+        lock.readLock().lock();
+        try {
+            return evaluator.evaluate(specification);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <A, R> R accumulate(BitSet rows, Collector<? super Entity, A, R> collector) {
+        A container = collector.supplier().get();
+        BiConsumer<A, ? super Entity> accumulator = collector.accumulator();
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            accumulator.accept(container, columns.materialize(row));
+        }
+        return collector.finisher().apply(container);
+    }
+
+    private Iterator<Entity> materializing(BitSet rows, int start) {
+        return new Iterator<>() {
+            private int row = rows.nextSetBit(start);
+
+            @Override
+            public boolean hasNext() {
+                return row >= 0;
+            }
+
+            @Override
+            public Entity next() {
+                if (row < 0) {
+                    throw new NoSuchElementException();
+                }
+                Entity entity = columns.materialize(row);
+                row = rows.nextSetBit(row + 1);
+                return entity;
+            }
+        };
+    }
+
+    private List<Entity> removeRows(BitSet rows) {
+        List<Entity> removed = new ArrayList<>(rows.cardinality());
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            removed.add(columns.materialize(row));
+            columns.remove(row);
+        }
+        if (!removed.isEmpty()) {
+            compactIfSparse();
+        }
+        return removed;
+    }
+
+    private void compactIfSparse() {
+        if (columns.size >= MIN_ROWS_TO_COMPACT && columns.liveCount() * 2 < columns.size) {
+            columns.compact();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package br.com.code.enterprise.specification.repository.columnar;
+
+import br.com.code.enterprise.specification.internal.FixedPointPrice;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.aggregate.EntityStatistics;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Armazenamento colunar (struct-of-arrays) das entidades.
+ * <p>
+ * Cada linha ocupa a mesma posição em todas as colunas e as linhas ficam ordenadas por id, o que permite localizar
+ * uma entidade por busca binária. Remoções apenas desmarcam a linha em {@code live}; {@link #compact()} descarta as
+ * linhas removidas. Preços não representáveis em ponto fixo ficam em um mapa à parte e são comparados de forma exata.
+ */
+class EntityColumns {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    int size;
+    long[] ids = new long[INITIAL_CAPACITY];
+    long[] created = new long[INITIAL_CAPACITY];
+    long[] prices = new long[INITIAL_CAPACITY];
+    int[] priceScales = new int[INITIAL_CAPACITY];
+    int[] names = new int[INITIAL_CAPACITY];
+    String[] descriptions = new String[INITIAL_CAPACITY];
+
+    BitSet live = new BitSet();
+    BitSet active = new BitSet();
+    BitSet hasCreated = new BitSet();
+    BitSet hasPrice = new BitSet();
+    BitSet inexactPrice = new BitSet();
+    Map<Integer, BigDecimal> inexactPrices = new HashMap<>();
+
+    final StringDictionary nameDictionary = new StringDictionary();
+
+    int append(Entity entity) {
+        if (size > 0 && entity.getId() <= ids[size - 1]) {
+            throw new IllegalArgumentException("Rows must be appended in ascending id order: " + entity.getId());
+        }
+
+        ensureCapacity(size + 1);
+        int row = size++;
+        ids[row] = entity.getId();
+        live.set(row);
+        write(row, entity);
+        return row;
+    }
+
+    void write(int row, Entity entity) {
+        names[row] = nameDictionary.encode(entity.getName());
+        descriptions[row] = entity.getDescription();
+        active.set(row, entity.isActive());
+
+        Date date = entity.getCreated();
+        hasCreated.set(row, date != null);
+        created[row] = date == null ? 0 : date.getTime();
+
+        BigDecimal price = entity.getPrice();
+        hasPrice.set(row, price != null);
+        inexactPrices.remove(row);
+        long units = FixedPointPrice.unitsOf(price);
+        if (units != FixedPointPrice.NOT_REPRESENTABLE) {
+            inexactPrice.clear(row);
+            prices[row] = units;
+            priceScales[row] = price.scale();
+        } else {
+            inexactPrice.set(row, price != null);
+            prices[row] = 0;
+            if (price != null) {
+                inexactPrices.put(row, price);
+            }
+        }
+    }
+
+    void remove(int row) {
+        live.clear(row);
+    }
+
+    /**
+     * @return a linha viva com o id informado ou {@code -1}
+     */
+    int rowOf(Long id) {
+        if (id == null) {
+            return -1;
+        }
+
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        return row >= 0 && live.get(row) ? row : -1;
+    }
+
+    /**
+     * Intervalo de linhas {@code [from, to)} cujos ids estão entre {@code minId} e {@code maxId}, inclusive.
+     */
+    int[] rowRange(long minId, long maxId) {
+        if (minId > maxId) {
+            return new int[]{0, 0};
+        }
+        return new int[]{lowerBound(minId), maxId == Long.MAX_VALUE ? size : lowerBound(maxId + 1)};
+    }
+
+    int liveCount() {
+        return live.cardinality();
+    }
+
+    BigDecimal price(int row) {
+        if (!hasPrice.get(row)) {
+            return null;
+        }
+        if (inexactPrice.get(row)) {
+            return inexactPrices.get(row);
+        }
+        return FixedPointPrice.fromUnits(prices[row]).setScale(priceScales[row]);
+    }
+
+    Entity materialize(int row) {
+        return new Entity(
+                ids[row],
+                nameDictionary.decode(names[row]),
+                descriptions[row],
+                active.get(row),
+                hasCreated.get(row) ? new Date(created[row]) : null,
+                price(row));
+    }
+
+    /**
+     * Acumula a linha nas estatísticas lendo as colunas de preço e data, sem materializar a entidade.
+     */
+    void accumulate(int row, EntityStatistics statistics) {
+        boolean inexact = inexactPrice.get(row);
+        statistics.acceptRow(hasPrice.get(row), inexact ? FixedPointPrice.NOT_REPRESENTABLE : prices[row],
+                inexact ? inexactPrices.get(row) : null, hasCreated.get(row), created[row]);
+    }
+
+    /**
+     * Reescreve as colunas mantendo apenas as linhas vivas.
+     */
+    void compact() {
+        int target = 0;
+        Map<Integer, BigDecimal> compactedInexact = new HashMap<>();
+        BitSet compactedActive = new BitSet();
+        BitSet compactedCreated = new BitSet();
+        BitSet compactedPrice = new BitSet();
+        BitSet compactedInexactFlags = new BitSet();
+
+        for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+            ids[target] = ids[row];
+            created[target] = created[row];
+            prices[target] = prices[row];
+            priceScales[target] = priceScales[row];
+            names[target] = names[row];
+            descriptions[target] = descriptions[row];
+            compactedActive.set(target, active.get(row));
+            compactedCreated.set(target, hasCreated.get(row));
+            compactedPrice.set(target, hasPrice.get(row));
+            if (inexactPrice.get(row)) {
+                compactedInexactFlags.set(target);
+                compactedInexact.put(target, inexactPrices.get(row));
+            }
+            target++;
+        }
+
+        Arrays.fill(descriptions, target, size, null);
+        size = target;
+        live = new BitSet();
+        live.set(0, size);
+        active = compactedActive;
+        hasCreated = compactedCreated;
+        hasPrice = compactedPrice;
+        inexactPrice = compactedInexactFlags;
+        inexactPrices = compactedInexact;
+    }
+
+    private int lowerBound(long id) {
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        return row >= 0 ? row : -row - 1;
+    }
+
+    /**
+     * Garante espaço para {@code capacity} linhas; lotes chamam antes de anexar para crescer os arrays uma só vez.
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+
+        int grown = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, grown);
+        created = Arrays.copyOf(created, grown);
+        prices = Arrays.copyOf(prices, grown);
+        priceScales = Arrays.copyOf(priceScales, grown);
+        names = Arrays.copyOf(names, grown);
+        descriptions = Arrays.copyOf(descriptions, grown);
+    }
+}
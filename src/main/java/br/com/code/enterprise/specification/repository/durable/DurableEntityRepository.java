@@ -0,0 +1,353 @@
+package br.com.code.enterprise.specification.repository.durable;
+
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.repository.support.ParallelQuery;
+import br.com.code.enterprise.repository.support.ParallelScanner;
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.store.PrimaryKeyStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Repositório em memória persistido em um diretório, utilizável pelas duas interfaces de repositório.
+ * <p>
+ * Cada escrita é anexada a um log ({@code entities.wal}) antes de ser aplicada em memória e só retorna depois que o
+ * log está no disco; escritas concorrentes compartilham o mesmo {@code fsync}. Quando o log passa do limite de
+ * {@link DurableOptions}, ou quando {@link #snapshot()} é chamado, o estado é compactado em {@code entities.snapshot}
+ * e o log é reiniciado. Na abertura, o snapshot é lido por mapeamento de memória e o log é reaplicado por cima dele.
+ * <p>
+ * As leituras não usam trava e são fracamente consistentes, como no {@link PrimaryKeyStore}; as escritas são
+ * serializadas. Um lote interrompido por erro de E/S permanece aplicado até a última entidade registrada no log.
+ */
+public class DurableEntityRepository implements Repository<Entity, Long>,
+        br.com.code.enterprise.repository.Repository<Entity, Long>, Closeable {
+
+    static final String SNAPSHOT_FILE = "entities.snapshot";
+    static final String LOG_FILE = "entities.wal";
+
+    private final PrimaryKeyStore<Entity> store = new PrimaryKeyStore<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final DurableOptions options;
+    private final Path snapshotFile;
+    private final WriteAheadLog log;
+    private boolean closed;
+
+    private DurableEntityRepository(Path directory, DurableOptions options) throws IOException {
+        this.options = options;
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+
+        store.advanceSequence(SnapshotFile.read(snapshotFile, entity -> store.put(entity.getId(), entity)));
+        this.log = WriteAheadLog.open(directory.resolve(LOG_FILE), options.isSyncOnCommit(),
+                entity -> store.put(entity.getId(), entity),
+                id -> {
+                    store.remove(id);
+                    store.advanceSequence(id);
+                });
+    }
+
+    public static DurableEntityRepository open(Path directory) throws IOException {
+        return open(directory, DurableOptions.defaults());
+    }
+
+    /**
+     * Abre o repositório no diretório informado, criando-o se necessário, e recupera o estado gravado.
+     */
+    public static DurableEntityRepository open(Path directory, DurableOptions options) throws IOException {
+        Files.createDirectories(directory);
+        return new DurableEntityRepository(directory, options);
+    }
+
+    @Override
+    public Entity save(Entity entity) {
+        long position;
+        writeLock.lock();
+        try {
+            ensureOpen();
+            entity.setId(store.nextId());
+            position = put(entity);
+            snapshotIfNeeded();
+        } finally {
+            writeLock.unlock();
+        }
+        sync(position);
+        return entity;
+    }
+
+    @Override
+    public Optional<Entity> findById(Class<Entity> entityType, Long aLong) {
+        return findById(aLong);
+    }
+
+    @Override
+    public Optional<Entity> findById(Long aLong) {
+        return Optional.ofNullable(store.get(aLong));
+    }
+
+    @Override
+    public List<Entity> findAll() {
+        return new ArrayList<>(store.values());
+    }
+
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification) {
+        return store.stream()
+                .filter(specification::isSatisfiedBy)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification, ParallelQuery query) {
+        return ParallelScanner.findAll(store.values(), specification, query);
+    }
+
+    @Override
+    public Optional<Entity> findOne(Specification<Entity> specification) {
+        return store.stream()
+                .filter(specification::isSatisfiedBy)
+                .findFirst();
+    }
+
+    @Override
+    public Stream<Entity> stream(Specification<Entity> specification) {
+        return store.stream().filter(specification::isSatisfiedBy);
+    }
+
+    @Override
+    public KeysetPage<Entity, Long> findPage(Specification<Entity> specification, Long afterId, int limit) {
+        return KeysetPage.of(store.streamAfter(afterId).filter(specification::isSatisfiedBy).iterator(), limit,
+                Entity::getId);
+    }
+
+    @Override
+    public void delete(Entity entity) {
+        deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteById(Long aLong) {
+        long position = -1;
+        writeLock.lock();
+        try {
+            ensureOpen();
+            if (store.contains(aLong)) {
+                position = remove(aLong);
+                snapshotIfNeeded();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        sync(position);
+    }
+
+    @Override
+    public Entity update(Entity entity) {
+        long position;
+        writeLock.lock();
+        try {
+            ensureOpen();
+            if (!store.contains(entity.getId())) {
+                throw new IllegalArgumentException("Entity not found for update: " + entity);
+            }
+
+            position = put(entity);
+            snapshotIfNeeded();
+        } finally {
+            writeLock.unlock();
+        }
+        sync(position);
+        return entity;
+    }
+
+    /**
+     * Registra o lote inteiro sob uma única aquisição da trava e aguarda um único {@code fsync} no final.
+     */
+    @Override
+    public BatchResult<Entity> saveAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        long position = -1;
+        writeLock.lock();
+        try {
+            ensureOpen();
+            long id = store.reserveIds(entities.size());
+            for (Entity entity : entities) {
+                entity.setId(id++);
+                position = put(entity);
+            }
+            snapshotIfNeeded();
+        } finally {
+            writeLock.unlock();
+        }
+        sync(position);
+        return BatchResult.since(start, new ArrayList<>(entities));
+    }
+
+    /**
+     * O lote inteiro é validado antes de qualquer alteração: se uma entidade não existir, nenhuma é atualizada.
+     */
+    @Override
+    public BatchResult<Entity> updateAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        long position = -1;
+        writeLock.lock();
+        try {
+            ensureOpen();
+            for (Entity entity : entities) {
+                if (!store.contains(entity.getId())) {
+                    throw new IllegalArgumentException("Entity not found for update: " + entity);
+                }
+            }
+
+            for (Entity entity : entities) {
+                position = put(entity);
+            }
+            snapshotIfNeeded();
+        } finally {
+            writeLock.unlock();
+        }
+        sync(position);
+        return BatchResult.since(start, new ArrayList<>(entities));
+    }
+
+    @Override
+    public BatchResult<Entity> deleteAllById(Collection<Long> ids) {
+        long start = System.nanoTime();
+        long position = -1;
+        List<Entity> removed = new ArrayList<>();
+        writeLock.lock();
+        try {
+            ensureOpen();
+            for (Long id : ids) {
+                Entity entity = store.get(id);
+                if (entity != null) {
+                    position = remove(id);
+                    removed.add(entity);
+                }
+            }
+            snapshotIfNeeded();
+        } finally {
+            writeLock.unlock();
+        }
+        sync(position);
+        return BatchResult.since(start, removed);
+    }
+
+    /**
+     * A consulta e a remoção acontecem sob a mesma trava de escrita.
+     */
+    @Override
+    public BatchResult<Entity> deleteAll(Specification<Entity> specification) {
+        long start = System.nanoTime();
+        long position = -1;
+        List<Entity> removed;
+        writeLock.lock();
+        try {
+            ensureOpen();
+            removed = findAll(specification);
+            for (Entity entity : removed) {
+                position = remove(entity.getId());
+            }
+            snapshotIfNeeded();
+        } finally {
+            writeLock.unlock();
+        }
+        sync(position);
+        return BatchResult.since(start, removed);
+    }
+
+    /**
+     * Compacta o estado atual em um novo snapshot e reinicia o log.
+     */
+    public void snapshot() {
+        writeLock.lock();
+        try {
+            ensureOpen();
+            writeSnapshot();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            if (!closed) {
+                closed = true;
+                log.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private long put(Entity entity) {
+        long position = append(WriteAheadLog.PUT, EntityRecords.encode(entity));
+        store.put(entity.getId(), entity);
+        return position;
+    }
+
+    private long remove(Long id) {
+        long position = append(WriteAheadLog.DELETE, ByteBuffer.allocate(Long.BYTES).putLong(id).flip());
+        store.remove(id);
+        return position;
+    }
+
+    private long append(byte operation, ByteBuffer payload) {
+        try {
+            return log.append(operation, payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void sync(long position) {
+        if (position < 0) {
+            return;
+        }
+
+        try {
+            log.sync(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void snapshotIfNeeded() {
+        if (log.size() >= options.getSnapshotThresholdBytes()) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * O log só é truncado depois que o snapshot e a renomeação que o publica estão no disco.
+     */
+    private void writeSnapshot() {
+        try {
+            SnapshotFile.write(snapshotFile, store.lastId(), store.values());
+            log.reset();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Repository is closed");
+        }
+    }
+}
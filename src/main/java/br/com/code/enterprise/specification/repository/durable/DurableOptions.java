@@ -0,0 +1,29 @@
+package br.com.code.enterprise.specification.repository.durable;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Configuração do {@link DurableEntityRepository}.
+ * <p>
+ * Quando o log passa de {@code snapshotThresholdBytes}, o estado é compactado em um novo snapshot e o log é
+ * reiniciado. Com {@code syncOnCommit}, cada escrita só retorna depois que o log foi forçado ao disco; escritas
+ * concorrentes compartilham o mesmo {@code fsync} (group commit). Sem ele, a durabilidade fica a cargo do sistema
+ * operacional e uma queda da máquina pode perder as últimas escritas.
+ */
+@Getter
+@Builder
+public class DurableOptions {
+
+    public static final long DEFAULT_SNAPSHOT_THRESHOLD_BYTES = 64L * 1024 * 1024;
+
+    @Builder.Default
+    private final long snapshotThresholdBytes = DEFAULT_SNAPSHOT_THRESHOLD_BYTES;
+
+    @Builder.Default
+    private final boolean syncOnCommit = true;
+
+    public static DurableOptions defaults() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.code.enterprise.specification.repository.durable;
+
+import br.com.code.enterprise.specification.model.Entity;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Formato binário de uma entidade, compartilhado pelo log e pelo snapshot:
+ * <pre>
+ * long id | byte flags | [int n, n bytes UTF-8 nome] | [int n, n bytes UTF-8 descrição]
+ *         | [int escala, int n, n bytes do valor sem escala] | [long criação em ms]
+ * </pre>
+ * Os campos entre colchetes só aparecem quando o bit correspondente de {@code flags} está ligado.
+ */
+final class EntityRecords {
+
+    private static final int ACTIVE = 1;
+    private static final int NAME = 1 << 1;
+    private static final int DESCRIPTION = 1 << 2;
+    private static final int PRICE = 1 << 3;
+    private static final int CREATED = 1 << 4;
+
+    private EntityRecords() {
+    }
+
+    static ByteBuffer encode(Entity entity) {
+        byte[] name = utf8(entity.getName());
+        byte[] description = utf8(entity.getDescription());
+        byte[] unscaled = entity.getPrice() == null ? null : entity.getPrice().unscaledValue().toByteArray();
+
+        int size = Long.BYTES + 1
+                   + (name == null ? 0 : Integer.BYTES + name.length)
+                   + (description == null ? 0 : Integer.BYTES + description.length)
+                   + (unscaled == null ? 0 : 2 * Integer.BYTES + unscaled.length)
+                   + (entity.getCreated() == null ? 0 : Long.BYTES);
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+
+        int flags = (entity.isActive() ? ACTIVE : 0)
+                    | (name == null ? 0 : NAME)
+                    | (description == null ? 0 : DESCRIPTION)
+                    | (unscaled == null ? 0 : PRICE)
+                    | (entity.getCreated() == null ? 0 : CREATED);
+        buffer.putLong(entity.getId()).put((byte) flags);
+        if (name != null) {
+            buffer.putInt(name.length).put(name);
+        }
+        if (description != null) {
+            buffer.putInt(description.length).put(description);
+        }
+        if (unscaled != null) {
+            buffer.putInt(entity.getPrice().scale()).putInt(unscaled.length).put(unscaled);
+        }
+        if (entity.getCreated() != null) {
+            buffer.putLong(entity.getCreated().getTime());
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Lê uma entidade a partir da posição atual do buffer, avançando-a até o fim do registro.
+     */
+    static Entity decode(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        int flags = buffer.get();
+        return Entity.builder()
+                .id(id)
+                .active((flags & ACTIVE) != 0)
+                .name((flags & NAME) != 0 ? string(buffer) : null)
+                .description((flags & DESCRIPTION) != 0 ? string(buffer) : null)
+                .price((flags & PRICE) != 0 ? decimal(buffer) : null)
+                .created((flags & CREATED) != 0 ? new Date(buffer.getLong()) : null)
+                .build();
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static BigDecimal decimal(ByteBuffer buffer) {
+        int scale = buffer.getInt();
+        byte[] unscaled = new byte[buffer.getInt()];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
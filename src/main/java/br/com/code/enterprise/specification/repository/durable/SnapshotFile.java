@@ -0,0 +1,163 @@
+package br.com.code.enterprise.specification.repository.durable;
+
+import br.com.code.enterprise.specification.model.Entity;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot compactado do repositório:
+ * <pre>
+ * int magic | int versão | long sequência | long quantidade | (int n, n bytes de registro)* | int crc32c dos registros
+ * </pre>
+ * O arquivo é escrito ao lado do definitivo, forçado ao disco e então movido atomicamente, de modo que uma queda
+ * durante a escrita preserva o snapshot anterior. A leitura usa {@link FileChannel#map}: os registros são decodificados
+ * direto das páginas mapeadas, em janelas de até {@link #WINDOW_BYTES}, sem cópias intermediárias.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x454E5453;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + 2 * Long.BYTES;
+    static final long WINDOW_BYTES = 256L * 1024 * 1024;
+
+    private SnapshotFile() {
+    }
+
+    static void write(Path file, long sequence, Collection<Entity> entities) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream header = new DataOutputStream(Channels.newOutputStream(channel));
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.writeLong(sequence);
+            header.writeLong(entities.size());
+
+            CRC32C crc = new CRC32C();
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(uncloseable(Channels.newOutputStream(channel)), 1 << 16), crc));
+            for (Entity entity : entities) {
+                ByteBuffer record = EntityRecords.encode(entity);
+                out.writeInt(record.remaining());
+                out.write(record.array(), 0, record.remaining());
+            }
+            out.flush();
+            header.writeInt((int) crc.getValue());
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory(file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Força ao disco a entrada de diretório criada pela renomeação. Sem isso, uma queda logo depois pode preservar
+     * o truncamento do log, feito em seguida, e perder a renomeação. No Windows diretórios não podem ser abertos
+     * como canal; o NTFS registra a renomeação em seu journal.
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        if (directory == null || System.getProperty("os.name", "").startsWith("Windows")) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Entrega cada entidade do snapshot ao consumidor.
+     *
+     * @return a sequência de ids gravada no snapshot, ou {@code 0} se ele não existir
+     * @throws IOException se o arquivo estiver truncado ou corrompido
+     */
+    static long read(Path file, Consumer<Entity> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + Integer.BYTES) {
+                throw new IOException("Truncated snapshot: " + file);
+            }
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Unrecognized snapshot format: " + file);
+            }
+            long sequence = header.getLong();
+            long count = header.getLong();
+
+            CRC32C crc = new CRC32C();
+            long end = size - Integer.BYTES;
+            long position = HEADER_BYTES;
+            long windowStart = position;
+            MappedByteBuffer window = map(channel, windowStart, end);
+            for (long i = 0; i < count; i++) {
+                if (position + Integer.BYTES > end) {
+                    throw new IOException("Truncated snapshot: " + file);
+                }
+                if (position + Integer.BYTES > windowStart + window.limit()) {
+                    windowStart = position;
+                    window = map(channel, windowStart, end);
+                }
+
+                int length = window.getInt((int) (position - windowStart));
+                long recordEnd = position + Integer.BYTES + length;
+                if (length < 0 || recordEnd > end) {
+                    throw new IOException("Truncated snapshot: " + file);
+                }
+                if (recordEnd > windowStart + window.limit()) {
+                    windowStart = position;
+                    window = map(channel, windowStart, end);
+                }
+
+                ByteBuffer record = window.slice((int) (position - windowStart), Integer.BYTES + length);
+                crc.update(record.duplicate());
+                consumer.accept(EntityRecords.decode(record.position(Integer.BYTES)));
+                position = recordEnd;
+            }
+
+            ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, end, Integer.BYTES);
+            if (position != end || trailer.getInt() != (int) crc.getValue()) {
+                throw new IOException("Corrupted snapshot: " + file);
+            }
+            return sequence;
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long from, long end) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(WINDOW_BYTES, end - from));
+    }
+
+    /**
+     * Evita que fechar o stream de registros feche o canal antes do trailer.
+     */
+    private static OutputStream uncloseable(OutputStream out) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+        };
+    }
+}
@@ -0,0 +1,223 @@
+package br.com.code.enterprise.specification.repository.durable;
+
+import br.com.code.enterprise.specification.model.Entity;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Log de escrita antecipada: cada operação é anexada como um quadro
+ * {@code int tamanho | int crc32c | byte operação | carga} antes de ser aplicada em memória.
+ * <p>
+ * As posições devolvidas por {@link #append} são lógicas e crescem sempre, mesmo depois de {@link #reset()}.
+ * {@link #sync(long)} implementa group commit: uma única thread executa o {@code fsync} enquanto as demais aguardam,
+ * e cada {@code fsync} cobre tudo o que foi anexado até o seu início. Na abertura, o log é reaplicado até o primeiro
+ * quadro incompleto ou corrompido, e o restante (a cauda de uma escrita interrompida) é descartado.
+ * <p>
+ * {@link #append} deve ser chamado por um escritor de cada vez; {@link #sync(long)} pode ser chamado por várias
+ * threads.
+ */
+final class WriteAheadLog implements Closeable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final int FRAME_HEADER = 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final boolean syncOnCommit;
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition synced = syncLock.newCondition();
+    private long base;
+    private long written;
+    private long durable;
+    private boolean syncing;
+
+    private WriteAheadLog(FileChannel channel, boolean syncOnCommit) {
+        this.channel = channel;
+        this.syncOnCommit = syncOnCommit;
+    }
+
+    /**
+     * Abre (ou cria) o log e reaplica as operações válidas, em ordem.
+     */
+    static WriteAheadLog open(Path file, boolean syncOnCommit, Consumer<Entity> put, LongConsumer delete)
+            throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        WriteAheadLog log = new WriteAheadLog(channel, syncOnCommit);
+        try {
+            long valid = log.replay(put, delete);
+            channel.truncate(valid);
+            channel.position(valid);
+            log.written = valid;
+            log.durable = valid;
+            return log;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    long append(byte operation, ByteBuffer payload) throws IOException {
+        int length = 1 + payload.remaining();
+        CRC32C crc = new CRC32C();
+        crc.update(operation);
+        crc.update(payload.duplicate());
+
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER + length)
+                .putInt(length)
+                .putInt((int) crc.getValue())
+                .put(operation)
+                .put(payload)
+                .flip();
+
+        long start = channel.position();
+        try {
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+        } catch (IOException e) {
+            // Um quadro parcial no meio do log esconderia os quadros seguintes na reabertura.
+            channel.truncate(start);
+            throw e;
+        }
+
+        syncLock.lock();
+        try {
+            written += frame.limit();
+            return written;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Retorna depois que tudo o que foi anexado até {@code position} estiver no disco.
+     */
+    void sync(long position) throws IOException {
+        if (!syncOnCommit) {
+            return;
+        }
+
+        syncLock.lock();
+        try {
+            while (durable < position) {
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+
+                syncing = true;
+                long target = written;
+                syncLock.unlock();
+                try {
+                    channel.force(false);
+                } finally {
+                    syncLock.lock();
+                    syncing = false;
+                    synced.signalAll();
+                }
+                durable = Math.max(durable, target);
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Tamanho atual do arquivo de log em bytes.
+     */
+    long size() {
+        syncLock.lock();
+        try {
+            return written - base;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Esvazia o log depois que um snapshot passou a conter todo o seu conteúdo. O snapshot já deve estar durável,
+     * inclusive sua entrada de diretório; o truncamento é forçado ao disco antes de retornar.
+     */
+    void reset() throws IOException {
+        syncLock.lock();
+        try {
+            channel.truncate(0);
+            channel.force(true);
+            channel.position(0);
+            base = written;
+            durable = written;
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Força o conteúdo pendente ao disco antes de fechar, mesmo sem {@code syncOnCommit}.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * @return a posição do fim do último quadro válido
+     */
+    private long replay(Consumer<Entity> put, LongConsumer delete) throws IOException {
+        channel.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+        long valid = 0;
+        while (true) {
+            int length;
+            int checksum;
+            byte[] body;
+            try {
+                length = in.readInt();
+                checksum = in.readInt();
+                if (length < 1 || length > channel.size() - valid - FRAME_HEADER) {
+                    return valid;
+                }
+                body = new byte[length];
+                in.readFully(body);
+            } catch (EOFException e) {
+                return valid;
+            }
+
+            CRC32C crc = new CRC32C();
+            crc.update(body);
+            if ((int) crc.getValue() != checksum) {
+                return valid;
+            }
+
+            ByteBuffer payload = ByteBuffer.wrap(body, 1, length - 1);
+            switch (body[0]) {
+                case PUT -> put.accept(EntityRecords.decode(payload));
+                case DELETE -> delete.accept(payload.getLong());
+                default -> {
+                    return valid;
+                }
+            }
+            valid += FRAME_HEADER + length;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package br.com.code.enterprise.specification.repository.indexed;
+
+import br.com.code.enterprise.specification.internal.bitmap.LongBitmap;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.EntityOrder;
+import br.com.code.enterprise.specification.repository.aggregate.EntityStatistics;
+import br.com.code.enterprise.specification.repository.store.PrimaryKeyStore;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+
+/**
+ * Conjunto de índices secundários mantidos pelo {@link IndexedEntityRepository}.
+ * <p>
+ * Os valores indexados de cada entidade são guardados no momento da indexação, de modo que a remoção continue
+ * correta mesmo quando a instância foi alterada antes de uma chamada a {@code update}. As operações em lote adiam as
+ * intercalações do índice de preços para o fim do lote.
+ */
+class EntityIndexes {
+
+    final PrimaryKeyStore<Entity> byId = new PrimaryKeyStore<>();
+    final LongBitmap ids = new LongBitmap();
+    final NameIndex name = new NameIndex();
+    final TrigramIndex trigrams = new TrigramIndex();
+    final PriceIndex price = new PriceIndex();
+    final TimePartitionedIndex created = new TimePartitionedIndex();
+    final SortedIndex<Boolean> active = new SortedIndex<>();
+
+    private final Map<Long, IndexedValues> indexedValues = new HashMap<>();
+    private final LongBitmap withoutPrice = new LongBitmap();
+    private final LongBitmap withoutCreated = new LongBitmap();
+
+    void add(Entity entity) {
+        byId.put(entity.getId(), entity);
+        ids.add(entity.getId());
+        index(entity);
+    }
+
+    /**
+     * Substitui a entidade mantendo sua posição na ordem de inserção.
+     */
+    void replace(Entity entity) {
+        unindex(entity.getId());
+        byId.replace(entity.getId(), entity);
+        index(entity);
+    }
+
+    /**
+     * @return a entidade removida ou {@code null} se o id não existir
+     */
+    Entity remove(Long id) {
+        Entity removed = byId.remove(id);
+        if (removed != null) {
+            ids.remove(id);
+            unindex(id);
+        }
+        return removed;
+    }
+
+    void addAll(Collection<Entity> entities) {
+        price.beginBatch();
+        try {
+            entities.forEach(this::add);
+        } finally {
+            price.endBatch();
+        }
+    }
+
+    void replaceAll(Collection<Entity> entities) {
+        price.beginBatch();
+        try {
+            entities.forEach(this::replace);
+        } finally {
+            price.endBatch();
+        }
+    }
+
+    /**
+     * @return as entidades efetivamente removidas
+     */
+    List<Entity> removeAll(Collection<Long> ids) {
+        List<Entity> removed = new ArrayList<>();
+        price.beginBatch();
+        try {
+            for (Long id : ids) {
+                Entity entity = remove(id);
+                if (entity != null) {
+                    removed.add(entity);
+                }
+            }
+        } finally {
+            price.endBatch();
+        }
+        return removed;
+    }
+
+    /**
+     * Ids na ordem de {@code order}, percorrendo o índice correspondente a partir da posição de {@code after}
+     * (exclusiva; {@code null} para o início). Os ids sem a chave vêm ao final, em ordem de id, como em
+     * {@link EntityOrder}.
+     */
+    PrimitiveIterator.OfLong orderedIds(EntityOrder order, Entity after) {
+        Long afterId = after == null ? null : after.getId();
+        switch (order.getKey()) {
+            case PRICE:
+                BigDecimal afterPrice = after == null ? null : after.getPrice();
+                return keyedThenMissing(after != null && afterPrice == null ? null
+                        : price.ordered(order.isDescending(), afterPrice, afterId == null ? 0 : afterId),
+                        withoutPrice, after == null || afterPrice != null ? null : afterId);
+            case CREATED:
+                Long afterMillis = after == null || after.getCreated() == null ? null : after.getCreated().getTime();
+                return keyedThenMissing(after != null && afterMillis == null ? null
+                        : created.ordered(order.isDescending(), afterMillis, afterId == null ? 0 : afterId),
+                        withoutCreated, after == null || afterMillis != null ? null : afterId);
+            default:
+                if (!order.isDescending()) {
+                    return afterId == null ? ids.iterator() : ids.iteratorAfter(afterId);
+                }
+                Iterator<Long> descending = (afterId == null ? byId.ids() : byId.ids().headSet(afterId, false))
+                        .descendingIterator();
+                return new PrimitiveIterator.OfLong() {
+                    @Override
+                    public boolean hasNext() {
+                        return descending.hasNext();
+                    }
+
+                    @Override
+                    public long nextLong() {
+                        return descending.next();
+                    }
+                };
+        }
+    }
+
+    /**
+     * Estatísticas de todas as entidades a partir dos resumos dos índices: quantidades pelos bitmaps, soma pelo
+     * índice de preços e extremos pelo primeiro id de cada caminhada ordenada, sem percorrer as entidades.
+     *
+     * @return as estatísticas ou {@code null} quando a soma em ponto fixo estourou e precisa ser recalculada
+     */
+    EntityStatistics statistics() {
+        BigDecimal sum = price.sum();
+        if (sum == null) {
+            return null;
+        }
+
+        long count = byId.size();
+        long priceCount = count - withoutPrice.cardinality();
+        boolean hasCreated = withoutCreated.cardinality() < count;
+        return EntityStatistics.of(count, priceCount, sum,
+                priceCount == 0 ? null : indexedValues.get(price.ordered(false, null, 0).nextLong()).price,
+                priceCount == 0 ? null : indexedValues.get(price.ordered(true, null, 0).nextLong()).price,
+                hasCreated ? new Date(indexedValues.get(created.ordered(false, null, 0).nextLong()).created) : null,
+                hasCreated ? new Date(indexedValues.get(created.ordered(true, null, 0).nextLong()).created) : null);
+    }
+
+    /**
+     * @param keyed   a caminhada pelo índice ou {@code null} quando o cursor já está entre os ids sem a chave
+     * @param afterId cursor dentro dos ids sem a chave ou {@code null} para percorrê-los todos
+     */
+    private static PrimitiveIterator.OfLong keyedThenMissing(PrimitiveIterator.OfLong keyed, LongBitmap missing,
+                                                             Long afterId) {
+        PrimitiveIterator.OfLong tail = afterId == null ? missing.iterator() : missing.iteratorAfter(afterId);
+        return keyed == null ? tail : OrderedIds.concat(keyed, tail);
+    }
+
+    private void index(Entity entity) {
+        Long id = entity.getId();
+        IndexedValues values = new IndexedValues(entity);
+        indexedValues.put(id, values);
+
+        name.add(values.name, id);
+        trigrams.add(values.name, id);
+        price.add(values.price, id);
+        created.add(values.created, id);
+        active.add(values.active, id);
+        if (values.price == null) {
+            withoutPrice.add(id);
+        }
+        if (values.created == null) {
+            withoutCreated.add(id);
+        }
+    }
+
+    private void unindex(Long id) {
+        IndexedValues values = indexedValues.remove(id);
+        if (values == null) {
+            return;
+        }
+
+        name.remove(values.name, id);
+        trigrams.remove(values.name, id);
+        price.remove(values.price, id);
+        created.remove(values.created, id);
+        active.remove(values.active, id);
+        withoutPrice.remove(id);
+        withoutCreated.remove(id);
+    }
+
+    private static final class IndexedValues {
+        private final String name;
+        private final BigDecimal price;
+        private final Long created;
+        private final Boolean active;
+
+        private IndexedValues(Entity entity) {
+            this.name = entity.getName();
+            this.price = entity.getPrice();
+            this.created = entity.getCreated() == null ? null : entity.getCreated().getTime();
+            this.active = entity.isActive();
+        }
+    }
+}
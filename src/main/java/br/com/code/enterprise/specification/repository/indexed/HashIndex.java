@@ -0,0 +1,61 @@
+package br.com.code.enterprise.specification.repository.indexed;
+
+import br.com.code.enterprise.specification.internal.bitmap.LongBitmap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice de igualdade: associa cada chave ao bitmap dos ids que a possuem.
+ */
+class HashIndex<K> {
+
+    private final Map<K, LongBitmap> entries = new HashMap<>();
+
+    void add(K key, Long id) {
+        if (key == null) {
+            return;
+        }
+
+        entries.computeIfAbsent(key, k -> new LongBitmap()).add(id);
+    }
+
+    void remove(K key, Long id) {
+        if (key == null) {
+            return;
+        }
+
+        LongBitmap ids = entries.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Indica se algum id possui a chave, sem copiar a postagem; chaves sem ids são removidas do índice.
+     */
+    boolean containsKey(K key) {
+        return key != null && entries.containsKey(key);
+    }
+
+    /**
+     * @return cópia dos ids com a chave informada
+     */
+    LongBitmap get(K key) {
+        LongBitmap ids = key == null ? null : entries.get(key);
+        return ids == null ? new LongBitmap() : ids.copy();
+    }
+
+    /**
+     * Adiciona a {@code target} os ids com a chave informada, sem copiar a postagem.
+     */
+    void addTo(K key, LongBitmap target) {
+        LongBitmap ids = key == null ? null : entries.get(key);
+        if (ids != null) {
+            target.or(ids);
+        }
+    }
+}
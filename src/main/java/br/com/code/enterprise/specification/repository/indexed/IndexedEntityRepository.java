@@ -0,0 +1,436 @@
+package br.com.code.enterprise.specification.repository.indexed;
+
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.repository.support.ParallelQuery;
+import br.com.code.enterprise.repository.support.ParallelScanner;
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.EntityOrder;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.TopK;
+import br.com.code.enterprise.specification.repository.aggregate.EntityStatistics;
+import br.com.code.enterprise.specification.repository.aggregate.StatisticsCollector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Repositório em memória que mantém índices secundários (hash para id, nome e nome sem distinção de caixa;
+ * ordenados para prefixo de nome, preço em ponto fixo e status; particionado por dia para data de criação; e de
+ * trigramas para buscas por trecho do nome) e usa um {@link QueryPlanner} para resolver as especificações pelos
+ * índices, avaliando {@code isSatisfiedBy} apenas sobre os predicados residuais.
+ */
+public class IndexedEntityRepository implements Repository<Entity, Long> {
+
+    private final EntityIndexes indexes = new EntityIndexes();
+    private final QueryPlanner planner = new QueryPlanner(indexes);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public Entity save(Entity entity) {
+        lock.writeLock().lock();
+        try {
+            entity.setId(indexes.byId.nextId());
+            indexes.add(entity);
+            return entity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Entity> findById(Class<Entity> entityType, Long aLong) {
+        return Optional.ofNullable(indexes.byId.get(aLong));
+    }
+
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification) {
+        lock.readLock().lock();
+        try {
+            QueryPlan plan = planner.plan(specification);
+            List<Entity> result = new ArrayList<>();
+            for (Entity entity : candidates(plan)) {
+                if (plan.isExact() || plan.getCompiledResidual().isSatisfiedBy(entity)) {
+                    result.add(entity);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resolve os candidatos pelos índices e avalia o predicado residual em paralelo. A trava de leitura é mantida
+     * durante a varredura, de modo que escritores concorrentes aguardam o fim da consulta.
+     */
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification, ParallelQuery query) {
+        lock.readLock().lock();
+        try {
+            QueryPlan plan = planner.plan(specification);
+            if (plan.isExact()) {
+                List<Entity> candidates = new ArrayList<>();
+                candidates(plan).forEach(candidates::add);
+                return candidates;
+            }
+            return ParallelScanner.findAll(candidateArray(plan), plan.getCompiledResidual(), query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Entity> findOne(Specification<Entity> specification) {
+        lock.readLock().lock();
+        try {
+            QueryPlan plan = planner.plan(specification);
+            for (Entity entity : candidates(plan)) {
+                if (plan.isExact() || plan.getCompiledResidual().isSatisfiedBy(entity)) {
+                    return Optional.of(entity);
+                }
+            }
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * O plano é calculado sob a trava de leitura e os candidatos são consumidos preguiçosamente depois dela; o
+     * stream é fracamente consistente em relação a escritas concorrentes.
+     */
+    @Override
+    public Stream<Entity> stream(Specification<Entity> specification) {
+        return matches(explain(specification), null);
+    }
+
+    /**
+     * Planos exatos são contados pela cardinalidade dos candidatos, sem acessar as entidades.
+     */
+    @Override
+    public long count(Specification<Entity> specification) {
+        QueryPlan plan = explain(specification);
+        if (plan.isExact()) {
+            return plan.isFullScan() ? indexes.byId.size() : plan.getCandidates().cardinality();
+        }
+        return matches(plan, null).count();
+    }
+
+    @Override
+    public boolean exists(Specification<Entity> specification) {
+        QueryPlan plan = explain(specification);
+        if (plan.isExact()) {
+            return plan.isFullScan() ? indexes.byId.size() > 0 : !plan.getCandidates().isEmpty();
+        }
+        return matches(plan, null).findAny().isPresent();
+    }
+
+    @Override
+    public KeysetPage<Entity, Long> findPage(Specification<Entity> specification, Long afterId, int limit) {
+        return KeysetPage.of(matches(explain(specification), afterId).iterator(), limit, Entity::getId);
+    }
+
+    /**
+     * Com um {@link EntityOrder}, percorre o índice da chave (id, preço ou data de criação) e para após
+     * {@code limit} resultados, sem heap. Quando o plano tem poucos candidatos, a caminhada descartaria mais ids do
+     * que há candidatos, e o heap limitado sobre os candidatos é usado em seu lugar.
+     */
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification, Comparator<? super Entity> comparator,
+                                int limit) {
+        lock.readLock().lock();
+        try {
+            QueryPlan plan = planner.plan(specification);
+            if (comparator instanceof EntityOrder order && walksIndex(plan, order, limit)) {
+                return TopK.first(ordered(plan, order, null), limit);
+            }
+            return TopK.select(candidates(plan, null, null), comparator, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Com um {@link EntityOrder}, a página começa por uma busca no índice a partir da posição de {@code after}.
+     */
+    @Override
+    public KeysetPage<Entity, Entity> findPage(Specification<Entity> specification,
+                                               Comparator<? super Entity> comparator, Entity after, int limit) {
+        lock.readLock().lock();
+        try {
+            QueryPlan plan = planner.plan(specification);
+            if (comparator instanceof EntityOrder order && walksIndex(plan, order, limit)) {
+                return KeysetPage.of(ordered(plan, order, after), limit, Function.identity());
+            }
+            int max = limit == Integer.MAX_VALUE ? limit : limit + 1;
+            List<Entity> top = TopK.select(candidates(plan, after == null ? null : comparator, after), comparator, max);
+            return KeysetPage.of(top.iterator(), limit, Function.identity());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sem filtro, {@link EntityStatistics#statistics()} é respondido pelos resumos dos índices. Nos demais casos a
+     * agregação percorre apenas os candidatos do plano, sem montar a lista do resultado.
+     */
+    @Override
+    public <R> R aggregate(Specification<Entity> specification, Collector<? super Entity, ?, R> collector) {
+        lock.readLock().lock();
+        try {
+            QueryPlan plan = planner.plan(specification);
+            R summary = summary(plan, collector);
+            return summary != null ? summary : accumulate(plan, collector);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Os candidatos do plano são capturados sob a trava de leitura e cada parte acumula um parcial no pool da
+     * consulta.
+     */
+    @Override
+    public <R> R aggregate(Specification<Entity> specification, Collector<? super Entity, ?, R> collector,
+                           ParallelQuery query) {
+        lock.readLock().lock();
+        try {
+            QueryPlan plan = planner.plan(specification);
+            R summary = summary(plan, collector);
+            if (summary != null) {
+                return summary;
+            }
+
+            return ParallelScanner.aggregate(candidateArray(plan),
+                    plan.isExact() ? ConstantSpecification.alwaysTrue() : plan.getCompiledResidual(), collector, query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(Entity entity) {
+        lock.writeLock().lock();
+        try {
+            indexes.remove(entity.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Entity update(Entity entity) {
+        lock.writeLock().lock();
+        try {
+            if (!indexes.byId.contains(entity.getId())) {
+                throw new IllegalArgumentException("Entity not found for update: " + entity);
+            }
+
+            indexes.replace(entity);
+            return entity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Salva o lote sob uma única aquisição da trava de escrita, reservando o bloco de ids de uma vez.
+     */
+    @Override
+    public BatchResult<Entity> saveAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            long id = indexes.byId.reserveIds(entities.size());
+            for (Entity entity : entities) {
+                entity.setId(id++);
+            }
+            indexes.addAll(entities);
+            return BatchResult.since(start, new ArrayList<>(entities));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * O lote inteiro é validado antes de qualquer alteração: se uma entidade não existir, nenhuma é atualizada.
+     */
+    @Override
+    public BatchResult<Entity> updateAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            for (Entity entity : entities) {
+                if (!indexes.byId.contains(entity.getId())) {
+                    throw new IllegalArgumentException("Entity not found for update: " + entity);
+                }
+            }
+
+            indexes.replaceAll(entities);
+            return BatchResult.since(start, new ArrayList<>(entities));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public BatchResult<Entity> deleteAllById(Collection<Long> ids) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            return BatchResult.since(start, indexes.removeAll(ids));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Resolve a especificação pelos índices e remove o resultado sob a mesma trava de escrita, sem janela para
+     * escritas concorrentes entre a consulta e a remoção.
+     */
+    @Override
+    public BatchResult<Entity> deleteAll(Specification<Entity> specification) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            QueryPlan plan = planner.plan(specification);
+            List<Long> ids = new ArrayList<>();
+            for (Entity entity : candidates(plan)) {
+                if (plan.isExact() || plan.getCompiledResidual().isSatisfiedBy(entity)) {
+                    ids.add(entity.getId());
+                }
+            }
+            return BatchResult.since(start, indexes.removeAll(ids));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna o plano de execução que seria usado para a especificação informada.
+     */
+    public QueryPlan explain(Specification<Entity> specification) {
+        lock.readLock().lock();
+        try {
+            return planner.plan(specification);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A caminhada pelo índice visita em média {@code limit * total / candidatos} ids, contra os {@code candidatos}
+     * avaliados pelo heap; a ordem por id crescente percorre os próprios candidatos e vale sempre.
+     */
+    private boolean walksIndex(QueryPlan plan, EntityOrder order, int limit) {
+        if (plan.isFullScan() || order == EntityOrder.ID_ASC) {
+            return true;
+        }
+        long candidates = plan.getCandidates().cardinality();
+        return candidates * candidates >= (long) limit * indexes.byId.size();
+    }
+
+    private Iterator<Entity> ordered(QueryPlan plan, EntityOrder order, Entity after) {
+        if (order == EntityOrder.ID_ASC) {
+            return matches(plan, after == null ? null : after.getId()).iterator();
+        }
+
+        PrimitiveIterator.OfLong walk = indexes.orderedIds(order, after);
+        LongStream ids = StreamSupport.longStream(Spliterators.spliteratorUnknownSize(walk, Spliterator.ORDERED), false);
+        if (!plan.isFullScan()) {
+            ids = ids.filter(plan.getCandidates()::contains);
+        }
+        Stream<Entity> candidates = ids.mapToObj(indexes.byId::get).filter(Objects::nonNull);
+        return (plan.isExact() ? candidates : candidates.filter(plan.getCompiledResidual()::isSatisfiedBy)).iterator();
+    }
+
+    /**
+     * Resultado do plano, restrito às entidades posteriores a {@code after} segundo {@code comparator} quando
+     * informado.
+     */
+    private Iterator<Entity> candidates(QueryPlan plan, Comparator<? super Entity> comparator, Entity after) {
+        Stream<Entity> matches = matches(plan, null);
+        return (comparator == null ? matches : matches.filter(entity -> comparator.compare(entity, after) > 0))
+                .iterator();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R summary(QueryPlan plan, Collector<? super Entity, ?, R> collector) {
+        if (StatisticsCollector.groupingOf(collector) != StatisticsCollector.Grouping.NONE || !plan.isFullScan()
+            || !plan.isExact()) {
+            return null;
+        }
+        return (R) indexes.statistics();
+    }
+
+    private <A, R> R accumulate(QueryPlan plan, Collector<? super Entity, A, R> collector) {
+        A container = collector.supplier().get();
+        BiConsumer<A, ? super Entity> accumulator = collector.accumulator();
+        for (Entity entity : candidates(plan)) {
+            if (entity != null && (plan.isExact() || plan.getCompiledResidual().isSatisfiedBy(entity))) {
+                accumulator.accept(container, entity);
+            }
+        }
+        return collector.finisher().apply(container);
+    }
+
+    private Stream<Entity> matches(QueryPlan plan, Long afterId) {
+        Stream<Entity> candidates;
+        if (plan.isFullScan()) {
+            candidates = indexes.byId.streamAfter(afterId);
+        } else {
+            LongStream ids = afterId == null
+                    ? plan.getCandidates().stream()
+                    : StreamSupport.longStream(Spliterators.spliteratorUnknownSize(
+                            plan.getCandidates().iteratorAfter(afterId), Spliterator.ORDERED), false);
+            candidates = ids.mapToObj(indexes.byId::get).filter(Objects::nonNull);
+        }
+        return plan.isExact() ? candidates : candidates.filter(plan.getCompiledResidual()::isSatisfiedBy);
+    }
+
+    /**
+     * Candidatos do plano gravados diretamente em um array do tamanho do plano, que a varredura paralela divide em
+     * partes.
+     */
+    private Entity[] candidateArray(QueryPlan plan) {
+        int size = plan.isFullScan() ? indexes.byId.size() : (int) plan.getCandidates().cardinality();
+        Entity[] items = new Entity[size];
+        int count = 0;
+        for (Entity entity : candidates(plan)) {
+            if (entity != null && count < size) {
+                items[count++] = entity;
+            }
+        }
+        return count == size ? items : Arrays.copyOf(items, count);
+    }
+
+    private Iterable<Entity> candidates(QueryPlan plan) {
+        if (plan.isFullScan()) {
+            return indexes.byId.values();
+        }
+
+        return () -> plan.getCandidates().stream()
+                .mapToObj(indexes.byId::get)
+                .iterator();
+    }
+}
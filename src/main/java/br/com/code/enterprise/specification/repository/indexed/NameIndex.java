@@ -0,0 +1,88 @@
+package br.com.code.enterprise.specification.repository.indexed;
+
+import br.com.code.enterprise.specification.internal.CaseFolding;
+import br.com.code.enterprise.specification.internal.bitmap.LongBitmap;
+
+import java.util.Collection;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Índice de nomes: hash exato, hash sobre o nome normalizado por {@link CaseFolding} e o conjunto ordenado dos nomes
+ * distintos, que responde buscas por prefixo como um intervalo {@code [prefixo, sucessor(prefixo))}.
+ * <p>
+ * Todas as consultas devolvem bitmaps novos, que o chamador pode alterar.
+ */
+class NameIndex {
+
+    private final HashIndex<String> exact = new HashIndex<>();
+    private final HashIndex<String> folded = new HashIndex<>();
+    private final NavigableSet<String> sortedNames = new TreeSet<>();
+
+    void add(String name, Long id) {
+        if (name == null) {
+            return;
+        }
+
+        exact.add(name, id);
+        folded.add(CaseFolding.fold(name), id);
+        sortedNames.add(name);
+    }
+
+    void remove(String name, Long id) {
+        if (name == null) {
+            return;
+        }
+
+        exact.remove(name, id);
+        folded.remove(CaseFolding.fold(name), id);
+        if (!exact.containsKey(name)) {
+            sortedNames.remove(name);
+        }
+    }
+
+    LongBitmap equalTo(String name) {
+        return exact.get(name);
+    }
+
+    LongBitmap anyOf(Collection<String> names) {
+        LongBitmap ids = new LongBitmap();
+        names.forEach(name -> exact.addTo(name, ids));
+        return ids;
+    }
+
+    /**
+     * @param foldedNames nomes já normalizados por {@link CaseFolding}
+     */
+    LongBitmap anyOfFolded(Collection<String> foldedNames) {
+        LongBitmap ids = new LongBitmap();
+        foldedNames.forEach(name -> folded.addTo(name, ids));
+        return ids;
+    }
+
+    LongBitmap equalToIgnoreCase(String name) {
+        return folded.get(CaseFolding.fold(name));
+    }
+
+    LongBitmap startingWith(String prefix) {
+        String successor = successor(prefix);
+        NavigableSet<String> names = successor == null
+                ? sortedNames.tailSet(prefix, true)
+                : sortedNames.subSet(prefix, true, successor, false);
+
+        LongBitmap ids = new LongBitmap();
+        names.forEach(name -> exact.addTo(name, ids));
+        return ids;
+    }
+
+    /**
+     * Menor cadeia maior que todas as que começam com o prefixo, ou {@code null} se não existir.
+     */
+    private static String successor(String prefix) {
+        int last = prefix.length() - 1;
+        while (last >= 0 && prefix.charAt(last) == Character.MAX_VALUE) {
+            last--;
+        }
+        return last < 0 ? null : prefix.substring(0, last) + (char) (prefix.charAt(last) + 1);
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.code.enterprise.specification.repository.indexed;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Iterador preguiçoso dos ids de um índice ordenado, produzidos em grupos de mesma chave (ou de mesma partição)
+ * já ordenados. Cada grupo só é montado quando o anterior se esgota, de modo que uma consulta top-k que para
+ * após {@code k} resultados visita apenas o início do índice.
+ */
+abstract class OrderedIds implements PrimitiveIterator.OfLong {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] group = EMPTY;
+    private int position;
+    private boolean exhausted;
+
+    /**
+     * @return o próximo grupo na ordem do índice (pode ser vazio) ou {@code null} quando o índice se esgotou
+     */
+    protected abstract long[] nextGroup();
+
+    @Override
+    public boolean hasNext() {
+        while (position == group.length && !exhausted) {
+            long[] next = nextGroup();
+            if (next == null) {
+                exhausted = true;
+            } else {
+                group = next;
+                position = 0;
+            }
+        }
+        return position < group.length;
+    }
+
+    @Override
+    public long nextLong() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return group[position++];
+    }
+
+    /**
+     * Encadeia dois iteradores: todos os ids de {@code first} e depois os de {@code second}.
+     */
+    static PrimitiveIterator.OfLong concat(PrimitiveIterator.OfLong first, PrimitiveIterator.OfLong second) {
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return first.hasNext() || second.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return first.hasNext() ? first.nextLong() : second.nextLong();
+            }
+        };
+    }
+}
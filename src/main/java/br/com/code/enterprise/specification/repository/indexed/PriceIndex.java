@@ -0,0 +1,299 @@
+package br.com.code.enterprise.specification.repository.indexed;
+
+import br.com.code.enterprise.specification.internal.FixedPointPrice;
+import br.com.code.enterprise.specification.internal.bitmap.LongBitmap;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Índice de preços em ponto fixo sobre arrays primitivos ordenados.
+ * <p>
+ * A base é um par de arrays {@code long[]} (unidades e id) ordenado por preço, consultado por busca binária. Inserções
+ * vão para um delta ordenado e remoções da base viram marcas de exclusão; quando delta e marcas passam de uma fração
+ * da base, tudo é intercalado em novos arrays em O(n), o que mantém o custo amortizado por escrita constante.
+ * Preços não representáveis em {@link FixedPointPrice} ficam em um {@link SortedIndex} à parte. Durante um lote
+ * ({@link #beginBatch()} a {@link #endBatch()}) as intercalações são adiadas e feitas no máximo uma vez ao final.
+ */
+class PriceIndex {
+
+    private static final int MIN_MERGE_THRESHOLD = 64;
+    private static final int MERGE_FRACTION = 8;
+
+    private long[] units = new long[0];
+    private long[] ids = new long[0];
+    private final NavigableMap<Long, NavigableSet<Long>> delta = new TreeMap<>();
+    private final Set<Long> removed = new HashSet<>();
+    private final SortedIndex<BigDecimal> unrepresentable = new SortedIndex<>();
+    private int deltaSize;
+    private boolean batching;
+    private long unitsSum;
+    private boolean sumOverflowed;
+
+    void beginBatch() {
+        batching = true;
+    }
+
+    void endBatch() {
+        batching = false;
+        mergeIfNeeded();
+    }
+
+    void add(BigDecimal price, Long id) {
+        if (price == null) {
+            return;
+        }
+
+        long priceUnits = FixedPointPrice.unitsOf(price);
+        if (priceUnits == FixedPointPrice.NOT_REPRESENTABLE) {
+            unrepresentable.add(price, id);
+            return;
+        }
+
+        delta.computeIfAbsent(priceUnits, k -> new TreeSet<>()).add(id);
+        deltaSize++;
+        addToSum(priceUnits);
+        mergeIfNeeded();
+    }
+
+    void remove(BigDecimal price, Long id) {
+        if (price == null) {
+            return;
+        }
+
+        long priceUnits = FixedPointPrice.unitsOf(price);
+        if (priceUnits == FixedPointPrice.NOT_REPRESENTABLE) {
+            unrepresentable.remove(price, id);
+            return;
+        }
+
+        addToSum(-priceUnits);
+        NavigableSet<Long> pending = delta.get(priceUnits);
+        if (pending != null && pending.remove(id)) {
+            deltaSize--;
+            if (pending.isEmpty()) {
+                delta.remove(priceUnits);
+            }
+        } else {
+            removed.add(id);
+            mergeIfNeeded();
+        }
+    }
+
+    /**
+     * Ids com preço no intervalo informado; um limite {@code null} é considerado aberto.
+     */
+    LongBitmap range(BigDecimal from, boolean fromInclusive, BigDecimal to, boolean toInclusive) {
+        long min = from == null ? Long.MIN_VALUE
+                : fromInclusive ? FixedPointPrice.ceilUnits(from) : FixedPointPrice.aboveUnits(from);
+        long max = to == null ? Long.MAX_VALUE
+                : toInclusive ? FixedPointPrice.floorUnits(to) : FixedPointPrice.belowUnits(to);
+
+        LongBitmap result = unrepresentable.range(from, fromInclusive, to, toInclusive);
+        if (min > max) {
+            return result;
+        }
+
+        for (int i = lowerBound(min); i < units.length && units[i] <= max; i++) {
+            if (removed.isEmpty() || !removed.contains(ids[i])) {
+                result.add(ids[i]);
+            }
+        }
+        delta.subMap(min, true, max, true).values().forEach(ids -> ids.forEach(result::add));
+        return result;
+    }
+
+    /**
+     * Ids em ordem de preço (crescente ou decrescente), com empates pelo id crescente, intercalando base, delta e
+     * preços não representáveis sem alterar o índice. Com {@code fromPrice} informado, a caminhada começa nesse
+     * preço e, dentro dele, apenas nos ids maiores que {@code afterId}.
+     */
+    PrimitiveIterator.OfLong ordered(boolean descending, BigDecimal fromPrice, long afterId) {
+        return new PriceWalk(descending, fromPrice, afterId);
+    }
+
+    /**
+     * Soma dos preços indexados, mantida a cada escrita, ou {@code null} se a soma em ponto fixo já estourou
+     * {@code long} (nesse caso quem precisa da soma deve percorrer as entidades).
+     */
+    BigDecimal sum() {
+        if (sumOverflowed) {
+            return null;
+        }
+
+        BigDecimal sum = FixedPointPrice.fromUnits(unitsSum);
+        for (Iterator<Map.Entry<BigDecimal, LongBitmap>> entries = unrepresentable.entries(null, false); entries.hasNext(); ) {
+            Map.Entry<BigDecimal, LongBitmap> entry = entries.next();
+            sum = sum.add(entry.getKey().multiply(BigDecimal.valueOf(entry.getValue().cardinality())));
+        }
+        return sum;
+    }
+
+    private void addToSum(long priceUnits) {
+        try {
+            unitsSum = Math.addExact(unitsSum, priceUnits);
+        } catch (ArithmeticException e) {
+            sumOverflowed = true;
+        }
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = units.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (units[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void mergeIfNeeded() {
+        if (!batching && deltaSize + removed.size() >= Math.max(MIN_MERGE_THRESHOLD, units.length / MERGE_FRACTION)) {
+            merge();
+        }
+    }
+
+    /**
+     * Intercala a base (sem as marcas de exclusão) com o delta, ambos ordenados por preço.
+     */
+    private void merge() {
+        int capacity = units.length - removed.size() + deltaSize;
+        long[] mergedUnits = new long[capacity];
+        long[] mergedIds = new long[capacity];
+        int size = 0;
+        int base = 0;
+
+        for (Map.Entry<Long, NavigableSet<Long>> entry : delta.entrySet()) {
+            long key = entry.getKey();
+            for (; base < units.length && units[base] <= key; base++) {
+                if (!removed.contains(ids[base])) {
+                    mergedUnits[size] = units[base];
+                    mergedIds[size++] = ids[base];
+                }
+            }
+            for (long id : entry.getValue()) {
+                mergedUnits[size] = key;
+                mergedIds[size++] = id;
+            }
+        }
+        for (; base < units.length; base++) {
+            if (!removed.contains(ids[base])) {
+                mergedUnits[size] = units[base];
+                mergedIds[size++] = ids[base];
+            }
+        }
+
+        units = mergedUnits;
+        ids = mergedIds;
+        delta.clear();
+        removed.clear();
+        deltaSize = 0;
+    }
+
+    private final class PriceWalk extends OrderedIds {
+        private final boolean descending;
+        private final BigDecimal fromPrice;
+        private final long fromUnits;
+        private final long afterId;
+        private final Iterator<Map.Entry<Long, NavigableSet<Long>>> pending;
+        private final Iterator<Map.Entry<BigDecimal, LongBitmap>> odd;
+        private Map.Entry<Long, NavigableSet<Long>> nextPending;
+        private Map.Entry<BigDecimal, LongBitmap> nextOdd;
+        private int base;
+
+        private PriceWalk(boolean descending, BigDecimal fromPrice, long afterId) {
+            this.descending = descending;
+            this.fromPrice = fromPrice;
+            this.fromUnits = fromPrice == null ? FixedPointPrice.NOT_REPRESENTABLE : FixedPointPrice.unitsOf(fromPrice);
+            this.afterId = afterId;
+            this.odd = unrepresentable.entries(fromPrice, descending);
+            if (descending) {
+                long start = fromPrice == null ? Long.MAX_VALUE : FixedPointPrice.floorUnits(fromPrice);
+                this.base = start == Long.MAX_VALUE ? units.length - 1 : lowerBound(start + 1) - 1;
+                this.pending = delta.headMap(start, true).descendingMap().entrySet().iterator();
+            } else {
+                long start = fromPrice == null ? Long.MIN_VALUE : FixedPointPrice.ceilUnits(fromPrice);
+                this.base = lowerBound(start);
+                this.pending = delta.tailMap(start, true).entrySet().iterator();
+            }
+            this.nextPending = pending.hasNext() ? pending.next() : null;
+            this.nextOdd = odd.hasNext() ? odd.next() : null;
+        }
+
+        @Override
+        protected long[] nextGroup() {
+            boolean hasBase = base >= 0 && base < units.length;
+            if (!hasBase && nextPending == null && nextOdd == null) {
+                return null;
+            }
+
+            long key = 0;
+            boolean hasKey = false;
+            if (hasBase) {
+                key = units[base];
+                hasKey = true;
+            }
+            if (nextPending != null && (!hasKey || before(nextPending.getKey(), key))) {
+                key = nextPending.getKey();
+                hasKey = true;
+            }
+            if (nextOdd != null && (!hasKey || direction(nextOdd.getKey().compareTo(FixedPointPrice.fromUnits(key))) < 0)) {
+                LongBitmap group = nextOdd.getValue();
+                boolean cursor = fromPrice != null && nextOdd.getKey().compareTo(fromPrice) == 0;
+                nextOdd = odd.hasNext() ? odd.next() : null;
+                return cursor ? group.range(afterId + 1, Long.MAX_VALUE).toArray() : group.toArray();
+            }
+
+            long[] group = new long[0];
+            int size = 0;
+            int step = descending ? -1 : 1;
+            for (; base >= 0 && base < units.length && units[base] == key; base += step) {
+                if (removed.isEmpty() || !removed.contains(ids[base])) {
+                    group = append(group, size++, ids[base]);
+                }
+            }
+            if (nextPending != null && nextPending.getKey() == key) {
+                for (long id : nextPending.getValue()) {
+                    group = append(group, size++, id);
+                }
+                nextPending = pending.hasNext() ? pending.next() : null;
+            }
+
+            Arrays.sort(group, 0, size);
+            int from = 0;
+            if (key == fromUnits) {
+                while (from < size && group[from] <= afterId) {
+                    from++;
+                }
+            }
+            return Arrays.copyOfRange(group, from, size);
+        }
+
+        private boolean before(long left, long right) {
+            return direction(Long.compare(left, right)) < 0;
+        }
+
+        private int direction(int cmp) {
+            return descending ? -cmp : cmp;
+        }
+
+        private long[] append(long[] group, int size, long id) {
+            long[] target = size < group.length ? group : Arrays.copyOf(group, Math.max(8, size * 2));
+            target[size] = id;
+            return target;
+        }
+    }
+}
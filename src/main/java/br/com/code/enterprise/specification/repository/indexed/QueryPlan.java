@@ -0,0 +1,54 @@
+package br.com.code.enterprise.specification.repository.indexed;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.compiler.SpecificationCompiler;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.internal.bitmap.LongBitmap;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Resultado do planejamento de uma especificação.
+ * <p>
+ * {@code candidates} contém os ids resolvidos pelos índices ({@code null} indica varredura completa) e
+ * {@code residual} o predicado que ainda precisa ser avaliado sobre cada candidato ({@code null} indica que os
+ * candidatos já são o resultado exato). O residual é avaliado pela forma compilada por {@link SpecificationCompiler},
+ * gerada na primeira avaliação.
+ */
+@Getter
+public class QueryPlan {
+
+    private final LongBitmap candidates;
+    private final Specification<Entity> residual;
+    @Getter(AccessLevel.NONE)
+    private Specification<Entity> compiledResidual;
+
+    public QueryPlan(LongBitmap candidates, Specification<Entity> residual) {
+        this.candidates = candidates;
+        this.residual = residual;
+    }
+
+    public boolean isFullScan() {
+        return candidates == null;
+    }
+
+    public boolean isExact() {
+        return residual == null;
+    }
+
+    /**
+     * @return o residual compilado, usado nas varreduras dos candidatos, ou {@code null} se o plano for exato
+     */
+    public Specification<Entity> getCompiledResidual() {
+        if (compiledResidual == null && residual != null) {
+            compiledResidual = SpecificationCompiler.compile(residual);
+        }
+        return compiledResidual;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryPlan: " + (isFullScan() ? "full scan" : candidates.cardinality() + " candidates")
+               + (isExact() ? "" : ", residual " + residual.getClass().getSimpleName());
+    }
+}
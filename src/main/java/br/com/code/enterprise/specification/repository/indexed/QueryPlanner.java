@@ -0,0 +1,244 @@
+package br.com.code.enterprise.specification.repository.indexed;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.AndSpecification;
+import br.com.code.enterprise.specification.internal.NotSpecification;
+import br.com.code.enterprise.specification.internal.OrSpecification;
+import br.com.code.enterprise.specification.internal.bitmap.LongBitmap;
+import br.com.code.enterprise.specification.internal.optimizer.SpecificationOptimizer;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.AllOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.AnyOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.CancellationSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedAfterDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBeforeDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBetweenDatesSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdInCollectionSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdRangeSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdSpecification;
+import br.com.code.enterprise.specification.internal.specs.InactiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameContainsSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameEndsWithSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameEqualsSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameIgnoreCaseSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameInCollectionSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameMatchesRegexSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameStartsWithSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceLessThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceRangeSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Planejador de consultas do {@link IndexedEntityRepository}.
+ * <p>
+ * A árvore é primeiro reescrita pelo {@link SpecificationOptimizer}; em seguida o planejador a percorre, converte
+ * as folhas reconhecidas em consultas aos índices e combina os resultados por interseção (AND), união (OR) ou
+ * complemento (NOT) de {@link LongBitmap}s. O que não puder ser resolvido pelos índices permanece como predicado
+ * residual. Uma {@link CancellationSpecification} só entra no residual, à frente dos demais termos, quando ele existe:
+ * um plano exato não examina entidades.
+ */
+class QueryPlanner {
+
+    private final EntityIndexes indexes;
+
+    QueryPlanner(EntityIndexes indexes) {
+        this.indexes = indexes;
+    }
+
+    QueryPlan plan(Specification<Entity> spec) {
+        return planNode(SpecificationOptimizer.optimize(spec));
+    }
+
+    private QueryPlan planNode(Specification<Entity> spec) {
+        if (spec instanceof AndSpecification<Entity> and) {
+            return planAll(Arrays.asList(and.getLeft(), and.getRight()));
+        }
+        if (spec instanceof AllOfSpecification<Entity> allOf) {
+            return planAll(allOf.getSpecifications());
+        }
+        if (spec instanceof OrSpecification<Entity> or) {
+            return planAny(spec, Arrays.asList(or.getLeft(), or.getRight()));
+        }
+        if (spec instanceof AnyOfSpecification<Entity> anyOf) {
+            return planAny(spec, anyOf.getSpecifications());
+        }
+        if (spec instanceof NotSpecification<Entity> not) {
+            return planNot(spec, not.getSpec());
+        }
+        if (spec instanceof CancellationSpecification<Entity>) {
+            return new QueryPlan(null, null);
+        }
+
+        LongBitmap ids = lookup(spec);
+        return ids == null ? new QueryPlan(prune(spec), spec) : new QueryPlan(ids, null);
+    }
+
+    private QueryPlan planAll(Collection<Specification<Entity>> specs) {
+        List<LongBitmap> candidateSets = new ArrayList<>();
+        List<Specification<Entity>> residuals = new ArrayList<>();
+        List<Specification<Entity>> guards = new ArrayList<>();
+
+        for (Specification<Entity> spec : specs) {
+            if (spec instanceof CancellationSpecification<Entity>) {
+                guards.add(spec);
+                continue;
+            }
+            QueryPlan plan = planNode(spec);
+            if (!plan.isFullScan()) {
+                candidateSets.add(plan.getCandidates());
+            }
+            if (!plan.isExact()) {
+                residuals.add(plan.getResidual());
+            }
+        }
+
+        LongBitmap candidates = intersect(candidateSets);
+        if (candidates != null && candidates.isEmpty()) {
+            return new QueryPlan(candidates, null);
+        }
+        if (!residuals.isEmpty()) {
+            residuals.addAll(0, guards);
+        }
+
+        Specification<Entity> residual = switch (residuals.size()) {
+            case 0 -> null;
+            case 1 -> residuals.get(0);
+            default -> new AllOfSpecification<>(residuals);
+        };
+        return new QueryPlan(candidates, residual);
+    }
+
+    private QueryPlan planAny(Specification<Entity> original, Collection<Specification<Entity>> specs) {
+        LongBitmap candidates = new LongBitmap();
+        boolean exact = true;
+
+        for (Specification<Entity> spec : specs) {
+            QueryPlan plan = planNode(spec);
+            if (plan.isFullScan()) {
+                return new QueryPlan(null, original);
+            }
+            candidates.or(plan.getCandidates());
+            exact &= plan.isExact();
+        }
+
+        return new QueryPlan(candidates, exact ? null : original);
+    }
+
+    private QueryPlan planNot(Specification<Entity> original, Specification<Entity> inner) {
+        QueryPlan plan = planNode(inner);
+        if (plan.isFullScan() || !plan.isExact()) {
+            return new QueryPlan(null, original);
+        }
+
+        return new QueryPlan(LongBitmap.andNot(indexes.ids, plan.getCandidates()), null);
+    }
+
+    /**
+     * Resolve uma folha pelos índices. Retorna {@code null} quando a folha não é indexável.
+     */
+    private LongBitmap lookup(Specification<Entity> spec) {
+        if (spec instanceof ConstantSpecification<?> s) {
+            return s.isValue() ? indexes.ids.copy() : new LongBitmap();
+        }
+        if (spec instanceof IdSpecification<?> s) {
+            return s.getId() != null && indexes.ids.contains(s.getId()) ? LongBitmap.of(s.getId()) : new LongBitmap();
+        }
+        if (spec instanceof IdInCollectionSpecification<?> s) {
+            return s.and(indexes.ids);
+        }
+        if (spec instanceof IdRangeSpecification<?> s && s.getMinId() != null && s.getMaxId() != null) {
+            return indexes.ids.range(s.getMinId(), s.getMaxId());
+        }
+        if (spec instanceof NameEqualsSpecification<?> s) {
+            return indexes.name.equalTo(s.getExactName());
+        }
+        if (spec instanceof NameIgnoreCaseSpecification<?> s) {
+            return indexes.name.equalToIgnoreCase(s.getName());
+        }
+        if (spec instanceof NameInCollectionSpecification<?> s) {
+            return s.isIgnoreCase()
+                    ? indexes.name.anyOfFolded(s.getFoldedNames())
+                    : indexes.name.anyOf(s.getAllowedNames());
+        }
+        if (spec instanceof NameStartsWithSpecification<?> s && s.getPrefix() != null) {
+            return indexes.name.startingWith(s.getPrefix());
+        }
+        if (spec instanceof PriceBetweenSpecification<?> s) {
+            return indexes.price.range(s.getMinPrice(), true, s.getMaxPrice(), true);
+        }
+        if (spec instanceof PriceGreaterThanSpecification<?> s) {
+            return indexes.price.range(s.getPrice(), false, null, false);
+        }
+        if (spec instanceof PriceLessThanSpecification<?> s) {
+            return indexes.price.range(null, false, s.getPrice(), false);
+        }
+        if (spec instanceof PriceRangeSpecification<?> s) {
+            return indexes.price.range(s.getMinPrice(), s.isMinInclusive(), s.getMaxPrice(), s.isMaxInclusive());
+        }
+        if (spec instanceof CreatedBetweenDatesSpecification<?> s) {
+            return indexes.created.range(millis(s.getStartDate()), millis(s.getEndDate()));
+        }
+        if (spec instanceof CreatedAfterDateSpecification<?> s) {
+            long after = millis(s.getDate());
+            return after == Long.MAX_VALUE ? new LongBitmap() : indexes.created.range(after + 1, Long.MAX_VALUE);
+        }
+        if (spec instanceof CreatedBeforeDateSpecification<?> s) {
+            long before = millis(s.getDate());
+            return before == Long.MIN_VALUE ? new LongBitmap() : indexes.created.range(Long.MIN_VALUE, before - 1);
+        }
+        if (spec instanceof ActiveSpecification<?>) {
+            return indexes.active.get(Boolean.TRUE);
+        }
+        if (spec instanceof InactiveSpecification<?>) {
+            return indexes.active.get(Boolean.FALSE);
+        }
+        return null;
+    }
+
+    /**
+     * Restringe os candidatos de uma folha não indexável pelo índice de trigramas. A folha continua como predicado
+     * residual; retorna {@code null} quando não há como restringir.
+     */
+    private LongBitmap prune(Specification<Entity> spec) {
+        if (spec instanceof NameContainsSpecification<?> s) {
+            return indexes.trigrams.containing(s.getSubstring());
+        }
+        if (spec instanceof NameEndsWithSpecification<?> s && s.getSuffix() != null) {
+            return indexes.trigrams.containing(s.getSuffix() + TrigramIndex.END);
+        }
+        if (spec instanceof NameMatchesRegexSpecification<?> s) {
+            return indexes.trigrams.containingAll(RegexLiterals.required(s.getPattern()));
+        }
+        return null;
+    }
+
+    private static Long millis(Date date) {
+        return date.getTime();
+    }
+
+    /**
+     * Intersecta a partir do menor bitmap, de modo que os resultados intermediários só diminuam.
+     */
+    private static LongBitmap intersect(List<LongBitmap> sets) {
+        if (sets.isEmpty()) {
+            return null;
+        }
+
+        sets.sort(Comparator.comparingLong(LongBitmap::cardinality));
+        LongBitmap result = sets.get(0);
+        for (int i = 1; i < sets.size() && !result.isEmpty(); i++) {
+            result = LongBitmap.and(result, sets.get(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,200 @@
+package br.com.code.enterprise.specification.repository.indexed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Extrai de uma expressão regular os trechos literais que toda cadeia aceita por {@code matcher().matches()}
+ * precisa conter.
+ * <p>
+ * A análise é conservadora: grupos, classes de caracteres e escapes de classe interrompem o literal corrente; flags,
+ * grupos especiais ({@code (?...)}), alternância no nível principal ou escapes não reconhecidos descartam tudo. Como
+ * {@code matches()} exige a cadeia inteira, um literal no início ou no fim da expressão recebe o sentinela
+ * correspondente do {@link TrigramIndex}.
+ */
+final class RegexLiterals {
+
+    private static final int MIN_LENGTH = 3;
+    private static final String CLASS_ESCAPES = "dDsSwWbBAGZzRXhHvV";
+
+    private RegexLiterals() {
+    }
+
+    static List<String> required(Pattern pattern) {
+        if (pattern.flags() != 0) {
+            return List.of();
+        }
+
+        String regex = pattern.pattern();
+        List<String> literals = new ArrayList<>();
+        StringBuilder run = new StringBuilder().append(TrigramIndex.START);
+        int i = 0;
+
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (Character.isSurrogate(c)) {
+                return List.of();
+            }
+
+            char literal = 0;
+            boolean isLiteral = false;
+            int next;
+
+            switch (c) {
+                case '\\' -> {
+                    if (i + 1 >= regex.length()) {
+                        return List.of();
+                    }
+                    char escaped = regex.charAt(i + 1);
+                    if (escaped == 'Q') {
+                        int end = regex.indexOf("\\E", i + 2);
+                        String quoted = end < 0 ? regex.substring(i + 2) : regex.substring(i + 2, end);
+                        next = end < 0 ? regex.length() : end + 2;
+                        if (quoted.isEmpty()) {
+                            i = next;
+                            continue;
+                        }
+                        run.append(quoted, 0, quoted.length() - 1);
+                        literal = quoted.charAt(quoted.length() - 1);
+                        isLiteral = true;
+                    } else if (!Character.isLetterOrDigit(escaped)) {
+                        literal = escaped;
+                        isLiteral = true;
+                        next = i + 2;
+                    } else if (CLASS_ESCAPES.indexOf(escaped) >= 0) {
+                        next = i + 2;
+                    } else {
+                        return List.of();
+                    }
+                }
+                case '(' -> {
+                    if (i + 1 < regex.length() && regex.charAt(i + 1) == '?') {
+                        return List.of();
+                    }
+                    next = skipGroup(regex, i);
+                }
+                case '[' -> next = skipClass(regex, i);
+                case '|' -> {
+                    return List.of();
+                }
+                case '^' -> {
+                    if (i == 0) {
+                        i++;
+                        continue;
+                    }
+                    next = i + 1;
+                }
+                case '$' -> {
+                    if (i == regex.length() - 1) {
+                        i++;
+                        continue;
+                    }
+                    next = i + 1;
+                }
+                case '.' -> next = i + 1;
+                default -> {
+                    literal = c;
+                    isLiteral = true;
+                    next = i + 1;
+                }
+            }
+
+            int min = 1;
+            boolean repeats = false;
+            boolean quantified = next < regex.length();
+            if (quantified) {
+                char quantifier = regex.charAt(next);
+                if (quantifier == '?' || quantifier == '*') {
+                    min = 0;
+                    next++;
+                } else if (quantifier == '+') {
+                    repeats = true;
+                    next++;
+                } else if (quantifier == '{') {
+                    int close = regex.indexOf('}', next);
+                    String[] bounds = regex.substring(next + 1, close).split(",", -1);
+                    min = Integer.parseInt(bounds[0].trim());
+                    repeats = bounds.length > 1 || min > 1;
+                    next = close + 1;
+                } else {
+                    quantified = false;
+                }
+            }
+            // Modificadores relutante e possessivo não alteram o que precisa ser casado.
+            if (quantified && next < regex.length() && (regex.charAt(next) == '?' || regex.charAt(next) == '+')) {
+                next++;
+            }
+
+            if (!isLiteral || min == 0) {
+                flush(run, literals);
+            } else if (!repeats) {
+                run.append(literal);
+            } else {
+                run.append(literal);
+                flush(run, literals);
+                run.append(literal);
+            }
+            i = next;
+        }
+
+        run.append(TrigramIndex.END);
+        flush(run, literals);
+        return literals;
+    }
+
+    private static void flush(StringBuilder run, List<String> literals) {
+        if (run.length() >= MIN_LENGTH) {
+            literals.add(run.toString());
+        }
+        run.setLength(0);
+    }
+
+    private static int skipGroup(String regex, int open) {
+        int depth = 0;
+        int i = open;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                i = skipClass(regex, i);
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return regex.length();
+    }
+
+    private static int skipClass(String regex, int open) {
+        int depth = 0;
+        int i = open;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (c == ']' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return regex.length();
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.code.enterprise.specification.repository.indexed;
+
+import br.com.code.enterprise.specification.internal.bitmap.LongBitmap;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índice ordenado: permite responder consultas por intervalo em O(log n + k).
+ */
+class SortedIndex<K extends Comparable<? super K>> {
+
+    private final NavigableMap<K, LongBitmap> entries = new TreeMap<>();
+
+    void add(K key, Long id) {
+        if (key == null) {
+            return;
+        }
+
+        entries.computeIfAbsent(key, k -> new LongBitmap()).add(id);
+    }
+
+    void remove(K key, Long id) {
+        if (key == null) {
+            return;
+        }
+
+        LongBitmap ids = entries.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    LongBitmap get(K key) {
+        return range(key, true, key, true);
+    }
+
+    /**
+     * Retorna os ids cujas chaves estão no intervalo informado. Um limite {@code null} é considerado aberto.
+     */
+    LongBitmap range(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        NavigableMap<K, LongBitmap> view;
+
+        if (from != null && to != null) {
+            int cmp = from.compareTo(to);
+            if (cmp > 0 || (cmp == 0 && !(fromInclusive && toInclusive))) {
+                return new LongBitmap();
+            }
+            view = entries.subMap(from, fromInclusive, to, toInclusive);
+        } else if (from != null) {
+            view = entries.tailMap(from, fromInclusive);
+        } else if (to != null) {
+            view = entries.headMap(to, toInclusive);
+        } else {
+            view = entries;
+        }
+
+        LongBitmap result = new LongBitmap();
+        view.values().forEach(result::or);
+        return result;
+    }
+
+    /**
+     * Entradas em ordem de chave a partir de {@code from} (inclusivo; {@code null} para o início), na direção
+     * informada.
+     */
+    Iterator<Map.Entry<K, LongBitmap>> entries(K from, boolean descending) {
+        NavigableMap<K, LongBitmap> view = descending ? entries.descendingMap() : entries;
+        return (from == null ? view : view.tailMap(from, true)).entrySet().iterator();
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.code.enterprise.specification.repository.indexed;
+
+import br.com.code.enterprise.specification.internal.bitmap.LongBitmap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PrimitiveIterator;
+import java.util.TreeMap;
+
+/**
+ * Índice de datas particionado por intervalos fixos de tempo (um dia por padrão).
+ * <p>
+ * Cada partição guarda os instantes de seus ids, o bitmap desses ids e um resumo com o menor e o maior instante. Uma consulta por
+ * intervalo visita apenas as partições que o intersectam: as totalmente cobertas pelo resumo entram inteiras, sem
+ * comparação por entidade, e somente as partições de borda são testadas instante a instante. O custo cresce com a
+ * largura da janela consultada, não com o histórico total.
+ */
+class TimePartitionedIndex {
+
+    static final long DEFAULT_PARTITION_MILLIS = 24L * 60 * 60 * 1000;
+
+    private final long partitionMillis;
+    private final NavigableMap<Long, Partition> partitions = new TreeMap<>();
+
+    TimePartitionedIndex() {
+        this(DEFAULT_PARTITION_MILLIS);
+    }
+
+    TimePartitionedIndex(long partitionMillis) {
+        if (partitionMillis < 1) {
+            throw new IllegalArgumentException("partitionMillis must be positive: " + partitionMillis);
+        }
+        this.partitionMillis = partitionMillis;
+    }
+
+    void add(Long millis, Long id) {
+        if (millis == null) {
+            return;
+        }
+
+        partitions.computeIfAbsent(partitionOf(millis), k -> new Partition()).add(id, millis);
+    }
+
+    void remove(Long millis, Long id) {
+        if (millis == null) {
+            return;
+        }
+
+        long key = partitionOf(millis);
+        Partition partition = partitions.get(key);
+        if (partition != null && partition.remove(id) && partition.isEmpty()) {
+            partitions.remove(key);
+        }
+    }
+
+    /**
+     * Ids com instante em {@code [from, to]}, ambos inclusivos.
+     */
+    LongBitmap range(long from, long to) {
+        LongBitmap result = new LongBitmap();
+        if (from > to) {
+            return result;
+        }
+
+        for (Partition partition : partitions.subMap(partitionOf(from), true, partitionOf(to), true).values()) {
+            if (partition.min >= from && partition.max <= to) {
+                result.or(partition.ids);
+            } else if (partition.max >= from && partition.min <= to) {
+                partition.instants.forEach((id, millis) -> {
+                    if (millis >= from && millis <= to) {
+                        result.add(id);
+                    }
+                });
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ids em ordem de instante (crescente ou decrescente), com empates pelo id crescente. As partições são
+     * visitadas em ordem e cada uma só é ordenada quando alcançada. Com {@code fromMillis} informado, a caminhada
+     * começa nesse instante e, dentro dele, apenas nos ids maiores que {@code afterId}.
+     */
+    PrimitiveIterator.OfLong ordered(boolean descending, Long fromMillis, long afterId) {
+        NavigableMap<Long, Partition> view = descending ? partitions.descendingMap() : partitions;
+        if (fromMillis != null) {
+            view = view.tailMap(partitionOf(fromMillis), true);
+        }
+
+        Iterator<Partition> remaining = view.values().iterator();
+        return new OrderedIds() {
+            @Override
+            protected long[] nextGroup() {
+                return remaining.hasNext() ? remaining.next().ordered(descending, fromMillis, afterId) : null;
+            }
+        };
+    }
+
+    private long partitionOf(long millis) {
+        return Math.floorDiv(millis, partitionMillis);
+    }
+
+    /**
+     * O resumo só é recalculado quando a partição esvazia; após remoções ele pode ser mais largo que o conteúdo,
+     * o que apenas faz a partição ser tratada como borda.
+     */
+    private static final class Partition {
+        private final Map<Long, Long> instants = new HashMap<>();
+        private final LongBitmap ids = new LongBitmap();
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        private void add(Long id, long millis) {
+            instants.put(id, millis);
+            ids.add(id);
+            min = Math.min(min, millis);
+            max = Math.max(max, millis);
+        }
+
+        private boolean remove(Long id) {
+            if (instants.remove(id) == null) {
+                return false;
+            }
+            ids.remove(id);
+            if (instants.isEmpty()) {
+                min = Long.MAX_VALUE;
+                max = Long.MIN_VALUE;
+            }
+            return true;
+        }
+
+        /**
+         * Ids da partição ordenados por instante e id, sem os que não vêm depois do cursor {@code (fromMillis,
+         * afterId)}.
+         */
+        private long[] ordered(boolean descending, Long fromMillis, long afterId) {
+            long[][] pairs = new long[instants.size()][];
+            int size = 0;
+            for (Map.Entry<Long, Long> entry : instants.entrySet()) {
+                long millis = entry.getValue();
+                long id = entry.getKey();
+                if (fromMillis == null || (descending ? millis < fromMillis : millis > fromMillis)
+                    || millis == fromMillis && id > afterId) {
+                    pairs[size++] = new long[]{millis, id};
+                }
+            }
+
+            Arrays.sort(pairs, 0, size, (left, right) -> {
+                int byMillis = Long.compare(left[0], right[0]);
+                return byMillis != 0 ? (descending ? -byMillis : byMillis) : Long.compare(left[1], right[1]);
+            });
+            long[] ids = new long[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = pairs[i][1];
+            }
+            return ids;
+        }
+
+        private boolean isEmpty() {
+            return instants.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.code.enterprise.specification.repository.indexed;
+
+import br.com.code.enterprise.specification.internal.bitmap.LongBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice invertido de trigramas sobre os nomes.
+ * <p>
+ * Cada nome é delimitado pelos sentinelas {@link #START} e {@link #END} antes de ser decomposto, de modo que
+ * prefixos e sufixos também geram trigramas próprios. Um nome que contém um literal contém todos os trigramas desse
+ * literal, então a interseção das listas de postagem é um superconjunto do resultado: os candidatos ainda precisam
+ * ser confirmados pela especificação original.
+ */
+class TrigramIndex {
+
+    static final char START = '\u0002';
+    static final char END = '\u0003';
+
+    private final Map<Long, LongBitmap> postings = new HashMap<>();
+
+    void add(String name, Long id) {
+        if (name == null) {
+            return;
+        }
+
+        for (long trigram : trigrams(START + name + END)) {
+            postings.computeIfAbsent(trigram, k -> new LongBitmap()).add(id);
+        }
+    }
+
+    void remove(String name, Long id) {
+        if (name == null) {
+            return;
+        }
+
+        for (long trigram : trigrams(START + name + END)) {
+            LongBitmap ids = postings.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Candidatos para nomes que contêm o literal (que pode incluir os sentinelas). Retorna {@code null} quando o
+     * literal é curto demais para restringir a busca.
+     */
+    LongBitmap containing(String literal) {
+        return literal == null ? null : containingAll(List.of(literal));
+    }
+
+    /**
+     * Candidatos para nomes que contêm todos os literais. Retorna {@code null} quando nenhum literal tem trigramas.
+     */
+    LongBitmap containingAll(Collection<String> literals) {
+        Set<Long> required = new HashSet<>();
+        for (String literal : literals) {
+            required.addAll(trigrams(literal));
+        }
+        if (required.isEmpty()) {
+            return null;
+        }
+
+        List<LongBitmap> lists = new ArrayList<>(required.size());
+        for (long trigram : required) {
+            LongBitmap ids = postings.get(trigram);
+            if (ids == null) {
+                return new LongBitmap();
+            }
+            lists.add(ids);
+        }
+
+        lists.sort(Comparator.comparingLong(LongBitmap::cardinality));
+        LongBitmap result = lists.get(0).copy();
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.and(lists.get(i));
+        }
+        return result;
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+}
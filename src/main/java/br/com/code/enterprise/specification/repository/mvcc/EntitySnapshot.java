@@ -0,0 +1,105 @@
+package br.com.code.enterprise.specification.repository.mvcc;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Versão imutável do {@link MvccEntityRepository}. Todas as consultas feitas sobre o mesmo snapshot enxergam o mesmo
+ * estado, sem travas e sem interferência de escritas posteriores; inclusive streams consumidos preguiçosamente.
+ * <p>
+ * As entidades devolvidas são cópias, para que alterações feitas pelo chamador não vazem para a versão
+ * compartilhada. Um snapshot é liberado pelo coletor quando nenhuma referência a ele permanece; os nós que ele
+ * compartilha com versões mais novas continuam em uso por elas.
+ */
+public final class EntitySnapshot {
+
+    static final EntitySnapshot EMPTY = new EntitySnapshot(0, LongTrie.empty());
+
+    private final long version;
+    private final LongTrie<Entity> entities;
+
+    EntitySnapshot(long version, LongTrie<Entity> entities) {
+        this.version = version;
+        this.entities = entities;
+    }
+
+    /**
+     * Número da versão, incrementado a cada escrita publicada.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return entities.size();
+    }
+
+    public Optional<Entity> findById(Long id) {
+        return Optional.ofNullable(id == null ? null : entities.get(id)).map(EntitySnapshot::copy);
+    }
+
+    public List<Entity> findAll(Specification<Entity> specification) {
+        List<Entity> result = new ArrayList<>();
+        for (Entity entity : entities.values()) {
+            if (specification.isSatisfiedBy(entity)) {
+                result.add(copy(entity));
+            }
+        }
+        return result;
+    }
+
+    public Optional<Entity> findOne(Specification<Entity> specification) {
+        return matches(specification, null).findFirst().map(EntitySnapshot::copy);
+    }
+
+    public Stream<Entity> stream(Specification<Entity> specification) {
+        return matches(specification, null).map(EntitySnapshot::copy);
+    }
+
+    public long count(Specification<Entity> specification) {
+        return matches(specification, null).count();
+    }
+
+    public boolean exists(Specification<Entity> specification) {
+        return matches(specification, null).findAny().isPresent();
+    }
+
+    public KeysetPage<Entity, Long> findPage(Specification<Entity> specification, Long afterId, int limit) {
+        return KeysetPage.of(matches(specification, afterId).map(EntitySnapshot::copy).iterator(), limit,
+                Entity::getId);
+    }
+
+    LongTrie<Entity> entities() {
+        return entities;
+    }
+
+    /**
+     * Entidades compartilhadas da versão que satisfazem a especificação, sem cópia.
+     */
+    Stream<Entity> matches(Specification<Entity> specification, Long afterId) {
+        if (afterId != null && afterId == Long.MAX_VALUE) {
+            return Stream.empty();
+        }
+
+        Iterator<Entity> iterator = entities.iterator(afterId == null ? 0 : afterId + 1);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .filter(specification::isSatisfiedBy);
+    }
+
+    static Entity copy(Entity entity) {
+        return new Entity(entity.getId(), entity.getName(), entity.getDescription(), entity.isActive(),
+                entity.getCreated() == null ? null : new Date(entity.getCreated().getTime()), entity.getPrice());
+    }
+}
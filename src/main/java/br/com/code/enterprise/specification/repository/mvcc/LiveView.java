@@ -0,0 +1,116 @@
+package br.com.code.enterprise.specification.repository.mvcc;
+
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.model.Entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Resultado de uma especificação mantido incrementalmente por um {@link LiveViewRepository}.
+ * <p>
+ * Cada escrita avalia a especificação somente sobre as entidades escritas e publica uma nova versão do resultado,
+ * que compartilha com a anterior tudo o que não mudou (veja {@link LongTrie}). {@link #snapshot()} devolve a versão
+ * corrente em O(1), sem travas nem varredura. Os ouvintes recebem as mudanças de cada escrita depois que a nova
+ * versão foi publicada, na thread que fez a escrita e na ordem das escritas.
+ */
+public final class LiveView implements AutoCloseable {
+
+    private final Specification<Entity> specification;
+    private final LiveViewRepository owner;
+    private final List<Consumer<ViewDelta>> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder listenerFailures = new LongAdder();
+    private volatile EntitySnapshot current;
+
+    LiveView(Specification<Entity> specification, LiveViewRepository owner, Collection<Entity> initial) {
+        this.specification = specification;
+        this.owner = owner;
+        LongTrie.Editor<Entity> editor = LongTrie.<Entity>empty().edit();
+        initial.forEach(entity -> editor.put(entity.getId(), EntitySnapshot.copy(entity)));
+        this.current = new EntitySnapshot(0, editor.build());
+    }
+
+    public Specification<Entity> getSpecification() {
+        return specification;
+    }
+
+    /**
+     * Versão corrente do resultado; consultas feitas sobre ela não enxergam escritas posteriores.
+     */
+    public EntitySnapshot snapshot() {
+        return current;
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    public void addListener(Consumer<ViewDelta> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<ViewDelta> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Quantidade de exceções lançadas por ouvintes. Uma falha não desfaz a escrita nem impede que os demais
+     * ouvintes recebam a mudança.
+     */
+    public long getListenerFailureCount() {
+        return listenerFailures.sum();
+    }
+
+    /**
+     * Desliga a view do repositório: escritas posteriores deixam de atualizá-la.
+     */
+    @Override
+    public void close() {
+        owner.unregister(this);
+    }
+
+    /**
+     * Aplica um lote de escritas, chamado pelo repositório com a trava de escrita. Uma entidade {@code null}
+     * representa uma remoção.
+     */
+    void apply(List<Long> ids, List<Entity> written) {
+        EntitySnapshot base = current;
+        long version = base.getVersion() + 1;
+        LongTrie.Editor<Entity> editor = base.entities().edit();
+        List<ViewDelta> deltas = new ArrayList<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            long id = ids.get(i);
+            Entity entity = written.get(i);
+            Entity before = editor.get(id);
+
+            if (entity != null && specification.isSatisfiedBy(entity)) {
+                Entity after = EntitySnapshot.copy(entity);
+                editor.put(id, after);
+                deltas.add(new ViewDelta(before == null ? ViewDelta.Type.ENTER : ViewDelta.Type.UPDATE, id, before,
+                        after, version));
+            } else if (before != null) {
+                editor.remove(id);
+                deltas.add(new ViewDelta(ViewDelta.Type.LEAVE, id, before, null, version));
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+        current = new EntitySnapshot(version, editor.build());
+        for (ViewDelta delta : deltas) {
+            for (Consumer<ViewDelta> listener : listeners) {
+                try {
+                    listener.accept(delta);
+                } catch (RuntimeException e) {
+                    listenerFailures.increment();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package br.com.code.enterprise.specification.repository.mvcc;
+
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.repository.support.ParallelQuery;
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+import br.com.code.enterprise.specification.repository.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Decorador que mantém consultas contínuas: {@link #register(Specification)} devolve uma {@link LiveView} cujo
+ * resultado acompanha as escritas feitas por este repositório, substituindo consultas repetidas de
+ * {@code findAll(spec)} por uma avaliação da especificação por view sobre cada entidade escrita.
+ * <p>
+ * As escritas são serializadas por uma trava, para que as views recebam as mudanças na mesma ordem em que o
+ * repositório decorado as aplicou; os ouvintes das views executam com a trava e devem ser rápidos. Escritas feitas
+ * diretamente no repositório decorado não são vistas pelas views. As leituras são repassadas sem trava.
+ */
+public class LiveViewRepository implements Repository<Entity, Long> {
+
+    private final Repository<Entity, Long> delegate;
+    private final List<LiveView> views = new CopyOnWriteArrayList<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public LiveViewRepository(Repository<Entity, Long> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Registra a especificação como uma view, inicializada com uma consulta ao repositório decorado feita com a
+     * trava de escrita, de modo que nenhuma escrita fica entre o estado inicial e a primeira mudança.
+     */
+    public LiveView register(Specification<Entity> specification) {
+        writeLock.lock();
+        try {
+            LiveView view = new LiveView(specification, this, delegate.findAll(specification));
+            views.add(view);
+            return view;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public List<LiveView> getViews() {
+        return Collections.unmodifiableList(views);
+    }
+
+    void unregister(LiveView view) {
+        views.remove(view);
+    }
+
+    @Override
+    public Entity save(Entity entity) {
+        writeLock.lock();
+        try {
+            Entity saved = delegate.save(entity);
+            written(List.of(saved));
+            return saved;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Entity update(Entity entity) {
+        writeLock.lock();
+        try {
+            Entity updated = delegate.update(entity);
+            written(List.of(updated));
+            return updated;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(Entity entity) {
+        writeLock.lock();
+        try {
+            delegate.delete(entity);
+            if (entity.getId() != null) {
+                removed(List.of(entity));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Cada lote publica no máximo uma nova versão por view.
+     */
+    @Override
+    public BatchResult<Entity> saveAll(Collection<Entity> entities) {
+        writeLock.lock();
+        try {
+            BatchResult<Entity> result = delegate.saveAll(entities);
+            written(result.getEntities());
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult<Entity> updateAll(Collection<Entity> entities) {
+        writeLock.lock();
+        try {
+            BatchResult<Entity> result = delegate.updateAll(entities);
+            written(result.getEntities());
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult<Entity> deleteAllById(Collection<Long> ids) {
+        writeLock.lock();
+        try {
+            BatchResult<Entity> result = delegate.deleteAllById(ids);
+            removed(result.getEntities());
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult<Entity> deleteAll(Specification<Entity> specification) {
+        writeLock.lock();
+        try {
+            BatchResult<Entity> result = delegate.deleteAll(specification);
+            removed(result.getEntities());
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Entity> findById(Class<Entity> entityType, Long id) {
+        return delegate.findById(entityType, id);
+    }
+
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification) {
+        return delegate.findAll(specification);
+    }
+
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification, ParallelQuery query) {
+        return delegate.findAll(specification, query);
+    }
+
+    @Override
+    public Optional<Entity> findOne(Specification<Entity> specification) {
+        return delegate.findOne(specification);
+    }
+
+    @Override
+    public Stream<Entity> stream(Specification<Entity> specification) {
+        return delegate.stream(specification);
+    }
+
+    @Override
+    public long count(Specification<Entity> specification) {
+        return delegate.count(specification);
+    }
+
+    @Override
+    public boolean exists(Specification<Entity> specification) {
+        return delegate.exists(specification);
+    }
+
+    @Override
+    public KeysetPage<Entity, Long> findPage(Specification<Entity> specification, Long afterId, int limit) {
+        return delegate.findPage(specification, afterId, limit);
+    }
+
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification, Comparator<? super Entity> comparator,
+                                int limit) {
+        return delegate.findAll(specification, comparator, limit);
+    }
+
+    @Override
+    public KeysetPage<Entity, Entity> findPage(Specification<Entity> specification,
+                                               Comparator<? super Entity> comparator, Entity after, int limit) {
+        return delegate.findPage(specification, comparator, after, limit);
+    }
+
+    @Override
+    public <R> R aggregate(Specification<Entity> specification, Collector<? super Entity, ?, R> collector) {
+        return delegate.aggregate(specification, collector);
+    }
+
+    @Override
+    public <R> R aggregate(Specification<Entity> specification, Collector<? super Entity, ?, R> collector,
+                           ParallelQuery query) {
+        return delegate.aggregate(specification, collector, query);
+    }
+
+    private void written(List<Entity> entities) {
+        List<Long> ids = new ArrayList<>(entities.size());
+        entities.forEach(entity -> ids.add(entity.getId()));
+        apply(ids, entities);
+    }
+
+    private void removed(List<Entity> entities) {
+        List<Long> ids = new ArrayList<>(entities.size());
+        entities.forEach(entity -> ids.add(entity.getId()));
+        apply(ids, Collections.nCopies(ids.size(), null));
+    }
+
+    private void apply(List<Long> ids, List<Entity> entities) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (LiveView view : views) {
+            view.apply(ids, entities);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package br.com.code.enterprise.specification.repository.mvcc;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Mapa imutável de chaves {@code long} não negativas, organizado como uma trie de raiz 32 (5 bits por nível).
+ * <p>
+ * Uma alteração copia apenas o caminho da raiz até a folha (no máximo 13 nós) e compartilha o restante com a versão
+ * anterior, que continua válida e inalterada. A iteração segue a ordem crescente das chaves. Um {@link Editor}
+ * acumula várias alterações reaproveitando os nós que ele mesmo criou, de modo que um lote copia cada nó no máximo
+ * uma vez; ao fim da edição nenhum nó publicado volta a ser alterado.
+ */
+final class LongTrie<V> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final LongTrie<?> EMPTY = new LongTrie<>(null, 0, 0);
+
+    private final Node root;
+    private final int shift;
+    private final int size;
+
+    private LongTrie(Node root, int shift, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> LongTrie<V> empty() {
+        return (LongTrie<V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        if (!covers(root, shift, key)) {
+            return null;
+        }
+
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[index(key, level)];
+            if (node == null) {
+                return null;
+            }
+        }
+        return (V) node.array[index(key, 0)];
+    }
+
+    Editor<V> edit() {
+        return new Editor<>(this);
+    }
+
+    /**
+     * Valores com chave maior ou igual a {@code fromKey}, em ordem crescente de chave.
+     */
+    Iterator<V> iterator(long fromKey) {
+        return new Cursor(Math.max(0, fromKey));
+    }
+
+    /**
+     * Visão somente leitura dos valores em ordem de chave.
+     */
+    Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return LongTrie.this.iterator(0);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private static boolean covers(Node root, int shift, long key) {
+        return root != null && key >= 0 && (shift + BITS >= Long.SIZE - 1 || key >>> (shift + BITS) == 0);
+    }
+
+    private static int index(long key, int level) {
+        return (int) (key >>> level) & MASK;
+    }
+
+    private static final class Node {
+        private final Object[] array;
+        private final Object owner;
+
+        private Node(Object owner) {
+            this(new Object[WIDTH], owner);
+        }
+
+        private Node(Object[] array, Object owner) {
+            this.array = array;
+            this.owner = owner;
+        }
+
+        private boolean isEmpty() {
+            for (Object child : array) {
+                if (child != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Edição em lote de uma versão. Os nós criados pelo editor carregam seu token e podem ser alterados no lugar
+     * enquanto a edição estiver aberta; {@link #build()} encerra a edição e publica a nova versão.
+     */
+    static final class Editor<V> {
+
+        private Object token = new Object();
+        private Node root;
+        private int shift;
+        private int size;
+
+        private Editor(LongTrie<V> base) {
+            this.root = base.root;
+            this.shift = base.shift;
+            this.size = base.size;
+        }
+
+        Editor<V> put(long key, V value) {
+            ensureOpen();
+            if (key < 0) {
+                throw new IllegalArgumentException("Keys must not be negative: " + key);
+            }
+
+            if (root == null) {
+                shift = 0;
+                root = new Node(token);
+            }
+            while (!covers(root, shift, key)) {
+                Node grown = new Node(token);
+                grown.array[0] = root;
+                root = grown;
+                shift += BITS;
+            }
+
+            root = editable(root);
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                int i = index(key, level);
+                Node child = (Node) node.array[i];
+                child = child == null ? new Node(token) : editable(child);
+                node.array[i] = child;
+                node = child;
+            }
+
+            int i = index(key, 0);
+            if (node.array[i] == null) {
+                size++;
+            }
+            node.array[i] = value;
+            return this;
+        }
+
+        /**
+         * Valor da chave no estado da edição, incluindo as alterações ainda não publicadas.
+         */
+        V get(long key) {
+            ensureOpen();
+            return new LongTrie<V>(root, shift, size).get(key);
+        }
+
+        Editor<V> remove(long key) {
+            ensureOpen();
+            if (!covers(root, shift, key) || get(key) == null) {
+                return this;
+            }
+
+            int depth = shift / BITS;
+            Node[] path = new Node[depth + 1];
+            root = editable(root);
+            path[0] = root;
+            for (int d = 0; d < depth; d++) {
+                int i = index(key, shift - d * BITS);
+                Node child = editable((Node) path[d].array[i]);
+                path[d].array[i] = child;
+                path[d + 1] = child;
+            }
+            path[depth].array[index(key, 0)] = null;
+            size--;
+
+            for (int d = depth; d > 0 && path[d].isEmpty(); d--) {
+                path[d - 1].array[index(key, shift - (d - 1) * BITS)] = null;
+            }
+            if (size == 0) {
+                root = null;
+                shift = 0;
+            }
+            return this;
+        }
+
+        LongTrie<V> build() {
+            ensureOpen();
+            token = null;
+            return size == 0 ? empty() : new LongTrie<>(root, shift, size);
+        }
+
+        private Node editable(Node node) {
+            return node.owner == token ? node : new Node(node.array.clone(), token);
+        }
+
+        private void ensureOpen() {
+            if (token == null) {
+                throw new IllegalStateException("Editor already built");
+            }
+        }
+    }
+
+    /**
+     * Percurso em profundidade com pilha explícita, posicionado inicialmente no caminho de {@code fromKey}.
+     */
+    private final class Cursor implements Iterator<V> {
+
+        private final Node[] nodes;
+        private final int[] next;
+        private final int leaf;
+        private int top;
+        private V value;
+
+        private Cursor(long fromKey) {
+            leaf = shift / BITS;
+            nodes = new Node[leaf + 1];
+            next = new int[leaf + 1];
+            if (!covers(root, shift, fromKey)) {
+                top = -1;
+                return;
+            }
+
+            nodes[0] = root;
+            next[0] = index(fromKey, shift);
+            for (int d = 0; d < leaf; d++) {
+                Object child = nodes[d].array[next[d]];
+                if (child == null) {
+                    break;
+                }
+                nodes[d + 1] = (Node) child;
+                next[d + 1] = index(fromKey, shift - (d + 1) * BITS);
+                top = d + 1;
+            }
+            value = advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private V advance() {
+            while (top >= 0) {
+                if (next[top] >= WIDTH) {
+                    if (--top >= 0) {
+                        next[top]++;
+                    }
+                    continue;
+                }
+
+                Object child = nodes[top].array[next[top]];
+                if (child == null) {
+                    next[top]++;
+                } else if (top == leaf) {
+                    next[top]++;
+                    return (V) child;
+                } else {
+                    nodes[++top] = (Node) child;
+                    next[top] = 0;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return value != null;
+        }
+
+        @Override
+        public V next() {
+            if (value == null) {
+                throw new NoSuchElementException();
+            }
+            V current = value;
+            value = advance();
+            return current;
+        }
+    }
+}
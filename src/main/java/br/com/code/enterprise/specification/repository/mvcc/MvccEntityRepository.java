@@ -0,0 +1,224 @@
+package br.com.code.enterprise.specification.repository.mvcc;
+
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.repository.support.ParallelQuery;
+import br.com.code.enterprise.repository.support.ParallelScanner;
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+import br.com.code.enterprise.specification.repository.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Repositório com controle de concorrência multiversão: cada escrita publica atomicamente uma nova
+ * {@link EntitySnapshot} imutável, e cada leitura opera sobre a versão corrente no momento em que começa, sem travas.
+ * <p>
+ * As versões compartilham a estrutura que não mudou (veja {@link LongTrie}), de modo que uma escrita custa
+ * O(log<sub>32</sub> n) e um lote copia cada nó no máximo uma vez. Escritores são serializados entre si, mas nunca
+ * bloqueiam leitores. Use {@link #snapshot()} para executar várias consultas sobre um mesmo estado consistente.
+ * <p>
+ * O repositório guarda cópias das entidades recebidas e devolve cópias nas leituras: alterações só são persistidas
+ * por {@link #update(Entity)}.
+ */
+public class MvccEntityRepository implements Repository<Entity, Long> {
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile EntitySnapshot current = EntitySnapshot.EMPTY;
+    private long sequence;
+
+    /**
+     * Versão corrente; consultas feitas sobre ela não enxergam escritas posteriores.
+     */
+    public EntitySnapshot snapshot() {
+        return current;
+    }
+
+    @Override
+    public Entity save(Entity entity) {
+        writeLock.lock();
+        try {
+            entity.setId(++sequence);
+            publish(current.entities().edit().put(entity.getId(), EntitySnapshot.copy(entity)));
+            return entity;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Entity> findById(Class<Entity> entityType, Long aLong) {
+        return current.findById(aLong);
+    }
+
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification) {
+        return current.findAll(specification);
+    }
+
+    /**
+     * Varre a versão corrente em paralelo; as partes compartilham o mesmo snapshot imutável.
+     */
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification, ParallelQuery query) {
+        return ParallelScanner.findAll(current.entities().values(), specification, query).stream()
+                .map(EntitySnapshot::copy)
+                .toList();
+    }
+
+    @Override
+    public Optional<Entity> findOne(Specification<Entity> specification) {
+        return current.findOne(specification);
+    }
+
+    @Override
+    public Stream<Entity> stream(Specification<Entity> specification) {
+        return current.stream(specification);
+    }
+
+    @Override
+    public long count(Specification<Entity> specification) {
+        return current.count(specification);
+    }
+
+    @Override
+    public boolean exists(Specification<Entity> specification) {
+        return current.exists(specification);
+    }
+
+    @Override
+    public KeysetPage<Entity, Long> findPage(Specification<Entity> specification, Long afterId, int limit) {
+        return current.findPage(specification, afterId, limit);
+    }
+
+    @Override
+    public void delete(Entity entity) {
+        writeLock.lock();
+        try {
+            LongTrie<Entity> entities = current.entities();
+            if (entity.getId() != null && entities.get(entity.getId()) != null) {
+                publish(entities.edit().remove(entity.getId()));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Entity update(Entity entity) {
+        writeLock.lock();
+        try {
+            LongTrie<Entity> entities = current.entities();
+            if (entity.getId() == null || entities.get(entity.getId()) == null) {
+                throw new IllegalArgumentException("Entity not found for update: " + entity);
+            }
+
+            publish(entities.edit().put(entity.getId(), EntitySnapshot.copy(entity)));
+            return entity;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * O lote inteiro é publicado como uma única versão: leitores enxergam todas as entidades ou nenhuma.
+     */
+    @Override
+    public BatchResult<Entity> saveAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            LongTrie.Editor<Entity> editor = current.entities().edit();
+            for (Entity entity : entities) {
+                entity.setId(++sequence);
+                editor.put(entity.getId(), EntitySnapshot.copy(entity));
+            }
+            publish(editor);
+            return BatchResult.since(start, new ArrayList<>(entities));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * O lote inteiro é validado antes de qualquer alteração e publicado como uma única versão.
+     */
+    @Override
+    public BatchResult<Entity> updateAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            LongTrie<Entity> base = current.entities();
+            for (Entity entity : entities) {
+                if (entity.getId() == null || base.get(entity.getId()) == null) {
+                    throw new IllegalArgumentException("Entity not found for update: " + entity);
+                }
+            }
+
+            LongTrie.Editor<Entity> editor = base.edit();
+            entities.forEach(entity -> editor.put(entity.getId(), EntitySnapshot.copy(entity)));
+            publish(editor);
+            return BatchResult.since(start, new ArrayList<>(entities));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public BatchResult<Entity> deleteAllById(Collection<Long> ids) {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            LongTrie<Entity> base = current.entities();
+            LongTrie.Editor<Entity> editor = base.edit();
+            List<Entity> removed = new ArrayList<>();
+            for (Long id : ids) {
+                Entity entity = id == null ? null : base.get(id);
+                if (entity != null) {
+                    editor.remove(id);
+                    removed.add(EntitySnapshot.copy(entity));
+                }
+            }
+            if (!removed.isEmpty()) {
+                publish(editor);
+            }
+            return BatchResult.since(start, removed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Avalia a especificação sobre a versão corrente e publica as remoções como uma única versão, sem janela para
+     * outros escritores entre a consulta e a remoção.
+     */
+    @Override
+    public BatchResult<Entity> deleteAll(Specification<Entity> specification) {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            EntitySnapshot snapshot = current;
+            LongTrie.Editor<Entity> editor = snapshot.entities().edit();
+            List<Entity> removed = new ArrayList<>();
+            snapshot.matches(specification, null).forEach(entity -> {
+                editor.remove(entity.getId());
+                removed.add(EntitySnapshot.copy(entity));
+            });
+            if (!removed.isEmpty()) {
+                publish(editor);
+            }
+            return BatchResult.since(start, removed);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void publish(LongTrie.Editor<Entity> editor) {
+        current = new EntitySnapshot(current.getVersion() + 1, editor.build());
+    }
+}
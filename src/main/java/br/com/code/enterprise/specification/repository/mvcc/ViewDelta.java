@@ -0,0 +1,67 @@
+package br.com.code.enterprise.specification.repository.mvcc;
+
+import br.com.code.enterprise.specification.model.Entity;
+
+import java.util.Optional;
+
+/**
+ * Mudança no resultado de uma {@link LiveView} causada por uma escrita: uma entidade que passou a satisfazer a
+ * especificação ({@link Type#ENTER}), que deixou de satisfazê-la ({@link Type#LEAVE}) ou que continua no resultado
+ * com novos valores ({@link Type#UPDATE}).
+ * <p>
+ * As entidades devolvidas são cópias, como nas leituras de {@link EntitySnapshot}.
+ */
+public final class ViewDelta {
+
+    public enum Type {
+        ENTER, LEAVE, UPDATE
+    }
+
+    private final Type type;
+    private final long id;
+    private final Entity before;
+    private final Entity after;
+    private final long version;
+
+    ViewDelta(Type type, long id, Entity before, Entity after, long version) {
+        this.type = type;
+        this.id = id;
+        this.before = before;
+        this.after = after;
+        this.version = version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Valor anterior no resultado; vazio em {@link Type#ENTER}.
+     */
+    public Optional<Entity> getBefore() {
+        return Optional.ofNullable(before).map(EntitySnapshot::copy);
+    }
+
+    /**
+     * Valor atual no resultado; vazio em {@link Type#LEAVE}.
+     */
+    public Optional<Entity> getAfter() {
+        return Optional.ofNullable(after).map(EntitySnapshot::copy);
+    }
+
+    /**
+     * Versão da view publicada com esta mudança; mudanças de um mesmo lote compartilham a versão.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "ViewDelta: " + type + " " + id + " at version " + version;
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.code.enterprise.specification.repository.offheap;
+
+import br.com.code.enterprise.specification.model.Entity;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Visão somente leitura de um registro do {@link OffHeapEntityStore}, reposicionada com {@link #moveTo(int)} a cada
+ * candidato de uma varredura.
+ * <p>
+ * Estende {@link Entity} para que qualquer {@code Specification<Entity>}, inclusive as personalizadas, seja avaliada
+ * sobre o registro através de {@code HasId}, {@code HasName}, {@code HasPrice}, {@code HasCreationDate} e
+ * {@code HasActive}; os campos herdados ficam vazios. Cada acessor lê apenas o campo que consulta: preço em ponto
+ * fixo, status e id são comparados sem alocar objetos. A instância nunca deve escapar da varredura.
+ */
+final class EntityFlyweight extends Entity {
+
+    private final OffHeapEntityStore store;
+    private int slot;
+    private String name;
+
+    EntityFlyweight(OffHeapEntityStore store) {
+        this.store = store;
+    }
+
+    EntityFlyweight moveTo(int slot) {
+        this.slot = slot;
+        this.name = null;
+        return this;
+    }
+
+    @Override
+    public Long getId() {
+        return store.id(slot);
+    }
+
+    /**
+     * O nome é decodificado uma vez por registro, já que várias especificações de nome podem consultá-lo.
+     */
+    @Override
+    public String getName() {
+        if (name == null) {
+            name = store.name(slot);
+        }
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return store.description(slot);
+    }
+
+    @Override
+    public boolean isActive() {
+        return store.isActive(slot);
+    }
+
+    @Override
+    public Date getCreated() {
+        return store.created(slot);
+    }
+
+    @Override
+    public BigDecimal getPrice() {
+        return store.price(slot);
+    }
+
+    @Override
+    public long getPriceUnits() {
+        return store.priceUnits(slot);
+    }
+
+    @Override
+    public void setId(Long id) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setName(String name) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setDescription(String description) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setActive(boolean active) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCreated(Date created) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setPrice(BigDecimal price) {
+        throw readOnly();
+    }
+
+    @Override
+    public String toString() {
+        return store.materialize(slot).toString();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Off-heap records are read-only; use Repository.update");
+    }
+}
@@ -0,0 +1,393 @@
+package br.com.code.enterprise.specification.repository.offheap;
+
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.aggregate.EntityStatistics;
+import br.com.code.enterprise.specification.repository.aggregate.StatisticsCollector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Repositório que mantém as entidades fora do heap, em registros de layout fixo e uma área de textos sobre
+ * {@link java.nio.ByteBuffer} diretos. O coletor enxerga apenas os segmentos, não uma instância por entidade.
+ * <p>
+ * As especificações são avaliadas sobre um {@link EntityFlyweight} reposicionado a cada registro, de modo que
+ * filtros por id, status e preço em ponto fixo não alocam objetos; somente as entidades do resultado são
+ * materializadas. Por isso as instâncias devolvidas são cópias: alterações só são persistidas por
+ * {@link #update(Entity)}, e a instância recebida por {@link #save(Entity)} não é retida.
+ */
+public class OffHeapEntityRepository implements Repository<Entity, Long> {
+
+    private static final int MIN_RECORDS_TO_COMPACT = 64;
+
+    private final OffHeapEntityStore store = new OffHeapEntityStore();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long sequence;
+
+    @Override
+    public Entity save(Entity entity) {
+        lock.writeLock().lock();
+        try {
+            entity.setId(++sequence);
+            store.append(entity);
+            return entity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Entity> findById(Class<Entity> entityType, Long aLong) {
+        lock.readLock().lock();
+        try {
+            int slot = store.slotOf(aLong);
+            return slot < 0 ? Optional.empty() : Optional.of(store.materialize(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification) {
+        lock.readLock().lock();
+        try {
+            return collect(specification, 0, Integer.MAX_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Entity> findOne(Specification<Entity> specification) {
+        lock.readLock().lock();
+        try {
+            int slot = next(specification, new EntityFlyweight(store), 0);
+            return slot < 0 ? Optional.empty() : Optional.of(store.materialize(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * O resultado é materializado sob a trava de leitura, já que uma compactação concorrente moveria os registros.
+     */
+    @Override
+    public Stream<Entity> stream(Specification<Entity> specification) {
+        return findAll(specification).stream();
+    }
+
+    @Override
+    public long count(Specification<Entity> specification) {
+        lock.readLock().lock();
+        try {
+            EntityFlyweight candidate = new EntityFlyweight(store);
+            long count = 0;
+            for (int slot = next(specification, candidate, 0); slot >= 0; slot = next(specification, candidate, slot + 1)) {
+                count++;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean exists(Specification<Entity> specification) {
+        lock.readLock().lock();
+        try {
+            return next(specification, new EntityFlyweight(store), 0) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public KeysetPage<Entity, Long> findPage(Specification<Entity> specification, Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            int start = afterId == null ? 0 : afterId == Long.MAX_VALUE ? store.size : store.lowerBound(afterId + 1);
+            int max = limit == Integer.MAX_VALUE ? limit : limit + 1;
+            return KeysetPage.of(collect(specification, start, max).iterator(), limit, Entity::getId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * O heap guarda posições de registros, comparadas por dois flyweights; somente as {@code limit} entidades
+     * selecionadas são materializadas.
+     */
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification, Comparator<? super Entity> comparator,
+                                int limit) {
+        lock.readLock().lock();
+        try {
+            return top(specification, comparator, null, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public KeysetPage<Entity, Entity> findPage(Specification<Entity> specification,
+                                               Comparator<? super Entity> comparator, Entity after, int limit) {
+        lock.readLock().lock();
+        try {
+            int max = limit == Integer.MAX_VALUE ? limit : limit + 1;
+            return KeysetPage.of(top(specification, comparator, after, max).iterator(), limit, Function.identity());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Os coletores de {@link EntityStatistics} leem o preço em ponto fixo e a data diretamente do flyweight; os
+     * demais coletores recebem cópias materializadas, já que podem reter as instâncias.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R aggregate(Specification<Entity> specification, Collector<? super Entity, ?, R> collector) {
+        lock.readLock().lock();
+        try {
+            EntityFlyweight candidate = new EntityFlyweight(store);
+            StatisticsCollector.Grouping grouping = StatisticsCollector.groupingOf(collector);
+            if (grouping == StatisticsCollector.Grouping.NONE) {
+                EntityStatistics statistics = new EntityStatistics();
+                for (int slot = next(specification, candidate, 0); slot >= 0; slot = next(specification, candidate, slot + 1)) {
+                    statistics.accept(candidate);
+                }
+                return (R) statistics;
+            }
+            if (grouping == StatisticsCollector.Grouping.BY_ACTIVE) {
+                EntityStatistics active = new EntityStatistics();
+                EntityStatistics inactive = new EntityStatistics();
+                for (int slot = next(specification, candidate, 0); slot >= 0; slot = next(specification, candidate, slot + 1)) {
+                    (candidate.isActive() ? active : inactive).accept(candidate);
+                }
+                return (R) Map.of(true, active, false, inactive);
+            }
+            return accumulate(specification, candidate, collector);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(Entity entity) {
+        lock.writeLock().lock();
+        try {
+            int slot = store.slotOf(entity.getId());
+            if (slot >= 0) {
+                store.remove(slot);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Entity update(Entity entity) {
+        lock.writeLock().lock();
+        try {
+            int slot = store.slotOf(entity.getId());
+            if (slot < 0) {
+                throw new IllegalArgumentException("Entity not found for update: " + entity);
+            }
+
+            store.write(slot, entity);
+            compactIfNeeded();
+            return entity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public BatchResult<Entity> saveAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            for (Entity entity : entities) {
+                entity.setId(++sequence);
+                store.append(entity);
+            }
+            return BatchResult.since(start, new ArrayList<>(entities));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * O lote inteiro é validado antes de qualquer alteração: se uma entidade não existir, nenhuma é atualizada.
+     */
+    @Override
+    public BatchResult<Entity> updateAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            int[] slots = new int[entities.size()];
+            int i = 0;
+            for (Entity entity : entities) {
+                slots[i] = store.slotOf(entity.getId());
+                if (slots[i++] < 0) {
+                    throw new IllegalArgumentException("Entity not found for update: " + entity);
+                }
+            }
+
+            i = 0;
+            for (Entity entity : entities) {
+                store.write(slots[i++], entity);
+            }
+            compactIfNeeded();
+            return BatchResult.since(start, new ArrayList<>(entities));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove os registros do lote e compacta no máximo uma vez, ao final.
+     */
+    @Override
+    public BatchResult<Entity> deleteAllById(Collection<Long> ids) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            List<Entity> removed = new ArrayList<>();
+            for (Long id : ids) {
+                int slot = store.slotOf(id);
+                if (slot >= 0) {
+                    removed.add(store.materialize(slot));
+                    store.remove(slot);
+                }
+            }
+            compactIfNeeded();
+            return BatchResult.since(start, removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public BatchResult<Entity> deleteAll(Specification<Entity> specification) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            // Avalia tudo antes de remover: uma especificação que falhe no meio não deixa o lote pela metade.
+            EntityFlyweight candidate = new EntityFlyweight(store);
+            IntStream.Builder matches = IntStream.builder();
+            for (int slot = next(specification, candidate, 0); slot >= 0; slot = next(specification, candidate, slot + 1)) {
+                matches.add(slot);
+            }
+            List<Entity> removed = new ArrayList<>();
+            matches.build().forEach(slot -> {
+                removed.add(store.materialize(slot));
+                store.remove(slot);
+            });
+            compactIfNeeded();
+            return BatchResult.since(start, removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes reservados fora do heap pelos registros e pela área de textos.
+     */
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return store.offHeapBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Entity> collect(Specification<Entity> specification, int from, int max) {
+        EntityFlyweight candidate = new EntityFlyweight(store);
+        List<Entity> result = new ArrayList<>();
+        for (int slot = next(specification, candidate, from); slot >= 0 && result.size() < max;
+             slot = next(specification, candidate, slot + 1)) {
+            result.add(store.materialize(slot));
+        }
+        return result;
+    }
+
+    private <A, R> R accumulate(Specification<Entity> specification, EntityFlyweight candidate,
+                                Collector<? super Entity, A, R> collector) {
+        A container = collector.supplier().get();
+        BiConsumer<A, ? super Entity> accumulator = collector.accumulator();
+        for (int slot = next(specification, candidate, 0); slot >= 0; slot = next(specification, candidate, slot + 1)) {
+            accumulator.accept(container, store.materialize(slot));
+        }
+        return collector.finisher().apply(container);
+    }
+
+    /**
+     * Os até {@code max} menores registros segundo {@code comparator}, posteriores a {@code after} quando informado.
+     */
+    private List<Entity> top(Specification<Entity> specification, Comparator<? super Entity> comparator, Entity after,
+                             int max) {
+        if (max < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + max);
+        }
+
+        EntityFlyweight left = new EntityFlyweight(store);
+        EntityFlyweight right = new EntityFlyweight(store);
+        Comparator<Integer> bySlot = (a, b) -> comparator.compare(left.moveTo(a), right.moveTo(b));
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(max, 1024), bySlot.reversed());
+        EntityFlyweight candidate = new EntityFlyweight(store);
+        for (int slot = next(specification, candidate, 0); slot >= 0; slot = next(specification, candidate, slot + 1)) {
+            if (after != null && comparator.compare(candidate, after) <= 0) {
+                continue;
+            }
+            if (heap.size() < max) {
+                heap.add(slot);
+            } else if (bySlot.compare(slot, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(slot);
+            }
+        }
+
+        List<Integer> slots = new ArrayList<>(heap);
+        slots.sort(bySlot);
+        List<Entity> result = new ArrayList<>(slots.size());
+        slots.forEach(slot -> result.add(store.materialize(slot)));
+        return result;
+    }
+
+    /**
+     * @return o primeiro registro vivo a partir de {@code from} que satisfaz a especificação ou {@code -1}
+     */
+    private int next(Specification<Entity> specification, EntityFlyweight candidate, int from) {
+        for (int slot = store.nextLive(from); slot >= 0; slot = store.nextLive(slot + 1)) {
+            if (specification.isSatisfiedBy(candidate.moveTo(slot))) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void compactIfNeeded() {
+        if (store.size >= MIN_RECORDS_TO_COMPACT && store.liveCount * 2 < store.size || store.hasGarbage()) {
+            store.compact();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package br.com.code.enterprise.specification.repository.offheap;
+
+import br.com.code.enterprise.specification.internal.FixedPointPrice;
+import br.com.code.enterprise.specification.model.Entity;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Registros de tamanho fixo em {@link ByteBuffer} diretos, fora do heap:
+ * <pre>
+ * long id | long criação em ms | long preço em ponto fixo | long endereço do nome | long endereço da descrição
+ *         | int escala do preço | int flags | int bytes do nome | int bytes da descrição
+ * </pre>
+ * Os textos ficam em uma {@link StringArea}. Preços não representáveis em ponto fixo são gravados como texto na
+ * mesma área, com o endereço no campo do preço e o tamanho no campo da escala.
+ * <p>
+ * Os registros ficam ordenados por id, o que permite localizar um id por busca binária. Remoções apenas desligam
+ * {@code LIVE}; {@link #compact()} descarta os registros removidos e os textos que não são mais referenciados.
+ */
+class OffHeapEntityStore {
+
+    static final int RECORD_BYTES = 56;
+    static final int RECORDS_PER_SEGMENT = 1 << 14;
+
+    private static final int ID = 0;
+    private static final int CREATED = 8;
+    private static final int PRICE = 16;
+    private static final int NAME_ADDRESS = 24;
+    private static final int DESCRIPTION_ADDRESS = 32;
+    private static final int PRICE_SCALE = 40;
+    private static final int FLAGS = 44;
+    private static final int NAME_LENGTH = 48;
+    private static final int DESCRIPTION_LENGTH = 52;
+
+    private static final int LIVE = 1;
+    private static final int ACTIVE = 1 << 1;
+    private static final int HAS_NAME = 1 << 2;
+    private static final int HAS_DESCRIPTION = 1 << 3;
+    private static final int HAS_CREATED = 1 << 4;
+    private static final int HAS_PRICE = 1 << 5;
+    private static final int INEXACT_PRICE = 1 << 6;
+
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private StringArea strings = new StringArea();
+
+    int size;
+    int liveCount;
+
+    int append(Entity entity) {
+        if (size > 0 && entity.getId() <= id(size - 1)) {
+            throw new IllegalArgumentException("Records must be appended in ascending id order: " + entity.getId());
+        }
+
+        if (size == segments.size() * RECORDS_PER_SEGMENT) {
+            segments.add(ByteBuffer.allocateDirect(RECORDS_PER_SEGMENT * RECORD_BYTES));
+        }
+        int slot = size++;
+        segment(slot).putLong(offset(slot) + ID, entity.getId());
+        segment(slot).putInt(offset(slot) + FLAGS, 0);
+        liveCount++;
+        write(slot, entity);
+        return slot;
+    }
+
+    /**
+     * Sobrescreve os campos do registro; os textos anteriores passam a contar como lixo da área de textos.
+     */
+    void write(int slot, Entity entity) {
+        ByteBuffer segment = segment(slot);
+        int base = offset(slot);
+        releaseStrings(slot);
+
+        int flags = LIVE | (entity.isActive() ? ACTIVE : 0);
+        if (entity.getName() != null) {
+            flags |= HAS_NAME;
+            putString(segment, base + NAME_ADDRESS, base + NAME_LENGTH, entity.getName());
+        }
+        if (entity.getDescription() != null) {
+            flags |= HAS_DESCRIPTION;
+            putString(segment, base + DESCRIPTION_ADDRESS, base + DESCRIPTION_LENGTH, entity.getDescription());
+        }
+
+        Date created = entity.getCreated();
+        if (created != null) {
+            flags |= HAS_CREATED;
+        }
+        segment.putLong(base + CREATED, created == null ? 0 : created.getTime());
+
+        BigDecimal price = entity.getPrice();
+        if (price != null) {
+            flags |= HAS_PRICE;
+            long units = FixedPointPrice.unitsOf(price);
+            if (units != FixedPointPrice.NOT_REPRESENTABLE) {
+                segment.putLong(base + PRICE, units);
+                segment.putInt(base + PRICE_SCALE, price.scale());
+            } else {
+                flags |= INEXACT_PRICE;
+                putString(segment, base + PRICE, base + PRICE_SCALE, price.toString());
+            }
+        }
+        segment.putInt(base + FLAGS, flags);
+    }
+
+    void remove(int slot) {
+        releaseStrings(slot);
+        segment(slot).putInt(offset(slot) + FLAGS, 0);
+        liveCount--;
+    }
+
+    /**
+     * @return o registro vivo com o id informado ou {@code -1}
+     */
+    int slotOf(Long id) {
+        if (id == null) {
+            return -1;
+        }
+
+        int slot = lowerBound(id);
+        return slot < size && id(slot) == id && isLive(slot) ? slot : -1;
+    }
+
+    /**
+     * Primeiro registro com id maior ou igual ao informado.
+     */
+    int lowerBound(long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (id(mid) < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return o primeiro registro vivo a partir de {@code slot} ou {@code -1}
+     */
+    int nextLive(int slot) {
+        for (; slot < size; slot++) {
+            if (isLive(slot)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    boolean isLive(int slot) {
+        return (flags(slot) & LIVE) != 0;
+    }
+
+    long id(int slot) {
+        return segment(slot).getLong(offset(slot) + ID);
+    }
+
+    boolean isActive(int slot) {
+        return (flags(slot) & ACTIVE) != 0;
+    }
+
+    String name(int slot) {
+        return (flags(slot) & HAS_NAME) == 0 ? null : getString(slot, NAME_ADDRESS, NAME_LENGTH);
+    }
+
+    String description(int slot) {
+        return (flags(slot) & HAS_DESCRIPTION) == 0 ? null : getString(slot, DESCRIPTION_ADDRESS, DESCRIPTION_LENGTH);
+    }
+
+    Date created(int slot) {
+        return (flags(slot) & HAS_CREATED) == 0 ? null : new Date(segment(slot).getLong(offset(slot) + CREATED));
+    }
+
+    /**
+     * @return o preço em ponto fixo ou {@link FixedPointPrice#NOT_REPRESENTABLE}, sem criar {@link BigDecimal}
+     */
+    long priceUnits(int slot) {
+        int flags = flags(slot);
+        if ((flags & HAS_PRICE) == 0 || (flags & INEXACT_PRICE) != 0) {
+            return FixedPointPrice.NOT_REPRESENTABLE;
+        }
+        return segment(slot).getLong(offset(slot) + PRICE);
+    }
+
+    BigDecimal price(int slot) {
+        int flags = flags(slot);
+        if ((flags & HAS_PRICE) == 0) {
+            return null;
+        }
+        if ((flags & INEXACT_PRICE) != 0) {
+            return new BigDecimal(getString(slot, PRICE, PRICE_SCALE));
+        }
+        return FixedPointPrice.fromUnits(segment(slot).getLong(offset(slot) + PRICE))
+                .setScale(segment(slot).getInt(offset(slot) + PRICE_SCALE));
+    }
+
+    Entity materialize(int slot) {
+        return new Entity(id(slot), name(slot), description(slot), isActive(slot), created(slot), price(slot));
+    }
+
+    /**
+     * Bytes reservados fora do heap, entre registros e textos.
+     */
+    long offHeapBytes() {
+        return (long) segments.size() * RECORDS_PER_SEGMENT * RECORD_BYTES + strings.capacityBytes();
+    }
+
+    boolean hasGarbage() {
+        return strings.garbageBytes() >= StringArea.CHUNK_BYTES && strings.garbageBytes() * 2 > strings.usedBytes();
+    }
+
+    /**
+     * Reescreve os registros vivos no início dos segmentos e copia seus textos para uma nova área; os blocos
+     * anteriores são liberados pelo coletor junto com seus {@link ByteBuffer}.
+     */
+    void compact() {
+        StringArea previous = strings;
+        strings = new StringArea();
+        int target = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (!isLive(slot)) {
+                continue;
+            }
+
+            ByteBuffer from = segment(slot);
+            ByteBuffer to = segment(target);
+            int source = offset(slot);
+            int base = offset(target);
+            int flags = from.getInt(source + FLAGS);
+            to.put(base, from, source, RECORD_BYTES);
+            if ((flags & HAS_NAME) != 0) {
+                moveString(previous, to, base + NAME_ADDRESS, base + NAME_LENGTH);
+            }
+            if ((flags & HAS_DESCRIPTION) != 0) {
+                moveString(previous, to, base + DESCRIPTION_ADDRESS, base + DESCRIPTION_LENGTH);
+            }
+            if ((flags & INEXACT_PRICE) != 0) {
+                moveString(previous, to, base + PRICE, base + PRICE_SCALE);
+            }
+            target++;
+        }
+
+        size = target;
+        int neededSegments = (size + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT;
+        segments.subList(neededSegments, segments.size()).clear();
+    }
+
+    private void moveString(StringArea from, ByteBuffer segment, int addressField, int lengthField) {
+        int length = segment.getInt(lengthField);
+        byte[] bytes = from.read(segment.getLong(addressField), length).getBytes(StandardCharsets.UTF_8);
+        segment.putLong(addressField, strings.write(bytes));
+    }
+
+    private void putString(ByteBuffer segment, int addressField, int lengthField, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        segment.putLong(addressField, strings.write(bytes));
+        segment.putInt(lengthField, bytes.length);
+    }
+
+    private String getString(int slot, int addressField, int lengthField) {
+        ByteBuffer segment = segment(slot);
+        int base = offset(slot);
+        return strings.read(segment.getLong(base + addressField), segment.getInt(base + lengthField));
+    }
+
+    private void releaseStrings(int slot) {
+        ByteBuffer segment = segment(slot);
+        int base = offset(slot);
+        int flags = segment.getInt(base + FLAGS);
+        if ((flags & HAS_NAME) != 0) {
+            strings.release(segment.getInt(base + NAME_LENGTH));
+        }
+        if ((flags & HAS_DESCRIPTION) != 0) {
+            strings.release(segment.getInt(base + DESCRIPTION_LENGTH));
+        }
+        if ((flags & INEXACT_PRICE) != 0) {
+            strings.release(segment.getInt(base + PRICE_SCALE));
+        }
+    }
+
+    private int flags(int slot) {
+        return segment(slot).getInt(offset(slot) + FLAGS);
+    }
+
+    private ByteBuffer segment(int slot) {
+        return segments.get(slot / RECORDS_PER_SEGMENT);
+    }
+
+    private static int offset(int slot) {
+        return (slot % RECORDS_PER_SEGMENT) * RECORD_BYTES;
+    }
+}
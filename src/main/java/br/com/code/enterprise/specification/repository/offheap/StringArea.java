@@ -0,0 +1,60 @@
+package br.com.code.enterprise.specification.repository.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Área de comprimento variável para textos em UTF-8, formada por blocos de {@link ByteBuffer} diretos.
+ * <p>
+ * Os textos são apenas anexados; o endereço devolvido por {@link #write(byte[])} combina o índice do bloco (32 bits
+ * altos) com a posição dentro dele. Textos substituídos ou removidos são contabilizados em {@link #garbageBytes()} e
+ * só são liberados quando o dono da área a reescreve em uma nova.
+ */
+class StringArea {
+
+    static final int CHUNK_BYTES = 1 << 20;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer current;
+    private long usedBytes;
+    private long garbageBytes;
+
+    /**
+     * @return o endereço dos bytes, que não atravessam a fronteira de um bloco
+     */
+    long write(byte[] bytes) {
+        if (current == null || current.remaining() < bytes.length) {
+            current = ByteBuffer.allocateDirect(Math.max(CHUNK_BYTES, bytes.length));
+            chunks.add(current);
+        }
+
+        long address = (long) (chunks.size() - 1) << 32 | current.position();
+        current.put(bytes);
+        usedBytes += bytes.length;
+        return address;
+    }
+
+    String read(long address, int length) {
+        byte[] bytes = new byte[length];
+        chunks.get((int) (address >>> 32)).get((int) address, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    void release(int length) {
+        garbageBytes += length;
+    }
+
+    long usedBytes() {
+        return usedBytes;
+    }
+
+    long garbageBytes() {
+        return garbageBytes;
+    }
+
+    long capacityBytes() {
+        return chunks.stream().mapToLong(ByteBuffer::capacity).sum();
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.code.enterprise.specification.repository.store;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Armazenamento concorrente por chave primária.
+ * <p>
+ * Oferece busca, substituição e remoção por id em O(1) e uma sequência atômica de ids que nunca reaproveita
+ * valores. Como os ids são crescentes, a iteração em ordem de id corresponde à ordem de inserção. A iteração é
+ * fracamente consistente: não lança {@code ConcurrentModificationException} e reflete escritas concorrentes
+ * conforme elas acontecem.
+ */
+public class PrimaryKeyStore<E> {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<Long, E> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Long> ids = new ConcurrentSkipListSet<>();
+
+    /**
+     * Reserva o próximo id da sequência.
+     */
+    public long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * Reserva {@code count} ids consecutivos com uma única operação atômica.
+     *
+     * @return o primeiro id do bloco
+     */
+    public long reserveIds(int count) {
+        return sequence.getAndAdd(count) + 1;
+    }
+
+    /**
+     * Garante que a sequência nunca devolva um id menor ou igual ao informado.
+     */
+    public void advanceSequence(long id) {
+        sequence.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Último id entregue pela sequência, inclusive de entidades já removidas.
+     */
+    public long lastId() {
+        return sequence.get();
+    }
+
+    public E get(Long id) {
+        return id == null ? null : entries.get(id);
+    }
+
+    public boolean contains(Long id) {
+        return id != null && entries.containsKey(id);
+    }
+
+    /**
+     * Insere ou substitui a entidade com o id informado. O índice de ids é atualizado dentro de
+     * {@link ConcurrentHashMap#compute}, sob a trava da chave, para que um {@code put} e um {@link #remove(Long)}
+     * concorrentes do mesmo id não deixem uma entidade armazenada fora da iteração.
+     */
+    public void put(Long id, E entity) {
+        entries.compute(id, (key, previous) -> {
+            if (previous == null) {
+                ids.add(key);
+            }
+            return entity;
+        });
+        advanceSequence(id);
+    }
+
+    /**
+     * Substitui a entidade somente se o id já existir.
+     *
+     * @return a entidade anterior ou {@code null} se o id não existir
+     */
+    public E replace(Long id, E entity) {
+        return id == null ? null : entries.replace(id, entity);
+    }
+
+    /**
+     * @return a entidade removida ou {@code null} se o id não existir
+     */
+    public E remove(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        AtomicReference<E> removed = new AtomicReference<>();
+        entries.computeIfPresent(id, (key, previous) -> {
+            ids.remove(key);
+            removed.set(previous);
+            return null;
+        });
+        return removed.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Visão somente leitura dos ids em ordem crescente.
+     */
+    public NavigableSet<Long> ids() {
+        return Collections.unmodifiableNavigableSet(ids);
+    }
+
+    /**
+     * Visão somente leitura das entidades em ordem de id.
+     */
+    public Collection<E> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<E> iterator() {
+                return valuesFrom(ids.iterator());
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+
+    public Stream<E> stream() {
+        return values().stream();
+    }
+
+    /**
+     * Stream das entidades com id maior que {@code afterId} ({@code null} para todas), em ordem de id. O
+     * posicionamento inicial custa O(log n).
+     */
+    public Stream<E> streamAfter(Long afterId) {
+        Iterator<Long> keys = afterId == null ? ids.iterator() : ids.tailSet(afterId, false).iterator();
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(valuesFrom(keys), Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * Stream das entidades com id em {@code [fromId, toId]}, em ordem de id. Como o índice de ids é ordenado, o
+     * intervalo é uma fatia contígua: o custo é O(log n) para posicionar mais o tamanho da fatia.
+     */
+    public Stream<E> streamBetween(long fromId, long toId) {
+        Iterator<Long> keys = fromId > toId
+                ? Collections.emptyIterator()
+                : ids.subSet(fromId, true, toId, true).iterator();
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(valuesFrom(keys), Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    private Iterator<E> valuesFrom(Iterator<Long> keys) {
+        return new Iterator<>() {
+            private E next = advance();
+
+            private E advance() {
+                while (keys.hasNext()) {
+                    E entity = entries.get(keys.next());
+                    if (entity != null) {
+                        return entity;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                E current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+}
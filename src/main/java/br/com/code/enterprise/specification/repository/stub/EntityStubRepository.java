@@ -1,64 +1,175 @@
 package br.com.code.enterprise.specification.repository.stub;
 
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.repository.support.ParallelQuery;
+import br.com.code.enterprise.repository.support.ParallelScanner;
 import br.com.code.enterprise.specification.Specification;
+import br.com.code.enterprise.specification.internal.AndSpecification;
+import br.com.code.enterprise.specification.internal.compiler.SpecificationCompiler;
+import br.com.code.enterprise.specification.internal.specs.AllOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdRangeSpecification;
 import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.KeysetPage;
 import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.store.PrimaryKeyStore;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class EntityStubRepository implements Repository<Entity, Long> {
 
-    private final List<Entity> list;
+    private final PrimaryKeyStore<Entity> store;
 
     public EntityStubRepository() {
-        this.list = new ArrayList<>();
+        this.store = new PrimaryKeyStore<>();
     }
 
     @Override
     public Entity save(Entity entity) {
-        entity.setId((long) (list.size() + 1));
-        list.add(entity);
+        entity.setId(store.nextId());
+        store.put(entity.getId(), entity);
         return entity;
     }
 
     @Override
     public Optional<Entity> findById(Class<Entity> entityType, Long aLong) {
-        return list.stream()
-                .filter(entity -> entity.getId().equals(aLong))
-                .findFirst();
+        return Optional.ofNullable(store.get(aLong));
     }
 
     @Override
     public List<Entity> findAll(Specification<Entity> specification) {
-        return list.stream()
-                .filter(specification::isSatisfiedBy)
+        return source(specification, null)
+                .filter(SpecificationCompiler.compile(specification))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Entity> findAll(Specification<Entity> specification, ParallelQuery query) {
+        return ParallelScanner.findAll(store.values(), SpecificationCompiler.compile(specification), query);
+    }
+
     @Override
     public Optional<Entity> findOne(Specification<Entity> specification) {
-        return list.stream()
-                .filter(specification::isSatisfiedBy)
+        return source(specification, null)
+                .filter(SpecificationCompiler.compile(specification))
                 .findFirst();
     }
 
+    @Override
+    public Stream<Entity> stream(Specification<Entity> specification) {
+        return source(specification, null).filter(SpecificationCompiler.compile(specification));
+    }
+
+    @Override
+    public KeysetPage<Entity, Long> findPage(Specification<Entity> specification, Long afterId, int limit) {
+        Stream<Entity> matches = source(specification, afterId).filter(SpecificationCompiler.compile(specification));
+        return KeysetPage.of(matches.iterator(), limit, Entity::getId);
+    }
+
     @Override
     public void delete(Entity entity) {
-        list.removeIf(e -> e.getId().equals(entity.getId()));
+        store.remove(entity.getId());
     }
 
     @Override
     public Entity update(Entity entity) {
-        for (int i = 0; i < list.size(); i++) {
-            if (list.get(i).getId().equals(entity.getId())) {
-                list.set(i, entity);
-                return entity;
+        if (store.replace(entity.getId(), entity) == null) {
+            throw new IllegalArgumentException("Entity not found for update: " + entity);
+        }
+
+        return entity;
+    }
+
+    /**
+     * Reserva o bloco de ids do lote com uma única operação na sequência.
+     */
+    @Override
+    public BatchResult<Entity> saveAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        long id = store.reserveIds(entities.size());
+        for (Entity entity : entities) {
+            entity.setId(id++);
+            store.put(entity.getId(), entity);
+        }
+        return BatchResult.since(start, new ArrayList<>(entities));
+    }
+
+    @Override
+    public BatchResult<Entity> updateAll(Collection<Entity> entities) {
+        long start = System.nanoTime();
+        for (Entity entity : entities) {
+            if (!store.contains(entity.getId())) {
+                throw new IllegalArgumentException("Entity not found for update: " + entity);
             }
         }
 
-        throw new IllegalArgumentException("Entity not found for update: " + entity);
+        entities.forEach(entity -> store.replace(entity.getId(), entity));
+        return BatchResult.since(start, new ArrayList<>(entities));
+    }
+
+    @Override
+    public BatchResult<Entity> deleteAllById(Collection<Long> ids) {
+        long start = System.nanoTime();
+        List<Entity> removed = new ArrayList<>();
+        for (Long id : ids) {
+            Entity entity = store.remove(id);
+            if (entity != null) {
+                removed.add(entity);
+            }
+        }
+        return BatchResult.since(start, removed);
+    }
+
+    @Override
+    public BatchResult<Entity> deleteAll(Specification<Entity> specification) {
+        long start = System.nanoTime();
+        List<Entity> removed = new ArrayList<>();
+        source(specification, null).filter(SpecificationCompiler.compile(specification)).toList().forEach(entity -> {
+            if (store.remove(entity.getId()) != null) {
+                removed.add(entity);
+            }
+        });
+        return BatchResult.since(start, removed);
+    }
+
+    /**
+     * Entidades a avaliar, em ordem de id e após {@code afterId}. Quando a especificação exige um intervalo de ids
+     * ({@link IdRangeSpecification} na raiz ou como termo de um AND), apenas a fatia correspondente do armazenamento é
+     * percorrida; a especificação completa continua sendo aplicada pelo chamador.
+     */
+    private Stream<Entity> source(Specification<Entity> specification, Long afterId) {
+        IdRangeSpecification<?> range = requiredRange(specification);
+        if (range == null) {
+            return store.streamAfter(afterId);
+        }
+        if (afterId != null && afterId >= range.getMaxId()) {
+            return Stream.empty();
+        }
+
+        long from = afterId == null ? range.getMinId() : Math.max(range.getMinId(), afterId + 1);
+        return store.streamBetween(from, range.getMaxId());
+    }
+
+    private static IdRangeSpecification<?> requiredRange(Specification<Entity> specification) {
+        if (specification instanceof IdRangeSpecification<?> s) {
+            return s.getMinId() != null && s.getMaxId() != null ? s : null;
+        }
+        if (specification instanceof AndSpecification<Entity> and) {
+            IdRangeSpecification<?> left = requiredRange(and.getLeft());
+            return left != null ? left : requiredRange(and.getRight());
+        }
+        if (specification instanceof AllOfSpecification<Entity> allOf) {
+            for (Specification<Entity> spec : allOf.getSpecifications()) {
+                IdRangeSpecification<?> range = requiredRange(spec);
+                if (range != null) {
+                    return range;
+                }
+            }
+        }
+        return null;
     }
 }
@@ -0,0 +1,229 @@
+package br.com.code.enterprise.repository;
+
+import br.com.code.enterprise.repository.cache.CacheOptions;
+import br.com.code.enterprise.repository.cache.CacheStats;
+import br.com.code.enterprise.repository.cache.CachingRepository;
+import br.com.code.enterprise.repository.stub.EntityStubRepository;
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.specification.BaseSpecificationTest;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingRepositoryTest {
+
+    @Test
+    @DisplayName("Deve atender leituras repetidas do cache e refletir escritas diretas no repositório")
+    public void testHitsAndWriteThrough() {
+        // Given
+        CountingRepository delegate = new CountingRepository(10);
+        CachingRepository<Entity, Long> cache = new CachingRepository<>(delegate, Entity::getId);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            cache.findById(1L);
+        }
+        cache.findById(99L);
+        cache.findById(99L);
+        Entity renamed = cache.findById(2L).orElseThrow();
+        renamed.setName("Renomeada");
+        cache.save(renamed);
+        cache.deleteById(3L);
+
+        // Then
+        CacheStats stats = cache.stats();
+        assertEquals(4, stats.getHitCount());
+        assertEquals(4, stats.getMissCount());
+        assertEquals(4, stats.getLoadCount());
+        assertEquals(4, delegate.loads.get());
+        assertTrue(stats.getTotalLoadTimeNanos() > 0);
+        assertEquals(Optional.empty(), cache.findById(3L));
+        assertFalse(delegate.findById(3L).isPresent());
+        assertEquals("Renomeada", cache.findById(renamed.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Deve preservar o conjunto quente durante uma varredura de ids acessados uma única vez")
+    public void testScanResistance() {
+        // Given
+        CountingRepository delegate = new CountingRepository(2_000);
+        CachingRepository<Entity, Long> cache = new CachingRepository<>(delegate, Entity::getId,
+                CacheOptions.builder().maximumSize(100).build());
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1; id <= 50; id++) {
+                cache.findById(id);
+            }
+        }
+
+        // When
+        for (long id = 51; id <= 2_000; id++) {
+            cache.findById(id);
+        }
+        long loadsBefore = delegate.loads.get();
+        for (long id = 1; id <= 50; id++) {
+            cache.findById(id);
+        }
+
+        // Then
+        assertTrue(delegate.loads.get() - loadsBefore <= 5,
+                "O conjunto quente deve sobreviver à varredura: " + (delegate.loads.get() - loadsBefore) + " recargas");
+        assertTrue(cache.estimatedSize() <= 100);
+        assertTrue(cache.stats().getEvictionCount() >= 1_900);
+    }
+
+    @Test
+    @DisplayName("Deve combinar misses concorrentes pelo mesmo id em uma única carga")
+    public void testConcurrentMissesCoalesce() throws Exception {
+        // Given
+        CountingRepository delegate = new CountingRepository(1);
+        delegate.release = new CountDownLatch(1);
+        CachingRepository<Entity, Long> cache = new CachingRepository<>(delegate, Entity::getId);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<Optional<Entity>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> cache.findById(1L)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (cache.stats().getMissCount() < 8 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        delegate.release.countDown();
+
+        // Then
+        Entity first = results.get(0).get(10, TimeUnit.SECONDS).orElseThrow();
+        for (Future<Optional<Entity>> result : results) {
+            assertSame(first, result.get(10, TimeUnit.SECONDS).orElseThrow());
+        }
+        assertEquals(1, delegate.loads.get());
+        assertEquals(1, cache.stats().getLoadCount());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve agrupar saves e removes em lotes no modo write-behind")
+    public void testWriteBehindBatches() {
+        // Given
+        CountingRepository delegate = new CountingRepository(0);
+        CacheOptions options = CacheOptions.builder().writeBehind(true)
+                .writeBehindDelay(Duration.ofHours(1)).writeBehindBatchSize(1_000).build();
+
+        try (CachingRepository<Entity, Long> cache = new CachingRepository<>(delegate, Entity::getId, options)) {
+            // When
+            for (int i = 0; i < 10; i++) {
+                cache.save(new Entity("E" + i));
+            }
+            assertEquals(10, cache.stats().getPendingWrites());
+            assertEquals(0, delegate.saveAllCalls.get());
+            List<Entity> all = cache.findAll(ConstantSpecification.alwaysTrue());
+
+            cache.deleteById(all.get(0).getId());
+            cache.deleteById(all.get(1).getId());
+            cache.delete(all.get(2));
+            Entity unsaved = new Entity("Descartada");
+            cache.save(unsaved);
+            cache.delete(unsaved);
+
+            // Then
+            assertEquals(10, all.size());
+            assertEquals(1, delegate.saveAllCalls.get());
+            assertEquals(Optional.empty(), cache.findById(all.get(0).getId()));
+            assertTrue(delegate.findById(all.get(0).getId()).isPresent());
+            cache.flush();
+            assertEquals(1, delegate.deleteAllCalls.get());
+            assertEquals(7, delegate.findAll().size());
+            assertEquals(0, cache.stats().getPendingWrites());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar o id anterior quando o repositório atribui outro id ao gravar o lote")
+    public void testWriteBehindReassignedId() {
+        // Given
+        CountingRepository delegate = new CountingRepository(1);
+        CacheOptions options = CacheOptions.builder().writeBehind(true)
+                .writeBehindDelay(Duration.ofHours(1)).build();
+
+        try (CachingRepository<Entity, Long> cache = new CachingRepository<>(delegate, Entity::getId, options)) {
+            cache.findById(1L);
+            Entity replacement = new Entity("B");
+            replacement.setId(1L);
+
+            // When
+            cache.save(replacement);
+            assertEquals("B", cache.findById(1L).orElseThrow().getName());
+            cache.flush();
+
+            // Then
+            Entity original = cache.findById(1L).orElseThrow();
+            assertEquals(1L, original.getId());
+            assertEquals("E0", original.getName());
+            Entity reassigned = cache.findById(replacement.getId()).orElseThrow();
+            assertEquals(2L, reassigned.getId());
+            assertEquals("B", reassigned.getName());
+            assertEquals(delegate.findById(1L).orElseThrow().getName(), cache.findById(1L).orElseThrow().getName());
+        }
+    }
+
+    /**
+     * Conta as buscas por id e os lotes recebidos; com {@code release}, cada busca aguarda a liberação.
+     */
+    private static final class CountingRepository extends EntityStubRepository {
+        private final AtomicInteger loads = new AtomicInteger();
+        private final AtomicInteger saveAllCalls = new AtomicInteger();
+        private final AtomicInteger deleteAllCalls = new AtomicInteger();
+        private volatile CountDownLatch release;
+
+        /**
+         * @param count quantidade de entidades de {@link BaseSpecificationTest#entities(int)} gravadas de início
+         */
+        private CountingRepository(int count) {
+            BaseSpecificationTest.entities(count).forEach(this::save);
+        }
+
+        @Override
+        public Optional<Entity> findById(Long id) {
+            loads.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.findById(id);
+        }
+
+        @Override
+        public BatchResult<Entity> saveAll(Collection<Entity> entities) {
+            saveAllCalls.incrementAndGet();
+            return super.saveAll(entities);
+        }
+
+        @Override
+        public BatchResult<Entity> deleteAllById(Collection<Long> ids) {
+            deleteAllCalls.incrementAndGet();
+            return super.deleteAllById(ids);
+        }
+    }
+}
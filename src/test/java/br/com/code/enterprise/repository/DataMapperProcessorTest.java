@@ -0,0 +1,249 @@
+package br.com.code.enterprise.repository;
+
+import br.com.code.enterprise.repository.mapper.GenerateMapper;
+import br.com.code.enterprise.repository.mapper.processor.DataMapperProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DataMapperProcessorTest {
+
+    @TempDir
+    Path generated;
+
+    @Test
+    @DisplayName("Deve gerar a cópia campo a campo entre classe e record nos dois sentidos")
+    public void testGeneratedConversions() {
+        // Given
+        DataMapper<Product, ProductDto> mapper = new DataMapperProcessorTest_ProductMapperImpl();
+        Product product = new Product();
+        product.setId(7L);
+        product.setName("Caneta");
+        product.setActive(true);
+        product.setPrice(new BigDecimal("2.50"));
+
+        // When
+        ProductDto dto = mapper.toDto(product);
+        Product back = mapper.toEntity(dto);
+
+        // Then
+        assertEquals(new ProductDto(7L, "Caneta", true, new BigDecimal("2.50")), dto);
+        assertEquals(7L, back.getId());
+        assertEquals("Caneta", back.getName());
+        assertTrue(back.isActive());
+        assertEquals(new BigDecimal("2.50"), back.getPrice());
+        assertNull(mapper.toDto(null));
+    }
+
+    @Test
+    @DisplayName("Deve converter listas preservando a ordem nos caminhos sequencial e paralelo")
+    public void testListConversions() {
+        // Given
+        DataMapper<Product, ProductDto> mapper = new DataMapperProcessorTest_ProductMapperImpl();
+        List<Product> small = products(10, new ArrayList<>());
+        List<Product> large = products(5_000, new LinkedList<>());
+
+        // When
+        List<ProductDto> sequential = mapper.toDtoList(small);
+        List<ProductDto> parallel = mapper.toDtoList(large);
+        List<Product> back = mapper.toEntityList(parallel);
+
+        // Then
+        assertEquals(IntStream.range(0, 10).mapToObj(i -> "P" + i).toList(),
+                sequential.stream().map(ProductDto::name).toList());
+        assertEquals(IntStream.range(0, 5_000).mapToObj(i -> "P" + i).toList(),
+                parallel.stream().map(ProductDto::name).toList());
+        assertEquals(4_999L, back.get(4_999).getId());
+        assertThrows(UnsupportedOperationException.class, () -> parallel.add(null));
+    }
+
+    @Test
+    @DisplayName("Deve preservar métodos já implementados pelo mapeador anotado")
+    public void testKeepsHandWrittenMethods() {
+        // Given
+        DataMapper<Product, ProductDto> mapper = new DataMapperProcessorTest_UpperCaseMapperImpl();
+        Product product = new Product();
+        product.setName("caneta");
+
+        // When
+        ProductDto dto = mapper.toDto(product);
+
+        // Then
+        assertEquals("CANETA", dto.name());
+        assertEquals(List.of("CANETA"), mapper.toDtoList(List.of(product)).stream().map(ProductDto::name).toList());
+    }
+
+    @Test
+    @DisplayName("Deve falhar a compilação quando propriedades homônimas têm tipos incompatíveis")
+    public void testIncompatibleTypesFailCompilation() {
+        // Given
+        String source = """
+                package sample;
+
+                import br.com.code.enterprise.repository.DataMapper;
+                import br.com.code.enterprise.repository.mapper.GenerateMapper;
+
+                @GenerateMapper
+                public interface BrokenMapper extends DataMapper<BrokenMapper.Source, BrokenMapper.Target> {
+                    record Source(String amount) {
+                    }
+
+                    record Target(long amount) {
+                    }
+                }
+                """;
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        // When
+        boolean compiled = process("sample/BrokenMapper.java", source, diagnostics);
+
+        // Then
+        assertFalse(compiled);
+        assertTrue(diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .anyMatch(diagnostic -> diagnostic.getMessage(null).contains("Property 'amount'")));
+    }
+
+    @Test
+    @DisplayName("Deve avisar, sem falhar a compilação, sobre propriedades do destino sem origem")
+    public void testUnmappedTargetPropertyWarns() {
+        // Given
+        String source = """
+                package sample;
+
+                import br.com.code.enterprise.repository.DataMapper;
+                import br.com.code.enterprise.repository.mapper.GenerateMapper;
+
+                @GenerateMapper
+                public interface PartialMapper extends DataMapper<PartialMapper.Item, PartialMapper.ItemDto> {
+                    class Item {
+                        private String name;
+                        public String internalCode;
+
+                        public String getName() {
+                            return name;
+                        }
+
+                        public void setName(String name) {
+                            this.name = name;
+                        }
+                    }
+
+                    record ItemDto(String name) {
+                    }
+                }
+                """;
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        // When
+        boolean compiled = process("sample/PartialMapper.java", source, diagnostics);
+
+        // Then
+        assertTrue(compiled);
+        assertTrue(diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.WARNING)
+                .anyMatch(diagnostic -> diagnostic.getMessage(null).contains("Unmapped target property 'internalCode'")));
+    }
+
+    /**
+     * Executa apenas o processamento de anotações sobre o fonte, de modo que os diagnósticos ficam no coletor e não
+     * na saída do build; os fontes gerados vão para um diretório temporário.
+     */
+    private boolean process(String path, String source, DiagnosticCollector<JavaFileObject> diagnostics) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + path), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        return compiler.getTask(null, null, diagnostics,
+                List.of("-proc:only", "-processor", DataMapperProcessor.class.getName(),
+                        "-classpath", System.getProperty("java.class.path"), "-s", generated.toString()),
+                null, List.of(file)).call();
+    }
+
+    private static List<Product> products(int count, List<Product> target) {
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setId((long) i);
+            product.setName("P" + i);
+            target.add(product);
+        }
+        return target;
+    }
+
+    @GenerateMapper(parallelThreshold = 1_000)
+    public interface ProductMapper extends DataMapper<Product, ProductDto> {
+    }
+
+    @GenerateMapper
+    public abstract static class UpperCaseMapper implements DataMapper<Product, ProductDto> {
+        @Override
+        public ProductDto toDto(Product entity) {
+            return new ProductDto(entity.getId(), entity.getName().toUpperCase(), entity.isActive(), entity.getPrice());
+        }
+    }
+
+    public static class Product {
+        private Long id;
+        private String name;
+        private boolean active;
+        private BigDecimal price;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+    }
+
+    public record ProductDto(Long id, String name, boolean active, BigDecimal price) {
+    }
+}
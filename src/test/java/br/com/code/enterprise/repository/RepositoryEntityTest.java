@@ -8,6 +8,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 public class RepositoryEntityTest {
 
     private EntityStubRepository repository;
@@ -79,4 +85,32 @@ public class RepositoryEntityTest {
         Assertions.assertEquals(1, entities.size());
         Assertions.assertEquals("Entity 1", entities.get(0).getName());
     }
+
+    @Test
+    public void testIdsAreNotReusedAfterDelete() {
+        var first = repository.save(new Entity("Entity 1"));
+        var second = repository.save(new Entity("Entity 2"));
+        repository.delete(first);
+
+        var third = repository.save(new Entity("Entity 3"));
+        Assertions.assertNotEquals(second.getId(), third.getId());
+        Assertions.assertEquals(second.getId(), repository.findById(second.getId()).orElseThrow().getId());
+        Assertions.assertEquals(2, repository.findAll().size());
+    }
+
+    @Test
+    public void testConcurrentSavesProduceUniqueIds() throws InterruptedException {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            int index = i;
+            executor.execute(() -> ids.add(repository.save(new Entity("Entity " + index)).getId()));
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(1000, ids.size());
+        Assertions.assertEquals(1000, repository.findAll().size());
+        ids.forEach(id -> Assertions.assertTrue(repository.findById(id).isPresent()));
+    }
 }
@@ -0,0 +1,88 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.AdaptiveOrdering;
+import br.com.code.enterprise.specification.internal.specs.AllOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.AnyOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.CustomSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameMatchesRegexSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveSpecificationTest extends BaseSpecificationTest {
+
+    @Test
+    @DisplayName("Deve mover para o início a especificação mais seletiva em uma conjunção adaptativa")
+    public void testAllOfMovesSelectiveSpecificationFirst() {
+        // Given
+        Specification<Entity> expensive = new NameMatchesRegexSpecification<>("Entity \\d+");
+        Specification<Entity> selective = new ActiveSpecification<>();
+        AllOfSpecification<Entity> specification = new AllOfSpecification<>(expensive, selective).adaptive(1, 10);
+
+        // When
+        List<Entity> result = null;
+        for (int i = 0; i < 10; i++) {
+            result = repository.findAll(specification);
+        }
+
+        // Then
+        List<AdaptiveOrdering.Statistics> statistics = specification.getAdaptiveOrdering().getStatistics();
+        assertSame(selective, statistics.get(0).getSpecification(), "A especificação seletiva deve ser avaliada primeiro");
+        assertEquals(1.0, statistics.get(1).getPassRate(), "A expressão regular aprova todas as entidades");
+        assertTrue(specification.getAdaptiveOrdering().getReorderCount() > 0, "Deveria ter ocorrido reordenação");
+        assertEquals(25, result.size(), "A reordenação não pode alterar o resultado");
+    }
+
+    @Test
+    @DisplayName("Deve mover para o início a especificação mais provável em uma disjunção adaptativa")
+    public void testAnyOfMovesLikelySpecificationFirst() {
+        // Given
+        Specification<Entity> never = new CustomSpecification<>(entity -> entity.getId() < 0, "ID negativo");
+        Specification<Entity> always = new CustomSpecification<>(entity -> entity.getId() > 0, "ID positivo");
+        AnyOfSpecification<Entity> specification = new AnyOfSpecification<>(never, always).adaptive(1, 10);
+
+        // When
+        List<Entity> result = null;
+        for (int i = 0; i < 10; i++) {
+            result = repository.findAll(specification);
+        }
+
+        // Then
+        assertSame(always, specification.getAdaptiveOrdering().getStatistics().get(0).getSpecification(),
+                "A especificação que sempre aprova deve ser avaliada primeiro");
+        assertEquals(50, result.size(), "A reordenação não pode alterar o resultado");
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar a mudança de seletividade sem ficar presa ao histórico")
+    public void testStatisticsDecay() {
+        // Given
+        AtomicBoolean shifted = new AtomicBoolean();
+        Specification<Entity> first = new CustomSpecification<>(entity -> shifted.get(), "Aprova após a mudança");
+        Specification<Entity> second = new CustomSpecification<>(entity -> !shifted.get(), "Aprova antes da mudança");
+        AllOfSpecification<Entity> specification = new AllOfSpecification<>(second, first).adaptive(1, 10);
+        Entity entity = Entity.builder().id(1L).build();
+        for (int i = 0; i < 10_000; i++) {
+            specification.isSatisfiedBy(entity);
+        }
+        assertSame(first, specification.getAdaptiveOrdering().getStatistics().get(0).getSpecification());
+
+        // When
+        shifted.set(true);
+        for (int i = 0; i < 200; i++) {
+            specification.isSatisfiedBy(entity);
+        }
+
+        // Then
+        assertSame(second, specification.getAdaptiveOrdering().getStatistics().get(0).getSpecification(),
+                "As amostras antigas devem perder peso a cada reordenação");
+    }
+}
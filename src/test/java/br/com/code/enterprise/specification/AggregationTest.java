@@ -0,0 +1,179 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.repository.support.ParallelQuery;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.CustomSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.aggregate.EntityStatistics;
+import br.com.code.enterprise.specification.repository.cache.CachingSpecificationRepository;
+import br.com.code.enterprise.specification.repository.columnar.ColumnarEntityRepository;
+import br.com.code.enterprise.specification.repository.indexed.IndexedEntityRepository;
+import br.com.code.enterprise.specification.repository.mvcc.MvccEntityRepository;
+import br.com.code.enterprise.specification.repository.offheap.OffHeapEntityRepository;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static br.com.code.enterprise.specification.BaseSpecificationTest.populateVaried;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class AggregationTest {
+
+    private static final List<Specification<Entity>> SPECIFICATIONS = List.of(
+            ConstantSpecification.alwaysTrue(),
+            ConstantSpecification.alwaysFalse(),
+            new ActiveSpecification<>(),
+            new PriceBetweenSpecification<>(100.0, 400.0),
+            new CustomSpecification<>(entity -> entity.getId() % 7 == 0, "Id múltiplo de 7"));
+
+    @Test
+    @DisplayName("Deve coincidir com a agregação sobre a lista completa em todos os repositórios")
+    public void testSameResultAsFoldOverList() {
+        // Given
+        List<Supplier<Repository<Entity, Long>>> repositories = List.of(
+                EntityStubRepository::new, IndexedEntityRepository::new, ColumnarEntityRepository::new,
+                MvccEntityRepository::new, OffHeapEntityRepository::new,
+                () -> new CachingSpecificationRepository(new IndexedEntityRepository()));
+
+        for (Supplier<Repository<Entity, Long>> factory : repositories) {
+            Repository<Entity, Long> repository = populateVaried(factory.get(), 500, 11);
+
+            for (Specification<Entity> specification : SPECIFICATIONS) {
+                List<Entity> all = repository.findAll(specification);
+                String context = repository.getClass().getSimpleName() + " " + specification;
+
+                // When
+                EntityStatistics statistics = repository.aggregate(specification, EntityStatistics.statistics());
+                Map<Boolean, EntityStatistics> byActive = repository.aggregate(specification, EntityStatistics.byActive());
+
+                // Then
+                assertStatistics(all, statistics, context);
+                assertStatistics(all.stream().filter(Entity::isActive).toList(), byActive.get(true), context);
+                assertStatistics(all.stream().filter(entity -> !entity.isActive()).toList(), byActive.get(false), context);
+                assertEquals(all.stream().map(Entity::getName).collect(Collectors.toSet()),
+                        repository.aggregate(specification, Collectors.mapping(Entity::getName, Collectors.toSet())));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve combinar os parciais da agregação paralela no mesmo resultado sequencial")
+    public void testParallelPartials() {
+        // Given
+        Repository<Entity, Long> indexed = populateVaried(new IndexedEntityRepository(), 20_000, 11);
+        ParallelQuery query = ParallelQuery.builder().threshold(1_000).chunkSize(500).build();
+        Specification<Entity> expensive = new PriceBetweenSpecification<>(100.0, 300.0);
+
+        // When
+        EntityStatistics parallel = indexed.aggregate(expensive, EntityStatistics.statistics(), query);
+        List<Long> ids = indexed.aggregate(new ActiveSpecification<>(),
+                Collectors.mapping(Entity::getId, Collectors.toList()), query);
+
+        // Then
+        assertStatistics(indexed.findAll(expensive), parallel, "paralelo");
+        assertEquals(indexed.findAll(new ActiveSpecification<>()).stream().map(Entity::getId).toList(), ids,
+                "Os parciais devem ser combinados na ordem das partes");
+    }
+
+    @Test
+    @DisplayName("Deve manter o resumo dos índices correto após atualizações e remoções")
+    public void testIndexSummaryAfterWrites() {
+        // Given
+        Repository<Entity, Long> indexed = populateVaried(new IndexedEntityRepository(), 300, 11);
+
+        // When
+        for (long id = 1; id <= 100; id++) {
+            if (id % 3 == 0) {
+                indexed.delete(Entity.builder().id(id).build());
+            } else {
+                Entity entity = indexed.findById(Entity.class, id).orElseThrow();
+                entity.setPrice(id % 2 == 0 ? null : new BigDecimal("0.00001").multiply(BigDecimal.valueOf(id)));
+                entity.setCreated(id % 5 == 0 ? null : new Date(id));
+                indexed.update(entity);
+            }
+        }
+
+        // Then
+        assertStatistics(indexed.findAll(ConstantSpecification.alwaysTrue()),
+                indexed.aggregate(ConstantSpecification.alwaysTrue(), EntityStatistics.statistics()), "resumo");
+    }
+
+    @Test
+    @DisplayName("Deve devolver o resumo dos índices na mesma escala da agregação entidade a entidade")
+    public void testIndexSummaryScale() {
+        // Given
+        Repository<Entity, Long> indexed = populateVaried(new IndexedEntityRepository(), 300, 11);
+        Repository<Entity, Long> stub = populateVaried(new EntityStubRepository(), 300, 11);
+        Specification<Entity> all = ConstantSpecification.alwaysTrue();
+
+        // When
+        EntityStatistics summary = indexed.aggregate(all, EntityStatistics.statistics());
+        EntityStatistics scanned = stub.aggregate(all, EntityStatistics.statistics());
+
+        // Then
+        assertEquals(scanned.getPriceMin(), summary.getPriceMin());
+        assertEquals(scanned.getPriceMax(), summary.getPriceMax());
+        assertEquals(scanned.getPriceSum(), summary.getPriceSum());
+        assertEquals(scanned.getPriceAverage(), summary.getPriceAverage());
+    }
+
+    @Test
+    @DisplayName("Deve somar preços cuja soma estoura o ponto fixo em long")
+    public void testSumOverflow() {
+        // Given
+        EntityStatistics left = new EntityStatistics();
+        EntityStatistics right = new EntityStatistics();
+        BigDecimal huge = new BigDecimal("900000000000000");
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            (i % 2 == 0 ? left : right).accept(Entity.builder().price(huge).build());
+        }
+        EntityStatistics total = left.combine(right);
+
+        // Then
+        assertEquals(0, huge.multiply(BigDecimal.valueOf(20)).compareTo(total.getPriceSum()));
+        assertEquals(0, huge.compareTo(total.getPriceAverage()));
+        assertNull(new EntityStatistics().getPriceAverage());
+        assertNull(new EntityStatistics().getCreatedMin());
+    }
+
+    private static void assertStatistics(List<Entity> entities, EntityStatistics statistics, String context) {
+        List<BigDecimal> prices = entities.stream().map(Entity::getPrice).filter(Objects::nonNull).toList();
+        List<Date> dates = entities.stream().map(Entity::getCreated).filter(Objects::nonNull).toList();
+        BigDecimal sum = prices.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertEquals(entities.size(), statistics.getCount(), context);
+        assertEquals(prices.size(), statistics.getPriceCount(), context);
+        assertEquals(0, sum.compareTo(statistics.getPriceSum()), context);
+        assertEquals(prices.stream().min(Comparator.naturalOrder()).orElse(null), normalize(statistics.getPriceMin(), prices), context);
+        assertEquals(prices.stream().max(Comparator.naturalOrder()).orElse(null), normalize(statistics.getPriceMax(), prices), context);
+        assertEquals(dates.stream().min(Comparator.naturalOrder()).orElse(null), statistics.getCreatedMin(), context);
+        assertEquals(dates.stream().max(Comparator.naturalOrder()).orElse(null), statistics.getCreatedMax(), context);
+        if (!prices.isEmpty()) {
+            assertEquals(0, sum.divide(BigDecimal.valueOf(prices.size()), MathContext.DECIMAL64)
+                    .compareTo(statistics.getPriceAverage()), context);
+        }
+    }
+
+    /**
+     * A escala do extremo pode diferir da escala original; compara pelo valor numérico.
+     */
+    private static BigDecimal normalize(BigDecimal value, List<BigDecimal> prices) {
+        return value == null ? null : prices.stream().filter(price -> price.compareTo(value) == 0).findFirst().orElse(value);
+    }
+}
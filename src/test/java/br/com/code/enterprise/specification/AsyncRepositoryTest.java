@@ -0,0 +1,355 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.CancellationSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.CustomSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.EntityOrder;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.aggregate.EntityStatistics;
+import br.com.code.enterprise.specification.repository.async.AsyncRepository;
+import br.com.code.enterprise.specification.repository.cache.CachingSpecificationRepository;
+import br.com.code.enterprise.specification.repository.columnar.ColumnarEntityRepository;
+import br.com.code.enterprise.specification.repository.indexed.IndexedEntityRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static br.com.code.enterprise.specification.BaseSpecificationTest.ids;
+import static br.com.code.enterprise.specification.BaseSpecificationTest.populate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncRepositoryTest {
+
+    @Test
+    @DisplayName("Deve disparar várias consultas em paralelo com os mesmos resultados das chamadas bloqueantes")
+    public void testFanOut() throws Exception {
+        // Given
+        Repository<Entity, Long> repository = populate(new IndexedEntityRepository(), 1_000);
+        PriceGreaterThanSpecification<Entity> expensive = new PriceGreaterThanSpecification<>(500.0);
+
+        try (AsyncRepository<Entity, Long> async = new AsyncRepository<>(repository)) {
+            // When
+            CompletableFuture<List<Entity>> all = async.findAll(expensive);
+            CompletableFuture<Long> active = async.count(new ActiveSpecification<>());
+            CompletableFuture<List<Entity>> cheapest = async.findAll(new ActiveSpecification<>(), EntityOrder.PRICE_ASC, 5);
+            CompletableFuture<EntityStatistics> statistics = async.aggregate(expensive, EntityStatistics.statistics());
+            CompletableFuture<Entity> saved = async.save(Entity.builder().name("Nova").build());
+            CompletableFuture.allOf(all, active, cheapest, statistics, saved).get(10, TimeUnit.SECONDS);
+
+            // Then
+            assertEquals(ids(repository.findAll(expensive)), ids(all.get()));
+            assertEquals(repository.count(new ActiveSpecification<>()), active.get());
+            assertEquals(ids(repository.findAll(new ActiveSpecification<>(), EntityOrder.PRICE_ASC, 5)), ids(cheapest.get()));
+            assertEquals(all.get().size(), statistics.get().getCount());
+            assertTrue(repository.findById(Entity.class, saved.get().getId()).isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve interromper a varredura em andamento quando o future é cancelado")
+    public void testCancellationStopsScan() throws Exception {
+        // Given
+        Repository<Entity, Long> repository = populate(new IndexedEntityRepository(), 10_000);
+        BlockingPredicate predicate = new BlockingPredicate(100);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AsyncRepository<Entity, Long> async = new AsyncRepository<>(repository, executor);
+
+        // When
+        CompletableFuture<List<Entity>> future = async.findAll(new CustomSpecification<>(predicate::test, "Bloqueante"));
+        assertTrue(predicate.reached.await(10, TimeUnit.SECONDS));
+        future.cancel(true);
+        predicate.release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertThrows(CancellationException.class, future::join);
+        assertTrue(predicate.evaluations.get() <= 101,
+                "A varredura deve parar logo após o cancelamento: " + predicate.evaluations.get());
+    }
+
+    @Test
+    @DisplayName("Deve interromper uma varredura seletiva em que nenhuma entidade satisfaz a especificação")
+    public void testCancellationStopsSelectiveScan() throws Exception {
+        for (Repository<Entity, Long> repository : List.<Repository<Entity, Long>>of(
+                populate(new IndexedEntityRepository(), 10_000), populate(new ColumnarEntityRepository(), 10_000))) {
+            // Given
+            BlockingPredicate predicate = new BlockingPredicate(100, false);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            AsyncRepository<Entity, Long> async = new AsyncRepository<>(repository, executor);
+            Specification<Entity> specification = new ActiveSpecification<Entity>()
+                    .and(new CustomSpecification<>(predicate::test, "Nenhuma"));
+
+            // When
+            CompletableFuture<List<Entity>> future = async.findAll(specification);
+            assertTrue(predicate.reached.await(10, TimeUnit.SECONDS));
+            future.cancel(true);
+            predicate.release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            // Then
+            assertThrows(CancellationException.class, future::join);
+            assertTrue(predicate.evaluations.get() <= 101,
+                    "A varredura deve parar logo após o cancelamento: " + predicate.evaluations.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve interromper a varredura de toda operação que recebe uma especificação")
+    public void testCancellationStopsEverySpecificationScan() throws Exception {
+        List<Function<AsyncRepository<Entity, Long>, Function<Specification<Entity>, CompletableFuture<?>>>> calls =
+                List.of(async -> async::count, async -> async::exists, async -> async::findOne,
+                        async -> spec -> async.findPage(spec, null, 10),
+                        async -> spec -> async.findAll(spec, EntityOrder.PRICE_ASC, 5),
+                        async -> async::deleteAll);
+
+        for (Function<AsyncRepository<Entity, Long>, Function<Specification<Entity>, CompletableFuture<?>>> call : calls) {
+            // Given
+            Repository<Entity, Long> repository = populate(new IndexedEntityRepository(), 10_000);
+            BlockingPredicate predicate = new BlockingPredicate(100, false);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            AsyncRepository<Entity, Long> async = new AsyncRepository<>(repository, executor);
+
+            // When
+            CompletableFuture<?> future = call.apply(async).apply(new CustomSpecification<>(predicate::test, "Nenhuma"));
+            assertTrue(predicate.reached.await(10, TimeUnit.SECONDS));
+            future.cancel(true);
+            predicate.release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            // Then
+            assertThrows(CancellationException.class, future::join);
+            assertTrue(predicate.evaluations.get() <= 101,
+                    "A varredura deve parar logo após o cancelamento: " + predicate.evaluations.get());
+            assertEquals(10_000, repository.count(ConstantSpecification.alwaysTrue()));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve responder pelos índices e colunas sem avaliar a verificação de cancelamento quando o plano é exato")
+    public void testExactPlansSkipCancellationCheck() {
+        for (Repository<Entity, Long> repository : List.<Repository<Entity, Long>>of(
+                populate(new IndexedEntityRepository(), 1_000), populate(new ColumnarEntityRepository(), 1_000))) {
+            // Given
+            Specification<Entity> exact = CancellationSpecification.guard(new ActiveSpecification<>(), () -> true);
+            Specification<Entity> everything = CancellationSpecification.guard(ConstantSpecification.alwaysTrue(),
+                    () -> true);
+            Specification<Entity> scanned = CancellationSpecification.guard(new ActiveSpecification<Entity>()
+                    .and(new CustomSpecification<>(entity -> true, "Linha a linha")), () -> true);
+
+            // When
+            long active = repository.count(exact);
+            boolean any = repository.exists(everything);
+
+            // Then
+            assertEquals(500, active);
+            assertTrue(any);
+            assertThrows(CancellationException.class, () -> repository.count(scanned));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar com as consultas síncronas as entradas do cache de consultas")
+    public void testCachedResultsIgnoreCancellationCheck() throws Exception {
+        // Given
+        CachingSpecificationRepository repository = new CachingSpecificationRepository(
+                populate(new IndexedEntityRepository(), 1_000));
+        PriceGreaterThanSpecification<Entity> expensive = new PriceGreaterThanSpecification<>(500.0);
+
+        try (AsyncRepository<Entity, Long> async = new AsyncRepository<>(repository)) {
+            // When
+            List<Entity> first = async.findAll(expensive).get(10, TimeUnit.SECONDS);
+            List<Entity> second = async.findAll(expensive).get(10, TimeUnit.SECONDS);
+            List<Entity> synchronous = repository.findAll(expensive);
+
+            // Then
+            assertEquals(ids(first), ids(second));
+            assertEquals(ids(first), ids(synchronous));
+            assertEquals(1, repository.getMissCount());
+            assertEquals(2, repository.getHitCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve expirar a chamada após o prazo e interromper a agregação em andamento")
+    public void testTimeout() throws Exception {
+        // Given
+        Repository<Entity, Long> repository = populate(new IndexedEntityRepository(), 10_000);
+        BlockingPredicate predicate = new BlockingPredicate(10);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AsyncRepository<Entity, Long> async = new AsyncRepository<>(repository, executor)
+                .withTimeout(Duration.ofMillis(50));
+
+        // When
+        CompletableFuture<Long> future = async.aggregate(new CustomSpecification<>(predicate::test, "Bloqueante"),
+                Collectors.counting());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        predicate.release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertInstanceOf(TimeoutException.class, failure.getCause());
+        assertTrue(predicate.evaluations.get() <= 11,
+                "A agregação deve parar logo após a expiração: " + predicate.evaluations.get());
+    }
+
+    @Test
+    @DisplayName("Deve publicar as entidades respeitando a demanda e parar ao cancelar a assinatura")
+    public void testPublisherBackpressure() throws Exception {
+        // Given
+        Repository<Entity, Long> repository = populate(new IndexedEntityRepository(), 50);
+        AtomicInteger evaluations = new AtomicInteger();
+        Specification<Entity> counted = new CustomSpecification<>(entity -> evaluations.incrementAndGet() > 0, "Contada");
+
+        try (AsyncRepository<Entity, Long> async = new AsyncRepository<>(repository)) {
+            // When
+            CollectingSubscriber complete = new CollectingSubscriber(Long.MAX_VALUE, Integer.MAX_VALUE);
+            async.publish(ConstantSpecification.alwaysTrue()).subscribe(complete);
+            CollectingSubscriber partial = new CollectingSubscriber(3, 7);
+            async.publish(counted).subscribe(partial);
+
+            // Then
+            assertTrue(complete.finished.await(10, TimeUnit.SECONDS));
+            assertEquals(ids(repository.findAll(ConstantSpecification.alwaysTrue())), complete.received);
+            assertTrue(complete.completed);
+            assertTrue(partial.finished.await(10, TimeUnit.SECONDS));
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), partial.received);
+            assertTrue(evaluations.get() <= 9, "A varredura deve acompanhar a demanda: " + evaluations.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve encerrar com TimeoutException a assinatura que não termina dentro do prazo")
+    public void testPublisherTimeout() throws Exception {
+        // Given
+        Repository<Entity, Long> repository = populate(new IndexedEntityRepository(), 50);
+
+        try (AsyncRepository<Entity, Long> async = new AsyncRepository<>(repository)) {
+            CollectingSubscriber stalled = new CollectingSubscriber(2, Integer.MAX_VALUE, false);
+
+            // When
+            async.withTimeout(Duration.ofMillis(50)).publish(ConstantSpecification.alwaysTrue()).subscribe(stalled);
+
+            // Then
+            assertTrue(stalled.finished.await(10, TimeUnit.SECONDS));
+            assertEquals(List.of(1L, 2L), stalled.received);
+            assertInstanceOf(TimeoutException.class, stalled.error);
+        }
+    }
+
+    /**
+     * Predicado que bloqueia na avaliação de número {@code blockAt} até ser liberado e responde sempre
+     * {@code matches}.
+     */
+    private static final class BlockingPredicate {
+        private final int blockAt;
+        private final boolean matches;
+        private final AtomicInteger evaluations = new AtomicInteger();
+        private final CountDownLatch reached = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private BlockingPredicate(int blockAt) {
+            this(blockAt, true);
+        }
+
+        private BlockingPredicate(int blockAt, boolean matches) {
+            this.blockAt = blockAt;
+            this.matches = matches;
+        }
+
+        private boolean test(Entity entity) {
+            if (evaluations.incrementAndGet() == blockAt) {
+                reached.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return matches;
+        }
+    }
+
+    /**
+     * Pede {@code batch} elementos por vez e cancela a assinatura após {@code cancelAfter} elementos; sem
+     * {@code renew}, pede apenas o primeiro lote.
+     */
+    private static final class CollectingSubscriber implements Flow.Subscriber<Entity> {
+        private final long batch;
+        private final int cancelAfter;
+        private final boolean renew;
+        private final List<Long> received = new ArrayList<>();
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+        private long outstanding;
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        private CollectingSubscriber(long batch, int cancelAfter) {
+            this(batch, cancelAfter, true);
+        }
+
+        private CollectingSubscriber(long batch, int cancelAfter, boolean renew) {
+            this.batch = batch;
+            this.cancelAfter = cancelAfter;
+            this.renew = renew;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            outstanding = batch;
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(Entity item) {
+            received.add(item.getId());
+            if (received.size() == cancelAfter) {
+                subscription.cancel();
+                finished.countDown();
+                return;
+            }
+            if (--outstanding == 0 && renew) {
+                outstanding = batch;
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            finished.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            finished.countDown();
+        }
+    }
+}
@@ -1,25 +1,72 @@
 package br.com.code.enterprise.specification;
 
 import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.Repository;
 import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
 import org.junit.jupiter.api.BeforeEach;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Random;
 
 public abstract class BaseSpecificationTest {
 
-    protected EntityStubRepository repository;
+    protected Repository<Entity, Long> repository;
     protected Date referenceDate;
 
     @BeforeEach
     public void setup() {
-        repository = new EntityStubRepository();
+        repository = createRepository();
         mockData(repository);
         referenceDate = new Date(System.currentTimeMillis() - 1000000000L); // ~11 days ago
     }
 
-    private void mockData(EntityStubRepository repository) {
+    protected Repository<Entity, Long> createRepository() {
+        return new EntityStubRepository();
+    }
+
+    /**
+     * Entidades {@code E0} a {@code E(count - 1)} sem id, ativas nos índices pares e com preço {@code índice * 100}.
+     */
+    public static List<Entity> entities(int count) {
+        List<Entity> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entities.add(Entity.builder().name("E" + i).active(i % 2 == 0).price(BigDecimal.valueOf(i * 100L)).build());
+        }
+        return entities;
+    }
+
+    public static <R extends Repository<Entity, Long>> R populate(R repository, int count) {
+        entities(count).forEach(repository::save);
+        return repository;
+    }
+
+    /**
+     * Preços e datas repetidos, nulos e não representáveis em ponto fixo, gerados a partir da semente.
+     */
+    public static <R extends Repository<Entity, Long>> R populateVaried(R repository, int count, long seed) {
+        Random random = new Random(seed);
+        long day = 24L * 60 * 60 * 1000;
+        for (int i = 0; i < count; i++) {
+            BigDecimal price = switch (random.nextInt(10)) {
+                case 0 -> null;
+                case 1 -> new BigDecimal("12.000001");
+                default -> BigDecimal.valueOf(random.nextInt(40) * 10L);
+            };
+            Date created = random.nextInt(8) == 0 ? null : new Date(1_700_000_000_000L + random.nextInt(20) * day / 3);
+            repository.save(Entity.builder().name("E" + random.nextInt(50)).description("D" + i)
+                    .active(random.nextBoolean()).price(price).created(created).build());
+        }
+        return repository;
+    }
+
+    public static List<Long> ids(List<Entity> entities) {
+        return entities.stream().map(Entity::getId).toList();
+    }
+
+    private void mockData(Repository<Entity, Long> repository) {
         for (int i = 1; i <= 50; i++) {
             Entity entity = Entity.builder()
                     .id((long) i)
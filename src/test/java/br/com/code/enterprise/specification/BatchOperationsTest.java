@@ -0,0 +1,103 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.repository.support.BatchResult;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameStartsWithSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.cache.CachingSpecificationRepository;
+import br.com.code.enterprise.specification.repository.columnar.ColumnarEntityRepository;
+import br.com.code.enterprise.specification.repository.indexed.IndexedEntityRepository;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchOperationsTest extends BaseSpecificationTest {
+
+    private List<Repository<Entity, Long>> repositories() {
+        return List.of(new EntityStubRepository(), new IndexedEntityRepository(), new ColumnarEntityRepository(),
+                new CachingSpecificationRepository(new IndexedEntityRepository()));
+    }
+
+    @Test
+    @DisplayName("Deve salvar, atualizar e remover em lote com o mesmo efeito das operações individuais")
+    public void testBatchWrites() {
+        for (Repository<Entity, Long> candidate : repositories()) {
+            // Given
+            List<Entity> entities = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                entities.add(Entity.builder().name("Lote " + i).price(BigDecimal.valueOf(i)).active(i % 2 == 0).build());
+            }
+
+            // When
+            BatchResult<Entity> saved = candidate.saveAll(entities);
+            List<Entity> cheap = candidate.findAll(new PriceGreaterThanSpecification<Entity>(900.0).not());
+            cheap.forEach(entity -> entity.setPrice(entity.getPrice().add(BigDecimal.valueOf(1_000))));
+            BatchResult<Entity> updated = candidate.updateAll(cheap);
+            BatchResult<Entity> removedById = candidate.deleteAllById(LongStream.rangeClosed(1, 100).boxed().toList());
+            BatchResult<Entity> removed = candidate.deleteAll(new ActiveSpecification<>());
+
+            // Then
+            String name = candidate.getClass().getSimpleName();
+            assertEquals(1_000, saved.getCount(), name);
+            assertEquals(LongStream.rangeClosed(1, 1_000).boxed().toList(), ids(saved.getEntities()), name);
+            assertEquals(901, updated.getCount(), name);
+            assertEquals(0, candidate.count(new PriceGreaterThanSpecification<Entity>(900.0).not()), name);
+            assertEquals(100, removedById.getCount(), name);
+            assertEquals(450, removed.getCount(), name);
+            assertEquals(450, candidate.count(ConstantSpecification.alwaysTrue()), name);
+            assertTrue(candidate.findAll(ConstantSpecification.alwaysTrue()).stream()
+                    .allMatch(entity -> entity.getId() > 100 && !entity.isActive()), name);
+            assertTrue(saved.getElapsedNanos() > 0 && removed.getElapsed().toNanos() > 0, name);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o lote de atualização inteiro quando uma entidade não existe")
+    public void testUpdateAllIsValidatedUpFront() {
+        for (Repository<Entity, Long> candidate : repositories()) {
+            // Given
+            candidate.saveAll(List.of(Entity.builder().name("A").build(), Entity.builder().name("B").build()));
+            Entity first = Entity.builder().id(1L).name("Alterado").build();
+            Entity missing = Entity.builder().id(99L).name("Inexistente").build();
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> candidate.updateAll(List.of(first, missing)));
+            assertEquals(0, candidate.count(new NameStartsWithSpecification<>("Alterado")),
+                    candidate.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o cache em lote apenas para as consultas afetadas")
+    public void testCacheInvalidationForBatches() {
+        // Given
+        CachingSpecificationRepository cache = new CachingSpecificationRepository(new IndexedEntityRepository());
+        cache.saveAll(List.of(Entity.builder().name("A").active(true).build(),
+                Entity.builder().name("B").active(false).build()));
+        Specification<Entity> active = new ActiveSpecification<>();
+        Specification<Entity> named = new NameStartsWithSpecification<>("Z");
+        cache.findAll(active);
+        cache.findAll(named);
+
+        // When
+        cache.deleteAllById(List.of(2L));
+        cache.saveAll(List.of(Entity.builder().name("C").active(true).build()));
+
+        // Then
+        assertEquals(List.of(1L, 3L), ids(cache.findAll(active)));
+        assertEquals(1, cache.getInvalidationCount());
+        assertTrue(cache.findAll(named).isEmpty());
+    }
+}
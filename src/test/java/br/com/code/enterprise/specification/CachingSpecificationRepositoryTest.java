@@ -0,0 +1,150 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.repository.support.ParallelQuery;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.AllOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.CustomSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdInCollectionSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameContainsSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameEqualsSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameMatchesRegexSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.cache.CachingSpecificationRepository;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class CachingSpecificationRepositoryTest extends BaseSpecificationTest {
+
+    @Override
+    protected Repository<Entity, Long> createRepository() {
+        return new CachingSpecificationRepository(new EntityStubRepository(), 4);
+    }
+
+    private CachingSpecificationRepository cache() {
+        return (CachingSpecificationRepository) repository;
+    }
+
+    @Test
+    @DisplayName("Deve considerar iguais especificações com a mesma estrutura")
+    public void testStructuralEquality() {
+        // Given
+        Predicate<Entity> predicate = entity -> entity.getId() > 10;
+
+        // Then
+        assertEquals(new ActiveSpecification<Entity>().and(new PriceGreaterThanSpecification<>(100.0)),
+                new ActiveSpecification<Entity>().and(new PriceGreaterThanSpecification<>(100.0)));
+        assertEquals(new NameEqualsSpecification<>("Entity 1").not().hashCode(),
+                new NameEqualsSpecification<>("Entity 1").not().hashCode());
+        assertEquals(new AllOfSpecification<Entity>(new ActiveSpecification<>(), new NameContainsSpecification<>("1")),
+                new AllOfSpecification<Entity>(new ActiveSpecification<>(), new NameContainsSpecification<>("1"))
+                        .adaptive());
+        assertEquals(new NameMatchesRegexSpecification<>("Entity \\d+"), new NameMatchesRegexSpecification<>("Entity \\d+"));
+        assertEquals(new IdInCollectionSpecification<>(List.of(1L, 2L)), new IdInCollectionSpecification<>(List.of(2L, 1L)));
+        assertEquals(new CustomSpecification<>(predicate, "id > 10"), new CustomSpecification<>(predicate, "id > 10"));
+        assertNotEquals(new PriceBetweenSpecification<>(1.0, 2.0), new PriceBetweenSpecification<>(1.0, 3.0));
+        assertNotEquals(new ActiveSpecification<Entity>().and(new NameContainsSpecification<>("1")),
+                new ActiveSpecification<Entity>().or(new NameContainsSpecification<>("1")));
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o resultado de consultas estruturalmente iguais")
+    public void testHitForEqualSpecification() {
+        // When
+        List<Entity> first = repository.findAll(new ActiveSpecification<Entity>().and(new NameContainsSpecification<>("1")));
+        List<Entity> second = repository.findAll(new ActiveSpecification<Entity>().and(new NameContainsSpecification<>("1")));
+
+        // Then
+        assertEquals(ids(first), ids(second));
+        assertEquals(1, cache().getMissCount());
+        assertEquals(1, cache().getHitCount());
+    }
+
+    @Test
+    @DisplayName("Deve manter consultas de nome em cache quando apenas o preço muda")
+    public void testPriceUpdateKeepsNameQueries() {
+        // Given
+        Specification<Entity> byName = new NameContainsSpecification<>("Entity 1");
+        Specification<Entity> byPrice = new PriceGreaterThanSpecification<>(400.0);
+        repository.findAll(byName);
+        repository.findAll(byPrice);
+        Entity entity = repository.findById(Entity.class, 12L).orElseThrow();
+
+        // When
+        entity.setPrice(BigDecimal.valueOf(999));
+        repository.update(entity);
+
+        // Then
+        assertEquals(1, cache().getInvalidationCount());
+        assertEquals(1, cache().size());
+        assertEquals(ids(repository.stream(byPrice).collect(Collectors.toList())), ids(repository.findAll(byPrice)));
+        repository.findAll(byName);
+        assertEquals(1, cache().getHitCount());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar apenas as consultas cujo resultado muda com inserções e remoções")
+    public void testSaveAndDeleteInvalidateAffectedQueries() {
+        // Given
+        Specification<Entity> active = new ActiveSpecification<>();
+        Specification<Entity> cheap = new PriceGreaterThanSpecification<Entity>(400.0).not();
+        int activeCount = repository.findAll(active).size();
+        int cheapCount = repository.findAll(cheap).size();
+
+        // When
+        repository.save(Entity.builder().name("Nova").active(false).price(BigDecimal.TEN).build());
+        repository.delete(repository.findById(Entity.class, 2L).orElseThrow());
+
+        // Then
+        assertEquals(activeCount - 1, repository.findAll(active).size());
+        assertEquals(cheapCount, repository.findAll(cheap).size());
+        assertEquals(2, cache().getInvalidationCount());
+    }
+
+    @Test
+    @DisplayName("Deve descartar as consultas menos usadas ao atingir a capacidade")
+    public void testLruEviction() {
+        // When
+        for (int i = 1; i <= 6; i++) {
+            repository.findAll(new NameEqualsSpecification<>("Entity " + i));
+        }
+        repository.findAll(new NameEqualsSpecification<>("Entity 6"));
+        repository.findAll(new NameEqualsSpecification<>("Entity 1"));
+
+        // Then
+        assertEquals(4, cache().size());
+        assertEquals(1, cache().getHitCount());
+        assertEquals(7, cache().getMissCount());
+    }
+
+    @Test
+    @DisplayName("Deve separar no cache os resultados paralelos não ordenados dos ordenados")
+    public void testUnorderedResultsUseOwnKey() {
+        // Given
+        Specification<Entity> active = new ActiveSpecification<>();
+        ParallelQuery unordered = ParallelQuery.builder().threshold(0).chunkSize(1).ordered(false).build();
+
+        // When
+        List<Entity> parallel = repository.findAll(active, unordered);
+        List<Entity> ordered = repository.findAll(active);
+        repository.findAll(active, unordered);
+
+        // Then
+        assertEquals(2, cache().getMissCount());
+        assertEquals(1, cache().getHitCount());
+        assertEquals(2, cache().size());
+        assertEquals(ids(repository.stream(active).collect(Collectors.toList())), ids(ordered));
+        assertEquals(ids(ordered).stream().sorted().toList(), ids(parallel).stream().sorted().toList());
+    }
+}
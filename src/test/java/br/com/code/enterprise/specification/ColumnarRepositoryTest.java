@@ -0,0 +1,90 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.AnyOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBetweenDatesSpecification;
+import br.com.code.enterprise.specification.internal.specs.CustomSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdRangeSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameMatchesRegexSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceLessThanSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.columnar.ColumnarEntityRepository;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnarRepositoryTest extends BaseSpecificationTest {
+
+    @Override
+    protected Repository<Entity, Long> createRepository() {
+        return new ColumnarEntityRepository();
+    }
+
+    @Test
+    @DisplayName("Deve retornar os mesmos resultados que a varredura sobre objetos")
+    public void testSameResultsAsStubRepository() {
+        // Given
+        Repository<Entity, Long> stub = new EntityStubRepository();
+        repository.findAll(new AnyOfSpecification<>(new ActiveSpecification<>(), new ActiveSpecification<Entity>().not()))
+                .forEach(stub::save);
+
+        List<Specification<Entity>> specifications = List.of(
+                new PriceBetweenSpecification<>(160.0, 200.0),
+                new PriceGreaterThanSpecification<Entity>(300.0).or(new PriceLessThanSpecification<>(60.0)),
+                new ActiveSpecification<Entity>().and(new IdRangeSpecification<>(10L, 30L)),
+                new CreatedBetweenDatesSpecification<Entity>(new Date(0), referenceDate).not(),
+                new NameMatchesRegexSpecification<Entity>("Entity [1-3]\\d").and(new ActiveSpecification<Entity>().not()),
+                new CustomSpecification<>(entity -> entity.getDescription().endsWith("7"), "Descrição termina em 7"));
+
+        // When / Then
+        specifications.forEach(spec -> assertEquals(ids(stub.findAll(spec)), ids(repository.findAll(spec)),
+                "Os resultados devem coincidir com a varredura sobre objetos"));
+    }
+
+    @Test
+    @DisplayName("Deve preservar preços fora da escala de ponto fixo e materializar cópias")
+    public void testInexactPricesAndMaterialization() {
+        // Given
+        Entity precise = repository.save(Entity.builder().name("Precise").price(new BigDecimal("10.123456")).build());
+
+        // When
+        List<Entity> result = repository.findAll(new PriceBetweenSpecification<>(new BigDecimal("10.1234"),
+                new BigDecimal("10.12346")));
+        Entity found = repository.findById(Entity.class, precise.getId()).orElseThrow();
+
+        // Then
+        assertEquals(List.of(precise.getId()), ids(result));
+        assertEquals(new BigDecimal("10.123456"), found.getPrice());
+        assertEquals(BigDecimal.valueOf(151.0), repository.findById(Entity.class, 1L).orElseThrow().getPrice());
+        assertNotSame(precise, found, "As entidades devolvidas devem ser materializadas a partir das colunas");
+    }
+
+    @Test
+    @DisplayName("Deve manter os resultados corretos após remoções e compactação")
+    public void testDeleteAndCompaction() {
+        // Given
+        for (long id = 1; id <= 40; id++) {
+            repository.delete(Entity.builder().id(id).build());
+        }
+
+        // When
+        List<Entity> result = repository.findAll(new ActiveSpecification<>());
+
+        // Then
+        assertEquals(5, result.size());
+        result.forEach(entity -> assertTrue(entity.getId() > 40 && entity.isActive()));
+        assertTrue(repository.findById(Entity.class, 10L).isEmpty());
+        assertEquals("Entity 42", repository.findById(Entity.class, 42L).orElseThrow().getName());
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.specs.CreatedAfterDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBeforeDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBetweenDatesSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.indexed.IndexedEntityRepository;
+import br.com.code.enterprise.specification.repository.indexed.QueryPlan;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CreatedRangeTest extends BaseSpecificationTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    @Override
+    protected Repository<Entity, Long> createRepository() {
+        return new IndexedEntityRepository();
+    }
+
+    @Test
+    @DisplayName("Deve resolver janelas de data pelo índice particionado com o mesmo resultado da varredura")
+    public void testPartitionedRanges() {
+        // Given
+        Random random = new Random(7);
+        long origin = System.currentTimeMillis();
+        Repository<Entity, Long> stub = new EntityStubRepository();
+        repository.stream(new CreatedAfterDateSpecification<Entity>(new Date(Long.MIN_VALUE)))
+                .forEach(entity -> stub.save(Entity.builder().name(entity.getName()).created(entity.getCreated()).build()));
+        List<Entity> indexed = new ArrayList<>();
+        List<Entity> scanned = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            Date created = randomDate(random, origin);
+            indexed.add(repository.save(Entity.builder().name("D" + i).created(created).build()));
+            scanned.add(stub.save(Entity.builder().name("D" + i).created(created).build()));
+        }
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            int position = random.nextInt(indexed.size());
+            if (random.nextBoolean()) {
+                Date created = randomDate(random, origin);
+                indexed.get(position).setCreated(created);
+                scanned.get(position).setCreated(created);
+                repository.update(indexed.get(position));
+                stub.update(scanned.get(position));
+            } else {
+                repository.delete(indexed.remove(position));
+                stub.delete(scanned.remove(position));
+            }
+        }
+
+        // Then
+        for (int i = 0; i < 40; i++) {
+            Date start = indexed.get(random.nextInt(indexed.size())).getCreated();
+            start = start == null ? new Date(origin) : start;
+            Date end = new Date(start.getTime() + random.nextInt(30) * DAY);
+            List<Specification<Entity>> specifications = List.of(
+                    new CreatedBetweenDatesSpecification<>(start, end),
+                    new CreatedAfterDateSpecification<>(start),
+                    new CreatedBeforeDateSpecification<>(end));
+            for (Specification<Entity> specification : specifications) {
+                QueryPlan plan = ((IndexedEntityRepository) repository).explain(specification);
+                assertTrue(plan.isExact(), "A folha de data deveria ser resolvida pelo índice");
+                assertEquals(stub.findAll(specification).stream().map(Entity::getName).toList(),
+                        repository.findAll(specification).stream().map(Entity::getName).toList());
+            }
+        }
+    }
+
+    private static Date randomDate(Random random, long origin) {
+        if (random.nextInt(20) == 0) {
+            return null;
+        }
+        long offset = (long) (random.nextDouble() * 800 * DAY);
+        return new Date(random.nextInt(10) == 0 ? -offset : origin - offset);
+    }
+}
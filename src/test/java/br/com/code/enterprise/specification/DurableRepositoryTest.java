@@ -0,0 +1,163 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.durable.DurableEntityRepository;
+import br.com.code.enterprise.specification.repository.durable.DurableOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DurableRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Deve recuperar entidades, atualizações e remoções ao reabrir o repositório")
+    public void testReopen() throws IOException {
+        // Given
+        Date created = new Date(1_700_000_000_000L);
+        try (DurableEntityRepository repository = DurableEntityRepository.open(directory)) {
+            repository.save(Entity.builder().name("Caneta").description("Azul").active(true)
+                    .price(new BigDecimal("2.50")).created(created).build());
+            repository.save(Entity.builder().name("Lápis").build());
+            repository.save(Entity.builder().name("Borracha").price(new BigDecimal("1E+40")).build());
+            repository.update(Entity.builder().id(2L).name("Lápis de cor").active(true).build());
+            repository.delete(repository.findById(3L).orElseThrow());
+        }
+
+        // When
+        try (DurableEntityRepository reopened = DurableEntityRepository.open(directory)) {
+            Entity pen = reopened.findById(1L).orElseThrow();
+            Entity pencil = reopened.findById(2L).orElseThrow();
+            Entity next = reopened.save(new Entity("Régua"));
+
+            // Then
+            assertEquals("Caneta", pen.getName());
+            assertEquals("Azul", pen.getDescription());
+            assertEquals(new BigDecimal("2.50"), pen.getPrice());
+            assertEquals(created, pen.getCreated());
+            assertEquals("Lápis de cor", pencil.getName());
+            assertNull(pencil.getPrice());
+            assertFalse(reopened.findById(3L).isPresent());
+            assertEquals(4L, next.getId(), "ids removidos não devem ser reaproveitados");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve combinar o snapshot com as operações registradas no log depois dele")
+    public void testSnapshotAndLogReplay() throws IOException {
+        // Given
+        DurableOptions options = DurableOptions.builder().snapshotThresholdBytes(4_096).build();
+        try (DurableEntityRepository repository = DurableEntityRepository.open(directory, options)) {
+            List<Entity> entities = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                entities.add(Entity.builder().name("Item " + i).active(i % 2 == 0).price(BigDecimal.valueOf(i)).build());
+            }
+            repository.saveAll(entities);
+            repository.deleteAll(new ActiveSpecification<>());
+            repository.save(new Entity("Depois do snapshot"));
+        }
+
+        // When
+        try (DurableEntityRepository reopened = DurableEntityRepository.open(directory, options)) {
+            // Then
+            assertTrue(Files.exists(directory.resolve("entities.snapshot")));
+            assertEquals(251, reopened.count(ConstantSpecification.alwaysTrue()));
+            assertEquals(0, reopened.count(new ActiveSpecification<>()));
+            assertEquals("Depois do snapshot", reopened.findById(501L).orElseThrow().getName());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar um registro incompleto no fim do log e continuar gravando depois dele")
+    public void testTornTail() throws IOException {
+        // Given
+        try (DurableEntityRepository repository = DurableEntityRepository.open(directory)) {
+            repository.save(new Entity("Primeira"));
+            repository.save(new Entity("Segunda"));
+        }
+        Path log = directory.resolve("entities.wal");
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        // When
+        try (DurableEntityRepository reopened = DurableEntityRepository.open(directory)) {
+            reopened.save(new Entity("Terceira"));
+        }
+
+        // Then
+        try (DurableEntityRepository reopened = DurableEntityRepository.open(directory)) {
+            assertEquals(List.of("Primeira", "Terceira"),
+                    reopened.findAll().stream().map(Entity::getName).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve preservar todas as escritas concorrentes confirmadas")
+    public void testConcurrentWrites() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (DurableEntityRepository repository = DurableEntityRepository.open(directory)) {
+            // When
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        repository.save(new Entity("T" + thread + "-" + i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        try (DurableEntityRepository reopened = DurableEntityRepository.open(directory)) {
+            assertEquals(800, reopened.findAll().size());
+            assertEquals(801L, reopened.save(new Entity("Nova")).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve funcionar como repositório da camada enterprise")
+    public void testEnterpriseRepository() throws IOException {
+        // Given
+        try (DurableEntityRepository durable = DurableEntityRepository.open(directory)) {
+            br.com.code.enterprise.repository.Repository<Entity, Long> repository = durable;
+            repository.saveAll(List.of(new Entity("A"), new Entity("B"), new Entity("C")));
+
+            // When
+            repository.deleteById(2L);
+            repository.deleteAllById(List.of(3L, 42L));
+
+            // Then
+            assertEquals(List.of(1L), repository.findAll().stream().map(Entity::getId).toList());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.AllOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.AnyOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedAfterDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdInCollectionSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameContainsSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameEndsWithSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameEqualsSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameIgnoreCaseSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameInCollectionSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameMatchesRegexSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameStartsWithSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceLessThanSpecification;
+import br.com.code.enterprise.specification.internal.CaseFolding;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.indexed.IndexedEntityRepository;
+import br.com.code.enterprise.specification.repository.indexed.QueryPlan;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndexedRepositoryTest extends BaseSpecificationTest {
+
+    @Override
+    protected Repository<Entity, Long> createRepository() {
+        return new IndexedEntityRepository();
+    }
+
+    private IndexedEntityRepository indexed() {
+        return (IndexedEntityRepository) repository;
+    }
+
+    @Test
+    @DisplayName("Deve retornar os mesmos resultados que a varredura completa")
+    public void testSameResultsAsStubRepository() {
+        // Given
+        Repository<Entity, Long> stub = new EntityStubRepository();
+        repository.findAll(new ActiveSpecification<Entity>().or(new ActiveSpecification<Entity>().not()))
+                .forEach(entity -> stub.save(copy(entity)));
+
+        List<Specification<Entity>> specifications = List.of(
+                new IdSpecification<>(7L),
+                new NameEqualsSpecification<>("Entity 12"),
+                new PriceBetweenSpecification<>(100.0, 200.0),
+                new ActiveSpecification<Entity>().and(new PriceGreaterThanSpecification<>(150.0)),
+                new PriceLessThanSpecification<Entity>(100.0).or(new NameEqualsSpecification<>("Entity 1")),
+                new ActiveSpecification<Entity>().and(new NameContainsSpecification<>("1")),
+                new CreatedAfterDateSpecification<Entity>(referenceDate).not(),
+                new AllOfSpecification<>(
+                        new IdInCollectionSpecification<>(Arrays.asList(1L, 2L, 3L, 4L, 99L)),
+                        new AnyOfSpecification<>(new ActiveSpecification<>(), new NameContainsSpecification<>("3"))));
+
+        // When / Then
+        specifications.forEach(spec -> assertEquals(ids(stub.findAll(spec)), ids(repository.findAll(spec)),
+                "Os resultados devem coincidir com a varredura completa"));
+    }
+
+    @Test
+    @DisplayName("Deve resolver folhas indexáveis sem predicado residual")
+    public void testExactPlanForIndexedLeaves() {
+        // Given
+        Specification<Entity> specification = new ActiveSpecification<Entity>()
+                .and(new PriceBetweenSpecification<>(BigDecimal.valueOf(150), BigDecimal.valueOf(200)));
+
+        // When
+        QueryPlan plan = indexed().explain(specification);
+
+        // Then
+        assertFalse(plan.isFullScan(), "O plano não deveria exigir varredura completa");
+        assertTrue(plan.isExact(), "O plano não deveria ter predicado residual");
+        assertEquals(ids(repository.findAll(specification)), plan.getCandidates().stream().boxed().toList());
+    }
+
+    @Test
+    @DisplayName("Deve manter apenas os predicados não indexáveis como residuais")
+    public void testResidualForUnindexedLeaves() {
+        // Given
+        Specification<Entity> specification = new ActiveSpecification<Entity>()
+                .and(new NameContainsSpecification<>("2"));
+
+        // When
+        QueryPlan plan = indexed().explain(specification);
+        List<Entity> result = repository.findAll(specification);
+
+        // Then
+        assertFalse(plan.isFullScan(), "O índice de status deveria restringir os candidatos");
+        assertTrue(plan.getResidual() instanceof NameContainsSpecification, "Somente o filtro de nome é residual");
+        assertFalse(result.isEmpty(), "Deveria encontrar pelo menos uma entidade");
+        result.forEach(entity -> assertTrue(entity.isActive() && entity.getName().contains("2")));
+    }
+
+    @Test
+    @DisplayName("Deve restringir buscas por trecho, sufixo e regex pelo índice de trigramas")
+    public void testTrigramPruning() {
+        // Given
+        Repository<Entity, Long> stub = new EntityStubRepository();
+        repository.findAll(new ActiveSpecification<Entity>().or(new ActiveSpecification<Entity>().not()))
+                .forEach(entity -> stub.save(copy(entity)));
+
+        List<Specification<Entity>> specifications = List.of(
+                new NameContainsSpecification<>("ty 4"),
+                new NameContainsSpecification<>("inexistente"),
+                new NameEndsWithSpecification<>("y 7"),
+                new NameEndsWithSpecification<>("17"),
+                new NameStartsWithSpecification<>("Entity 3"),
+                new NameMatchesRegexSpecification<>("Entity 1\\d"),
+                new NameMatchesRegexSpecification<>("Ent.*5"),
+                new NameMatchesRegexSpecification<>("(Entity) 4[0-9]"),
+                new NameMatchesRegexSpecification<>("Entity 1|Entity 2"),
+                new NameMatchesRegexSpecification<>("Entity \\d{1,2}"),
+                new NameMatchesRegexSpecification<>("Enti?ty 3"),
+                new NameMatchesRegexSpecification<>("E\\Qntity\\E 4+"),
+                new NameMatchesRegexSpecification<>("Entity 1+2?"),
+                new NameMatchesRegexSpecification<>("Entity (1|2)0"));
+
+        // When / Then
+        specifications.forEach(spec -> assertEquals(ids(stub.findAll(spec)), ids(repository.findAll(spec)),
+                "Os resultados devem coincidir com a varredura completa: " + spec));
+
+        QueryPlan contains = indexed().explain(new NameContainsSpecification<>("ty 4"));
+        assertFalse(contains.isFullScan(), "A busca por trecho deveria usar o índice de trigramas");
+        assertEquals(11L, contains.getCandidates().cardinality());
+
+        QueryPlan regex = indexed().explain(new NameMatchesRegexSpecification<>("Entity 2\\d"));
+        assertFalse(regex.isFullScan(), "Os literais da regex deveriam restringir os candidatos");
+        assertEquals(11L, regex.getCandidates().cardinality());
+    }
+
+    @Test
+    @DisplayName("Deve resolver igualdade sem caixa, listas sem caixa e prefixos pelo índice de nomes")
+    public void testCaseFoldedAndPrefixLookups() {
+        // Given
+        repository.save(new Entity("STRAßE"));
+        repository.save(new Entity("ǅemal"));
+        List<Specification<Entity>> specifications = List.of(
+                new NameIgnoreCaseSpecification<>("ENTITY 7"),
+                new NameIgnoreCaseSpecification<>("straße"),
+                new NameIgnoreCaseSpecification<>("ǆEMAL"),
+                new NameInCollectionSpecification<>(List.of("entity 1", "ENTITY 2", "Entity 3", "outro"), true),
+                new NameStartsWithSpecification<>("Entity 1"),
+                new NameStartsWithSpecification<>(""),
+                new NameStartsWithSpecification<Entity>("Entity 4").and(new ActiveSpecification<>()));
+
+        // When / Then
+        for (Specification<Entity> specification : specifications) {
+            QueryPlan plan = indexed().explain(specification);
+            assertTrue(plan.isExact(), "O índice de nomes deveria resolver a folha: " + specification);
+            List<Long> expected = repository.stream(new ActiveSpecification<Entity>().or(new ActiveSpecification<Entity>().not()))
+                    .filter(specification::isSatisfiedBy)
+                    .map(Entity::getId)
+                    .toList();
+            assertEquals(expected, plan.getCandidates().stream().boxed().toList());
+        }
+        assertEquals(11L, indexed().explain(new NameStartsWithSpecification<>("Entity 1")).getCandidates().cardinality());
+        assertEquals(2, repository.findAll(new NameInCollectionSpecification<>(List.of("ENTITY 1", "entity 2"), true)).size());
+        for (String name : List.of("ǅ", "ǆ", "Ǆ", "ß", "ẞ", "İ", "i", "ſ", "s", "K", "k", "Σ", "ς", "σ")) {
+            for (String other : List.of("ǅ", "ǆ", "Ǆ", "ß", "ẞ", "İ", "i", "ſ", "s", "K", "k", "Σ", "ς", "σ")) {
+                assertEquals(name.equalsIgnoreCase(other), CaseFolding.fold(name).equals(CaseFolding.fold(other)),
+                        name + " / " + other);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve atualizar os índices quando a entidade é alterada ou removida")
+    public void testIndexMaintenance() {
+        // Given
+        Entity entity = repository.findById(Entity.class, 10L).orElseThrow();
+        entity.setName("Renamed");
+        entity.setPrice(BigDecimal.valueOf(9999));
+
+        // When
+        repository.update(entity);
+
+        // Then
+        assertTrue(repository.findAll(new NameEqualsSpecification<>("Entity 10")).isEmpty());
+        assertEquals(List.of(10L), ids(repository.findAll(new NameEqualsSpecification<>("Renamed"))));
+        assertEquals(List.of(10L), ids(repository.findAll(new PriceGreaterThanSpecification<>(9000.0))));
+
+        // When
+        repository.delete(entity);
+
+        // Then
+        assertTrue(repository.findAll(new NameEqualsSpecification<>("Renamed")).isEmpty());
+        assertTrue(repository.findById(Entity.class, 10L).isEmpty());
+    }
+
+    private static Entity copy(Entity entity) {
+        return new Entity(entity.getId(), entity.getName(), entity.getDescription(), entity.isActive(),
+                entity.getCreated(), entity.getPrice());
+    }
+}
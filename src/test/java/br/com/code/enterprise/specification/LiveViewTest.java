@@ -0,0 +1,136 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.CustomSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.indexed.IndexedEntityRepository;
+import br.com.code.enterprise.specification.repository.mvcc.EntitySnapshot;
+import br.com.code.enterprise.specification.repository.mvcc.LiveView;
+import br.com.code.enterprise.specification.repository.mvcc.LiveViewRepository;
+import br.com.code.enterprise.specification.repository.mvcc.ViewDelta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static br.com.code.enterprise.specification.BaseSpecificationTest.ids;
+import static br.com.code.enterprise.specification.BaseSpecificationTest.populate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LiveViewTest {
+
+    @Test
+    @DisplayName("Deve emitir entrada, atualização e saída conforme as escritas alteram o resultado da view")
+    public void testDeltas() {
+        // Given
+        LiveViewRepository repository = populate(new LiveViewRepository(new IndexedEntityRepository()), 10);
+        LiveView view = repository.register(new PriceGreaterThanSpecification<>(500.0));
+        List<ViewDelta> deltas = new ArrayList<>();
+        view.addListener(deltas::add);
+
+        // When
+        Entity entering = repository.save(Entity.builder().name("Cara").price(BigDecimal.valueOf(900)).build());
+        repository.save(Entity.builder().name("Barata").price(BigDecimal.valueOf(10)).build());
+        Entity member = repository.findById(Entity.class, entering.getId()).orElseThrow();
+        member.setPrice(BigDecimal.valueOf(950));
+        repository.update(member);
+        member.setPrice(BigDecimal.valueOf(100));
+        repository.update(member);
+        Entity expensive = repository.findAll(new PriceGreaterThanSpecification<>(500.0)).get(0);
+        repository.delete(expensive);
+
+        // Then
+        assertEquals(List.of(ViewDelta.Type.ENTER, ViewDelta.Type.UPDATE, ViewDelta.Type.LEAVE, ViewDelta.Type.LEAVE),
+                deltas.stream().map(ViewDelta::getType).toList());
+        assertEquals(0, new BigDecimal("900").compareTo(deltas.get(1).getBefore().orElseThrow().getPrice()));
+        assertEquals(0, new BigDecimal("950").compareTo(deltas.get(1).getAfter().orElseThrow().getPrice()));
+        assertEquals(expensive.getId(), deltas.get(3).getId());
+        assertEquals(ids(repository.findAll(new PriceGreaterThanSpecification<>(500.0))),
+                ids(view.snapshot().findAll(ConstantSpecification.alwaysTrue())));
+    }
+
+    @Test
+    @DisplayName("Deve avaliar a especificação apenas sobre as entidades escritas")
+    public void testEvaluatesOnlyWrittenEntities() {
+        // Given
+        LiveViewRepository repository = populate(new LiveViewRepository(new IndexedEntityRepository()), 1_000);
+        AtomicInteger evaluations = new AtomicInteger();
+        LiveView view = repository.register(new CustomSpecification<>(entity -> {
+            evaluations.incrementAndGet();
+            return entity.isActive();
+        }, "Ativa contada"));
+        int initial = view.size();
+        evaluations.set(0);
+
+        // When
+        repository.save(Entity.builder().name("Nova").active(true).build());
+        Entity inactive = repository.findById(Entity.class, 1L).orElseThrow();
+        inactive.setActive(false);
+        repository.update(inactive);
+
+        // Then
+        assertEquals(2, evaluations.get());
+        assertEquals(initial, view.size());
+        assertEquals(repository.count(new ActiveSpecification<>()), view.size());
+    }
+
+    @Test
+    @DisplayName("Deve publicar um lote como uma única versão da view")
+    public void testBatchPublishesOneVersion() {
+        // Given
+        LiveViewRepository repository = populate(new LiveViewRepository(new IndexedEntityRepository()), 100);
+        LiveView view = repository.register(new ActiveSpecification<>());
+        List<ViewDelta> deltas = new ArrayList<>();
+        view.addListener(deltas::add);
+        long version = view.snapshot().getVersion();
+
+        // When
+        List<Entity> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(Entity.builder().name("Lote" + i).active(true).build());
+        }
+        repository.saveAll(batch);
+        repository.deleteAll(new ActiveSpecification<>());
+
+        // Then
+        assertEquals(version + 2, view.snapshot().getVersion());
+        assertEquals(0, view.size());
+        assertEquals(10 + 50 + 10, deltas.size());
+        assertTrue(deltas.subList(0, 10).stream()
+                .allMatch(delta -> delta.getType() == ViewDelta.Type.ENTER && delta.getVersion() == version + 1));
+        assertTrue(deltas.subList(10, 70).stream()
+                .allMatch(delta -> delta.getType() == ViewDelta.Type.LEAVE && delta.getVersion() == version + 2));
+    }
+
+    @Test
+    @DisplayName("Deve manter snapshots antigos inalterados e parar de atualizar a view fechada")
+    public void testSnapshotIsolationAndClose() {
+        // Given
+        LiveViewRepository repository = populate(new LiveViewRepository(new IndexedEntityRepository()), 20);
+        LiveView view = repository.register(new ActiveSpecification<>());
+        view.addListener(delta -> {
+            throw new IllegalStateException("Ouvinte com defeito");
+        });
+        EntitySnapshot before = view.snapshot();
+
+        // When
+        repository.save(Entity.builder().name("Ativa").active(true).build());
+        EntitySnapshot after = view.snapshot();
+        view.close();
+        repository.save(Entity.builder().name("Ignorada").active(true).build());
+
+        // Then
+        assertEquals(10, before.size());
+        assertEquals(11, after.size());
+        assertSame(after, view.snapshot());
+        assertEquals(1, view.getListenerFailureCount());
+        assertTrue(repository.getViews().isEmpty());
+    }
+}
@@ -0,0 +1,201 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.bitmap.LongBitmap;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdInCollectionSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdRangeSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.indexed.IndexedEntityRepository;
+import br.com.code.enterprise.specification.repository.indexed.QueryPlan;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LongBitmapTest extends BaseSpecificationTest {
+
+    @Override
+    protected Repository<Entity, Long> createRepository() {
+        return new IndexedEntityRepository();
+    }
+
+    @Test
+    @DisplayName("Deve se comportar como um conjunto ordenado de longs em contêineres esparsos e densos")
+    public void testMatchesTreeSet() {
+        // Given
+        Random random = new Random(13);
+        LongBitmap bitmap = new LongBitmap();
+        NavigableSet<Long> expected = new TreeSet<>();
+
+        // When
+        for (int i = 0; i < 40_000; i++) {
+            long value = randomValue(random);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(value), bitmap.remove(value));
+            } else {
+                assertEquals(expected.add(value), bitmap.add(value));
+            }
+        }
+        bitmap.addRange(-70_000, -60_000);
+        for (long value = -70_000; value <= -60_000; value++) {
+            expected.add(value);
+        }
+
+        // Then
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertEquals(new ArrayList<>(expected), bitmap.stream().boxed().toList());
+        for (int i = 0; i < 1_000; i++) {
+            long value = randomValue(random);
+            assertEquals(expected.contains(value), bitmap.contains(value), "contains " + value);
+
+            long to = value + random.nextInt(200_000);
+            assertEquals(new ArrayList<>(expected.subSet(value, true, to, true)),
+                    bitmap.range(value, to).stream().boxed().toList(), "range " + value + ".." + to);
+
+            List<Long> after = new ArrayList<>();
+            bitmap.iteratorAfter(value).forEachRemaining((long id) -> after.add(id));
+            assertEquals(new ArrayList<>(expected.tailSet(value, false)), after, "after " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve calcular interseção, união e diferença com o mesmo resultado de conjuntos comuns")
+    public void testSetOperations() {
+        // Given
+        Random random = new Random(29);
+        for (int round = 0; round < 20; round++) {
+            NavigableSet<Long> left = new TreeSet<>();
+            NavigableSet<Long> right = new TreeSet<>();
+            int bound = round % 2 == 0 ? 20_000 : 400_000;
+            for (int i = 0; i < 15_000; i++) {
+                left.add((long) random.nextInt(bound));
+                right.add((long) random.nextInt(bound) - bound / 4);
+            }
+            LongBitmap a = LongBitmap.of(left);
+            LongBitmap b = LongBitmap.of(right);
+
+            // When
+            LongBitmap and = LongBitmap.and(a, b);
+            LongBitmap or = LongBitmap.or(a, b);
+            LongBitmap andNot = a.copy().andNot(b);
+
+            // Then
+            NavigableSet<Long> intersection = new TreeSet<>(left);
+            intersection.retainAll(right);
+            NavigableSet<Long> union = new TreeSet<>(left);
+            union.addAll(right);
+            NavigableSet<Long> difference = new TreeSet<>(left);
+            difference.removeAll(right);
+            assertEquals(LongBitmap.of(intersection), and);
+            assertEquals(LongBitmap.of(union), or);
+            assertEquals(LongBitmap.of(difference), andNot);
+            assertEquals(LongBitmap.of(union).hashCode(), or.hashCode());
+            assertEquals(left.size(), a.cardinality(), "As operações estáticas não devem alterar os operandos");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve tratar valores nos extremos do intervalo de long")
+    public void testExtremeValues() {
+        // Given
+        LongBitmap bitmap = LongBitmap.of(Long.MIN_VALUE, -1L, 0L, Long.MAX_VALUE);
+
+        // When
+        long[] values = bitmap.toArray();
+
+        // Then
+        assertEquals(Arrays.toString(new long[]{Long.MIN_VALUE, -1L, 0L, Long.MAX_VALUE}), Arrays.toString(values));
+        assertEquals(List.of(0L, Long.MAX_VALUE), bitmap.range(0, Long.MAX_VALUE).stream().boxed().toList());
+        assertFalse(bitmap.iteratorAfter(Long.MAX_VALUE).hasNext());
+        assertTrue(bitmap.remove(Long.MIN_VALUE));
+        assertFalse(bitmap.contains(Long.MIN_VALUE));
+    }
+
+    @Test
+    @DisplayName("Deve resolver IdIn e IdRange pelo bitmap de ids do repositório indexado")
+    public void testIdPlans() {
+        // Given
+        IndexedEntityRepository indexed = (IndexedEntityRepository) repository;
+        repository.delete(repository.findById(Entity.class, 12L).orElseThrow());
+        List<Long> allowed = new ArrayList<>(List.of(3L, 12L, 40L, 99L));
+        allowed.add(null);
+
+        // When
+        QueryPlan in = indexed.explain(new IdInCollectionSpecification<>(allowed));
+        QueryPlan range = indexed.explain(new IdRangeSpecification<>(10L, 20L));
+        QueryPlan inactive = indexed.explain(new ActiveSpecification<Entity>().not().and(new IdRangeSpecification<>(10L, 20L)));
+
+        // Then
+        assertTrue(in.isExact() && range.isExact() && inactive.isExact(), "Os planos por id deveriam ser exatos");
+        assertEquals(List.of(3L, 40L), in.getCandidates().stream().boxed().toList());
+        assertEquals(10L, range.getCandidates().cardinality());
+        assertEquals(List.of(11L, 13L, 15L, 17L, 19L), inactive.getCandidates().stream().boxed().toList());
+        assertEquals(List.of(3L, 40L), ids(repository.findAll(new IdInCollectionSpecification<>(allowed))));
+    }
+
+    @Test
+    @DisplayName("Deve manter o bitmap do IdIn inalterado e a igualdade estável nas operações sobre os ids")
+    public void testIdInBitmapIsolation() {
+        // Given
+        LongBitmap source = LongBitmap.of(1L, 5L, 9L);
+        IdInCollectionSpecification<Entity> specification = new IdInCollectionSpecification<>(source);
+        IdInCollectionSpecification<Entity> same = new IdInCollectionSpecification<>(List.of(1L, 5L, 9L));
+        int hash = specification.hashCode();
+
+        // When
+        source.add(7L);
+        LongBitmap intersection = specification.and(LongBitmap.of(5L, 9L, 11L));
+        intersection.add(100L);
+        specification.copyAllowedIds().add(200L);
+
+        // Then
+        assertEquals(List.of(5L, 9L, 100L), intersection.stream().boxed().toList());
+        assertEquals(3, specification.cardinality());
+        assertFalse(specification.contains(7L) || specification.contains(100L) || specification.contains(200L));
+        assertEquals(same, specification);
+        assertEquals(hash, specification.hashCode());
+        List<Long> visited = new ArrayList<>();
+        specification.forEach(visited::add);
+        assertEquals(List.of(1L, 5L, 9L), visited);
+    }
+
+    @Test
+    @DisplayName("Deve percorrer apenas a fatia de ids exigida por um IdRange no repositório sem índices")
+    public void testStubRangeSlice() {
+        // Given
+        Repository<Entity, Long> stub = new EntityStubRepository();
+        for (int i = 1; i <= 100; i++) {
+            stub.save(Entity.builder().name("E" + i).active(i % 2 == 0).build());
+        }
+
+        // When
+        List<Entity> range = stub.findAll(new IdRangeSpecification<Entity>(20L, 30L).and(new ActiveSpecification<>()));
+        List<Long> page = stub.findPage(new IdRangeSpecification<>(20L, 30L), 25L, 3).getContent().stream()
+                .map(Entity::getId)
+                .toList();
+
+        // Then
+        assertEquals(List.of(20L, 22L, 24L, 26L, 28L, 30L), ids(range));
+        assertEquals(List.of(26L, 27L, 28L), page);
+        assertTrue(stub.findPage(new IdRangeSpecification<>(20L, 30L), 30L, 3).getContent().isEmpty());
+    }
+
+    private static long randomValue(Random random) {
+        return switch (random.nextInt(3)) {
+            case 0 -> random.nextInt(10_000);
+            case 1 -> 200_000 + random.nextInt(3 * 65_536);
+            default -> random.nextLong();
+        };
+    }
+}
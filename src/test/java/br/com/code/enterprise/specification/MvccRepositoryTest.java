@@ -0,0 +1,151 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.mvcc.EntitySnapshot;
+import br.com.code.enterprise.specification.repository.mvcc.MvccEntityRepository;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MvccRepositoryTest extends BaseSpecificationTest {
+
+    @Override
+    protected Repository<Entity, Long> createRepository() {
+        return new MvccEntityRepository();
+    }
+
+    @Test
+    @DisplayName("Deve manter o snapshot inalterado durante escritas posteriores")
+    public void testSnapshotIsolation() {
+        // Given
+        MvccEntityRepository mvcc = (MvccEntityRepository) repository;
+        EntitySnapshot before = mvcc.snapshot();
+        long activeBefore = before.count(new ActiveSpecification<>());
+        Iterator<Entity> pending = before.stream(ConstantSpecification.alwaysTrue()).iterator();
+
+        // When
+        repository.save(Entity.builder().name("Nova").active(true).build());
+        Entity first = repository.findById(Entity.class, 1L).orElseThrow();
+        first.setName("Alterada");
+        repository.update(first);
+        repository.delete(repository.findById(Entity.class, 2L).orElseThrow());
+
+        // Then
+        EntitySnapshot after = mvcc.snapshot();
+        assertEquals(activeBefore, before.count(new ActiveSpecification<>()));
+        assertEquals("Entity 1", before.findById(1L).orElseThrow().getName());
+        assertTrue(before.findById(2L).isPresent());
+        assertEquals(List.of(1L, 2L, 3L), List.of(pending.next().getId(), pending.next().getId(), pending.next().getId()),
+                "Um stream aberto deve continuar lendo a versão em que começou");
+        assertEquals("Alterada", after.findById(1L).orElseThrow().getName());
+        assertTrue(after.findById(2L).isEmpty());
+        assertEquals(before.size(), after.size());
+        assertTrue(after.getVersion() > before.getVersion());
+    }
+
+    @Test
+    @DisplayName("Não deve permitir que alterações em instâncias devolvidas vazem para a versão compartilhada")
+    public void testReturnedInstancesAreCopies() {
+        // Given
+        Entity found = repository.findById(Entity.class, 1L).orElseThrow();
+
+        // When
+        found.setName("Sem update");
+
+        // Then
+        assertEquals("Entity 1", repository.findById(Entity.class, 1L).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Deve coincidir com o repositório de referência após muitas escritas aleatórias")
+    public void testRandomWrites() {
+        // Given
+        Repository<Entity, Long> mvcc = new MvccEntityRepository();
+        Repository<Entity, Long> reference = new EntityStubRepository();
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            int price = random.nextInt(1_000);
+            mvcc.save(Entity.builder().name("E" + i).price(BigDecimal.valueOf(price)).build());
+            reference.save(Entity.builder().name("E" + i).price(BigDecimal.valueOf(price)).build());
+            if (random.nextInt(3) == 0) {
+                long id = 1 + random.nextInt(i + 1);
+                mvcc.delete(Entity.builder().id(id).build());
+                reference.delete(Entity.builder().id(id).build());
+            }
+        }
+        PriceGreaterThanSpecification<Entity> expensive = new PriceGreaterThanSpecification<>(500.0);
+        KeysetPage<Entity, Long> page = mvcc.findPage(expensive, 4_000L, 10);
+
+        // Then
+        assertEquals(ids(reference.findAll(expensive)), ids(mvcc.findAll(expensive)));
+        assertEquals(ids(reference.findPage(expensive, 4_000L, 10).getContent()), ids(page.getContent()));
+        assertEquals(reference.count(ConstantSpecification.alwaysTrue()), mvcc.count(ConstantSpecification.alwaysTrue()));
+    }
+
+    @Test
+    @DisplayName("Deve oferecer leituras consistentes, sem travas, durante escritas concorrentes em lote")
+    public void testConcurrentReadersSeeWholeBatches() throws Exception {
+        // Given
+        MvccEntityRepository mvcc = new MvccEntityRepository();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        try {
+            // When
+            Future<?> writer = executor.submit(() -> {
+                for (int batch = 0; batch < 200; batch++) {
+                    List<Entity> entities = new ArrayList<>();
+                    for (int i = 0; i < 10; i++) {
+                        entities.add(Entity.builder().name("B" + batch).active(i % 2 == 0).build());
+                    }
+                    mvcc.saveAll(entities);
+                }
+                writing.set(false);
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    while (writing.get()) {
+                        EntitySnapshot snapshot = mvcc.snapshot();
+                        long total = snapshot.count(ConstantSpecification.alwaysTrue());
+                        long active = snapshot.count(new ActiveSpecification<>());
+
+                        // Then
+                        assertEquals(0, total % 10, "Um lote deve aparecer inteiro ou não aparecer");
+                        assertEquals(total, snapshot.size());
+                        assertEquals(total / 2, active);
+                    }
+                }));
+            }
+            writer.get();
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(2_000, mvcc.count(ConstantSpecification.alwaysTrue()));
+    }
+}
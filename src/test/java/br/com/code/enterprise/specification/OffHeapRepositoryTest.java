@@ -0,0 +1,130 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBetweenDatesSpecification;
+import br.com.code.enterprise.specification.internal.specs.CustomSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdRangeSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameContainsSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameMatchesRegexSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceLessThanSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.offheap.OffHeapEntityRepository;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapRepositoryTest extends BaseSpecificationTest {
+
+    @Override
+    protected Repository<Entity, Long> createRepository() {
+        return new OffHeapEntityRepository();
+    }
+
+    @Test
+    @DisplayName("Deve avaliar as especificações existentes sobre os registros fora do heap")
+    public void testSameResultsAsStubRepository() {
+        // Given
+        Repository<Entity, Long> stub = new EntityStubRepository();
+        repository.findAll(ConstantSpecification.alwaysTrue()).forEach(stub::save);
+
+        List<Specification<Entity>> specifications = List.of(
+                new PriceBetweenSpecification<>(160.0, 200.0),
+                new PriceGreaterThanSpecification<Entity>(300.0).or(new PriceLessThanSpecification<>(60.0)),
+                new ActiveSpecification<Entity>().and(new IdRangeSpecification<>(10L, 30L)),
+                new CreatedBetweenDatesSpecification<Entity>(new Date(0), referenceDate).not(),
+                new NameMatchesRegexSpecification<Entity>("Entity [1-3]\\d").and(new ActiveSpecification<Entity>().not()),
+                new NameContainsSpecification<>("ty 4"),
+                new CustomSpecification<>(entity -> entity.getDescription().endsWith("7"), "Descrição termina em 7"));
+
+        // When / Then
+        specifications.forEach(spec -> assertEquals(ids(stub.findAll(spec)), ids(repository.findAll(spec)),
+                "Os resultados devem coincidir com a varredura sobre objetos"));
+    }
+
+    @Test
+    @DisplayName("Deve preservar textos, preços e datas ao materializar cópias")
+    public void testRoundTrip() {
+        // Given
+        Date created = new Date(1_700_000_000_123L);
+        Entity saved = repository.save(Entity.builder().name("Ação ✓").description("Preço exato").active(true)
+                .created(created).price(new BigDecimal("10.123456")).build());
+        Entity empty = repository.save(new Entity((String) null));
+
+        // When
+        Entity found = repository.findById(Entity.class, saved.getId()).orElseThrow();
+        Entity foundEmpty = repository.findById(Entity.class, empty.getId()).orElseThrow();
+
+        // Then
+        assertNotSame(saved, found, "As entidades devolvidas devem ser materializadas a partir dos registros");
+        assertEquals("Ação ✓", found.getName());
+        assertEquals("Preço exato", found.getDescription());
+        assertEquals(created, found.getCreated());
+        assertEquals(new BigDecimal("10.123456"), found.getPrice());
+        assertTrue(found.isActive());
+        assertEquals(BigDecimal.valueOf(151.0), repository.findById(Entity.class, 1L).orElseThrow().getPrice());
+        assertNull(foundEmpty.getName());
+        assertNull(foundEmpty.getPrice());
+        assertNull(foundEmpty.getCreated());
+        assertEquals(List.of(saved.getId()), ids(repository.findAll(new PriceBetweenSpecification<>(
+                new BigDecimal("10.1234"), new BigDecimal("10.12346")))));
+    }
+
+    @Test
+    @DisplayName("Deve manter os resultados corretos após atualizações, remoções e compactação")
+    public void testUpdateDeleteAndCompaction() {
+        // Given
+        for (long id = 1; id <= 40; id++) {
+            repository.delete(Entity.builder().id(id).build());
+        }
+        Entity renamed = repository.findById(Entity.class, 45L).orElseThrow();
+        renamed.setName("Renomeada");
+        repository.update(renamed);
+
+        // When
+        List<Entity> active = repository.findAll(new ActiveSpecification<>());
+        KeysetPage<Entity, Long> page = repository.findPage(ConstantSpecification.alwaysTrue(), 42L, 3);
+
+        // Then
+        assertEquals(5, active.size());
+        active.forEach(entity -> assertTrue(entity.getId() > 40 && entity.isActive()));
+        assertTrue(repository.findById(Entity.class, 10L).isEmpty());
+        assertEquals("Entity 42", repository.findById(Entity.class, 42L).orElseThrow().getName());
+        assertEquals("Renomeada", repository.findById(Entity.class, 45L).orElseThrow().getName());
+        assertEquals(List.of(43L, 44L, 45L), ids(page.getContent()));
+        assertEquals(10, repository.count(ConstantSpecification.alwaysTrue()));
+    }
+
+    @Test
+    @DisplayName("Deve liberar os textos substituídos ao compactar após muitas atualizações")
+    public void testStringAreaCompaction() {
+        // Given
+        OffHeapEntityRepository offHeap = new OffHeapEntityRepository();
+        Entity entity = offHeap.save(new Entity("Inicial"));
+        String payload = "x".repeat(64 * 1024);
+
+        // When
+        for (int i = 0; i < 64; i++) {
+            entity.setDescription(payload + i);
+            offHeap.update(entity);
+        }
+
+        // Then
+        assertEquals(payload + 63, offHeap.findById(Entity.class, entity.getId()).orElseThrow().getDescription());
+        assertTrue(offHeap.offHeapBytes() < 3L * 1024 * 1024,
+                "Os textos substituídos devem ser descartados pela compactação: " + offHeap.offHeapBytes());
+    }
+}
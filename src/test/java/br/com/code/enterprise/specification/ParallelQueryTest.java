@@ -0,0 +1,139 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.repository.support.ParallelQuery;
+import br.com.code.enterprise.repository.support.ParallelScanner;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameContainsSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.indexed.IndexedEntityRepository;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelQueryTest {
+
+    private static final int ENTITIES = 20_000;
+
+    private ForkJoinPool pool;
+    private Repository<Entity, Long> repository;
+
+    @BeforeEach
+    public void setup() {
+        pool = new ForkJoinPool(4);
+        repository = new EntityStubRepository();
+        for (int i = 1; i <= ENTITIES; i++) {
+            repository.save(Entity.builder()
+                    .name("Entity " + i)
+                    .active(i % 3 == 0)
+                    .price(BigDecimal.valueOf(i % 500))
+                    .build());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve retornar o mesmo resultado, na mesma ordem, que a consulta sequencial")
+    public void testOrderedParallelQuery() {
+        // Given
+        Specification<Entity> specification = new ActiveSpecification<Entity>().and(new NameContainsSpecification<>("7"));
+        ParallelQuery query = ParallelQuery.builder().pool(pool).threshold(1_000).chunkSize(500).build();
+
+        // When
+        List<Entity> parallel = repository.findAll(specification, query);
+
+        // Then
+        assertFalse(parallel.isEmpty(), "Deveria encontrar pelo menos uma entidade");
+        assertEquals(repository.findAll(specification), parallel);
+    }
+
+    @Test
+    @DisplayName("Deve retornar os mesmos elementos em modo não ordenado e no repositório indexado")
+    public void testUnorderedAndIndexedParallelQuery() {
+        // Given
+        Specification<Entity> specification = new PriceGreaterThanSpecification<Entity>(250.0)
+                .and(new NameContainsSpecification<>("3"));
+        ParallelQuery query = ParallelQuery.builder().pool(pool).threshold(1_000).chunkSize(500).ordered(false).build();
+        Repository<Entity, Long> indexed = new IndexedEntityRepository();
+        repository.findAll(new ActiveSpecification<Entity>().or(new ActiveSpecification<Entity>().not()))
+                .forEach(entity -> indexed.save(Entity.builder().name(entity.getName()).active(entity.isActive())
+                        .price(entity.getPrice()).build()));
+
+        // When
+        List<Entity> unordered = repository.findAll(specification, query);
+        List<Entity> fromIndex = indexed.findAll(specification, query);
+
+        // Then
+        List<Entity> expected = repository.findAll(specification);
+        assertEquals(new HashSet<>(expected), new HashSet<>(unordered));
+        assertEquals(new HashSet<>(expected.stream().map(Entity::getId).toList()),
+                new HashSet<>(fromIndex.stream().map(Entity::getId).toList()));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar um instantâneo vazio e rejeitar parâmetros inválidos")
+    public void testEmptySnapshotAndInvalidOptions() {
+        // Given
+        ParallelQuery query = ParallelQuery.builder().pool(pool).threshold(0).chunkSize(1).build();
+        Entity[] empty = new Entity[0];
+
+        // When
+        List<Entity> found = ParallelScanner.findAll(empty, new ActiveSpecification<>(), query);
+        long counted = ParallelScanner.aggregate(empty, new ActiveSpecification<>(), Collectors.counting(), query);
+
+        // Then
+        assertTrue(found.isEmpty());
+        assertEquals(0, counted);
+        assertThrows(IllegalArgumentException.class, () -> ParallelQuery.builder().threshold(-1).build());
+        assertThrows(IllegalArgumentException.class, () -> ParallelQuery.builder().chunkSize(0).build());
+    }
+
+    @Test
+    @DisplayName("Deve tolerar escritas concorrentes durante a varredura paralela")
+    public void testConcurrentWriters() throws InterruptedException {
+        // Given
+        ParallelQuery query = ParallelQuery.builder().pool(pool).threshold(1_000).chunkSize(500).build();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            long id = 1;
+            while (running.get()) {
+                repository.save(new Entity("Writer"));
+                repository.findById(Entity.class, id++).ifPresent(repository::delete);
+            }
+        });
+
+        // When
+        writer.start();
+        try {
+            for (int i = 0; i < 20; i++) {
+                repository.findAll(new ActiveSpecification<>(), query);
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+
+        // Then
+        assertEquals(ENTITIES, repository.findAll(new ActiveSpecification<Entity>().or(new ActiveSpecification<Entity>().not()))
+                .size());
+    }
+}
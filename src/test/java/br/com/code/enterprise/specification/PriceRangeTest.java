@@ -0,0 +1,114 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.FixedPointPrice;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceLessThanSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.indexed.IndexedEntityRepository;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PriceRangeTest extends BaseSpecificationTest {
+
+    @Override
+    protected Repository<Entity, Long> createRepository() {
+        return new IndexedEntityRepository();
+    }
+
+    @Test
+    @DisplayName("Deve manter o índice de preços consistente após muitas inserções, alterações e remoções")
+    public void testPriceIndexAcrossMerges() {
+        // Given
+        Random random = new Random(42);
+        Repository<Entity, Long> stub = new EntityStubRepository();
+        repository.stream(new PriceLessThanSpecification<Entity>(0.0).not())
+                .forEach(entity -> stub.save(Entity.builder().name(entity.getName()).price(entity.getPrice()).build()));
+        List<Entity> indexed = new ArrayList<>();
+        List<Entity> scanned = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            BigDecimal price = randomPrice(random);
+            indexed.add(repository.save(Entity.builder().name("P" + i).price(price).build()));
+            scanned.add(stub.save(Entity.builder().name("P" + i).price(price).build()));
+        }
+
+        // When
+        for (int i = 0; i < 1_500; i++) {
+            int position = random.nextInt(indexed.size());
+            if (random.nextBoolean()) {
+                BigDecimal price = randomPrice(random);
+                indexed.get(position).setPrice(price);
+                scanned.get(position).setPrice(price);
+                repository.update(indexed.get(position));
+                stub.update(scanned.get(position));
+            } else {
+                repository.delete(indexed.remove(position));
+                stub.delete(scanned.remove(position));
+            }
+        }
+
+        // Then
+        for (int i = 0; i < 50; i++) {
+            BigDecimal low = BigDecimal.valueOf(random.nextInt(100_000_000), 5);
+            BigDecimal high = low.add(BigDecimal.valueOf(random.nextInt(500)));
+            assertSameNames(stub, new PriceBetweenSpecification<>(low, high));
+            assertSameNames(stub, new PriceGreaterThanSpecification<>(low));
+            assertSameNames(stub, new PriceLessThanSpecification<>(high));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve comparar em ponto fixo com o mesmo resultado de BigDecimal")
+    public void testFixedPointComparisons() {
+        // Given
+        Entity exact = Entity.builder().price(new BigDecimal("10.1234")).build();
+        Entity tooPrecise = Entity.builder().price(new BigDecimal("10.12345")).build();
+        Entity huge = Entity.builder().price(new BigDecimal("1E+30")).build();
+
+        // Then
+        assertEquals(101234L, exact.getPriceUnits());
+        assertEquals(FixedPointPrice.NOT_REPRESENTABLE, tooPrecise.getPriceUnits());
+        assertEquals(FixedPointPrice.NOT_REPRESENTABLE, huge.getPriceUnits());
+        assertEquals(1_500_000L, FixedPointPrice.unitsOf(new BigDecimal("150.000000")));
+
+        assertTrue(new PriceGreaterThanSpecification<Entity>(new BigDecimal("10.12339")).isSatisfiedBy(exact));
+        assertFalse(new PriceGreaterThanSpecification<Entity>(new BigDecimal("10.1234")).isSatisfiedBy(exact));
+        assertTrue(new PriceLessThanSpecification<Entity>(new BigDecimal("10.12341")).isSatisfiedBy(exact));
+        assertTrue(new PriceBetweenSpecification<Entity>(new BigDecimal("10.1234"), new BigDecimal("10.1234"))
+                .isSatisfiedBy(exact));
+        assertTrue(new PriceGreaterThanSpecification<Entity>(new BigDecimal("10.1234")).isSatisfiedBy(tooPrecise));
+        assertTrue(new PriceGreaterThanSpecification<Entity>(1e29).isSatisfiedBy(huge));
+
+        // When
+        exact.setPrice(new BigDecimal("5"));
+
+        // Then
+        assertEquals(50_000L, exact.getPriceUnits());
+        assertFalse(new PriceGreaterThanSpecification<Entity>(10.0).isSatisfiedBy(exact));
+    }
+
+    private void assertSameNames(Repository<Entity, Long> stub, Specification<Entity> specification) {
+        assertEquals(stub.findAll(specification).stream().map(Entity::getName).toList(),
+                repository.findAll(specification).stream().map(Entity::getName).toList(),
+                "Os resultados devem coincidir com a varredura completa: " + specification);
+    }
+
+    private static BigDecimal randomPrice(Random random) {
+        return switch (random.nextInt(10)) {
+            case 0 -> null;
+            case 1 -> BigDecimal.valueOf(random.nextInt(1_000_000), 6);
+            default -> BigDecimal.valueOf(random.nextInt(100_000), 2);
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.compiler.CompiledSpecification;
+import br.com.code.enterprise.specification.internal.compiler.SpecificationCompiler;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.AllOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.AnyOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedAfterDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBeforeDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdRangeSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdSpecification;
+import br.com.code.enterprise.specification.internal.specs.InactiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameContainsSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SpecificationCompilerTest extends BaseSpecificationTest {
+
+    @Test
+    @DisplayName("Deve avaliar a especificação compilada de forma equivalente à original")
+    public void testCompiledSpecificationIsEquivalent() {
+        // Given
+        List<Specification<Entity>> specifications = List.of(
+                new ActiveSpecification<Entity>().and(new PriceGreaterThanSpecification<>(150.0)),
+                new ActiveSpecification<Entity>().not().not(),
+                new InactiveSpecification<Entity>().not().or(new IdSpecification<>(3L)),
+                new IdRangeSpecification<Entity>(10L, 20L)
+                        .and(new AllOfSpecification<>(new ActiveSpecification<>(), new NameContainsSpecification<>("1")))
+                        .and(new PriceBetweenSpecification<>(100.0, 500.0)),
+                new AnyOfSpecification<>(
+                        new CreatedAfterDateSpecification<Entity>(referenceDate),
+                        new CreatedBeforeDateSpecification<Entity>(referenceDate).and(new ActiveSpecification<>()))
+                        .not(),
+                new AllOfSpecification<Entity>(),
+                new AnyOfSpecification<Entity>());
+
+        List<Entity> entities = repository.findAll(new AllOfSpecification<>());
+
+        // When / Then
+        specifications.forEach(spec -> {
+            CompiledSpecification<Entity> compiled = SpecificationCompiler.compile(spec);
+            entities.forEach(entity -> assertEquals(spec.isSatisfiedBy(entity), compiled.isSatisfiedBy(entity),
+                    "A especificação compilada deve coincidir com a original para " + entity));
+        });
+    }
+
+    @Test
+    @DisplayName("Deve achatar conjunções aninhadas em um único nó n-ário")
+    public void testNestedConjunctionsAreFlattened() {
+        // Given
+        Specification<Entity> specification = new ActiveSpecification<Entity>()
+                .and(new IdRangeSpecification<>(1L, 40L))
+                .and(new AllOfSpecification<>(new NameContainsSpecification<>("1"), new IdRangeSpecification<>(5L, 50L)));
+
+        // When
+        CompiledSpecification<Entity> compiled = SpecificationCompiler.compile(specification);
+
+        // Then
+        assertEquals("CompiledSpecification: all[active=true, id[1..40], NameContainsSpecification, id[5..50]]",
+                compiled.toString());
+        assertSame(compiled, SpecificationCompiler.compile(compiled));
+        assertFalse(repository.findAll(compiled).isEmpty(), "Deveria encontrar pelo menos uma entidade");
+    }
+}
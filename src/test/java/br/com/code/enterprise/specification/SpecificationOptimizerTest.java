@@ -0,0 +1,148 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.NotSpecification;
+import br.com.code.enterprise.specification.internal.optimizer.SpecificationOptimizer;
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.AllOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.AnyOfSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedAfterDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBeforeDateSpecification;
+import br.com.code.enterprise.specification.internal.specs.CreatedBetweenDatesSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdInCollectionSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdRangeSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdSpecification;
+import br.com.code.enterprise.specification.internal.specs.InactiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameContainsSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceLessThanSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceRangeSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SpecificationOptimizerTest extends BaseSpecificationTest {
+
+    @Test
+    @DisplayName("Deve normalizar negações, achatar compostos e remover folhas repetidas")
+    public void testNormalization() {
+        // Given
+        Specification<Entity> name = new NameContainsSpecification<>("1");
+
+        // When / Then
+        assertEquals(new ActiveSpecification<Entity>(),
+                SpecificationOptimizer.optimize(new ActiveSpecification<Entity>().not().not()));
+        assertEquals(new InactiveSpecification<Entity>(),
+                SpecificationOptimizer.optimize(new ActiveSpecification<Entity>().not()));
+        assertEquals(new AllOfSpecification<>(List.of(new ActiveSpecification<>(), name)),
+                SpecificationOptimizer.optimize(new ActiveSpecification<Entity>()
+                        .and(new AllOfSpecification<>(name, new ActiveSpecification<>()))
+                        .and(name)));
+        assertEquals(new AnyOfSpecification<>(List.of(new InactiveSpecification<>(), new NotSpecification<>(name))),
+                SpecificationOptimizer.optimize(new ActiveSpecification<Entity>().and(name).not()));
+    }
+
+    @Test
+    @DisplayName("Deve dobrar contradições e tautologias em constantes")
+    public void testConstantFolding() {
+        // Given
+        Specification<Entity> name = new NameContainsSpecification<>("1");
+
+        // When / Then
+        assertEquals(ConstantSpecification.alwaysFalse(),
+                SpecificationOptimizer.optimize(new ActiveSpecification<Entity>().and(new InactiveSpecification<>())));
+        assertEquals(ConstantSpecification.alwaysFalse(),
+                SpecificationOptimizer.optimize(name.and(new ActiveSpecification<>()).and(name.not())));
+        assertEquals(ConstantSpecification.alwaysTrue(),
+                SpecificationOptimizer.optimize(name.or(new ActiveSpecification<>()).or(name.not())));
+        assertEquals(name, SpecificationOptimizer.optimize(name.or(new ActiveSpecification<Entity>().and(new InactiveSpecification<>()))));
+        assertEquals(ConstantSpecification.alwaysFalse(), SpecificationOptimizer.optimize(
+                new PriceGreaterThanSpecification<Entity>(50.0).and(new PriceLessThanSpecification<>(50.0))));
+    }
+
+    @Test
+    @DisplayName("Deve combinar limites de preço, data e id em uma única folha de intervalo")
+    public void testRangeMerging() {
+        // Given
+        Date start = new Date(1_000_000L);
+        Date end = new Date(2_000_000L);
+
+        // When / Then
+        assertEquals(new PriceRangeSpecification<Entity>(BigDecimal.valueOf(10.0), false, BigDecimal.valueOf(50.0), false),
+                SpecificationOptimizer.optimize(
+                        new PriceGreaterThanSpecification<Entity>(10.0).and(new PriceLessThanSpecification<>(50.0))));
+        assertEquals(new PriceBetweenSpecification<Entity>(20.0, 40.0), SpecificationOptimizer.optimize(
+                new PriceBetweenSpecification<Entity>(10.0, 40.0).and(new PriceBetweenSpecification<>(20.0, 60.0))));
+        assertEquals(new CreatedBetweenDatesSpecification<Entity>(new Date(1_000_001L), new Date(1_999_999L)),
+                SpecificationOptimizer.optimize(new CreatedAfterDateSpecification<Entity>(start)
+                        .and(new CreatedBeforeDateSpecification<>(end))));
+        assertEquals(new IdInCollectionSpecification<Entity>(List.of(5L)), SpecificationOptimizer.optimize(
+                new IdRangeSpecification<Entity>(1L, 30L).and(new IdInCollectionSpecification<>(List.of(5L, 40L)))));
+        assertEquals(ConstantSpecification.alwaysFalse(), SpecificationOptimizer.optimize(
+                new IdSpecification<Entity>(3L).and(new IdRangeSpecification<>(10L, 20L))));
+    }
+
+    @Test
+    @DisplayName("Deve preservar o resultado de árvores aleatórias, inclusive com preços e datas nulos")
+    public void testRandomTreesAreEquivalent() {
+        // Given
+        Random random = new Random(41);
+        repository.save(Entity.builder().name("Sem preço").active(true).created(referenceDate).build());
+        repository.save(Entity.builder().name("Sem data 1").price(BigDecimal.valueOf(175)).build());
+        List<Entity> entities = repository.findAll(ConstantSpecification.alwaysTrue());
+
+        // When / Then
+        for (int i = 0; i < 2_000; i++) {
+            Specification<Entity> specification = randomTree(random, 4);
+            Specification<Entity> optimized = SpecificationOptimizer.optimize(specification);
+            for (Entity entity : entities) {
+                assertEquals(specification.isSatisfiedBy(entity), optimized.isSatisfiedBy(entity),
+                        specification + " -> " + optimized + " em " + entity);
+            }
+        }
+    }
+
+    private Specification<Entity> randomTree(Random random, int depth) {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            return randomLeaf(random);
+        }
+
+        Specification<Entity> left = randomTree(random, depth - 1);
+        Specification<Entity> right = randomTree(random, depth - 1);
+        return switch (random.nextInt(5)) {
+            case 0 -> left.and(right);
+            case 1 -> left.or(right);
+            case 2 -> left.not();
+            case 3 -> new AllOfSpecification<>(left, right, randomLeaf(random));
+            default -> new AnyOfSpecification<>(left, right);
+        };
+    }
+
+    private Specification<Entity> randomLeaf(Random random) {
+        double price = 50 + random.nextInt(10) * 50;
+        Date date = new Date(referenceDate.getTime() + (random.nextInt(11) - 5) * 100_000_000L);
+        long id = 1 + random.nextInt(52);
+        return switch (random.nextInt(12)) {
+            case 0 -> new ActiveSpecification<>();
+            case 1 -> new InactiveSpecification<>();
+            case 2 -> new PriceGreaterThanSpecification<>(price);
+            case 3 -> new PriceLessThanSpecification<>(price);
+            case 4 -> new PriceBetweenSpecification<>(price, price + 100 * random.nextInt(3));
+            case 5 -> new CreatedAfterDateSpecification<>(date);
+            case 6 -> new CreatedBeforeDateSpecification<>(date);
+            case 7 -> new CreatedBetweenDatesSpecification<>(date, new Date(date.getTime() + 300_000_000L));
+            case 8 -> new IdSpecification<>(id);
+            case 9 -> new IdRangeSpecification<>(id, id + random.nextInt(20));
+            case 10 -> new IdInCollectionSpecification<>(List.of(id, id + 1, id + 7));
+            default -> new NameContainsSpecification<>(String.valueOf(random.nextInt(10)));
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.NameContainsSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceGreaterThanSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.columnar.ColumnarEntityRepository;
+import br.com.code.enterprise.specification.repository.indexed.IndexedEntityRepository;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamingQueryTest extends BaseSpecificationTest {
+
+    private final List<Specification<Entity>> specifications = List.of(
+            new ActiveSpecification<>(),
+            new ActiveSpecification<Entity>().and(new PriceGreaterThanSpecification<>(150.0)),
+            new NameContainsSpecification<>("1"),
+            new NameContainsSpecification<>("inexistente"));
+
+    private List<Repository<Entity, Long>> repositories() {
+        List<Repository<Entity, Long>> repositories = List.of(
+                repository, new IndexedEntityRepository(), new ColumnarEntityRepository());
+        repository.findAll(new ActiveSpecification<Entity>().or(new ActiveSpecification<Entity>().not()))
+                .forEach(entity -> {
+                    repositories.get(1).save(copy(entity));
+                    repositories.get(2).save(copy(entity));
+                });
+        return repositories;
+    }
+
+    @Test
+    @DisplayName("Deve produzir no stream os mesmos resultados de findAll, em ordem de id")
+    public void testStreamMatchesFindAll() {
+        for (Repository<Entity, Long> candidate : repositories()) {
+            for (Specification<Entity> specification : specifications) {
+                // When
+                List<Long> streamed = candidate.stream(specification).map(Entity::getId).collect(Collectors.toList());
+
+                // Then
+                assertEquals(ids(candidate.findAll(specification)), streamed);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve contar e verificar existência sem materializar a lista")
+    public void testCountAndExists() {
+        for (Repository<Entity, Long> candidate : repositories()) {
+            for (Specification<Entity> specification : specifications) {
+                // When
+                long count = candidate.count(specification);
+
+                // Then
+                assertEquals(candidate.findAll(specification).size(), count);
+                assertEquals(count > 0, candidate.exists(specification));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todas as páginas por chave sem repetir nem perder entidades")
+    public void testKeysetPagination() {
+        Specification<Entity> specification = new ActiveSpecification<>();
+
+        for (Repository<Entity, Long> candidate : repositories()) {
+            // Given
+            List<Long> visited = new ArrayList<>();
+            Long afterId = null;
+            KeysetPage<Entity, Long> page;
+
+            // When
+            do {
+                page = candidate.findPage(specification, afterId, 7);
+                assertTrue(page.getContent().size() <= 7);
+                page.getContent().forEach(entity -> visited.add(entity.getId()));
+                afterId = page.getNextKey();
+            } while (page.isHasNext());
+
+            // Then
+            assertEquals(ids(candidate.findAll(specification)), visited);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve continuar a paginação corretamente após remoções entre páginas")
+    public void testKeysetPaginationIsStableUnderDeletes() {
+        // Given
+        Specification<Entity> specification = new ActiveSpecification<>();
+        KeysetPage<Entity, Long> first = repository.findPage(specification, null, 5);
+
+        // When
+        repository.findById(Entity.class, first.getNextKey() + 2).ifPresent(repository::delete);
+        KeysetPage<Entity, Long> second = repository.findPage(specification, first.getNextKey(), 5);
+
+        // Then
+        assertEquals(List.of(2L, 4L, 6L, 8L, 10L), ids(first.getContent()));
+        assertEquals(List.of(14L, 16L, 18L, 20L, 22L), ids(second.getContent()));
+    }
+
+    @Test
+    @DisplayName("Deve retornar página vazia sem próxima chave quando não houver resultados")
+    public void testEmptyPage() {
+        // When
+        KeysetPage<Entity, Long> page = repository.findPage(new NameContainsSpecification<>("inexistente"), null, 10);
+
+        // Then
+        assertTrue(page.getContent().isEmpty());
+        assertNull(page.getNextKey());
+        assertFalse(page.isHasNext());
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage(new ActiveSpecification<>(), null, 0));
+    }
+
+    private static Entity copy(Entity entity) {
+        return Entity.builder()
+                .name(entity.getName())
+                .description(entity.getDescription())
+                .active(entity.isActive())
+                .created(entity.getCreated())
+                .price(entity.getPrice())
+                .build();
+    }
+}
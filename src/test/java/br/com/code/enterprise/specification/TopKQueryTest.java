@@ -0,0 +1,164 @@
+package br.com.code.enterprise.specification;
+
+import br.com.code.enterprise.specification.internal.specs.ActiveSpecification;
+import br.com.code.enterprise.specification.internal.specs.ConstantSpecification;
+import br.com.code.enterprise.specification.internal.specs.CustomSpecification;
+import br.com.code.enterprise.specification.internal.specs.IdRangeSpecification;
+import br.com.code.enterprise.specification.internal.specs.PriceBetweenSpecification;
+import br.com.code.enterprise.specification.model.Entity;
+import br.com.code.enterprise.specification.repository.EntityOrder;
+import br.com.code.enterprise.specification.repository.KeysetPage;
+import br.com.code.enterprise.specification.repository.Repository;
+import br.com.code.enterprise.specification.repository.TopK;
+import br.com.code.enterprise.specification.repository.cache.CachingSpecificationRepository;
+import br.com.code.enterprise.specification.repository.columnar.ColumnarEntityRepository;
+import br.com.code.enterprise.specification.repository.indexed.IndexedEntityRepository;
+import br.com.code.enterprise.specification.repository.mvcc.MvccEntityRepository;
+import br.com.code.enterprise.specification.repository.offheap.OffHeapEntityRepository;
+import br.com.code.enterprise.specification.repository.stub.EntityStubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static br.com.code.enterprise.specification.BaseSpecificationTest.ids;
+import static br.com.code.enterprise.specification.BaseSpecificationTest.populateVaried;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TopKQueryTest {
+
+    private static final List<Specification<Entity>> SPECIFICATIONS = List.of(
+            ConstantSpecification.alwaysTrue(),
+            new ActiveSpecification<>(),
+            new PriceBetweenSpecification<>(100.0, 400.0),
+            new IdRangeSpecification<Entity>(100L, 140L).and(new ActiveSpecification<>()),
+            new CustomSpecification<>(entity -> entity.getId() % 7 == 0, "Id múltiplo de 7"));
+
+    private static final List<Comparator<Entity>> COMPARATORS = List.of(
+            EntityOrder.ID_ASC, EntityOrder.ID_DESC, EntityOrder.PRICE_ASC, EntityOrder.PRICE_DESC,
+            EntityOrder.CREATED_ASC, EntityOrder.CREATED_DESC,
+            Comparator.comparing(Entity::getName).thenComparing(Entity::getId));
+
+    @Test
+    @DisplayName("Deve coincidir com ordenar e limitar o resultado completo em todos os repositórios")
+    public void testSameResultAsSortAndLimit() {
+        // Given
+        List<Supplier<Repository<Entity, Long>>> repositories = List.of(
+                EntityStubRepository::new, IndexedEntityRepository::new, ColumnarEntityRepository::new,
+                MvccEntityRepository::new, OffHeapEntityRepository::new,
+                () -> new CachingSpecificationRepository(new IndexedEntityRepository()));
+
+        for (Supplier<Repository<Entity, Long>> factory : repositories) {
+            Repository<Entity, Long> repository = populateVaried(factory.get(), 300, 7);
+
+            for (Specification<Entity> specification : SPECIFICATIONS) {
+                for (Comparator<Entity> comparator : COMPARATORS) {
+                    for (int limit : new int[]{1, 10, 1_000}) {
+                        // When
+                        List<Entity> top = repository.findAll(specification, comparator, limit);
+
+                        // Then
+                        assertEquals(ids(sortAndLimit(repository.findAll(specification), comparator, limit)), ids(top),
+                                repository.getClass().getSimpleName() + " " + comparator + " limit " + limit);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todas as páginas por chave sem repetir nem pular entidades")
+    public void testKeysetContinuation() {
+        // Given
+        List<Repository<Entity, Long>> repositories = List.of(
+                populateVaried(new EntityStubRepository(), 300, 7),
+                populateVaried(new IndexedEntityRepository(), 300, 7),
+                populateVaried(new OffHeapEntityRepository(), 300, 7));
+
+        for (Repository<Entity, Long> repository : repositories) {
+            for (Specification<Entity> specification : SPECIFICATIONS) {
+                for (Comparator<Entity> comparator : COMPARATORS) {
+                    // When
+                    List<Entity> pages = new ArrayList<>();
+                    KeysetPage<Entity, Entity> page = repository.findPage(specification, comparator, null, 7);
+                    pages.addAll(page.getContent());
+                    while (page.isHasNext()) {
+                        page = repository.findPage(specification, comparator, page.getNextKey(), 7);
+                        pages.addAll(page.getContent());
+                    }
+
+                    // Then
+                    List<Entity> expected = new ArrayList<>(repository.findAll(specification));
+                    expected.sort(comparator);
+                    assertEquals(ids(expected), ids(pages),
+                            repository.getClass().getSimpleName() + " " + comparator);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve refletir no índice de preços as atualizações e remoções ainda não intercaladas")
+    public void testPriceWalkAfterWrites() {
+        // Given
+        Repository<Entity, Long> indexed = populateVaried(new IndexedEntityRepository(), 300, 7);
+        Repository<Entity, Long> reference = populateVaried(new EntityStubRepository(), 300, 7);
+
+        // When
+        for (long id = 1; id <= 30; id++) {
+            Entity changed = indexed.findById(Entity.class, id).orElseThrow();
+            changed.setPrice(id % 2 == 0 ? null : BigDecimal.valueOf(id).movePointLeft(3));
+            indexed.update(changed);
+            reference.update(copy(changed));
+            indexed.delete(Entity.builder().id(id + 100).build());
+            reference.delete(Entity.builder().id(id + 100).build());
+        }
+
+        // Then
+        for (EntityOrder order : List.of(EntityOrder.PRICE_ASC, EntityOrder.PRICE_DESC)) {
+            assertEquals(ids(reference.findAll(ConstantSpecification.alwaysTrue(), order, 50)),
+                    ids(indexed.findAll(ConstantSpecification.alwaysTrue(), order, 50)));
+            assertEquals(ids(reference.findAll(new ActiveSpecification<>(), order, 500)),
+                    ids(indexed.findAll(new ActiveSpecification<>(), order, 500)));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve validar o limite e devolver páginas vazias quando não há resultado")
+    public void testLimits() {
+        // Given
+        Repository<Entity, Long> indexed = populateVaried(new IndexedEntityRepository(), 300, 7);
+        Specification<Entity> none = ConstantSpecification.alwaysFalse();
+
+        // When
+        KeysetPage<Entity, Entity> empty = indexed.findPage(none, EntityOrder.PRICE_ASC, null, 5);
+
+        // Then
+        assertTrue(empty.getContent().isEmpty());
+        assertFalse(empty.isHasNext());
+        assertTrue(indexed.findAll(none, EntityOrder.CREATED_DESC, 5).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> indexed.findAll(ConstantSpecification.alwaysTrue(), EntityOrder.PRICE_ASC, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> TopK.select(List.of(1, 2).iterator(), Comparator.<Integer>naturalOrder(), -1));
+        assertEquals(List.of(1, 2), TopK.select(List.of(5, 2, 9, 1).iterator(), Comparator.<Integer>naturalOrder(), 2));
+    }
+
+    private static List<Entity> sortAndLimit(List<Entity> entities, Comparator<Entity> comparator, int limit) {
+        List<Entity> sorted = new ArrayList<>(entities);
+        sorted.sort(comparator);
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    private static Entity copy(Entity entity) {
+        return Entity.builder().id(entity.getId()).name(entity.getName()).description(entity.getDescription())
+                .active(entity.isActive()).created(entity.getCreated()).price(entity.getPrice()).build();
+    }
+}